@@ -24,6 +24,7 @@ import org.cloudsimplus.vms.VmGroup;
 
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -83,6 +84,23 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
         return datacenter.getHostList();
     }
 
+    /**
+     * Gets a Stream of the {@link #getHostList() Host List} to search a Host for a VM,
+     * which runs in parallel when the {@link #isParallelHostSearchEnabled() parallel search is enabled}.
+     *
+     * <p>The Stream keeps the order of the Host List, therefore, reducing it by
+     * {@link Stream#min(Comparator) min} or {@link Stream#max(Comparator) max}
+     * returns the first Host in such a List among the ones with the same score,
+     * either the search is parallel or not.
+     * Operations applied to the Stream must only change the state of the Host being evaluated.</p>
+     *
+     * @return the Host Stream
+     */
+    protected final Stream<Host> getHostStream() {
+        final Stream<Host> stream = this.<Host>getHostList().stream();
+        return isParallelHostSearchEnabled() ? stream.parallel() : stream;
+    }
+
     @Override
     public boolean scaleVmVertically(final VerticalVmScaling scaling) {
         if (scaling.isVmUnderloaded()) {
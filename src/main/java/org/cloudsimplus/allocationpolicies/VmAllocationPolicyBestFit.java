@@ -28,7 +28,6 @@ import org.cloudsimplus.vms.Vm;
 
 import java.util.Comparator;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * A Best Fit VmAllocationPolicy implementation that chooses, as
@@ -61,8 +60,7 @@ public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
         final Comparator<Host> activeComparator = Comparator.comparing(Host::isActive).reversed();
         final Comparator<Host> comparator = activeComparator.thenComparingLong(Host::getFreePesNumber);
 
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
+        return getHostStream()
                 .filter(host -> host.isSuitableForVm(vm))
                 .min(comparator);
     }
@@ -63,7 +63,6 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
         final Comparator<Host> comparator = comparing(Host::isActive).thenComparingLong(Host::getFreePesNumber);
 
-        final var hostStream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return hostStream.filter(host -> host.isSuitableForVm(vm)).max(comparator);
+        return getHostStream().filter(host -> host.isSuitableForVm(vm)).max(comparator);
     }
 }
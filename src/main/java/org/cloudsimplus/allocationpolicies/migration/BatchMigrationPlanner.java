@@ -0,0 +1,352 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+import static java.util.Comparator.comparingDouble;
+
+/**
+ * Plans the migration of a whole set of VMs at once,
+ * over a model of the Hosts' resources, without changing the actual VM placement.
+ * It's used by the {@link VmAllocationPolicyMigrationBatchStaticThreshold}.
+ *
+ * <p>The planning is a vector bin packing followed by a bounded local search:</p>
+ * <ol>
+ *   <li>VMs selected from overloaded Hosts which fit back into their source Host
+ *   (as other VMs are leaving it) are kept there, avoiding unnecessary migrations;</li>
+ *   <li>the remaining VMs from overloaded Hosts are placed by Best Fit Decreasing (by requested MIPS);</li>
+ *   <li>each underloaded Host is drained (in the given order) only if all its VMs can be placed;
+ *   otherwise none of its VMs is migrated;</li>
+ *   <li>when a VM doesn't fit anywhere, the local search tries to make room for it,
+ *   relocating a VM already planned to be migrated to another Host.
+ *   That doesn't increase the number of migrations and is limited by a maximum number of steps.</li>
+ * </ol>
+ *
+ * <p>Placing a VM scans the Hosts once, so the planning takes O(v &times; h)
+ * plus the local search steps, where v is the number of VMs to migrate and h the number of Hosts.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class BatchMigrationPlanner {
+    /**
+     * A Host in the planning model, tracking the resources used by the VMs planned to it.
+     */
+    private static final class Bin {
+        private final Host host;
+        private final int index;
+
+        /** The maximum MIPS the Host may use without being overloaded. */
+        private final double mipsLimit;
+        private double mips;
+        private long freePes;
+        private long availableRam;
+        private long availableBw;
+        private long availableStorage;
+
+        /** Indicates if the Host may receive VMs from overloaded Hosts. */
+        private final boolean targetForOverloaded;
+
+        /** Indicates if the Host may receive VMs from underloaded Hosts. */
+        private final boolean targetForUnderloaded;
+
+        /** Number of VMs planned to be migrated into this Host. */
+        private int incomingVms;
+
+        /** Indicates if all VMs of this Host are being planned to be migrated, so that it cannot receive VMs. */
+        private boolean draining;
+
+        private Bin(final Host host, final int index, final double mipsLimit, final double usedMips,
+                    final boolean targetForOverloaded, final boolean targetForUnderloaded)
+        {
+            this.host = host;
+            this.index = index;
+            this.mipsLimit = mipsLimit;
+            this.mips = usedMips;
+            this.freePes = host.getFreePesNumber();
+            this.availableRam = host.getRam().getAvailableResource();
+            this.availableBw = host.getBw().getAvailableResource();
+            this.availableStorage = host.getStorage().getAvailableResource();
+            this.targetForOverloaded = targetForOverloaded;
+            this.targetForUnderloaded = targetForUnderloaded;
+        }
+
+        private boolean fits(final Item item) {
+            return getFreeMipsAfter(item) >= 0 && freePes >= item.vm.getPesNumber() &&
+                   availableRam >= item.vm.getRam().getCapacity() &&
+                   availableBw >= item.vm.getBw().getCapacity() &&
+                   availableStorage >= item.vm.getStorage().getCapacity();
+        }
+
+        private double getFreeMipsAfter(final Item item) {
+            return mipsLimit - mips - item.mips;
+        }
+
+        private void add(final Item item) {
+            update(item, 1);
+        }
+
+        private void remove(final Item item) {
+            update(item, -1);
+        }
+
+        private void update(final Item item, final int signal) {
+            mips += signal * item.mips;
+            freePes -= signal * item.vm.getPesNumber();
+            availableRam -= signal * item.vm.getRam().getCapacity();
+            availableBw -= signal * item.vm.getBw().getCapacity();
+            availableStorage -= signal * item.vm.getStorage().getCapacity();
+        }
+    }
+
+    /**
+     * A VM to be migrated.
+     */
+    private static final class Item {
+        private final Vm vm;
+
+        /** The MIPS requested by the VM, which is the same unit of the MIPS used by the Hosts in the model. */
+        private final double mips;
+        private final Bin source;
+        private final boolean fromOverloadedHost;
+
+        /** The Host the VM is planned to, or null if it isn't planned to be migrated. */
+        private Bin target;
+
+        private Item(final Vm vm, final Bin source, final boolean fromOverloadedHost) {
+            this.vm = vm;
+            this.mips = vm.getTotalCpuMipsRequested();
+            this.source = source;
+            this.fromOverloadedHost = fromOverloadedHost;
+        }
+
+        private boolean isTarget(final Bin bin) {
+            return bin != source && !bin.draining && (fromOverloadedHost ? bin.targetForOverloaded : bin.targetForUnderloaded);
+        }
+    }
+
+    private static final Comparator<Item> MIPS_DESCENDING = comparingDouble((Item item) -> item.mips).reversed();
+
+    private final List<Bin> bins;
+    private final Map<Host, Bin> binsByHost;
+
+    /** The VMs planned to be migrated, in the order they were planned. */
+    private final List<Item> plannedItems;
+
+    private int remainingLocalSearchSteps;
+
+    /**
+     * Creates a planner.
+     * @param maxLocalSearchSteps the maximum number of candidate relocations the local search may evaluate
+     */
+    BatchMigrationPlanner(final int maxLocalSearchSteps) {
+        this.bins = new ArrayList<>();
+        this.binsByHost = new HashMap<>();
+        this.plannedItems = new ArrayList<>();
+        this.remainingLocalSearchSteps = maxLocalSearchSteps;
+    }
+
+    /**
+     * Adds a Host to the planning model, with its current resource usage.
+     *
+     * @param host the Host to add
+     * @param mipsLimit the maximum MIPS the Host may use without being overloaded
+     * @param usedMips the MIPS currently requested by the VMs in the Host
+     * @param targetForOverloaded whether the Host may receive VMs from overloaded Hosts
+     * @param targetForUnderloaded whether the Host may receive VMs from underloaded Hosts
+     */
+    void addHost(
+        final Host host, final double mipsLimit, final double usedMips,
+        final boolean targetForOverloaded, final boolean targetForUnderloaded)
+    {
+        final var bin = new Bin(host, bins.size(), mipsLimit, usedMips, targetForOverloaded, targetForUnderloaded);
+        bins.add(bin);
+        binsByHost.put(host, bin);
+    }
+
+    /**
+     * Plans the migration of the VMs selected from overloaded Hosts.
+     * Such VMs must be already removed from the usage of their source Hosts,
+     * given when the Hosts were {@link #addHost(Host, double, double, boolean, boolean) added}.
+     *
+     * @param vmsBySourceHost a map where each key is a VM selected for migration and the value is its source Host
+     */
+    void planFromOverloadedHosts(final Map<Vm, Host> vmsBySourceHost) {
+        final var items = new ArrayList<Item>(vmsBySourceHost.size());
+        vmsBySourceHost.forEach((vm, host) -> items.add(new Item(vm, binsByHost.get(host), true)));
+
+        /*Keeps the smallest VMs in their source Hosts, while they fit there,
+        so that the maximum number of migrations is avoided.*/
+        items.sort(MIPS_DESCENDING.reversed());
+        items.removeIf(item -> {
+            if (item.source.fits(item)) {
+                item.source.add(item);
+                return true;
+            }
+
+            return false;
+        });
+
+        items.sort(MIPS_DESCENDING);
+        for (final Item item : items) {
+            if (place(item) || makeRoomFor(item)) {
+                plannedItems.add(item);
+            }
+        }
+    }
+
+    /**
+     * Plans the migration of all VMs from an underloaded Host, so that it can be switched off.
+     * If not all VMs can be placed into other Hosts, none of them is planned to be migrated.
+     *
+     * @param host the underloaded Host
+     * @param vms the VMs to migrate from the Host
+     * @return true if all the VMs were planned to be migrated, false otherwise
+     */
+    boolean planFromUnderloadedHost(final Host host, final List<? extends Vm> vms) {
+        final Bin source = binsByHost.get(host);
+        if (vms.isEmpty() || source.incomingVms > 0) {
+            return false;
+        }
+
+        final var items = new ArrayList<Item>(vms.size());
+        vms.forEach(vm -> items.add(new Item(vm, source, false)));
+        items.sort(MIPS_DESCENDING);
+        source.draining = true;
+        for (int i = 0; i < items.size(); i++) {
+            final Item item = items.get(i);
+            if (!place(item) && !makeRoomFor(item)) {
+                items.subList(0, i).forEach(this::unplace);
+                source.draining = false;
+                return false;
+            }
+        }
+
+        plannedItems.addAll(items);
+        return true;
+    }
+
+    /**
+     * {@return the migration map} where each key is a VM to migrate and each value is its target Host,
+     * in the order the VMs were planned.
+     */
+    Map<Vm, Host> getMigrationMap() {
+        final var migrationMap = new LinkedHashMap<Vm, Host>();
+        plannedItems.forEach(item -> migrationMap.put(item.vm, item.target.host));
+        return migrationMap;
+    }
+
+    /**
+     * Places a VM into the best fit Host:
+     * the active one with less free MIPS after the placement.
+     * Inactive Hosts are just selected when no active one fits.
+     * @param item the VM to place
+     * @return true if a Host was found, false otherwise
+     */
+    private boolean place(final Item item) {
+        final Bin bestBin = findBestFitBin(item, null);
+        if (bestBin == null) {
+            return false;
+        }
+
+        moveTo(item, bestBin);
+        return true;
+    }
+
+    private Bin findBestFitBin(final Item item, final Bin excluded) {
+        Bin bestBin = null;
+        for (final Bin bin : bins) {
+            if (bin != excluded && item.isTarget(bin) && bin.fits(item) && isBetterFit(item, bin, bestBin)) {
+                bestBin = bin;
+            }
+        }
+
+        return bestBin;
+    }
+
+    private static boolean isBetterFit(final Item item, final Bin bin, final Bin bestBin) {
+        if (bestBin == null) {
+            return true;
+        }
+
+        if (bin.host.isActive() != bestBin.host.isActive()) {
+            return bin.host.isActive();
+        }
+
+        //Ties are broken by the Host List order, since Bins are checked in such an order
+        return bin.getFreeMipsAfter(item) < bestBin.getFreeMipsAfter(item);
+    }
+
+    /**
+     * Tries to make room for a VM that doesn't fit into any Host, relocating
+     * one VM already planned to be migrated to some Host
+     * (which then would receive the given VM) to another Host.
+     *
+     * @param item the VM to find room for
+     * @return true if room was made and the VM was placed, false otherwise
+     */
+    private boolean makeRoomFor(final Item item) {
+        for (final Item planned : plannedItems) {
+            if (remainingLocalSearchSteps <= 0) {
+                return false;
+            }
+
+            remainingLocalSearchSteps--;
+            final Bin bin = planned.target;
+            if (!item.isTarget(bin)) {
+                continue;
+            }
+
+            bin.remove(planned);
+            final Bin newBin = bin.fits(item) ? findBestFitBin(planned, bin) : null;
+            bin.add(planned);
+            if (newBin != null) {
+                moveTo(planned, newBin);
+                moveTo(item, bin);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void moveTo(final Item item, final Bin bin) {
+        unplace(item);
+        bin.add(item);
+        bin.incomingVms++;
+        item.target = bin;
+    }
+
+    private void unplace(final Item item) {
+        if (item.target != null) {
+            item.target.remove(item);
+            item.target.incomingVms--;
+            item.target = null;
+        }
+    }
+}
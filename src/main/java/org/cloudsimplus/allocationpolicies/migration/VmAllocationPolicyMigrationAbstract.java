@@ -58,6 +58,19 @@ import static java.util.stream.Collectors.*;
 public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPolicyAbstract implements VmAllocationPolicyMigration {
     public static final double DEF_UNDERLOAD_THRESHOLD = 0.35;
 
+    /**
+     * A candidate underloaded Host, keeping its CPU utilization
+     * when the candidates were selected.
+     * @param cpuUtilization the Host CPU utilization percent
+     * @param index the position of the Host in the {@link #getHostList() Host list}, to break ties
+     * @param host the candidate Host
+     */
+    record UnderloadedHostCandidate(double cpuUtilization, int index, Host host) {
+    }
+
+    static final Comparator<UnderloadedHostCandidate> UNDERLOADED_HOST_ORDER =
+        comparingDouble(UnderloadedHostCandidate::cpuUtilization).thenComparingInt(UnderloadedHostCandidate::index);
+
     /** @see #getUnderUtilizationThreshold() */
     private double underUtilizationThreshold;
 
@@ -150,7 +163,11 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return migrationMap;
     }
 
-    private void hostSearchRetry() {
+    /**
+     * Logs that no suitable Host was found to manage an under or overload situation
+     * and selects another Datacenter to try migrating VMs to next time (if there are multiple ones).
+     */
+    void hostSearchRetry() {
         final var dcList = getDatacenter().getSimulation().getCis().getDatacenterList();
 
         final double hostSearchRetryDelay = getDatacenter().getHostSearchRetryDelay();
@@ -202,6 +219,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> ignoredTargetHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
 
         final int numberOfHosts = getHostList().size();
+        final Queue<UnderloadedHostCandidate> underloadedHosts = getUnderloadedHosts(ignoredSourceHosts);
 
         this.underloaded = false;
         while (true) {
@@ -209,7 +227,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
                 break;
             }
 
-            final Host underloadedHost = getUnderloadedHost(ignoredSourceHosts);
+            final Host underloadedHost = pollUnderloadedHost(underloadedHosts, ignoredSourceHosts);
             if (Host.NULL.equals(underloadedHost)) {
                 break;
             }
@@ -383,6 +401,9 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     /**
      * Applies additional filters to the Hosts Stream and performs the actual Host selection.
      * It can be overridden by sub-classes to change the way to select the Host for a given VM.
+     * Candidate Hosts are evaluated in parallel for large datacenters
+     * (see {@link #getHostStream()}), since the predicate and the power estimation
+     * just change the state of the Host being evaluated, by temporarily placing the VM into it.
      *
      * @param vm the VM to find a Host to be placed into
      * @param predicate a {@link Predicate} to filter suitable Hosts
@@ -393,7 +414,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Comparator<Host> hostPowerConsumptionComparator =
             comparingDouble(host -> getPowerDifferenceAfterAllocation(host, vm));
 
-        return getHostList().stream().filter(predicate).min(hostPowerConsumptionComparator);
+        return getHostStream().filter(predicate).min(hostPowerConsumptionComparator);
     }
 
     /**
@@ -524,7 +545,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return vmsToMigrateList;
     }
 
-    private List<Vm> getVmsToMigrateFromOverloadedHost(final Host host) {
+    List<Vm> getVmsToMigrateFromOverloadedHost(final Host host) {
         /*
         @TODO The method doesn't just gets a list of VMs to migrate from an overloaded Host,
         but it temporarily destroys VMs on such Hosts.
@@ -584,7 +605,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      *
      * @return the over utilized hosts
      */
-    private Set<Host> getOverloadedHosts() {
+    Set<Host> getOverloadedHosts() {
         return this.getHostList().stream()
             .filter(this::isOverloaded)
             .filter(host -> host.getVmsMigratingOut().isEmpty())
@@ -592,27 +613,57 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Gets the most underloaded Host.
-     * If a Host is underloaded but it has VMs migrating in,
-     * then it's not included in the returned List
+     * Gets the underloaded Hosts, ordered by CPU utilization, so that
+     * the most underloaded one can be taken in logarithmic time
+     * at each step of the consolidation of underloaded Hosts,
+     * instead of checking all Hosts again.
+     *
+     * <p>If a Host is underloaded but it has VMs migrating in,
+     * then it's not included in the returned queue
      * because the VMs to be migrated to move the Host from
      * the underload state already are in migration to it.
      * Likewise, if all VMs are migrating out, nothing has to be
      * done anymore. It just has to wait the VMs to finish
-     * the migration.
+     * the migration.</p>
      *
+     * @param excludedHosts the Hosts that have to be ignored when looking for under utilized Hosts
+     * @return a queue of under utilized Hosts, where the head is the most under utilized one
+     */
+    Queue<UnderloadedHostCandidate> getUnderloadedHosts(final Set<? extends Host> excludedHosts) {
+        final var queue = new PriorityQueue<>(UNDERLOADED_HOST_ORDER);
+        final List<Host> hostList = getHostList();
+        for (int i = 0; i < hostList.size(); i++) {
+            final Host host = hostList.get(i);
+            if (!excludedHosts.contains(host) && host.isActive() && isUnderloaded(host) &&
+                host.getVmsMigratingIn().isEmpty() && notAllVmsAreMigratingOut(host))
+            {
+                queue.add(new UnderloadedHostCandidate(host.getCpuPercentUtilization(), i, host));
+            }
+        }
+
+        return queue;
+    }
+
+    /**
+     * Removes the most underloaded Host from a queue of candidates, skipping the ones
+     * excluded after the queue was built (such as Hosts selected as target for migrating VMs).
+     * Only excluded Hosts have their VM placement temporarily changed during the consolidation,
+     * so the remaining candidates keep their utilization.
+     *
+     * @param underloadedHosts the queue of candidate underloaded Hosts
      * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
      * @return the most under utilized host or {@link Host#NULL} if no Host is found
+     * @see #getUnderloadedHosts(Set)
      */
-    private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
-            .filter(host -> !excludedHosts.contains(host))
-            .filter(Host::isActive)
-            .filter(this::isUnderloaded)
-            .filter(host -> host.getVmsMigratingIn().isEmpty())
-            .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
-            .orElse(Host.NULL);
+    private Host pollUnderloadedHost(final Queue<UnderloadedHostCandidate> underloadedHosts, final Set<? extends Host> excludedHosts) {
+        while (!underloadedHosts.isEmpty()) {
+            final Host host = underloadedHosts.poll().host();
+            if (!excludedHosts.contains(host)) {
+                return host;
+            }
+        }
+
+        return Host.NULL;
     }
 
     private double getHostCpuPercentRequested(final Host host) {
@@ -624,7 +675,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param host
      * @return
      */
-    private double getHostTotalRequestedMips(final Host host) {
+    double getHostTotalRequestedMips(final Host host) {
         return host.getVmList().stream()
             .mapToDouble(Vm::getTotalCpuMipsRequested)
             .sum();
@@ -647,7 +698,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      *
      * @see #savedAllocation
      */
-    private void saveAllocation() {
+    void saveAllocation() {
         savedAllocation.clear();
         for (final Host host : getHostList()) {
             for (final Vm vm : host.getVmList()) {
@@ -673,7 +724,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      *
      * @see #savedAllocation
      */
-    private void restoreAllocation() {
+    void restoreAllocation() {
         for (final Host host : getHostList()) {
             host.destroyAllVms();
             host.reallocateMigratingInVms();
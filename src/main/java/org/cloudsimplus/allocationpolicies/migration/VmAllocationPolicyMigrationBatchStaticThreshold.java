@@ -0,0 +1,189 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import lombok.Getter;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicy;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * A VM allocation policy that uses a static CPU utilization threshold to detect host
+ * {@link #getUnderUtilizationThreshold() under} and {@link #getOverUtilizationThreshold(Host) over}
+ * utilization and plans the migration of all VMs from such Hosts at once.
+ *
+ * <p>Instead of finding a Host for one VM at a time and temporarily placing it there,
+ * it gathers all VMs selected by the {@link #getVmSelectionPolicy() VmSelectionPolicy} from overloaded Hosts
+ * and the VMs from underloaded Hosts, then solves the placement in a single batch,
+ * using a vector bin packing with a bounded local search improvement phase.
+ * VMs from overloaded Hosts which still fit into their Hosts are not migrated
+ * and underloaded Hosts are just drained when all their VMs can be placed elsewhere.
+ * This way, the planning cost is predictable and fewer VMs tend to be migrated.</p>
+ *
+ * <p>The planning is restricted to the Hosts of the {@link #getDatacenter() Datacenter} linked to the policy.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+@Getter
+public class VmAllocationPolicyMigrationBatchStaticThreshold extends VmAllocationPolicyMigrationStaticThreshold {
+    /**
+     * The default maximum number of candidate relocations evaluated by the local search
+     * at each optimization.
+     * @see #getMaxLocalSearchSteps()
+     */
+    public static final int DEF_MAX_LOCAL_SEARCH_STEPS = 10_000;
+
+    /**
+     * The maximum number of candidate relocations evaluated by the local search
+     * at each optimization, which bounds the time to plan migrations.
+     */
+    private int maxLocalSearchSteps;
+
+    /**
+     * Creates a VmAllocationPolicyMigrationBatchStaticThreshold.
+     * It uses a {@link #DEF_OVER_UTILIZATION_THRESHOLD default over utilization threshold}
+     * and a {@link #DEF_UNDERLOAD_THRESHOLD default under utilization threshold}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     * @see #setUnderUtilizationThreshold(double)
+     * @see #setOverUtilizationThreshold(double)
+     */
+    public VmAllocationPolicyMigrationBatchStaticThreshold(final VmSelectionPolicy vmSelectionPolicy) {
+        this(vmSelectionPolicy, DEF_OVER_UTILIZATION_THRESHOLD);
+    }
+
+    /**
+     * Creates a VmAllocationPolicyMigrationBatchStaticThreshold.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     * @param overUtilizationThreshold the over utilization threshold
+     */
+    public VmAllocationPolicyMigrationBatchStaticThreshold(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double overUtilizationThreshold)
+    {
+        super(vmSelectionPolicy, overUtilizationThreshold);
+        this.maxLocalSearchSteps = DEF_MAX_LOCAL_SEARCH_STEPS;
+    }
+
+    /**
+     * Sets the maximum number of candidate relocations evaluated by the local search
+     * at each optimization.
+     *
+     * @param maxLocalSearchSteps the value to set (0 disables the local search)
+     * @return this policy
+     */
+    public VmAllocationPolicyMigrationBatchStaticThreshold setMaxLocalSearchSteps(final int maxLocalSearchSteps) {
+        if (maxLocalSearchSteps < 0) {
+            throw new IllegalArgumentException("The maximum number of local search steps cannot be negative.");
+        }
+
+        this.maxLocalSearchSteps = maxLocalSearchSteps;
+        return this;
+    }
+
+    @Override
+    public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
+        final Set<Host> overloadedHosts = getOverloadedHosts();
+        final List<Host> switchedOffHosts = getSwitchedOffHosts();
+        final var ignoredHosts = new HashSet<Host>(overloadedHosts);
+        ignoredHosts.addAll(switchedOffHosts);
+        final List<Host> underloadedHosts = getUnderloadedHosts(ignoredHosts).stream()
+            .sorted(UNDERLOADED_HOST_ORDER)
+            .map(UnderloadedHostCandidate::host)
+            .toList();
+
+        setOverloaded(!overloadedHosts.isEmpty());
+        setUnderloaded(!underloadedHosts.isEmpty());
+        if (!isOverloaded() && !isUnderloaded()) {
+            return new HashMap<>();
+        }
+
+        saveAllocation();
+        final Map<Vm, Host> migrationMap;
+        try {
+            migrationMap = planMigrations(overloadedHosts, new HashSet<>(switchedOffHosts), underloadedHosts);
+        } finally {
+            restoreAllocation();
+        }
+
+        if (isOverloaded() && migrationMap.isEmpty()) {
+            hostSearchRetry();
+        }
+
+        return migrationMap;
+    }
+
+    /**
+     * Plans the migrations, temporarily removing the VMs selected from overloaded Hosts.
+     * The actual VM placement must be restored afterwards.
+     */
+    private Map<Vm, Host> planMigrations(
+        final Set<Host> overloadedHosts, final Set<Host> switchedOffHosts, final List<Host> underloadedHosts)
+    {
+        final var vmsFromOverloadedHosts = new LinkedHashMap<Vm, Host>();
+        final List<Host> hostList = getHostList();
+        //Iterates over the Host List instead of the overloaded Hosts Set to keep the planning deterministic
+        for (final Host host : hostList) {
+            if (overloadedHosts.contains(host)) {
+                getVmsToMigrateFromOverloadedHost(host).forEach(vm -> vmsFromOverloadedHosts.put(vm, host));
+            }
+        }
+
+        final var planner = new BatchMigrationPlanner(maxLocalSearchSteps);
+        for (final Host host : hostList) {
+            if (host.isFailed()) {
+                continue;
+            }
+
+            final double mipsLimit = getOverUtilizationThreshold(host) * host.getTotalMipsCapacity();
+            final boolean targetForOverloaded = !overloadedHosts.contains(host);
+            final boolean targetForUnderloaded =
+                targetForOverloaded && !switchedOffHosts.contains(host) && !isUnderloaded(host);
+            planner.addHost(host, mipsLimit, getHostTotalRequestedMips(host), targetForOverloaded, targetForUnderloaded);
+        }
+
+        planner.planFromOverloadedHosts(vmsFromOverloadedHosts);
+        for (final Host host : underloadedHosts) {
+            final var vms = getVmsToMigrateFromUnderUtilizedHost(host);
+            if (planner.planFromUnderloadedHost(host, vms)) {
+                LOGGER.info(
+                    "{}: {}: VMs to be reallocated from the underloaded {}: {}",
+                    getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), host, vms);
+            }
+        }
+
+        final Map<Vm, Host> migrationMap = planner.getMigrationMap();
+        if (!migrationMap.isEmpty()) {
+            LOGGER.info(
+                "{}: {}: {} VMs planned to be migrated: {}",
+                getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), migrationMap.size(), migrationMap);
+        }
+
+        return migrationMap;
+    }
+}
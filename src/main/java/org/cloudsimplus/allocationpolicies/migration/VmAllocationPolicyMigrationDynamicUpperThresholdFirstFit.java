@@ -1,21 +1,64 @@
 package org.cloudsimplus.allocationpolicies.migration;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.selectionpolicies.VmSelectionPolicy;
+import org.cloudsimplus.util.SlidingWindowStatistics;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * An abstract class that is the base for implementation of VM allocation policies which use
  * a dynamic over utilization threshold.
  *
+ * <p>It keeps a {@link #getUtilizationWindow(Host) window} with the last CPU utilization samples of each Host,
+ * taken once per processing tick, when the Datacenter requests the {@link #getOptimizedAllocationMap(List) optimized allocation}.
+ * By default, the {@link #computeHostUtilizationMeasure(Host) utilization measure} is the Median Absolute Deviation (MAD)
+ * of such a window. Since the window is just changed when Hosts are sampled, the MAD is computed
+ * at most once per Host after each sample, instead of processing the whole Host utilization history at every check.
+ * Implementing classes may override it to use other statistics from the window.</p>
+ *
  * @author Manoel Campos da Silva Filho
  */
 @Accessors @Getter @Setter
 public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit extends VmAllocationPolicyMigrationAbstract
     implements VmAllocationPolicyMigrationDynamicUpperThreshold {
+    /**
+     * The default number of CPU utilization samples kept for each Host.
+     * @see #getUtilizationWindowSize()
+     */
+    public static final int DEF_UTILIZATION_WINDOW_SIZE = 30;
+
+    /**
+     * The minimum number of CPU utilization samples a Host must have to compute
+     * its {@link #computeHostUtilizationMeasure(Host) utilization measure}.
+     */
+    public static final int MIN_UTILIZATION_SAMPLES = 12;
+
+    /**
+     * The maximum number of CPU utilization samples kept for each Host
+     * in its {@link #getUtilizationWindow(Host) utilization window}.
+     */
+    private int utilizationWindowSize;
+
+    /**
+     * @see #getUtilizationWindow(Host)
+     * It's just changed when {@link #sampleHostsUtilization() sampling} Hosts,
+     * so it can be read while Hosts are {@link #getHostStream() evaluated in parallel}.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final Map<Host, SlidingWindowStatistics> utilizationWindows;
+
+    /** The last time the CPU utilization of Hosts was sampled. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private double lastSampleTime;
 
     /** @see #getSafetyParameter() */
     private double safetyParameter;
@@ -49,6 +92,9 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
         final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
     {
         super(vmSelectionPolicy);
+        this.utilizationWindowSize = DEF_UTILIZATION_WINDOW_SIZE;
+        this.utilizationWindows = new HashMap<>();
+        this.lastSampleTime = -1;
         setSafetyParameter(safetyParameter);
         setFallbackVmAllocationPolicy(fallbackVmAllocationPolicy);
     }
@@ -62,11 +108,12 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
      */
     @Override
     public boolean isOverloaded(final Host host) {
-        if(getOverUtilizationThreshold(host) == Double.MAX_VALUE) {
+        final double threshold = getOverUtilizationThreshold(host);
+        if(threshold == Double.MAX_VALUE) {
             return getFallbackVmAllocationPolicy().isOverloaded(host);
         }
 
-        return super.isOverloaded(host);
+        return host.getCpuPercentUtilization() > threshold;
     }
 
     /**
@@ -100,4 +147,83 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
 
         this.safetyParameter = safetyParameter;
     }
+
+    /**
+     * Sets the maximum number of CPU utilization samples kept for each Host.
+     * Changing it discards the samples collected so far.
+     *
+     * @param utilizationWindowSize the new window size
+     * @return this policy
+     */
+    public VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit setUtilizationWindowSize(final int utilizationWindowSize) {
+        if (utilizationWindowSize <= 0) {
+            throw new IllegalArgumentException("The utilization window size must be greater than zero.");
+        }
+
+        this.utilizationWindowSize = utilizationWindowSize;
+        utilizationWindows.clear();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Before that, it adds the current CPU utilization of each Host to its {@link #getUtilizationWindow(Host) window}.
+     * This method is called by the Datacenter at every processing tick while VM migrations are enabled
+     * (except during the {@link org.cloudsimplus.datacenters.Datacenter#getHostSearchRetryDelay() host search retry delay}).
+     */
+    @Override
+    public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
+        sampleHostsUtilization();
+        return super.getOptimizedAllocationMap(vmList);
+    }
+
+    /**
+     * Adds the current CPU utilization of each Host to its {@link #getUtilizationWindow(Host) window},
+     * if the Hosts weren't sampled at the current simulation time yet.
+     */
+    private void sampleHostsUtilization() {
+        final double time = getDatacenter().getSimulation().clock();
+        if (time == lastSampleTime) {
+            return;
+        }
+
+        lastSampleTime = time;
+        for (final Host host : getHostList()) {
+            utilizationWindows
+                .computeIfAbsent(host, h -> new SlidingWindowStatistics(utilizationWindowSize))
+                .add(host.getCpuPercentUtilization());
+        }
+    }
+
+    /**
+     * Computes the Median Absolute Deviation (MAD) of the Host {@link #getUtilizationWindow(Host) utilization window}.
+     *
+     * @param host {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IllegalStateException when the Host has less than {@link #MIN_UTILIZATION_SAMPLES} utilization samples
+     */
+    @Override
+    public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
+        final var window = getUtilizationWindow(host);
+        if (window.size() < MIN_UTILIZATION_SAMPLES) {
+            throw new IllegalStateException(
+                "%s has %d CPU utilization samples, but %d are required.".formatted(host, window.size(), MIN_UTILIZATION_SAMPLES));
+        }
+
+        return window.getMad();
+    }
+
+    /**
+     * Gets a window with the last CPU utilization samples of a Host (in scale from 0 to 1),
+     * taken once per processing tick.
+     * The window provides the median and other statistics computed incrementally,
+     * which are used by {@link #computeHostUtilizationMeasure(Host)}.
+     *
+     * @param host the Host to get the utilization window
+     * @return the Host utilization window (which is empty if the Host wasn't sampled yet)
+     */
+    protected SlidingWindowStatistics getUtilizationWindow(final Host host) {
+        final var window = utilizationWindows.get(host);
+        return window == null ? new SlidingWindowStatistics(utilizationWindowSize) : window;
+    }
 }
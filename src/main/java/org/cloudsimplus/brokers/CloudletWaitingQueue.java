@@ -0,0 +1,175 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * The queue of Cloudlets waiting to be submitted by a broker to some VM,
+ * indexed by the VM they are waiting on.
+ *
+ * <p>Cloudlets which can be mapped to any VM are kept in a list of
+ * {@link #getReadyList() ready Cloudlets}, which the broker scans every time it tries
+ * to submit waiting Cloudlets. Cloudlets bound to a VM which isn't created yet are
+ * {@link #park(Cloudlet) parked} apart, until such a VM is {@link #release(Vm) created}.
+ * This way, scenarios with delayed VMs don't scan the same waiting Cloudlets over and over.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class CloudletWaitingQueue {
+    /** Cloudlets which may be submitted to some VM, in the order they arrived. */
+    private final List<Cloudlet> readyList;
+
+    /**
+     * Cloudlets bound to a VM which isn't created yet, grouped by such a VM.
+     * VMs are compared by identity, since their IDs may be set after Cloudlets are bound to them.
+     */
+    private final Map<Vm, List<Cloudlet>> parkedCloudlets;
+
+    private int parkedCount;
+
+    /**
+     * Cloudlets already sent to some Datacenter before being added back to the queue.
+     * They are set aside so that they aren't scanned again.
+     */
+    private final List<Cloudlet> triedCloudlets;
+
+    CloudletWaitingQueue() {
+        this.readyList = new ArrayList<>();
+        this.parkedCloudlets = new IdentityHashMap<>();
+        this.triedCloudlets = new ArrayList<>();
+    }
+
+    /**
+     * {@return the list of Cloudlets which may be submitted to some VM}
+     * Cloudlets can be removed from it as they are submitted or {@link #park(Cloudlet) parked}.
+     */
+    List<Cloudlet> getReadyList() {
+        return readyList;
+    }
+
+    /**
+     * Adds Cloudlets to the end of the {@link #getReadyList() ready list}.
+     * @param cloudlets the Cloudlets to add
+     */
+    void addAll(final Collection<? extends Cloudlet> cloudlets) {
+        readyList.addAll(cloudlets);
+    }
+
+    /**
+     * Parks a Cloudlet until its bound VM is {@link #release(Vm) created}.
+     * The Cloudlet must be removed from the {@link #getReadyList() ready list} by the caller.
+     * @param cloudlet the Cloudlet bound to a VM not created yet
+     */
+    void park(final Cloudlet cloudlet) {
+        parkedCloudlets.computeIfAbsent(cloudlet.getVm(), vm -> new ArrayList<>()).add(cloudlet);
+        parkedCount++;
+    }
+
+    /**
+     * Sets aside a Cloudlet that was already sent to some Datacenter,
+     * so that it isn't scanned again while being kept as waiting.
+     * The Cloudlet must be removed from the {@link #getReadyList() ready list} by the caller.
+     * @param cloudlet the Cloudlet already tried in some Datacenter
+     */
+    void setAside(final Cloudlet cloudlet) {
+        triedCloudlets.add(cloudlet);
+    }
+
+    /**
+     * Moves the Cloudlets waiting for a given VM back to the {@link #getReadyList() ready list},
+     * after such a VM is created.
+     * @param vm the just created VM
+     * @return true if some Cloudlet was released, false otherwise
+     */
+    boolean release(final Vm vm) {
+        final List<Cloudlet> cloudlets = parkedCloudlets.remove(vm);
+        if(cloudlets == null) {
+            return false;
+        }
+
+        parkedCount -= cloudlets.size();
+        readyList.addAll(cloudlets);
+        return true;
+    }
+
+    /**
+     * Moves a parked Cloudlet back to the {@link #getReadyList() ready list},
+     * before it's bound to another VM.
+     * @param cloudlet the Cloudlet to unpark
+     * @return true if the Cloudlet was parked, false otherwise
+     */
+    boolean unpark(final Cloudlet cloudlet) {
+        final List<Cloudlet> cloudlets = parkedCloudlets.get(cloudlet.getVm());
+        if(cloudlets == null || !cloudlets.remove(cloudlet)) {
+            return false;
+        }
+
+        if(cloudlets.isEmpty()) {
+            parkedCloudlets.remove(cloudlet.getVm());
+        }
+
+        parkedCount--;
+        readyList.add(cloudlet);
+        return true;
+    }
+
+    /**
+     * {@return a read-only List of Cloudlets parked until a given VM is created}
+     * @param vm the VM the Cloudlets are waiting for
+     */
+    List<Cloudlet> getParkedCloudlets(final Vm vm) {
+        return Collections.unmodifiableList(parkedCloudlets.getOrDefault(vm, List.of()));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int size() {
+        return readyList.size() + parkedCount + triedCloudlets.size();
+    }
+
+    /**
+     * {@return a read-only List with all waiting Cloudlets}
+     * including ready, parked and already tried ones.
+     * It's a view of the ready list when there are just ready Cloudlets,
+     * otherwise it's a copy.
+     */
+    List<Cloudlet> toList() {
+        if(parkedCount == 0 && triedCloudlets.isEmpty()) {
+            return Collections.unmodifiableList(readyList);
+        }
+
+        final var list = new ArrayList<Cloudlet>(size());
+        list.addAll(readyList);
+        parkedCloudlets.values().forEach(list::addAll);
+        list.addAll(triedCloudlets);
+        return Collections.unmodifiableList(list);
+    }
+}
@@ -7,19 +7,23 @@
 package org.cloudsimplus.brokers;
 
 import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimTag;
 import org.cloudsimplus.core.SimEntity;
 import org.cloudsimplus.datacenters.Datacenter;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -67,9 +71,15 @@ public interface DatacenterBroker extends SimEntity {
     boolean bindCloudletToVm(Cloudlet cloudlet, Vm vm);
 
     /**
-     * Gets the list of cloudlets submitted to the broker that are waiting to be created inside
+     * Gets a read-only list of cloudlets submitted to the broker that are waiting to be created inside
      * some Vm yet.
      *
+     * <p>Since CloudSim Plus 8.0.0, the list cannot be changed, because waiting Cloudlets are internally
+     * indexed by the VM they are waiting for. It may also be a snapshot taken when the method is called,
+     * so it must be called again to get updated contents.
+     * Cloudlets must be added by methods such as {@link #submitCloudletList(List)}
+     * and bound to VMs by {@link #bindCloudletToVm(Cloudlet, Vm)}.</p>
+     *
      * @param <T> the class of Cloudlets inside the list
      * @return the cloudlet waiting list
      */
@@ -84,6 +94,27 @@ public interface DatacenterBroker extends SimEntity {
      */
     <T extends Cloudlet> List<T> getCloudletFinishedList();
 
+    /**
+     * Sets a {@link Consumer} to receive each Cloudlet returned to the broker after finishing,
+     * instead of keeping it in the {@link #getCloudletFinishedList() finished list}
+     * until the end of the simulation.
+     * After handing a Cloudlet to the sink, the broker releases its references to that Cloudlet,
+     * removing it from the {@link #getCloudletSubmittedList() submitted}
+     * and {@link #getCloudletCreatedList() created} lists too.
+     * This way, memory is kept proportional to the number of Cloudlets in-flight,
+     * instead of the total number of Cloudlets executed during the simulation.
+     * The sink may, for instance, write results to a file as the simulation runs
+     * or just accumulate summary statistics.
+     *
+     * <p>To release the Cloudlets from the VMs too, a sink may be set for each
+     * {@link CloudletScheduler#setCloudletFinishedSink(Consumer) CloudletScheduler}.</p>
+     *
+     * @param sink the {@link Consumer} to receive finished Cloudlets,
+     *             or null to keep finished Cloudlets in the {@link #getCloudletFinishedList() finished list}
+     * @return this broker
+     */
+    DatacenterBroker setCloudletFinishedSink(Consumer<Cloudlet> sink);
+
     /**
      * Gets a VM from the waiting list.
      * @param index the index of the VM to get
@@ -263,6 +294,53 @@ public interface DatacenterBroker extends SimEntity {
      */
     DatacenterBroker submitCloudletList(List<? extends Cloudlet> list, Vm vm, double submissionDelay);
 
+    /**
+     * Submits a source of Cloudlets from which the broker pulls Cloudlets only
+     * as the simulation clock approaches their submission time,
+     * instead of requiring all Cloudlets to be created up-front.
+     * This way, just near-future Cloudlets are kept in memory,
+     * enabling the simulation of millions of Cloudlets generated
+     * from arrival processes or read from traces.
+     *
+     * <p>The source must provide Cloudlets in ascending order of {@link Cloudlet#getSubmissionDelay() submission delay},
+     * which is relative to the time the source is submitted.
+     * A {@link java.util.stream.Stream} or {@link java.util.Spliterator} can be used as a source
+     * by calling {@link java.util.stream.Stream#iterator()} or {@link java.util.Spliterators#iterator(java.util.Spliterator)}.
+     * Pulled Cloudlets are submitted as if {@link #submitCloudletList(List)} were called.</p>
+     *
+     * <p>Finished Cloudlets are still kept in the {@link #getCloudletFinishedList() finished list},
+     * so that the memory used is only bounded when a {@link #setCloudletFinishedSink(Consumer) finished Cloudlet sink}
+     * is set too.</p>
+     *
+     * @param source an {@link Iterator} providing Cloudlets in ascending order of submission delay
+     * @param lookahead how many seconds before its submission time a Cloudlet is pulled from the source
+     * @param maxInFlightCloudlets the maximum number of Cloudlets pulled from the source which
+     *                             may be waiting or executing at the same time.
+     *                             When such a number is reached, the next Cloudlet is pulled
+     *                             just after some of them finishes, fails or is cancelled.
+     *                             Use {@link Integer#MAX_VALUE} for no limit.
+     * @return this broker
+     * @throws IllegalStateException if a Cloudlet source was already submitted and it's not exhausted yet
+     */
+    DatacenterBroker submitCloudletSource(Iterator<? extends Cloudlet> source, double lookahead, int maxInFlightCloudlets);
+
+    /**
+     * Submits a source of VMs from which the broker pulls VMs only
+     * as the simulation clock approaches their submission time,
+     * instead of requiring all VMs to be created up-front.
+     *
+     * <p>The source must provide VMs in ascending order of {@link Vm#getSubmissionDelay() submission delay},
+     * which is relative to the time the source is submitted.
+     * Pulled VMs are submitted as if {@link #submitVmList(List)} were called.</p>
+     *
+     * @param source an {@link Iterator} providing VMs in ascending order of submission delay
+     * @param lookahead how many seconds before its submission time a VM is pulled from the source
+     * @return this broker
+     * @throws IllegalStateException if a VM source was already submitted and it's not exhausted yet
+     * @see #submitCloudletSource(Iterator, double, int)
+     */
+    DatacenterBroker submitVmSource(Iterator<? extends Vm> source, double lookahead);
+
     /**
      * Sets the {@link BiFunction} that selects and returns a Datacenter
      * to place submitted VMs.
@@ -452,6 +530,25 @@ public interface DatacenterBroker extends SimEntity {
      */
     DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle);
 
+    /**
+     * Checks if Cloudlets are submitted to Datacenters in batches.
+     * @return true if batch submission is enabled, false otherwise
+     * @see #setBatchCloudletSubmission(boolean)
+     */
+    boolean isBatchCloudletSubmission();
+
+    /**
+     * Enables or disables the submission of Cloudlets to Datacenters in batches.
+     * When enabled, all Cloudlets mapped to VMs in the same Datacenter and having
+     * the same {@link Cloudlet#getSubmissionDelay() submission delay} are sent
+     * in a single {@link CloudSimTag#CLOUDLET_SUBMIT} event carrying a list of Cloudlets,
+     * instead of sending one event for each Cloudlet.
+     * That reduces the number of events to be processed when submitting a large number of Cloudlets.
+     *
+     * @param batchCloudletSubmission true to enable batch submission, false to disable (the default)
+     */
+    DatacenterBroker setBatchCloudletSubmission(boolean batchCloudletSubmission);
+
     /**
      * Gets the object that keeps track of number of VM creation retries sent by the broker
      * and enables configuring creation retries.
@@ -33,8 +33,14 @@ import org.cloudsimplus.vms.VmSimple;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -79,7 +85,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     private final List<Vm> vmCreatedList;
 
-    private final List<Cloudlet> cloudletWaitingList;
+    /** @see #getCloudletWaitingList() */
+    @Getter(AccessLevel.NONE)
+    private final CloudletWaitingQueue cloudletWaitingQueue;
 
     private final List<Cloudlet> cloudletSubmittedList;
 
@@ -87,6 +95,18 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     private final List<Cloudlet> cloudletCreatedList;
 
+    /** @see #setCloudletFinishedSink(Consumer) */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private Consumer<Cloudlet> cloudletFinishedSink;
+
+    /**
+     * The number of finished Cloudlets handed to the {@link #cloudletFinishedSink}
+     * that weren't removed yet from the {@link #cloudletSubmittedList} and {@link #cloudletCreatedList}.
+     * @see #releaseFinishedCloudlets()
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int unreleasedFinishedCloudlets;
+
     @NonNull
     private Datacenter lastSelectedDc;
 
@@ -96,6 +116,14 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
     private Vm lastSelectedVm;
 
+    /**
+     * An index of created VMs ordered by expected free PEs,
+     * just built when some VM mapper requests it.
+     * @see #getVmFreePesIndex()
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private VmFreePesIndex vmFreePesIndex;
+
     /** @see #setDatacenterMapper(BiFunction) */
     @NonNull
     private BiFunction<Datacenter, Vm, Datacenter> datacenterMapper;
@@ -108,6 +136,13 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     @Getter(AccessLevel.NONE)
     private Function<Vm, Double> vmDestructionDelayFunction;
 
+    /**
+     * Idle VMs ordered by the time they may be destroyed,
+     * according to the {@link #vmDestructionDelayFunction}.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final IdleVmQueue idleVmQueue;
+
     /**
      * {@inheritDoc}
      * <p>If null is given, VMs won't be sorted and follow submission order.</p>
@@ -147,9 +182,27 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     /** @see #isShutdownWhenIdle()  */
     private boolean shutdownWhenIdle;
 
+    /** @see #setBatchCloudletSubmission(boolean) */
+    private boolean batchCloudletSubmission;
+
     @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
     private boolean vmCreationRetrySent;
 
+    /** @see #submitCloudletSource(Iterator, double, int) */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private SubmissionSource<Cloudlet> cloudletSource;
+
+    /** @see #submitVmSource(Iterator, double) */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private SubmissionSource<Vm> vmSource;
+
+    /**
+     * Times of {@link CloudSimTag#BROKER_SOURCE_PULL} events already scheduled,
+     * to avoid sending duplicated events.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final NavigableSet<Double> sourcePullTimes;
+
     /**
      * Creates a DatacenterBroker giving a specific name.
      *
@@ -174,10 +227,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.vmWaitingList = new ArrayList<>();
         this.vmExecList = new ArrayList<>();
         this.vmCreatedList = new ArrayList<>();
-        this.cloudletWaitingList = new ArrayList<>();
+        this.cloudletWaitingQueue = new CloudletWaitingQueue();
         this.cloudletFinishedList = new ArrayList<>();
         this.cloudletCreatedList = new ArrayList<>();
         this.cloudletSubmittedList = new ArrayList<>();
+        this.sourcePullTimes = new TreeSet<>();
+        this.idleVmQueue = new IdleVmQueue();
         setDatacenterList(new ArrayList<>());
 
         setDatacenterMapper(this::defaultDatacenterMapper);
@@ -341,7 +396,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         lastSubmittedCloudlet = setIdForEntitiesWithoutOne(list, lastSubmittedCloudlet);
         cloudletSubmittedList.addAll(list);
         setSimulationForCloudletUtilizationModels(list);
-        cloudletWaitingList.addAll(list);
+        cloudletWaitingQueue.addAll(list);
         wereThereWaitingCloudlets = true;
 
         if (!isStarted()) {
@@ -358,6 +413,83 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return this;
     }
 
+    @Override
+    public DatacenterBroker submitCloudletSource(final Iterator<? extends Cloudlet> source, final double lookahead, final int maxInFlightCloudlets) {
+        if(cloudletSource != null && !cloudletSource.isExhausted()) {
+            throw new IllegalStateException("The previously submitted Cloudlet source was not exhausted yet.");
+        }
+
+        cloudletSource = new SubmissionSource<>(source, getSimulation().clock(), lookahead, maxInFlightCloudlets);
+        pullFromSubmissionSources();
+        return this;
+    }
+
+    @Override
+    public DatacenterBroker submitVmSource(final Iterator<? extends Vm> source, final double lookahead) {
+        if(vmSource != null && !vmSource.isExhausted()) {
+            throw new IllegalStateException("The previously submitted VM source was not exhausted yet.");
+        }
+
+        vmSource = new SubmissionSource<>(source, getSimulation().clock(), lookahead, Integer.MAX_VALUE);
+        pullFromSubmissionSources();
+        return this;
+    }
+
+    /**
+     * Pulls the VMs and Cloudlets whose submission time is approaching from the submission sources
+     * and submits them as regular lists. Then schedules the next pull, if needed.
+     * @see #submitVmSource(Iterator, double)
+     * @see #submitCloudletSource(Iterator, double, int)
+     */
+    private void pullFromSubmissionSources() {
+        final double time = getSimulation().clock();
+        sourcePullTimes.headSet(time, true).clear();
+        if(vmSource != null) {
+            final List<Vm> vms = vmSource.pull(time);
+            if(!vms.isEmpty()) {
+                submitVmList(vms);
+            }
+        }
+
+        if(cloudletSource != null) {
+            submitCloudletList(cloudletSource.pull(time));
+        }
+
+        scheduleSourcePull();
+    }
+
+    /**
+     * Schedules a {@link CloudSimTag#BROKER_SOURCE_PULL} event for the time
+     * the next entity from a submission source has to be pulled,
+     * if there isn't an event already scheduled up to that time.
+     */
+    private void scheduleSourcePull() {
+        if(!getSimulation().isRunning()) {
+            return;
+        }
+
+        final double time = Math.max(getNextSourcePullTime(), getSimulation().clock());
+        if(time == Double.POSITIVE_INFINITY || (!sourcePullTimes.isEmpty() && sourcePullTimes.first() <= time)) {
+            return;
+        }
+
+        /* Stores the time computed exactly as the event time,
+         * so that it's removed when the event is processed. */
+        final double delay = time - getSimulation().clock();
+        sourcePullTimes.add(getSimulation().clock() + delay);
+        schedule(delay, CloudSimTag.BROKER_SOURCE_PULL);
+    }
+
+    private double getNextSourcePullTime() {
+        final double vmPullTime = vmSource == null ? Double.POSITIVE_INFINITY : vmSource.getNextPullTime();
+        final double cloudletPullTime = cloudletSource == null ? Double.POSITIVE_INFINITY : cloudletSource.getNextPullTime();
+        return Math.min(vmPullTime, cloudletPullTime);
+    }
+
+    private boolean isSubmissionSourcesExhausted() {
+        return (vmSource == null || vmSource.isExhausted()) && (cloudletSource == null || cloudletSource.isExhausted());
+    }
+
     /**
      * Binds a list of Cloudlets to a given {@link Vm}.
      * If the {@link Vm} is {@link Vm#NULL}, the Cloudlets will not be bound.
@@ -420,6 +552,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return false;
         }
 
+        cloudletWaitingQueue.unpark(cloudlet);
         cloudlet.setVm(vm);
         return true;
     }
@@ -477,6 +610,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             return true;
         }
 
+        if (evt.getTag() == CloudSimTag.BROKER_SOURCE_PULL) {
+            pullFromSubmissionSources();
+            return true;
+        }
+
         if (evt.getTag() == CloudSimTag.ENTITY_SHUTDOWN || evt.getTag() == CloudSimTag.SIMULATION_END) {
             shutdown();
             return true;
@@ -516,6 +654,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         final var cloudlet = (Cloudlet)evt.getData();
         logCloudletStatusChange(cloudlet, "cancel execution of");
         cloudlet.getVm().getCloudletScheduler().cloudletCancel(cloudlet);
+        releaseFromCloudletSource(cloudlet);
         return true;
     }
 
@@ -539,6 +678,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
          * This way, sets the Cloudlet as failed. */
         if(cloudlet.getFinishedLengthSoFar() == 0) {
             cloudlet.getVm().getCloudletScheduler().cloudletFail(cloudlet);
+            releaseFromCloudletSource(cloudlet);
             return true;
         }
 
@@ -578,6 +718,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     private boolean processCloudletFail(final SimEvent evt){
         final var cloudlet = (Cloudlet)evt.getData();
         cloudlet.getVm().getCloudletScheduler().cloudletFail(cloudlet);
+        releaseFromCloudletSource(cloudlet);
         return true;
     }
 
@@ -628,6 +769,8 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             if(!vmCreation.isRetryFailedVms()){
                 vmWaitingList.remove(vm);
                 vmFailedList.add(vm);
+                //Cloudlets bound to the failed VM will never be created
+                cloudletWaitingQueue.getParkedCloudlets(vm).forEach(this::releaseFromCloudletSource);
                 LOGGER.warn(
                     "{}: {}: {} has been moved to the failed list because creation retry is not enabled.",
                     getSimulation().clockStr(), getName(), vm);
@@ -815,6 +958,10 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         vmWaitingList.remove(vm);
         vmExecList.add(vm);
         vmCreatedList.add(vm);
+        cloudletWaitingQueue.release(vm);
+        if(vmFreePesIndex != null) {
+            vmFreePesIndex.add(vm);
+        }
         notifyOnVmsCreatedListeners();
     }
 
@@ -825,14 +972,18 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private boolean processCloudletReturn(final SimEvent evt) {
         final var cloudlet = (Cloudlet) evt.getData();
-        cloudletFinishedList.add(cloudlet);
+        retainFinishedCloudlet(cloudlet);
         ((VmSimple) cloudlet.getVm()).addExpectedFreePesNumber(cloudlet.getPesNumber());
+        updateVmFreePesIndex(cloudlet.getVm());
+        releaseFromCloudletSource(cloudlet);
+
         final String lifeTime = cloudlet.getLifeTime() == -1 ? "" : " (after defined lifetime expired)";
         LOGGER.info(
             "{}: {}: {} finished{} in {} and returned to broker.",
             getSimulation().clockStr(), getName(), cloudlet, lifeTime, cloudlet.getVm());
 
         if (cloudlet.getVm().getCloudletScheduler().isEmpty()) {
+            addIdleVm(cloudlet.getVm());
             requestIdleVmDestruction(cloudlet.getVm());
             return true;
         }
@@ -841,16 +992,71 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return true;
     }
 
+    /**
+     * Releases the in-flight slot taken by a Cloudlet pulled from the {@link #cloudletSource},
+     * after the Cloudlet has reached a terminal state (finished, failed or cancelled)
+     * or will never be created. This way, the next Cloudlets can be pulled.
+     * @param cloudlet the Cloudlet to release
+     * @see #submitCloudletSource(Iterator, double, int)
+     */
+    private void releaseFromCloudletSource(final Cloudlet cloudlet) {
+        if(cloudletSource != null && cloudletSource.release(cloudlet)) {
+            scheduleSourcePull();
+        }
+    }
+
+    /**
+     * Adds a Cloudlet returned to the broker to the {@link #getCloudletFinishedList() finished list}
+     * or hands it to the {@link #setCloudletFinishedSink(Consumer) finished Cloudlet sink}, if one is set.
+     * @param cloudlet the finished Cloudlet
+     */
+    private void retainFinishedCloudlet(final Cloudlet cloudlet) {
+        if(cloudletFinishedSink == null) {
+            cloudletFinishedList.add(cloudlet);
+            return;
+        }
+
+        cloudletFinishedSink.accept(cloudlet);
+        unreleasedFinishedCloudlets++;
+        releaseFinishedCloudlets();
+    }
+
+    /**
+     * Removes finished Cloudlets already handed to the {@link #cloudletFinishedSink}
+     * from the {@link #cloudletSubmittedList} and {@link #cloudletCreatedList}.
+     * Instead of searching these lists for every returned Cloudlet,
+     * they are compacted in a single pass when at least half of the submitted Cloudlets has finished.
+     * This way, the removal has an amortized constant cost per Cloudlet,
+     * while such lists are kept at most twice the number of in-flight Cloudlets.
+     */
+    private void releaseFinishedCloudlets() {
+        if(unreleasedFinishedCloudlets < cloudletSubmittedList.size()/2) {
+            return;
+        }
+
+        cloudletSubmittedList.removeIf(Cloudlet::isReturnedToBroker);
+        cloudletCreatedList.removeIf(Cloudlet::isReturnedToBroker);
+        unreleasedFinishedCloudlets = 0;
+    }
+
+    @Override
+    public DatacenterBroker setCloudletFinishedSink(final Consumer<Cloudlet> sink) {
+        this.cloudletFinishedSink = sink;
+        return this;
+    }
+
     /**
      * Request the destruction of VMs after all running cloudlets have finished and returned to the broker.
      * If there is no waiting Cloudlet, request all VMs to be destroyed.
      */
     private void requestVmDestructionAfterAllCloudletsFinished() {
-        for (int i = vmExecList.size() - 1; i >= 0; i--) {
-            requestIdleVmDestruction(vmExecList.get(i));
-        }
+        if (isFinished()) {
+            for (int i = vmExecList.size() - 1; i >= 0; i--) {
+                requestIdleVmDestruction(vmExecList.get(i));
+            }
+        } else requestIdleVmsDestruction();
 
-        if (cloudletWaitingList.isEmpty()) {
+        if (cloudletWaitingQueue.isEmpty()) {
             return;
         }
 
@@ -866,11 +1072,40 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         requestDatacenterToCreateWaitingVms(false, false);
     }
 
+    /**
+     * Requests the destruction of the idle VMs whose {@link #vmDestructionDelayFunction destruction delay}
+     * has expired. Only such VMs are checked, instead of all running ones.
+     * VMs that are not idle enough yet (because they were busy more recently)
+     * are put back into the {@link #idleVmQueue}.
+     */
+    private void requestIdleVmsDestruction() {
+        for (final Vm vm : idleVmQueue.pollExpired(getSimulation().clock())) {
+            requestIdleVmDestruction(vm);
+            if (vm.isCreated() && !isVmIdleEnough(vm) && vm.getCloudletScheduler().isEmpty()) {
+                addIdleVm(vm);
+            }
+        }
+    }
+
+    /**
+     * Adds a VM which has just become idle into the {@link #idleVmQueue},
+     * if the {@link #vmDestructionDelayFunction} defines it may be destroyed after some idle time.
+     * @param vm the idle VM
+     */
+    private void addIdleVm(final Vm vm) {
+        final double delay = vmDestructionDelayFunction.apply(vm);
+        if (delay > DEF_VM_DESTRUCTION_DELAY) {
+            final double idleSince = Math.min(vm.getLastBusyTime(), getSimulation().clock());
+            idleVmQueue.add(vm, idleSince + delay);
+        }
+    }
+
     @Override
     public DatacenterBroker requestIdleVmDestruction(final Vm vm) {
         if (vm.isCreated()) {
             if(isVmIdleEnough(vm) || isFinished()) {
                 LOGGER.info("{}: {}: Requesting {} destruction.", getSimulation().clockStr(), getName(), vm);
+                idleVmQueue.remove(vm);
                 sendNow(getDatacenter(vm), CloudSimTag.VM_DESTROY, vm);
             }
 
@@ -919,9 +1154,37 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
         vm.getHost().destroyVm(vm);
         vm.getCloudletScheduler().clear();
+        idleVmQueue.remove(vm);
+        if(vmFreePesIndex != null) {
+            vmFreePesIndex.remove(vm);
+        }
+
         return cloudletsAffectedList;
     }
 
+    /**
+     * Gets an index of created VMs ordered by their {@link Vm#getExpectedFreePesNumber() expected free PEs},
+     * to enable VM mappers to find a suitable VM for a Cloudlet without scanning the
+     * {@link #getVmCreatedList() created VM list}.
+     * The index is built in the first call and then kept up-to-date as VMs are created,
+     * Cloudlets are mapped to them and finish.
+     *
+     * @return the VM index
+     */
+    VmFreePesIndex getVmFreePesIndex() {
+        if(vmFreePesIndex == null) {
+            vmFreePesIndex = new VmFreePesIndex(vmCreatedList);
+        }
+
+        return vmFreePesIndex;
+    }
+
+    private void updateVmFreePesIndex(final Vm vm) {
+        if(vmFreePesIndex != null) {
+            vmFreePesIndex.update(vm);
+        }
+    }
+
     /**
      * Checks if an event must be sent to verify if a VM became idle.
      * That will happen when the {@link #setVmDestructionDelayFunction(Function)} VM destruction delay}
@@ -964,7 +1227,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     }
 
     private boolean isBrokerIdle() {
-        return cloudletWaitingList.isEmpty() && vmWaitingList.isEmpty() && vmExecList.isEmpty();
+        return cloudletWaitingQueue.isEmpty() && vmWaitingList.isEmpty() && vmExecList.isEmpty() && isSubmissionSourcesExhausted();
     }
 
     /**
@@ -985,9 +1248,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
          * Cloudlets in such new list were removed just after the loop,
          * degrading performance in large scale simulations. */
         int createdCloudlets = 0;
-        for (final var iterator = cloudletWaitingList.iterator(); iterator.hasNext(); ) {
+        final var batches = new LinkedHashMap<Datacenter, Map<Double, List<Cloudlet>>>();
+        for (final var iterator = cloudletWaitingQueue.getReadyList().iterator(); iterator.hasNext(); ) {
             final CloudletSimple cloudlet = (CloudletSimple)iterator.next();
             if (!cloudlet.getLastTriedDatacenter().equals(Datacenter.NULL)) {
+                iterator.remove();
+                cloudletWaitingQueue.setAside(cloudlet);
                 continue;
             }
 
@@ -995,24 +1261,71 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             lastSelectedVm = vmMapper.apply(cloudlet);
             if (!lastSelectedVm.isCreated()) {
                 logPostponingCloudletExecution(cloudlet);
+                parkCloudletWaitingForBoundVm(cloudlet, iterator);
                 continue;
             }
 
             ((VmSimple) lastSelectedVm).removeExpectedFreePesNumber(cloudlet.getPesNumber());
+            updateVmFreePesIndex(lastSelectedVm);
 
             logCloudletCreationRequest(cloudlet);
             cloudlet.setVm(lastSelectedVm);
+            idleVmQueue.remove(lastSelectedVm);
             final Datacenter dc = getDatacenter(lastSelectedVm);
-            send(dc, cloudlet.getSubmissionDelay(), CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
+            if(batchCloudletSubmission) {
+                batches.computeIfAbsent(dc, key -> new LinkedHashMap<>())
+                       .computeIfAbsent(cloudlet.getSubmissionDelay(), key -> new ArrayList<>())
+                       .add(cloudlet);
+            }
+            else send(dc, cloudlet.getSubmissionDelay(), CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
             cloudlet.setLastTriedDatacenter(dc);
             cloudletCreatedList.add(cloudlet);
             iterator.remove();
             createdCloudlets++;
         }
 
+        sendCloudletBatches(batches);
         allWaitingCloudletsSubmittedToVm(createdCloudlets);
     }
 
+    /**
+     * Parks a Cloudlet which couldn't be submitted because its bound VM wasn't created yet,
+     * so that it's just tried again when such a VM is created,
+     * instead of being checked every time waiting Cloudlets are submitted.
+     * Cloudlets that aren't bound to a VM are kept in the ready list,
+     * since they may be mapped to any VM that becomes available.
+     *
+     * @param cloudlet the Cloudlet that couldn't be submitted
+     * @param iterator the iterator over the {@link CloudletWaitingQueue#getReadyList() ready list}
+     *                 pointing to the Cloudlet
+     */
+    private void parkCloudletWaitingForBoundVm(final Cloudlet cloudlet, final Iterator<Cloudlet> iterator) {
+        if (cloudlet.isBoundToVm() && cloudlet.getVm() == lastSelectedVm) {
+            iterator.remove();
+            cloudletWaitingQueue.park(cloudlet);
+            if (lastSelectedVm.isFailed() && !vmCreation.isRetryFailedVms()) {
+                //The bound VM was moved to the failed list, so the Cloudlet will never be created
+                releaseFromCloudletSource(cloudlet);
+            }
+        }
+    }
+
+    /**
+     * Sends a single {@link CloudSimTag#CLOUDLET_SUBMIT} event for each batch of Cloudlets
+     * to be submitted to the same Datacenter with the same submission delay.
+     * Batches with a single Cloudlet are sent as a regular Cloudlet submission.
+     *
+     * @param batches a map where each key is a Datacenter and each value is a map of
+     *                Cloudlets to be submitted to that Datacenter, grouped by submission delay
+     * @see #setBatchCloudletSubmission(boolean)
+     */
+    private void sendCloudletBatches(final Map<Datacenter, Map<Double, List<Cloudlet>>> batches) {
+        batches.forEach((dc, batchesByDelay) -> batchesByDelay.forEach((delay, batch) -> {
+            final Object data = batch.size() == 1 ? batch.get(0) : batch;
+            send(dc, delay, CloudSimTag.CLOUDLET_SUBMIT, data);
+        }));
+    }
+
     private void logPostponingCloudletExecution(final Cloudlet cloudlet) {
         if(getSimulation().isAborted() || getSimulation().isAbortRequested())
             return;
@@ -1054,7 +1367,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * @param createdCloudlets number of Cloudlets previously waiting that have been just created
      */
     private boolean allWaitingCloudletsSubmittedToVm(final int createdCloudlets) {
-        if (!cloudletWaitingList.isEmpty()) {
+        if (!cloudletWaitingQueue.isEmpty()) {
             return false;
         }
 
@@ -1080,6 +1393,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     public void startInternal() {
         LOGGER.info("{} is starting...", getName());
         schedule(getSimulation().getCis(), 0, CloudSimTag.DC_LIST_REQUEST);
+        scheduleSourcePull();
     }
 
     @Override
@@ -1113,7 +1427,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     @Override
     public <T extends Cloudlet> List<T> getCloudletWaitingList() {
-        return (List<T>) cloudletWaitingList;
+        return (List<T>) cloudletWaitingQueue.toList();
     }
 
     @Override
@@ -1191,6 +1505,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     @Override
     public DatacenterBroker setVmDestructionDelayFunction(final Function<Vm, Double> function) {
         this.vmDestructionDelayFunction = function == null ? DEF_VM_DESTRUCTION_DELAY_FUNC : function;
+
+        //Recomputes the time idle VMs may be destroyed, according to the new function
+        idleVmQueue.clear();
+        vmExecList.stream()
+                  .filter(vm -> ((VmSimple)vm).hasStartedSomeCloudlet() && vm.getCloudletScheduler().isEmpty())
+                  .forEach(this::addIdleVm);
         return this;
     }
 
@@ -27,8 +27,6 @@ import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.core.CloudSimPlus;
 import org.cloudsimplus.vms.Vm;
 
-import java.util.Comparator;
-
 /**
  * A implementation of {@link DatacenterBroker} that uses a Best Fit
  * mapping between submitted cloudlets and Vm's, trying to place a Cloudlet
@@ -54,6 +52,8 @@ public class DatacenterBrokerBestFit extends DatacenterBrokerSimple {
      * Selects the VM with the lowest number of PEs that is able to run a given Cloudlet.
      * In case the algorithm can't find such a VM, it uses the
      * default DatacenterBroker VM mapper as a fallback.
+     * The VM is found by a ceiling lookup into an index of VMs ordered by expected free PEs,
+     * instead of scanning all created VMs for each Cloudlet.
      *
      * @param cloudlet the Cloudlet to find a VM to run it
      * @return the VM selected for the Cloudlet or {@link Vm#NULL} if no suitable VM was found
@@ -64,11 +64,7 @@ public class DatacenterBrokerBestFit extends DatacenterBrokerSimple {
             return cloudlet.getVm();
         }
 
-        final Vm mappedVm = getVmCreatedList()
-            .stream()
-            .filter(vm -> vm.getExpectedFreePesNumber() >= cloudlet.getPesNumber())
-            .min(Comparator.comparingLong(Vm::getExpectedFreePesNumber))
-            .orElse(Vm.NULL);
+        final Vm mappedVm = getVmFreePesIndex().bestFit(cloudlet.getPesNumber());
 
         if (Vm.NULL.equals(mappedVm)) {
             LOGGER.warn("{}: {}: {} (PEs: {}) couldn't be mapped to any suitable VM.",
@@ -39,9 +39,9 @@ import org.cloudsimplus.vms.Vm;
  */
 public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
     /**
-     * The index of the last Vm used to place a Cloudlet.
+     * The creation order of the last Vm used to place a Cloudlet.
      */
-    private int lastVmIndex;
+    private long lastVmOrder;
 
     /**
      * Creates a DatacenterBroker object.
@@ -66,23 +66,16 @@ public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
             return cloudlet.getVm();
         }
 
-        /* The for loop just defines the maximum number of Hosts to try.
-         * When a suitable Host is found, the method returns immediately. */
-        final int maxTries = getVmCreatedList().size();
-        for (int i = 0; i < maxTries; i++) {
-            final Vm vm = getVmCreatedList().get(lastVmIndex);
-            if (vm.getExpectedFreePesNumber() >= cloudlet.getPesNumber()) {
-                LOGGER.trace("{}: {}: {} (PEs: {}) mapped to {} (available PEs: {}, tot PEs: {})",
-                    getSimulation().clockStr(), getName(), cloudlet, cloudlet.getPesNumber(), vm,
-                    vm.getExpectedFreePesNumber(), vm.getFreePesNumber());
-                return vm;
-            }
-
-            /* If it gets here, the previous Vm doesn't have capacity to place the Cloudlet.
-             * Then, moves to the next Vm.
-             * If the end of the Vm list is reached, starts from the beginning,
-             * until the max number of tries.*/
-            lastVmIndex = ++lastVmIndex % getVmCreatedList().size();
+        /* Starts from the last used VM, skipping full VMs at once.
+         * If the end of the VM list is reached, starts from the beginning. */
+        final var index = getVmFreePesIndex();
+        final Vm vm = index.firstFit(cloudlet.getPesNumber(), lastVmOrder);
+        if (!Vm.NULL.equals(vm)) {
+            lastVmOrder = index.getOrder(vm);
+            LOGGER.trace("{}: {}: {} (PEs: {}) mapped to {} (available PEs: {}, tot PEs: {})",
+                getSimulation().clockStr(), getName(), cloudlet, cloudlet.getPesNumber(), vm,
+                vm.getExpectedFreePesNumber(), vm.getFreePesNumber());
+            return vm;
         }
 
         LOGGER.warn("{}: {}: {} (PEs: {}) couldn't be mapped to any suitable VM.",
@@ -90,6 +83,4 @@ public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
 
         return Vm.NULL;
     }
-
-
 }
@@ -39,7 +39,8 @@ import java.util.stream.Collectors;
  * <p>A simple implementation of {@link DatacenterBroker} that uses some heuristic
  * to get a suboptimal mapping among submitted cloudlets and Vm's.
  * Such heuristic can be, for instance, the {@link CloudletToVmMappingSimulatedAnnealing}
- * that implements a Simulated Annealing algorithm.
+ * that implements a Simulated Annealing algorithm, or the
+ * {@link org.cloudsimplus.heuristics.CloudletToVmMappingGeneticAlgorithm}.
  * The Broker then places the submitted Vm's at the first Datacenter found.
  * If there isn't capacity in that one, it will try the other ones.</p>
  *
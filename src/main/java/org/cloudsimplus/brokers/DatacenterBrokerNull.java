@@ -34,8 +34,10 @@ import org.cloudsimplus.vms.Vm;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -56,6 +58,9 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public <T extends Cloudlet> List<T> getCloudletFinishedList() {
         return Collections.emptyList();
     }
+    @Override public DatacenterBroker setCloudletFinishedSink(Consumer<Cloudlet> sink) { return this; }
+    @Override public DatacenterBroker submitCloudletSource(Iterator<? extends Cloudlet> source, double lookahead, int maxInFlightCloudlets) { return this; }
+    @Override public DatacenterBroker submitVmSource(Iterator<? extends Vm> source, double lookahead) { return this; }
     @Override public Vm getWaitingVm(int index) {
         return Vm.NULL;
     }
@@ -88,6 +93,8 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
 
     @Override public boolean isShutdownWhenIdle() { return false; }
     @Override public DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle) { return this; }
+    @Override public boolean isBatchCloudletSubmission() { return false; }
+    @Override public DatacenterBroker setBatchCloudletSubmission(boolean batchCloudletSubmission) { return this; }
     @Override public DatacenterBroker setVmComparator(Comparator<Vm> comparator) { return this; }
     @Override public DatacenterBroker setCloudletComparator(Comparator<Cloudlet> comparator) { return this; }
     @Override public DatacenterBroker submitCloudlet(Cloudlet cloudlet) { return this; }
@@ -0,0 +1,106 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * A queue of idle VMs ordered by the time they may be destroyed,
+ * according to the time they became idle and the
+ * {@link DatacenterBroker#setVmDestructionDelayFunction(java.util.function.Function) VM destruction delay}.
+ * This way, a broker finds the VMs which have been idle long enough
+ * without checking every running VM.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class IdleVmQueue {
+    /**
+     * A queue entry.
+     * @param deadline the time the VM may be destroyed if it keeps idle
+     * @param order the order the VM was added to the queue, to break ties
+     * @param vm the idle VM
+     */
+    private record Entry(double deadline, long order, Vm vm) {
+    }
+
+    private static final Comparator<Entry> DEADLINE_ORDER =
+        Comparator.comparingDouble(Entry::deadline).thenComparingLong(Entry::order);
+
+    private final NavigableSet<Entry> byDeadline = new TreeSet<>(DEADLINE_ORDER);
+
+    private final Map<Vm, Entry> entries = new HashMap<>();
+
+    private long nextOrder;
+
+    /**
+     * Adds an idle VM to the queue or updates its deadline if it's already there.
+     * @param vm the idle VM
+     * @param deadline the time the VM may be destroyed if it keeps idle
+     */
+    void add(final Vm vm, final double deadline) {
+        remove(vm);
+        final var entry = new Entry(deadline, nextOrder++, vm);
+        entries.put(vm, entry);
+        byDeadline.add(entry);
+    }
+
+    /**
+     * Removes a VM from the queue, after it becomes busy or is destroyed.
+     * @param vm the VM to remove
+     */
+    void remove(final Vm vm) {
+        final Entry entry = entries.remove(vm);
+        if (entry != null) {
+            byDeadline.remove(entry);
+        }
+    }
+
+    /**
+     * Removes and returns the VMs whose deadline is up to a given time.
+     * @param time the current simulation time
+     * @return the List of VMs which may be destroyed, in deadline order
+     */
+    List<Vm> pollExpired(final double time) {
+        final var vms = new ArrayList<Vm>();
+        while (!byDeadline.isEmpty() && byDeadline.first().deadline() <= time) {
+            final Entry entry = byDeadline.pollFirst();
+            entries.remove(entry.vm());
+            vms.add(entry.vm());
+        }
+
+        return vms;
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    void clear() {
+        entries.clear();
+        byDeadline.clear();
+    }
+}
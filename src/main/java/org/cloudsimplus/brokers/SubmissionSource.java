@@ -0,0 +1,172 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.core.CustomerEntity;
+
+import java.util.*;
+
+/**
+ * A source of {@link CustomerEntity customer entities} (such as Cloudlets and VMs)
+ * ordered by submission delay, which are just pulled by a broker
+ * when the simulation clock approaches their submission time.
+ * This way, only near-future entities are materialized,
+ * instead of building the whole list of entities before the simulation starts.
+ *
+ * <p>The source itself doesn't keep pulled entities, but the broker does:
+ * the memory used is just bounded by the lookahead and the maximum number of in-flight entities
+ * if finished entities are not retained too, such as when a
+ * {@link DatacenterBroker#setCloudletFinishedSink(java.util.function.Consumer) finished Cloudlet sink} is set.</p>
+ *
+ * <p>The {@link CustomerEntity#getSubmissionDelay() submission delay} of each entity
+ * is relative to the time the source was submitted to the broker.
+ * When an entity is pulled, its delay is changed to be relative to the pull time.</p>
+ *
+ * @param <T> the type of entities in the source
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class SubmissionSource<T extends CustomerEntity> {
+    private final Iterator<? extends T> iterator;
+
+    /** The simulation time the source was submitted to the broker. */
+    private final double startTime;
+
+    /** @see #SubmissionSource(Iterator, double, double, int) */
+    private final double lookahead;
+
+    /** @see #SubmissionSource(Iterator, double, double, int) */
+    private final int maxInFlight;
+
+    /**
+     * Entities pulled from the source which weren't {@link #release(CustomerEntity) released} yet.
+     * They are just tracked when the {@link #maxInFlight} is bounded.
+     * Entities are compared by identity, since their IDs may be just set
+     * after they are pulled and submitted to the broker.
+     */
+    private final Set<T> inFlight;
+
+    /** The next entity to be pulled, already read from the {@link #iterator}. */
+    private T next;
+
+    /**
+     * Creates a submission source.
+     *
+     * @param iterator an {@link Iterator} providing entities in ascending order of submission delay
+     * @param startTime the simulation time the source is being submitted to the broker
+     * @param lookahead how many seconds before its submission time an entity is pulled from the source
+     * @param maxInFlight maximum number of entities pulled from the source which may be
+     *                    in execution at the same time, or {@link Integer#MAX_VALUE} for no limit
+     */
+    SubmissionSource(
+        final Iterator<? extends T> iterator, final double startTime,
+        final double lookahead, final int maxInFlight)
+    {
+        if(lookahead < 0) {
+            throw new IllegalArgumentException("Lookahead cannot be negative.");
+        }
+
+        if(maxInFlight <= 0) {
+            throw new IllegalArgumentException("The maximum number of in-flight entities must be greater than zero.");
+        }
+
+        this.iterator = Objects.requireNonNull(iterator);
+        this.startTime = startTime;
+        this.lookahead = lookahead;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Pulls the entities whose submission time is within the lookahead window
+     * from a given time, while the maximum number of in-flight entities is not reached.
+     *
+     * @param time the current simulation time
+     * @return a List of pulled entities, which may be empty
+     */
+    List<T> pull(final double time) {
+        final var pulled = new ArrayList<T>();
+        while (!isFull() && !isExhausted() && getSubmissionTime(next) <= time + lookahead) {
+            final T entity = next;
+            next = null;
+            entity.setSubmissionDelay(Math.max(getSubmissionTime(entity) - time, 0));
+            if(isBounded()) {
+                inFlight.add(entity);
+            }
+
+            pulled.add(entity);
+        }
+
+        return pulled;
+    }
+
+    /**
+     * Releases an entity pulled from this source, after it has reached a terminal state
+     * (such as finished, failed or cancelled) or it will never be created,
+     * enabling another one to be pulled.
+     *
+     * @param entity the entity to release
+     * @return true if the entity was pulled from this source and released, false otherwise
+     */
+    boolean release(final T entity) {
+        return inFlight.remove(entity);
+    }
+
+    /**
+     * {@return the simulation time the next entity has to be pulled}
+     * or {@link Double#POSITIVE_INFINITY} if the source is exhausted or
+     * there are already the maximum number of entities in-flight
+     * (the next pull then has to wait some entity to be {@link #release(CustomerEntity) released}).
+     */
+    double getNextPullTime() {
+        if(isFull() || isExhausted()) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return getSubmissionTime(next) - lookahead;
+    }
+
+    /**
+     * {@return true if all entities were already pulled from the source, false otherwise}
+     */
+    boolean isExhausted() {
+        if(next == null && iterator.hasNext()) {
+            next = Objects.requireNonNull(iterator.next(), "The submission source cannot provide null entities.");
+        }
+
+        return next == null;
+    }
+
+    private boolean isFull() {
+        return inFlight.size() >= maxInFlight;
+    }
+
+    private boolean isBounded() {
+        return maxInFlight < Integer.MAX_VALUE;
+    }
+
+    private double getSubmissionTime(final T entity) {
+        return startTime + entity.getSubmissionDelay();
+    }
+}
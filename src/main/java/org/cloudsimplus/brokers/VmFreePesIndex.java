@@ -0,0 +1,172 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * An index of created VMs ordered by their {@link Vm#getExpectedFreePesNumber() expected free PEs}
+ * and by the order they were created, enabling a broker to find a suitable VM for a Cloudlet
+ * without scanning the whole {@link DatacenterBroker#getVmCreatedList() created VM list}.
+ *
+ * <p>Since the number of expected free PEs is the index key,
+ * the index must be {@link #update(Vm) updated} every time such a number changes.
+ * Destroyed VMs are removed when they are found during a lookup.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class VmFreePesIndex {
+    /**
+     * An index entry, keeping the number of expected free PEs of the VM
+     * when it was added to the index.
+     * @param freePes the number of expected free PEs of the VM
+     * @param order the position of the VM in the created VM list
+     * @param vm the indexed VM
+     */
+    private record Entry(long freePes, long order, Vm vm) {
+    }
+
+    private static final Comparator<Entry> FREE_PES_ORDER =
+        Comparator.comparingLong(Entry::freePes).thenComparingLong(Entry::order);
+
+    /** Entries ordered by expected free PEs, then by creation order. */
+    private final NavigableSet<Entry> byFreePes = new TreeSet<>(FREE_PES_ORDER);
+
+    /** VMs with some expected free PE, ordered by creation order. */
+    private final NavigableMap<Long, Vm> notFullVms = new TreeMap<>();
+
+    private final Map<Vm, Entry> entries = new HashMap<>();
+
+    private long nextOrder;
+
+    /**
+     * Creates an index with a given list of created VMs.
+     * @param vmCreatedList the list of created VMs, in the order they were created
+     */
+    VmFreePesIndex(final List<? extends Vm> vmCreatedList) {
+        vmCreatedList.stream().filter(Vm::isCreated).forEach(this::add);
+    }
+
+    /**
+     * Adds a just created VM to the index.
+     * @param vm the VM to add
+     */
+    void add(final Vm vm) {
+        remove(vm);
+        put(new Entry(vm.getExpectedFreePesNumber(), nextOrder++, vm));
+    }
+
+    /**
+     * Updates the position of a VM in the index after its expected free PEs changed.
+     * @param vm the VM to update
+     */
+    void update(final Vm vm) {
+        final Entry entry = entries.get(vm);
+        if (entry != null) {
+            remove(vm);
+            put(new Entry(vm.getExpectedFreePesNumber(), entry.order(), vm));
+        }
+    }
+
+    /**
+     * Removes a VM from the index.
+     * @param vm the VM to remove
+     */
+    void remove(final Vm vm) {
+        final Entry entry = entries.remove(vm);
+        if (entry != null) {
+            byFreePes.remove(entry);
+            notFullVms.remove(entry.order());
+        }
+    }
+
+    private void put(final Entry entry) {
+        entries.put(entry.vm(), entry);
+        byFreePes.add(entry);
+        if (entry.freePes() > 0) {
+            notFullVms.put(entry.order(), entry.vm());
+        }
+    }
+
+    /**
+     * Finds the VM with the lowest number of expected free PEs which is
+     * at least a given number of PEs (the first created one in case of a tie).
+     *
+     * @param requiredPes the number of PEs required
+     * @return the best fit VM or {@link Vm#NULL} if no suitable VM was found
+     */
+    Vm bestFit(final long requiredPes) {
+        final var key = new Entry(requiredPes, Long.MIN_VALUE, Vm.NULL);
+        for (Entry entry = byFreePes.ceiling(key); entry != null; entry = byFreePes.ceiling(key)) {
+            if (entry.vm().isCreated()) {
+                return entry.vm();
+            }
+
+            remove(entry.vm());
+        }
+
+        return Vm.NULL;
+    }
+
+    /**
+     * Finds the first VM having at least a given number of expected free PEs,
+     * starting from a given position in the creation order and
+     * moving to the beginning when the end is reached.
+     * VMs with no expected free PEs are skipped at once.
+     *
+     * @param requiredPes the number of PEs required
+     * @param startOrder the creation order position to start the search from
+     * @return the first fit VM or {@link Vm#NULL} if no suitable VM was found
+     */
+    Vm firstFit(final long requiredPes, final long startOrder) {
+        final Vm vm = firstFit(requiredPes, notFullVms.tailMap(startOrder, true));
+        return Vm.NULL.equals(vm) ? firstFit(requiredPes, notFullVms.headMap(startOrder, false)) : vm;
+    }
+
+    private Vm firstFit(final long requiredPes, final NavigableMap<Long, Vm> vms) {
+        for (final var iterator = vms.values().iterator(); iterator.hasNext(); ) {
+            final Vm vm = iterator.next();
+            if (!vm.isCreated()) {
+                byFreePes.remove(entries.remove(vm));
+                iterator.remove();
+            } else if (vm.getExpectedFreePesNumber() >= requiredPes) {
+                return vm;
+            }
+        }
+
+        return Vm.NULL;
+    }
+
+    /**
+     * {@return the creation order of an indexed VM} or -1 if the VM isn't indexed.
+     * @param vm the VM to get its order
+     */
+    long getOrder(final Vm vm) {
+        final Entry entry = entries.get(vm);
+        return entry == null ? -1 : entry.order();
+    }
+}
@@ -64,7 +64,7 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
     @NonNull
     private Vm vm;
 
-    @NonNull
+    @NonNull @Setter(AccessLevel.NONE)
     private UtilizationModel utilizationModelCpu;
 
     @NonNull
@@ -260,9 +260,29 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
         }
 
         this.pesNumber = pesNumber;
+        cpuUtilizationChanged();
+        return this;
+    }
+
+    @Override
+    public Cloudlet setUtilizationModelCpu(@NonNull final UtilizationModel utilizationModelCpu) {
+        this.utilizationModelCpu = utilizationModelCpu;
+        cpuUtilizationChanged();
         return this;
     }
 
+    /**
+     * Notifies the scheduler of the Cloudlet's VM that the CPU utilization of the Cloudlet may have changed,
+     * so that values computed from it and cached for the current time (such as the VM CPU utilization)
+     * are computed again.
+     */
+    private void cpuUtilizationChanged() {
+        //The VM is null while the Cloudlet is being constructed
+        if (vm != null) {
+            vm.getCloudletScheduler().incrementStateVersion();
+        }
+    }
+
     @Override
     public long getFinishedLengthSoFar() {
         if(getLength() > 0) {
@@ -102,7 +102,8 @@ public class CloudSimTag{
      * Denotes the submission of a Cloudlet. This tag is normally used between
      * a DatacenterBroker and Datacenter entity.
      * When an event of this type is sent, the {@link SimEvent#getData()}
-     * must be a {@link Cloudlet} object.
+     * must be a {@link Cloudlet} object or a {@link java.util.List} of Cloudlets
+     * (when the broker submits Cloudlets in batches).
      */
     public static final int CLOUDLET_SUBMIT = BASE + 16;
 
@@ -226,6 +227,15 @@ public class CloudSimTag{
      */
     public static final int CLOUDLET_UPDATE_ATTRIBUTES = BASE + 27;
 
+    /**
+     * Denotes a request for a {@link DatacenterBroker} to pull Cloudlets and VMs
+     * from submission sources whose submission time is approaching.
+     *
+     * @see DatacenterBroker#submitCloudletSource(java.util.Iterator, double, int)
+     * @see DatacenterBroker#submitVmSource(java.util.Iterator, double)
+     */
+    public static final int BROKER_SOURCE_PULL = BASE + 28;
+
     /**
      * Denotes a request to retry creating waiting VMs from a {@link DatacenterBroker}.
      */
@@ -369,6 +379,13 @@ public class CloudSimTag{
      */
     public static final int HOST_POWER_OFF = BASE + 72;
 
+    /**
+     * Denotes a request for a trace reader which is streaming a trace file
+     * to read the next time window of that file.
+     * @see org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader#setStreamingLookahead(double)
+     */
+    public static final int TRACE_READ = BASE + 73;
+
     /**
      * Checks if this tag is between a given range of tags,
      * according to their values.
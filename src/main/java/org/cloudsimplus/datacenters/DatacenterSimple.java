@@ -422,40 +422,84 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     protected boolean processCloudletSubmit(final SimEvent evt, final boolean ack) {
         if (evt.getData() instanceof Cloudlet cloudlet){
-            if (cloudlet.isFinished()) {
-                notifyBrokerAboutAlreadyFinishedCloudlet(cloudlet, ack);
-                return false;
-            }
+            return submitCloudletToVm(cloudlet, ack, true) >= 0;
+        }
 
-            submitCloudletToVm(cloudlet, ack);
-            return true;
+        if (evt.getData() instanceof List<?> cloudlets){
+            return processCloudletBatchSubmit(cloudlets, ack);
         }
 
         throw new InvalidEventDataTypeException(evt, "CLOUDLET_SUBMIT Tags", Cloudlet.class.getName());
     }
 
+    /**
+     * Processes the submission of a batch of Cloudlets by a DatacenterBroker,
+     * submitting all of them to their VMs in a single pass
+     * and scheduling a single update of Cloudlets processing.
+     *
+     * @param cloudlets the list of Cloudlets submitted
+     * @param ack indicates if the Broker is waiting for an ACK after the Datacenter
+     * receives the cloudlet submission
+     * @return true if some Cloudlet was submitted, false otherwise
+     * @see org.cloudsimplus.brokers.DatacenterBroker#setBatchCloudletSubmission(boolean)
+     */
+    private boolean processCloudletBatchSubmit(final List<?> cloudlets, final boolean ack) {
+        double earliestFinishTime = Double.POSITIVE_INFINITY;
+        boolean submitted = false;
+        for (final Object data : cloudlets) {
+            final double estimatedFinishTime = submitCloudletToVm((Cloudlet) data, ack, false);
+            if (estimatedFinishTime > 0.0) {
+                earliestFinishTime = Math.min(earliestFinishTime, estimatedFinishTime);
+            }
+
+            submitted |= estimatedFinishTime >= 0;
+        }
+
+        scheduleCloudletProcessingUpdate(earliestFinishTime);
+        return submitted;
+    }
+
     /**
      * Submits a cloudlet to be executed inside its bind VM.
      *
      * @param cloudlet the cloudlet to the executed
      * @param ack indicates if the Broker is waiting for an ACK after the Datacenter
      * receives the cloudlet submission
+     * @param scheduleUpdate indicates if an update of Cloudlets processing must be scheduled
+     *                       if the Cloudlet was added to the exec queue
+     * @return the estimated finish time of the Cloudlet (0 if it was added to the waiting list)
+     * or -1 if the Cloudlet was already finished and wasn't submitted
      */
-    private void submitCloudletToVm(final Cloudlet cloudlet, final boolean ack) {
+    private double submitCloudletToVm(final Cloudlet cloudlet, final boolean ack, final boolean scheduleUpdate) {
+        if (cloudlet.isFinished()) {
+            notifyBrokerAboutAlreadyFinishedCloudlet(cloudlet, ack);
+            return -1;
+        }
+
         final double fileTransferTime = getDatacenterStorage().predictFileTransferTime(cloudlet.getRequiredFiles());
 
         final var scheduler = cloudlet.getVm().getCloudletScheduler();
         final double estimatedFinishTime = scheduler.cloudletSubmit(cloudlet, fileTransferTime);
+        if (scheduleUpdate) {
+            scheduleCloudletProcessingUpdate(estimatedFinishTime);
+        }
 
-        // if this cloudlet is in the exec queue
+        ((CustomerEntityAbstract)cloudlet).setCreationTime();
+        sendCloudletSubmitAckToBroker(cloudlet, ack);
+        return estimatedFinishTime;
+    }
+
+    /**
+     * Schedules an update of Cloudlets processing if a submitted Cloudlet was added to the exec queue.
+     * @param estimatedFinishTime the estimated finish time of the earliest submitted Cloudlet
+     */
+    private void scheduleCloudletProcessingUpdate(final double estimatedFinishTime) {
+        // if the cloudlet is in the exec queue
         if (estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime)) {
             send(this,
                 getCloudletProcessingUpdateInterval(estimatedFinishTime),
                 CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
         }
-
-        ((CustomerEntityAbstract)cloudlet).setCreationTime();
-        sendCloudletSubmitAckToBroker(cloudlet, ack);
     }
 
     /**
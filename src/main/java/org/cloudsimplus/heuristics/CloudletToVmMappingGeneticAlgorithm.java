@@ -0,0 +1,399 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.distributions.ContinuousDistribution;
+import org.cloudsimplus.distributions.UniformDistr;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A <a href="https://en.wikipedia.org/wiki/Genetic_algorithm">Genetic Algorithm</a>
+ * for solving Cloudlets to Vm's mapping, which evolves a population of
+ * {@link CloudletToVmMappingSolution}s, where each Cloudlet is a gene whose value is the VM it's mapped to.
+ *
+ * <p>At each generation, the best solution is kept and the rest of the population is
+ * replaced by children created from parents chosen by tournament selection,
+ * using a two-point crossover and then mutating some genes (mapping some Cloudlets to random VMs).
+ * Children are created and have their fitness evaluated in parallel (using the common ForkJoin pool),
+ * each one with its own {@link ContinuousDistribution pseudo random number generator}
+ * seeded from the generator given to this heuristic. This way, the search scales with the number of CPU cores
+ * and is reproducible.</p>
+ *
+ * <p>The search stops when a {@link #setMaxGenerations(int) maximum number of generations}
+ * or a {@link #setMaxTime(double) maximum time} is reached, whichever happens first.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+@Accessors @Getter
+public class CloudletToVmMappingGeneticAlgorithm
+      extends HeuristicAbstract<CloudletToVmMappingSolution>
+      implements CloudletToVmMappingHeuristic
+{
+    /** @see #getPopulationSize() */
+    public static final int DEF_POPULATION_SIZE = 50;
+
+    /** @see #getMutationRate() */
+    public static final double DEF_MUTATION_RATE = 0.01;
+
+    /** @see #getMaxGenerations() */
+    public static final int DEF_MAX_GENERATIONS = 500;
+
+    @Getter(AccessLevel.NONE)
+    private CloudletToVmMappingSolution initialSolution;
+
+    @Setter @NonNull
+    private List<Vm> vmList;
+
+    @Setter @NonNull
+    private List<Cloudlet> cloudletList;
+
+    /**
+     * The number of solutions in the population.
+     */
+    private int populationSize;
+
+    /**
+     * The percentage (in scale from 0 to 1) of the genes of each child which are mutated,
+     * i.e., the Cloudlets which are mapped to a random VM.
+     * At least one gene is always mutated.
+     */
+    private double mutationRate;
+
+    /**
+     * The maximum number of generations to evolve.
+     */
+    private int maxGenerations;
+
+    /**
+     * The maximum time (in seconds) to search for a solution.
+     */
+    private double maxTime;
+
+    /**
+     * The number of generations evolved so far by the current search.
+     */
+    private int generation;
+
+    @Getter(AccessLevel.NONE)
+    private long startTime;
+
+    /**
+     * Creates a Genetic Algorithm for solving Cloudlets to Vm's mapping.
+     *
+     * @param random a random number generator
+     * @see #setPopulationSize(int)
+     * @see #setMaxGenerations(int)
+     * @see #setMaxTime(double)
+     */
+    public CloudletToVmMappingGeneticAlgorithm(final ContinuousDistribution random) {
+        super(random, CloudletToVmMappingSolution::new);
+        this.vmList = List.of();
+        this.cloudletList = List.of();
+        this.populationSize = DEF_POPULATION_SIZE;
+        this.mutationRate = DEF_MUTATION_RATE;
+        this.maxGenerations = DEF_MAX_GENERATIONS;
+        this.maxTime = Double.MAX_VALUE;
+        this.initialSolution = new CloudletToVmMappingSolution(this);
+    }
+
+    /**
+     * Sets the number of solutions in the population.
+     * @param populationSize the population size to set (at least 2)
+     * @return this heuristic
+     */
+    public CloudletToVmMappingGeneticAlgorithm setPopulationSize(final int populationSize) {
+        if(populationSize < 2) {
+            throw new IllegalArgumentException("Population size must be at least 2.");
+        }
+
+        this.populationSize = populationSize;
+        return this;
+    }
+
+    /**
+     * Sets the percentage of the genes of each child which are mutated.
+     * @param mutationRate the mutation rate to set, in scale from 0 to 1
+     * @return this heuristic
+     */
+    public CloudletToVmMappingGeneticAlgorithm setMutationRate(final double mutationRate) {
+        if(mutationRate < 0 || mutationRate > 1) {
+            throw new IllegalArgumentException("Mutation rate must be between 0 and 1.");
+        }
+
+        this.mutationRate = mutationRate;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of generations to evolve.
+     * @param maxGenerations the maximum number of generations to set
+     * @return this heuristic
+     */
+    public CloudletToVmMappingGeneticAlgorithm setMaxGenerations(final int maxGenerations) {
+        if(maxGenerations <= 0) {
+            throw new IllegalArgumentException("Maximum number of generations must be greater than zero.");
+        }
+
+        this.maxGenerations = maxGenerations;
+        return this;
+    }
+
+    /**
+     * Sets the maximum time to search for a solution.
+     * @param maxTime the maximum time to set (in seconds)
+     * @return this heuristic
+     */
+    public CloudletToVmMappingGeneticAlgorithm setMaxTime(final double maxTime) {
+        if(maxTime <= 0) {
+            throw new IllegalArgumentException("Maximum time must be greater than zero.");
+        }
+
+        this.maxTime = maxTime;
+        return this;
+    }
+
+    private boolean isReadToGenerateInitialSolution(){
+        return !cloudletList.isEmpty() && !vmList.isEmpty();
+    }
+
+    private boolean isThereInitialSolution(){
+        return initialSolution.getCloudletsNumber() > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It maps each Cloudlet to a random VM.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingSolution getInitialSolution() {
+        if(!isThereInitialSolution() && isReadToGenerateInitialSolution()) {
+            initialSolution = new CloudletToVmMappingSolution(this, vmList);
+            for (final Cloudlet cloudlet : cloudletList) {
+                initialSolution.bindCloudletToVm(cloudlet, vmList.get(getRandomValue(vmList.size())));
+            }
+        }
+
+        return initialSolution;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A child is accepted as the best solution just if it has a lower cost.
+     * @return 1 if the {@link #getNeighborSolution() neighbor solution} is better than
+     *         the {@link #getBestSolutionSoFar() best solution so far}, 0 otherwise
+     */
+    @Override
+    public double getAcceptanceProbability() {
+        return getNeighborSolution().getCost() < getBestSolutionSoFar().getCost() ? 1 : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return true if the {@link #getMaxGenerations() maximum number of generations}
+     *         or the {@link #getMaxTime() maximum time} was reached, false otherwise
+     */
+    @Override
+    public boolean isToStopSearch() {
+        return generation >= maxGenerations || (System.currentTimeMillis() - startTime)/1000.0 >= maxTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It creates a mutated copy of the source solution.
+     * @param source {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+        final var neighbor = new CloudletToVmMappingSolution(source);
+        mutate(neighbor, getRandom());
+        return neighbor;
+    }
+
+    @Override
+    protected void updateSystemState() {
+        generation++;
+        LOGGER.debug(
+            "{}: Best solution cost at generation {} is {}",
+            System.currentTimeMillis(), generation, getBestSolutionSoFar().getCost());
+    }
+
+    /**
+     * {@inheritDoc}
+     * It evolves the population until the stop criteria is met.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingSolution solve() {
+        startTime = System.currentTimeMillis();
+        generation = 0;
+        setBestSolutionSoFar(getInitialSolution());
+        if(!isThereInitialSolution()) {
+            return getBestSolutionSoFar();
+        }
+
+        var population = createInitialPopulation();
+        while (!isToStopSearch()) {
+            population = nextGeneration(population);
+            final var best = population.get(0);
+            setNeighborSolution(best);
+            if(getAcceptanceProbability() > 0) {
+                setBestSolutionSoFar(best);
+            }
+
+            updateSystemState();
+        }
+
+        setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+        return getBestSolutionSoFar();
+    }
+
+    /**
+     * Creates the initial population, including the {@link #getInitialSolution() initial solution}
+     * and copies of it where each Cloudlet is mapped to a random VM.
+     * @return the initial population
+     */
+    private List<CloudletToVmMappingSolution> createInitialPopulation() {
+        final var population = new ArrayList<CloudletToVmMappingSolution>(populationSize);
+        population.add(initialSolution);
+        while (population.size() < populationSize) {
+            final var solution = new CloudletToVmMappingSolution(initialSolution);
+            for (int i = 0; i < solution.getCloudletsNumber(); i++) {
+                solution.moveCloudlet(i, getRandomValue(solution.getVmsNumber()));
+            }
+
+            population.add(solution);
+        }
+
+        return population;
+    }
+
+    /**
+     * Creates the next generation, keeping the best solution from the current one
+     * and creating children in parallel for the rest of the population.
+     * @param population the current population
+     * @return the next population, where the best solution comes first
+     */
+    private List<CloudletToVmMappingSolution> nextGeneration(final List<CloudletToVmMappingSolution> population) {
+        final var best = population.stream()
+                                   .min(Comparator.comparingDouble(CloudletToVmMappingSolution::getCost))
+                                   .orElseThrow();
+
+        /*The random seeds are generated sequentially, so that the search is reproducible.*/
+        final long[] seeds = IntStream.range(1, populationSize).mapToLong(i -> getRandomValue(Integer.MAX_VALUE)).toArray();
+        final var children = IntStream.range(0, seeds.length)
+                                      .parallel()
+                                      .mapToObj(i -> createChild(population, new UniformDistr(seeds[i])))
+                                      .toList();
+
+        final var nextPopulation = new ArrayList<CloudletToVmMappingSolution>(populationSize);
+        nextPopulation.add(best);
+        nextPopulation.addAll(children);
+        nextPopulation.sort(Comparator.comparingDouble(CloudletToVmMappingSolution::getCost));
+        return nextPopulation;
+    }
+
+    /**
+     * Creates a child from 2 parents selected from the population, using a two-point crossover
+     * and then mutating it. The child cost is updated as its genes change,
+     * so that its fitness is already evaluated when it's returned.
+     *
+     * @param population the population to select the parents from
+     * @param random the random number generator for this child
+     * @return the new child
+     */
+    private CloudletToVmMappingSolution createChild(
+        final List<CloudletToVmMappingSolution> population, final ContinuousDistribution random)
+    {
+        final var parent1 = selectParent(population, random);
+        final var parent2 = selectParent(population, random);
+        final var child = new CloudletToVmMappingSolution(parent1);
+
+        final int genes = child.getCloudletsNumber();
+        final int point1 = randomValue(random, genes);
+        final int point2 = randomValue(random, genes);
+        for (int i = Math.min(point1, point2); i < Math.max(point1, point2); i++) {
+            child.moveCloudlet(i, parent2.getVmIndex(i));
+        }
+
+        mutate(child, random);
+        return child;
+    }
+
+    /**
+     * Selects a parent from the population using a binary tournament.
+     * @param population the population to select the parent from
+     * @param random the random number generator to use
+     * @return the solution with the lowest cost between 2 random ones
+     */
+    private CloudletToVmMappingSolution selectParent(
+        final List<CloudletToVmMappingSolution> population, final ContinuousDistribution random)
+    {
+        final var solution1 = population.get(randomValue(random, population.size()));
+        final var solution2 = population.get(randomValue(random, population.size()));
+        return solution1.getCost() <= solution2.getCost() ? solution1 : solution2;
+    }
+
+    /**
+     * Maps some random Cloudlets of a solution to random VMs, according to the {@link #getMutationRate() mutation rate}.
+     * @param solution the solution to mutate
+     * @param random the random number generator to use
+     */
+    private void mutate(final CloudletToVmMappingSolution solution, final ContinuousDistribution random) {
+        final int genes = solution.getCloudletsNumber();
+        if(genes == 0) {
+            return;
+        }
+
+        final int mutations = Math.max(1, (int)Math.round(genes * mutationRate));
+        for (int i = 0; i < mutations; i++) {
+            solution.moveCloudlet(randomValue(random, genes), randomValue(random, solution.getVmsNumber()));
+        }
+    }
+
+    /**
+     * Gets a random number between 0 (inclusive) and maxValue (exclusive), using a given generator.
+     * @param random the random number generator to use
+     * @param maxValue the max value to get a random number (exclusive)
+     * @return the random number
+     * @see #getRandomValue(int)
+     */
+    private static int randomValue(final ContinuousDistribution random, final int maxValue) {
+        final double uniform = random.sample();
+        return (int)(uniform >= 1 ? uniform % maxValue : uniform * maxValue);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.Getter;
+import org.cloudsimplus.distributions.ContinuousDistribution;
+import org.cloudsimplus.distributions.UniformDistr;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link CloudletToVmMappingSimulatedAnnealing} which runs multiple
+ * simulated annealing chains in parallel (using the common ForkJoin pool)
+ * and returns the best solution found across all of them.
+ * This way, the time to find a solution with a given cost drops as the number of CPU cores grows.
+ *
+ * <p>Each chain starts from its own random solution and has its own
+ * {@link ContinuousDistribution pseudo random number generator}, seeded from the
+ * seed of the generator given to this heuristic. That makes the search reproducible.
+ * </p>
+ *
+ * <p>Chains may have different initial temperatures, defined by a
+ * {@link #setTemperatureRatio(double) temperature ratio}, which creates a ladder of temperatures
+ * where hot chains explore the search space while cold ones refine the solutions found.
+ * After every {@link #setExchangeInterval(int) exchange interval}, chains with consecutive temperatures
+ * may exchange their states, according to the
+ * <a href="https://en.wikipedia.org/wiki/Parallel_tempering">Parallel Tempering</a> algorithm.
+ * If the ratio is 1 (the default), all chains run independently from the same temperature
+ * (which is a multi-start simulated annealing).
+ * </p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+@Getter
+public class CloudletToVmMappingParallelSimulatedAnnealing extends CloudletToVmMappingSimulatedAnnealing {
+    /** @see #getExchangeInterval() */
+    public static final int DEF_EXCHANGE_INTERVAL = 100;
+
+    /**
+     * The number of simulated annealing chains to run in parallel.
+     */
+    private final int chainsNumber;
+
+    /**
+     * The ratio between the initial temperatures of one chain and the previous one.
+     * The first chain starts at the initial temperature given to the heuristic.
+     */
+    private double temperatureRatio;
+
+    /**
+     * The number of iterations (where each one performs {@link #getSearchesByIteration()} neighborhood searches)
+     * each chain runs before chains exchange their states
+     * and the best solution across all of them is updated.
+     */
+    private int exchangeInterval;
+
+    /**
+     * Creates a parallel simulated annealing heuristic for solving Cloudlets to Vm's mapping.
+     *
+     * @param initialTemperature the system initial temperature (for the first chain)
+     * @param random a random number generator, whose seed is used to seed the generator of each chain
+     * @param chainsNumber the number of simulated annealing chains to run in parallel
+     * @see #setColdTemperature(double)
+     * @see #setCoolingRate(double)
+     * @see #setTemperatureRatio(double)
+     */
+    public CloudletToVmMappingParallelSimulatedAnnealing(
+        final double initialTemperature, final ContinuousDistribution random, final int chainsNumber)
+    {
+        super(initialTemperature, random);
+        if(chainsNumber <= 0) {
+            throw new IllegalArgumentException("The number of chains must be greater than zero.");
+        }
+
+        this.chainsNumber = chainsNumber;
+        this.temperatureRatio = 1;
+        this.exchangeInterval = DEF_EXCHANGE_INTERVAL;
+    }
+
+    /**
+     * Sets the ratio between the initial temperatures of one chain and the previous one.
+     * @param temperatureRatio the ratio to set, where values greater than 1 make each chain hotter than the previous one
+     * @return this heuristic
+     */
+    public CloudletToVmMappingParallelSimulatedAnnealing setTemperatureRatio(final double temperatureRatio) {
+        if(temperatureRatio <= 0) {
+            throw new IllegalArgumentException("Temperature ratio must be greater than zero.");
+        }
+
+        this.temperatureRatio = temperatureRatio;
+        return this;
+    }
+
+    /**
+     * Sets the number of iterations each chain runs before chains exchange their states.
+     * @param exchangeInterval the number of iterations to set
+     * @return this heuristic
+     */
+    public CloudletToVmMappingParallelSimulatedAnnealing setExchangeInterval(final int exchangeInterval) {
+        if(exchangeInterval <= 0) {
+            throw new IllegalArgumentException("Exchange interval must be greater than zero.");
+        }
+
+        this.exchangeInterval = exchangeInterval;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It runs all chains in parallel until every one reaches the
+     * {@link #getColdTemperature() cold temperature}.
+     *
+     * @return the best solution found across all chains
+     */
+    @Override
+    public CloudletToVmMappingSolution solve() {
+        final long startTime = System.currentTimeMillis();
+        final var chains = createChains();
+        var bestSolution = new CloudletToVmMappingSolution(getBestChainSolution(chains));
+
+        final var runningChains = new ArrayList<>(chains);
+        while (!runningChains.isEmpty()) {
+            runningChains.parallelStream().forEach(chain -> chain.search(exchangeInterval));
+
+            /*Chains keep changing their solutions in place, so the best one is copied (just when it improves).*/
+            final var bestChainSolution = getBestChainSolution(chains);
+            if(bestChainSolution.getCost() < bestSolution.getCost()) {
+                bestSolution = new CloudletToVmMappingSolution(bestChainSolution);
+            }
+
+            runningChains.removeIf(Heuristic::isToStopSearch);
+            exchangeStates(runningChains);
+        }
+
+        setBestSolutionSoFar(bestSolution);
+        setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+        return bestSolution;
+    }
+
+    /**
+     * Creates the chains to run, each one starting from its own random solution.
+     * @return the List of chains, from the coldest to the hottest one
+     */
+    private List<CloudletToVmMappingSimulatedAnnealing> createChains() {
+        final var chains = new ArrayList<CloudletToVmMappingSimulatedAnnealing>(chainsNumber);
+        double temperature = getCurrentTemperature();
+        for (int i = 0; i < chainsNumber; i++) {
+            final var random = new UniformDistr(getRandom().getSeed() + i + 1);
+            final var chain = new CloudletToVmMappingSimulatedAnnealing(temperature, random);
+            chain.setColdTemperature(getColdTemperature())
+                 .setCoolingRate(getCoolingRate())
+                 .setSearchesByIteration(getSearchesByIteration());
+            chain.setVmList(getVmList()).setCloudletList(getCloudletList());
+            chain.setBestSolutionSoFar(chain.getInitialSolution());
+            chains.add(chain);
+            temperature *= temperatureRatio;
+        }
+
+        return chains;
+    }
+
+    /**
+     * Gets the current solution with the lowest cost across all chains.
+     * @param chains the chains to get the solution from
+     * @return the best solution
+     */
+    private CloudletToVmMappingSolution getBestChainSolution(final List<CloudletToVmMappingSimulatedAnnealing> chains) {
+        return chains.stream()
+                     .map(Heuristic::getBestSolutionSoFar)
+                     .min(Comparator.comparingDouble(CloudletToVmMappingSolution::getCost))
+                     .orElseThrow();
+    }
+
+    /**
+     * Tries to exchange the states of chains with consecutive temperatures,
+     * accepting an exchange with the probability defined by the Parallel Tempering algorithm.
+     * Instead of moving solutions between chains, chains exchange their temperatures,
+     * which has the same effect.
+     *
+     * @param chains the chains which haven't reached the stop criteria yet
+     */
+    private void exchangeStates(final List<CloudletToVmMappingSimulatedAnnealing> chains) {
+        if(temperatureRatio == 1) {
+            return;
+        }
+
+        chains.sort(Comparator.comparingDouble(SimulatedAnnealingAbstract::getCurrentTemperature));
+        for (int i = 0; i < chains.size() - 1; i++) {
+            final var colder = chains.get(i);
+            final var hotter = chains.get(i + 1);
+            final double colderTemperature = colder.getCurrentTemperature();
+            final double hotterTemperature = hotter.getCurrentTemperature();
+            final double costDiff = colder.getBestSolutionSoFar().getCost() - hotter.getBestSolutionSoFar().getCost();
+            final double probability = Math.exp((1/colderTemperature - 1/hotterTemperature) * costDiff);
+            if (probability > getRandom().sample()) {
+                colder.setCurrentTemperature(hotterTemperature);
+                hotter.setCurrentTemperature(colderTemperature);
+                chains.set(i, hotter);
+                chains.set(i + 1, colder);
+            }
+        }
+    }
+}
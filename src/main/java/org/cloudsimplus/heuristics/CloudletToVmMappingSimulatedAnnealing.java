@@ -48,6 +48,18 @@ public class CloudletToVmMappingSimulatedAnnealing
 {
     private CloudletToVmMappingSolution initialSolution;
 
+    /**
+     * A neighbor which is changed in place by each neighborhood search,
+     * instead of creating a new one. After the neighbor is accepted or rejected,
+     * it's kept equal to the {@link #reusableNeighborSource}.
+     */
+    private CloudletToVmMappingSolution reusableNeighbor;
+
+    /**
+     * The solution the {@link #reusableNeighbor} was cloned from.
+     */
+    private CloudletToVmMappingSolution reusableNeighborSource;
+
     @Getter @Setter @NonNull
     private List<Vm> vmList;
 
@@ -63,7 +75,7 @@ public class CloudletToVmMappingSimulatedAnnealing
      * @see #setCoolingRate(double)
      */
     public CloudletToVmMappingSimulatedAnnealing(final double initialTemperature, final ContinuousDistribution random) {
-        super(random, CloudletToVmMappingSolution.class);
+        super(random, CloudletToVmMappingSolution::new);
 	    setCurrentTemperature(initialTemperature);
         initialSolution = new CloudletToVmMappingSolution(this);
     }
@@ -105,4 +117,50 @@ public class CloudletToVmMappingSimulatedAnnealing
         clone.swapVmsOfTwoRandomSelectedMapEntries();
         return clone;
     }
+
+    /**
+     * {@inheritDoc}
+     * It swaps the VMs of 2 random Cloudlets of a reusable neighbor in place,
+     * which is cloned from the current solution just when it changes.
+     *
+     * @param source {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected CloudletToVmMappingSolution nextNeighbor(final CloudletToVmMappingSolution source) {
+        if(reusableNeighborSource != source) {
+            reusableNeighbor = new CloudletToVmMappingSolution(source);
+            reusableNeighborSource = source;
+        }
+
+        reusableNeighbor.swapVmsOfTwoRandomSelectedMapEntries();
+        return reusableNeighbor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It repeats the neighbor's swap on the current solution,
+     * keeping both equal without copying the entire mapping.
+     * The initial solution is never changed, so the neighbor itself
+     * is used as current solution when it's accepted in place of the initial one.
+     *
+     * @param source {@inheritDoc}
+     * @param neighbor {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected CloudletToVmMappingSolution acceptNeighbor(final CloudletToVmMappingSolution source, final CloudletToVmMappingSolution neighbor) {
+        if(source == initialSolution || neighbor != reusableNeighbor) {
+            reusableNeighborSource = null;
+            return neighbor;
+        }
+
+        source.repeatLastSwapOf(neighbor);
+        return source;
+    }
+
+    @Override
+    protected void rejectNeighbor(final CloudletToVmMappingSolution neighbor) {
+        neighbor.undoLastSwap();
+    }
 }
@@ -31,12 +31,17 @@ import org.cloudsimplus.vms.Vm;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.groupingBy;
-
 /**
  * A possible solution for mapping a set of Cloudlets to a set of Vm's.
  * It represents a solution generated using a {@link Heuristic} implementation.
  *
+ * <p>Internally, Cloudlets and VMs are indexed by the order they are added to the solution,
+ * and the mapping is stored as an array where each position holds
+ * the index of the VM a Cloudlet at that position is mapped to.
+ * This way, neighbor solutions can be generated by swapping
+ * array elements in place, which can be undone or repeated on another solution,
+ * without copying the entire mapping.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @see Heuristic
  * @since CloudSim Plus 1.0
@@ -52,27 +57,110 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
     public static final double MIN_DIFF = 0.0001;
 
     /**
-     * @see #getResult()
+     * A List of elements where the index of each element can be found without a linear search.
+     * Elements are just appended, so that their indexes never change.
+     * @param <T> the type of elements in the List
+     */
+    private static final class IndexedList<T> {
+        private final List<T> list;
+        private final Map<T, Integer> indexes;
+
+        IndexedList() {
+            this.list = new ArrayList<>();
+            this.indexes = new HashMap<>();
+        }
+
+        IndexedList(final IndexedList<T> source) {
+            this.list = new ArrayList<>(source.list);
+            this.indexes = new HashMap<>(source.indexes);
+        }
+
+        int indexOf(final T element) {
+            return indexes.getOrDefault(element, -1);
+        }
+
+        int add(final T element) {
+            indexes.put(element, list.size());
+            list.add(element);
+            return list.size() - 1;
+        }
+
+        T get(final int index) {
+            return list.get(index);
+        }
+
+        int size() {
+            return list.size();
+        }
+    }
+
+    /**
+     * The Cloudlets in this solution, where the index of each one
+     * is the position in the {@link #cloudletVmIndexes} storing the VM it's mapped to.
      */
-    private final Map<Cloudlet, Vm> cloudletVmMap;
+    private IndexedList<Cloudlet> cloudlets;
 
     /**
-     * Indicates if the {@link #getCost() ()} has to be recomputed
-     * due to changes in {@link #cloudletVmMap}.
-     * When it is computed, its value is stored to be used
-     * in subsequent calls, until the map is changed again, in order to
-     * improve performance.
+     * The VMs Cloudlets are mapped to, where the index of each one
+     * is the value stored in the {@link #cloudletVmIndexes} for Cloudlets mapped to it.
      */
-    private boolean recomputeCost = true;
+    private IndexedList<Vm> vms;
 
     /**
-     * The last computed cost value, since the
-     * last time the {@link #cloudletVmMap} was changed.
+     * Indicates if the {@link #cloudlets} and {@link #vms} lists are shared
+     * with a clone of this solution (or the solution this one was cloned from).
+     * In such a case, they are copied before a new element is added.
+     */
+    private boolean sharedLists;
+
+    /**
+     * The index (inside {@link #vms}) of the VM each Cloudlet is mapped to,
+     * where the array index is the index of the Cloudlet inside {@link #cloudlets}.
+     * The array may have more positions than Cloudlets, to enable adding new ones.
+     */
+    private int[] cloudletVmIndexes;
+
+    /**
+     * The total number of PEs required by the Cloudlets mapped to each VM,
+     * where the array index is the index of the VM inside {@link #vms}.
+     * It's updated as Cloudlets are bound to VMs or have their VMs swapped,
+     * so that the cost of a neighbor solution is computed
+     * just for the VMs that have changed.
+     */
+    private long[] vmCloudletsPes;
+
+    /**
+     * Indicates if the {@link #getCost() ()} has to be entirely recomputed
+     * from the {@link #cloudletVmIndexes}, instead of using the value
+     * incrementally updated as the mapping is changed.
+     */
+    private boolean recomputeCost;
+
+    /**
+     * The cost value, which is incrementally updated
+     * as the mapping is changed.
      * @see #getCost()
      * @see #recomputeCost
      */
     private double lastCost;
 
+    /**
+     * The indexes of the 2 Cloudlets which had their VMs swapped by the last call to
+     * {@link #swapVmsOfTwoRandomSelectedMapEntries()}, or -1 if there is no swap to undo or repeat.
+     * @see #undoLastSwap()
+     * @see #repeatLastSwapOf(CloudletToVmMappingSolution)
+     */
+    private int lastSwapIndex0 = -1;
+
+    /** @see #lastSwapIndex0 */
+    private int lastSwapIndex1 = -1;
+
+    /**
+     * A read-only Map built from the {@link #cloudletVmIndexes} when the {@link #getResult()}
+     * is called, which is discarded when the mapping changes.
+     */
+    private Map<Cloudlet, Vm> result;
+
     @Getter
     private final Heuristic heuristic;
 
@@ -83,25 +171,47 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param heuristic the heuristic implementation used to find the solution
      * being created.
      */
-    public CloudletToVmMappingSolution(final Heuristic heuristic){
-        this(heuristic, new HashMap<>());
+    public CloudletToVmMappingSolution(@NonNull final Heuristic heuristic){
+        this.heuristic = heuristic;
+        this.cloudlets = new IndexedList<>();
+        this.vms = new IndexedList<>();
+        this.cloudletVmIndexes = new int[0];
+        this.vmCloudletsPes = new long[0];
     }
 
-    private CloudletToVmMappingSolution(@NonNull final Heuristic heuristic, @NonNull final Map<Cloudlet, Vm> cloudletVmMap){
-        this.heuristic = heuristic;
-        this.cloudletVmMap = cloudletVmMap;
+    /**
+     * Creates a new solution where a List of VMs is added in advance,
+     * so that clones of this solution can map Cloudlets to any of these VMs
+     * without copying the list of VMs.
+     *
+     * @param heuristic the heuristic implementation used to find the solution
+     * @param vmList the VMs Cloudlets may be mapped to
+     */
+    CloudletToVmMappingSolution(final Heuristic heuristic, final List<Vm> vmList){
+        this(heuristic);
+        vmList.forEach(this::addVm);
     }
 
     /**
      * Clones a given solution.
+     * The clone shares the list of Cloudlets and VMs with the given solution
+     * (until a new Cloudlet or VM is added to any of them),
+     * copying just the mapping between them.
      *
      * @param solution the solution to be cloned
      */
     public CloudletToVmMappingSolution(@NonNull final CloudletToVmMappingSolution solution){
-        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap));
+        this.heuristic = solution.heuristic;
+        this.cloudlets = solution.cloudlets;
+        this.vms = solution.vms;
+        this.sharedLists = true;
+        if(!solution.sharedLists) {
+            solution.sharedLists = true;
+        }
+        this.cloudletVmIndexes = solution.cloudletVmIndexes.clone();
+        this.vmCloudletsPes = solution.vmCloudletsPes.clone();
         this.recomputeCost = solution.recomputeCost;
         this.lastCost = solution.lastCost;
-        this.cloudletVmMap.putAll(solution.cloudletVmMap);
     }
 
     /**
@@ -111,8 +221,115 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param vm the Vm to assign a cloudlet to
      */
     public void bindCloudletToVm(@NonNull final Cloudlet cloudlet, @NonNull final Vm vm){
-        cloudletVmMap.put(cloudlet, vm);
-        recomputeCost = true;
+        int cloudletIdx = cloudlets.indexOf(cloudlet);
+        int vmIdx = vms.indexOf(vm);
+        if(cloudletIdx < 0 || vmIdx < 0) {
+            copyListsIfShared();
+            cloudletIdx = cloudletIdx < 0 ? addCloudlet(cloudlet) : cloudletIdx;
+            vmIdx = vmIdx < 0 ? addVm(vm) : vmIdx;
+        }
+
+        moveCloudlet(cloudletIdx, vmIdx);
+    }
+
+    /**
+     * Maps a Cloudlet to another VM, updating the solution cost just for the VMs involved.
+     * @param cloudletIdx the index of the Cloudlet to move
+     * @param vmIdx the index of the VM to map the Cloudlet to
+     */
+    void moveCloudlet(final int cloudletIdx, final int vmIdx) {
+        final int previousVmIdx = cloudletVmIndexes[cloudletIdx];
+        if(previousVmIdx == vmIdx) {
+            return;
+        }
+
+        final long pes = cloudlets.get(cloudletIdx).getPesNumber();
+        cloudletVmIndexes[cloudletIdx] = vmIdx;
+        if(previousVmIdx >= 0) {
+            addCloudletsPes(previousVmIdx, -pes);
+        }
+
+        addCloudletsPes(vmIdx, pes);
+        result = null;
+    }
+
+    /**
+     * {@return the index of the VM a Cloudlet is mapped to}
+     * Indexes are just comparable between solutions cloned from the same one.
+     * @param cloudletIdx the index of the Cloudlet
+     */
+    int getVmIndex(final int cloudletIdx) {
+        return cloudletVmIndexes[cloudletIdx];
+    }
+
+    /**
+     * {@return the number of Cloudlets in this solution}
+     */
+    int getCloudletsNumber() {
+        return cloudlets.size();
+    }
+
+    /**
+     * {@return the number of VMs added to this solution}
+     */
+    int getVmsNumber() {
+        return vms.size();
+    }
+
+    private void copyListsIfShared() {
+        if(sharedLists) {
+            cloudlets = new IndexedList<>(cloudlets);
+            vms = new IndexedList<>(vms);
+            sharedLists = false;
+        }
+    }
+
+    private int addCloudlet(final Cloudlet cloudlet) {
+        final int idx = cloudlets.add(cloudlet);
+        if(idx == cloudletVmIndexes.length) {
+            cloudletVmIndexes = Arrays.copyOf(cloudletVmIndexes, Math.max(idx * 2, 8));
+        }
+
+        cloudletVmIndexes[idx] = -1;
+        return idx;
+    }
+
+    private int addVm(final Vm vm) {
+        final int idx = vms.add(vm);
+        if(idx == vmCloudletsPes.length) {
+            vmCloudletsPes = Arrays.copyOf(vmCloudletsPes, Math.max(idx * 2, 8));
+        }
+
+        return idx;
+    }
+
+    /**
+     * Adds (or removes) a number of PEs to the total PEs required by the Cloudlets mapped to a VM,
+     * updating the solution cost just for that VM.
+     *
+     * @param vmIdx the index of the VM to update the Cloudlets' PEs
+     * @param pes the number of PEs to add (if positive) or remove (if negative)
+     */
+    private void addCloudletsPes(final int vmIdx, final long pes) {
+        if(recomputeCost || pes == 0) {
+            return;
+        }
+
+        final Vm vm = vms.get(vmIdx);
+        final long previousPes = vmCloudletsPes[vmIdx];
+        vmCloudletsPes[vmIdx] += pes;
+        lastCost += computeVmCost(vm, vmCloudletsPes[vmIdx]) - computeVmCost(vm, previousPes);
+    }
+
+    /**
+     * Computes the cost of a VM to host Cloudlets requiring a given number of PEs.
+     * @param vm the VM to compute the cost
+     * @param cloudletsPes the total number of PEs required by the Cloudlets mapped to the VM
+     * @return the VM cost, which is zero if there is no Cloudlet mapped to it
+     * @see #getVmCost(Vm, List)
+     */
+    private static double computeVmCost(final Vm vm, final long cloudletsPes) {
+        return cloudletsPes == 0 ? 0 : Math.abs(vm.getPesNumber() - cloudletsPes);
     }
 
     private void recomputeCostIfRequested() {
@@ -122,30 +339,29 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
         }
     }
 
-    private double computeCostOfAllVms() {
-        return groupCloudletsByVm()
-                .entrySet()
-                .stream()
-                .mapToDouble(this::getVmCost)
-                .sum();
-    }
-
     /**
-     * Gets a Map of Cloudlets grouped by their VMs,
-     * where each key is a VM and the value is a List of Map Entries
-     * containing the Cloudlets running in that VM.
-     * @return
+     * Rebuilds the {@link #vmCloudletsPes} from the entire mapping
+     * and computes the cost of all VMs.
+     * @return the cost of the entire mapping
      */
-    private Map<Vm, List<Map.Entry<Cloudlet, Vm>>> groupCloudletsByVm() {
-        return cloudletVmMap
-                .entrySet()
-                .stream()
-                .collect(groupingBy(Map.Entry::getValue));
+    private double computeCostOfAllVms() {
+        Arrays.fill(vmCloudletsPes, 0);
+        for (int i = 0; i < cloudlets.size(); i++) {
+            vmCloudletsPes[cloudletVmIndexes[i]] += cloudlets.get(i).getPesNumber();
+        }
+
+        double cost = 0;
+        for (int i = 0; i < vms.size(); i++) {
+            cost += computeVmCost(vms.get(i), vmCloudletsPes[i]);
+        }
+
+        return cost;
     }
 
     /**
      * {@inheritDoc}
-     * It computes the cost of the entire mapping between Vm's and Cloudlets.
+     * It gets the cost of the entire mapping between Vm's and Cloudlets,
+     * which is updated as the mapping changes.
      *
      * @return {@inheritDoc}
      */
@@ -159,6 +375,8 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * It computes the costs of the entire mapping between Vm's and cloudlets.
      *
      * @param forceRecompute indicate if the cost has to be recomputed anyway
+     *                       from the entire mapping (for instance, if the number of PEs
+     *                       of some Cloudlet or VM has changed after it was mapped)
      * @return the cost of the entire mapping between Vm's and cloudlets
      * @see #getCost()
      */
@@ -241,116 +459,163 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      */
     @Override
     public Map<Cloudlet, Vm> getResult() {
-        return Collections.unmodifiableMap(cloudletVmMap);
+        if(result == null) {
+            final var map = new HashMap<Cloudlet, Vm>(cloudlets.size());
+            for (int i = 0; i < cloudlets.size(); i++) {
+                map.put(cloudlets.get(i), vms.get(cloudletVmIndexes[i]));
+            }
+
+            result = Collections.unmodifiableMap(map);
+        }
+
+        return result;
     }
 
     /**
-     * Swap the Vm's of 2 randomly selected cloudlets
-     * in the {@link #cloudletVmMap} in order to
+     * Swap the Vm's of 2 cloudlets in order to
      * provide a neighbor solution.
      *
      * <p>The method change the given Map entries, moving the
      * cloudlet of the first entry to the Vm of the second entry
-     * and vice-versa.</p>
+     * and vice-versa. If the Cloudlets of such entries are mapped
+     * to the entries' VMs in this solution, the mapping is changed accordingly.
+     * Since just the VMs of the given entries change,
+     * the solution cost is updated only for these 2 VMs.</p>
      *
      * @param entries a List of 2 entries containing Cloudlets to swap their VMs.
      * If the entries don't have 2 elements, the method will
      * return without performing any change in the entries.
      * @return true if the VMs of the Cloudlets where swapped, false otherwise
+     * @see #getRandomMapEntries()
      */
     protected final boolean swapVmsOfTwoMapEntries(final List<Map.Entry<Cloudlet, Vm>> entries) {
         if(entries == null || entries.size() != 2 || entries.get(0) == null || entries.get(1) == null) {
             return false;
         }
 
+        final int cloudletIdx0 = cloudlets.indexOf(entries.get(0).getKey());
+        final int cloudletIdx1 = cloudlets.indexOf(entries.get(1).getKey());
         final Vm vm0 = entries.get(0).getValue();
         final Vm vm1 = entries.get(1).getValue();
         entries.get(0).setValue(vm1);
         entries.get(1).setValue(vm0);
 
+        /*Entries which don't correspond to the current mapping don't change the solution.*/
+        if(isMappedTo(cloudletIdx0, vm0) && isMappedTo(cloudletIdx1, vm1)) {
+            swapVms(cloudletIdx0, cloudletIdx1);
+        }
+
         return true;
     }
 
+    private boolean isMappedTo(final int cloudletIdx, final Vm vm) {
+        return cloudletIdx >= 0 && vms.get(cloudletVmIndexes[cloudletIdx]) == vm;
+    }
+
     /**
-     * Swap the Vm's of 2 randomly selected cloudlets
-     * in the {@link #cloudletVmMap} in order to
-     * provide a neighbor solution.
-     *
-     * <p>The method change the given Map entries, moving the
-     * cloudlet of the first entry to the Vm of the second entry
-     * and vice-versa.</p>
-     *
-     * @see #swapVmsOfTwoMapEntries(List)
-     * @return true if the Cloudlet's VMs where swapped, false otherwise
+     * Swaps the VMs of 2 Cloudlets in place, updating the solution cost just for these VMs.
+     * @param cloudletIdx0 the index of the first Cloudlet
+     * @param cloudletIdx1 the index of the second Cloudlet
      */
-    boolean swapVmsOfTwoRandomSelectedMapEntries() {
-        return swapVmsOfTwoMapEntries(getRandomMapEntries());
+    private void swapVms(final int cloudletIdx0, final int cloudletIdx1) {
+        final int vmIdx0 = cloudletVmIndexes[cloudletIdx0];
+        final int vmIdx1 = cloudletVmIndexes[cloudletIdx1];
+        cloudletVmIndexes[cloudletIdx0] = vmIdx1;
+        cloudletVmIndexes[cloudletIdx1] = vmIdx0;
+
+        final long pesDiff = cloudlets.get(cloudletIdx1).getPesNumber() - cloudlets.get(cloudletIdx0).getPesNumber();
+        addCloudletsPes(vmIdx0, pesDiff);
+        addCloudletsPes(vmIdx1, -pesDiff);
+        result = null;
     }
 
     /**
-     * Try to get 2 randomly selected entries from the {@link #cloudletVmMap}.
-     *
-     * @return a List with 2 entries from the {@link #cloudletVmMap} if the map size is at least 2;
-     *         a unitary List if the map has only 1 entry;
-     *         or an empty List if there is no entry in the map.
+     * Swap the Vm's of 2 randomly selected cloudlets
+     * in place, in order to provide a neighbor solution.
+     * The swap can be {@link #undoLastSwap() undone} or
+     * {@link #repeatLastSwapOf(CloudletToVmMappingSolution) repeated} on another solution.
      *
      * @see #swapVmsOfTwoMapEntries(List)
+     * @return true if the Cloudlet's VMs where swapped, false otherwise
      */
-    protected List<Map.Entry<Cloudlet, Vm>> getRandomMapEntries() {
-        if(cloudletVmMap.isEmpty()) {
-            return new ArrayList<>();
+    boolean swapVmsOfTwoRandomSelectedMapEntries() {
+        lastSwapIndex0 = -1;
+        lastSwapIndex1 = -1;
+        final int size = cloudlets.size();
+        if(size < 2) {
+            return false;
         }
 
-        if(cloudletVmMap.size() == 1) {
-            return createListWithFirstMapEntry();
+        final int idx0 = heuristic.getRandomValue(size);
+        final int idx1 = heuristic.getRandomValue(size);
+        if(idx0 == idx1) {
+            return false;
         }
 
-        return createListWithTwoRandomEntries();
+        swapVms(idx0, idx1);
+        lastSwapIndex0 = idx0;
+        lastSwapIndex1 = idx1;
+        return true;
     }
 
     /**
-     * Creates a List using only the first entry in the {@link #cloudletVmMap}.
-     * @return a single-entry List with either the first {@link #cloudletVmMap} entry,
-     *         or an empty List in case no entry is found.
+     * Undoes the last {@link #swapVmsOfTwoRandomSelectedMapEntries() swap of VMs},
+     * if there is one.
      */
-    private List<Map.Entry<Cloudlet, Vm>> createListWithFirstMapEntry() {
-        return cloudletVmMap
-                .entrySet()
-                .stream()
-                .limit(1)
-                .collect(Collectors.toList());
+    void undoLastSwap() {
+        if(lastSwapIndex0 >= 0) {
+            swapVms(lastSwapIndex0, lastSwapIndex1);
+            lastSwapIndex0 = -1;
+            lastSwapIndex1 = -1;
+        }
     }
 
     /**
-     * Creates a List with 2 randomly selected entries from the {@link #cloudletVmMap}.
-     * The way the method is called is ensured there is at least to entries
-     * in the {@link #cloudletVmMap}.
+     * Repeats in this solution the last {@link #swapVmsOfTwoRandomSelectedMapEntries() swap of VMs}
+     * performed in another one, if there is such a swap.
+     * This way, this solution becomes equal to the given one
+     * without copying the entire mapping.
      *
-     * @return a List with the 2 randomly selected entries
+     * @param solution a clone of this solution (or the solution this one was cloned from),
+     *                 which was equal to this one before its last swap
      */
-    private List<Map.Entry<Cloudlet, Vm>> createListWithTwoRandomEntries() {
-        final int size = cloudletVmMap.entrySet().size();
-        final int firstIdx = heuristic.getRandomValue(size);
-        final int secondIdx = heuristic.getRandomValue(size);
+    void repeatLastSwapOf(final CloudletToVmMappingSolution solution) {
+        if(solution.lastSwapIndex0 >= 0) {
+            swapVms(solution.lastSwapIndex0, solution.lastSwapIndex1);
+        }
+    }
 
+    /**
+     * Try to get 2 randomly selected entries from the mapping between Cloudlets and VMs.
+     * Changing the returned entries doesn't change the solution,
+     * unless they are given to {@link #swapVmsOfTwoMapEntries(List)}.
+     *
+     * @return a List with 2 entries from the mapping if there are at least 2 Cloudlets;
+     *         a unitary List if there is only 1 Cloudlet (or the same Cloudlet is randomly selected twice);
+     *         or an empty List if there is no Cloudlet.
+     *
+     * @see #swapVmsOfTwoMapEntries(List)
+     */
+    protected List<Map.Entry<Cloudlet, Vm>> getRandomMapEntries() {
+        final int size = cloudlets.size();
         final List<Map.Entry<Cloudlet, Vm>> selected = new ArrayList<>(2);
-        final var entryIterator = cloudletVmMap.entrySet().iterator();
-
-        /*
-        Loop over the entries until those defined by the first and second index
-        are found and added to the List.
-        Since Map doesn't have an index, we can't access the ith entry directly.
-        This loop ensures we iterate the least number of times
-        until finding the required entries, without creating
-        a List with all entries in order to get just two of them.
-        */
-        for(int i = 0; selected.size() < 2 && entryIterator.hasNext(); i++){
-            final Map.Entry<Cloudlet, Vm> solution = entryIterator.next();
-            if(i == firstIdx || i == secondIdx){
-                selected.add(solution);
+        if(size == 0) {
+            return selected;
+        }
+
+        final int firstIdx = size == 1 ? 0 : heuristic.getRandomValue(size);
+        selected.add(createMapEntry(firstIdx));
+        if(size > 1) {
+            final int secondIdx = heuristic.getRandomValue(size);
+            if(secondIdx != firstIdx) {
+                selected.add(createMapEntry(secondIdx));
             }
         }
 
         return selected;
     }
+
+    private Map.Entry<Cloudlet, Vm> createMapEntry(final int cloudletIdx) {
+        return new AbstractMap.SimpleEntry<>(cloudlets.get(cloudletIdx), vms.get(cloudletVmIndexes[cloudletIdx]));
+    }
 }
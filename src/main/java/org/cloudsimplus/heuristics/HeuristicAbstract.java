@@ -30,7 +30,7 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.cloudsimplus.distributions.ContinuousDistribution;
 
-import java.lang.reflect.InvocationTargetException;
+import java.util.function.Function;
 
 /**
  * An abstract class for {@link Heuristic} implementations.
@@ -46,10 +46,10 @@ import java.lang.reflect.InvocationTargetException;
 @Accessors @Getter
 public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  implements Heuristic<S> {
 	/**
-	 * Reference to the generic class that will be used to instantiate objects.
+	 * A {@link Function} that creates an empty solution for a given heuristic.
 	 */
     @Getter(AccessLevel.NONE)
-    private final Class<S> solutionClass;
+    private final Function<Heuristic<S>, S> solutionFactory;
 
     /**
      * A random number generator
@@ -72,11 +72,11 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 	 * Creates a heuristic.
 	 *
 	 * @param random a random number generator
-	 * @param solutionClass reference to the generic class that will be used to instantiate heuristic solutions
+	 * @param solutionFactory a {@link Function} that creates an empty solution for a given heuristic
 	 */
-	HeuristicAbstract(@NonNull final ContinuousDistribution random, @NonNull final Class<S> solutionClass){
+	HeuristicAbstract(@NonNull final ContinuousDistribution random, @NonNull final Function<Heuristic<S>, S> solutionFactory){
         this.random = random;
-        this.solutionClass = solutionClass;
+        this.solutionFactory = solutionFactory;
 		this.searchesByIteration = 1;
 		setBestSolutionSoFar(newSolutionInstance());
 		setNeighborSolution(bestSolutionSoFar);
@@ -91,12 +91,7 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 	}
 
 	private S newSolutionInstance() {
-	    try {
-	        final var constructor = solutionClass.getConstructor(Heuristic.class);
-	        return constructor.newInstance(this);
-	    } catch (IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException ex) {
-	        throw new RuntimeException(ex);
-	    }
+	    return solutionFactory.apply(this);
 	}
 
 	/**
@@ -119,24 +114,75 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 	public S solve() {
 		final long startTime = System.currentTimeMillis();
 		setBestSolutionSoFar(getInitialSolution());
-		while (!isToStopSearch()) {
-            searchSolutionInNeighborhood();
-            updateSystemState();
-		}
+		search(Integer.MAX_VALUE);
 		setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
 
 		return bestSolutionSoFar;
 	}
 
+    /**
+     * Runs up to a given number of iterations of the solution search,
+     * starting from the {@link #getBestSolutionSoFar() current solution}.
+     * It stops earlier if the {@link #isToStopSearch() stop criteria} is met.
+     * This way, the search may be performed in steps.
+     *
+     * @param iterations the maximum number of iterations to run
+     * @return true if the search can continue, false if the stop criteria was met
+     */
+    boolean search(final int iterations) {
+        for (int i = 0; i < iterations && !isToStopSearch(); i++) {
+            searchSolutionInNeighborhood();
+            updateSystemState();
+        }
+
+        return !isToStopSearch();
+    }
+
     private void searchSolutionInNeighborhood() {
         for (int i = 0; i < searchesByIteration; i++) {
-            setNeighborSolution(createNeighbor(bestSolutionSoFar));
+            setNeighborSolution(nextNeighbor(bestSolutionSoFar));
             if (getAcceptanceProbability() > getRandomValue(1)) {
-                setBestSolutionSoFar(neighborSolution);
+                setBestSolutionSoFar(acceptNeighbor(bestSolutionSoFar, neighborSolution));
+            } else {
+                rejectNeighbor(neighborSolution);
             }
         }
     }
 
+    /**
+     * Gets a neighbor of the current solution to be assessed by the neighborhood search.
+     * By default, it {@link #createNeighbor(HeuristicSolution) creates} a new neighbor.
+     * Subclasses may override it to change a previous neighbor in place, instead of creating a new one.
+     *
+     * @param source the current solution to get a neighbor from
+     * @return the neighbor solution
+     * @see #acceptNeighbor(HeuristicSolution, HeuristicSolution)
+     * @see #rejectNeighbor(HeuristicSolution)
+     */
+    protected S nextNeighbor(final S source) {
+        return createNeighbor(source);
+    }
+
+    /**
+     * Accepts a neighbor returned by {@link #nextNeighbor(HeuristicSolution)},
+     * which will become the current solution.
+     *
+     * @param source the current solution the neighbor was got from
+     * @param neighbor the accepted neighbor
+     * @return the solution to be used as the current one,
+     *         which by default is the neighbor itself
+     */
+    protected S acceptNeighbor(final S source, final S neighbor) {
+        return neighbor;
+    }
+
+    /**
+     * Rejects a neighbor returned by {@link #nextNeighbor(HeuristicSolution)}.
+     * By default, it does nothing, since the neighbor is just discarded.
+     * @param neighbor the rejected neighbor
+     */
+    protected void rejectNeighbor(final S neighbor) {/**/}
+
     /**
      * Sets a solution as the current one.
      * @param solution the solution to set as the current one.
@@ -28,6 +28,8 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.cloudsimplus.distributions.ContinuousDistribution;
 
+import java.util.function.Function;
+
 /**
  * An abstract class for implementation of
  * <a href="http://en.wikipedia.org/wiki/Simulated_annealing">Simulated Annealing</a>
@@ -92,10 +94,10 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
      * Instantiates a simulated annealing heuristic.
      *
 	 * @param random a pseudo random number generator
-     * @param solutionClass reference to the generic class that will be used to instantiate heuristic solutions
+     * @param solutionFactory a {@link Function} that creates an empty solution for a given heuristic
      */
-    SimulatedAnnealingAbstract(final ContinuousDistribution random, final Class<S> solutionClass){
-        super(random, solutionClass);
+    SimulatedAnnealingAbstract(final ContinuousDistribution random, final Function<Heuristic<S>, S> solutionFactory){
+        super(random, solutionFactory);
     }
 
 	/**
@@ -14,7 +14,9 @@
  *
  * <p>The first introduced heuristic is the {@link org.cloudsimplus.heuristics.CloudletToVmMappingSimulatedAnnealing}
  * that is used by a {@link org.cloudsimplus.brokers.DatacenterBrokerHeuristic}
- * to map Cloudlets to VMs.</p>
+ * to map Cloudlets to VMs.
+ * A {@link org.cloudsimplus.heuristics.CloudletToVmMappingGeneticAlgorithm} is also available
+ * for the same purpose.</p>
  *
  * @author Manoel Campos da Silva Filho
  */
@@ -345,6 +345,19 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     <T extends Vm> List<T> getVmList();
 
+    /**
+     * Gets a number that changes every time a VM is added to or removed from the {@link #getVmList() VM list}.
+     * It enables data computed from the VM list to be kept until the list changes.
+     * The default implementation returns a negative value, meaning the Host doesn't track
+     * changes in its VM list, so that data computed from the list must not be kept.
+     *
+     * @return the current version of the VM list (starting from 0),
+     *         or a negative value if VM list changes aren't tracked
+     */
+    default long getVmListVersion() {
+        return -1;
+    }
+
     /**
      * Gets a <b>read-only</b> list of all VMs which have been created into the host
      * during the entire simulation.
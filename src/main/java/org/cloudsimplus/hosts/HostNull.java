@@ -108,6 +108,7 @@ final class HostNull implements Host {
     }
     @Override public <T extends Vm> List<T> getVmCreatedList() { return Collections.emptyList(); }
     @Override public List<Vm> getVmList() { return Collections.emptyList(); }
+    @Override public long getVmListVersion() { return 0; }
     @Override public VmScheduler getVmScheduler() {
         return VmScheduler.NULL;
     }
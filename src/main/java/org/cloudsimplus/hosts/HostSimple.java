@@ -6,6 +6,7 @@
  */
 package org.cloudsimplus.hosts;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
@@ -28,6 +29,7 @@ import org.cloudsimplus.schedulers.vm.VmSchedulerSpaceShared;
 import org.cloudsimplus.util.BytesConversion;
 import org.cloudsimplus.util.MathUtil;
 import org.cloudsimplus.util.TimeUtil;
+import org.cloudsimplus.util.TimeVersionedCache;
 import org.cloudsimplus.vms.*;
 
 import java.util.*;
@@ -142,6 +144,19 @@ public class HostSimple implements Host {
     @Getter
     private HostResourceStats cpuUtilizationStats;
 
+    /**
+     * The CPU utilization (in MIPS) computed for the current simulation time.
+     * It's computed again when the clock advances, the VM list changes
+     * or the {@link org.cloudsimplus.schedulers.cloudlet.CloudletScheduler#getStateVersion() state} of any VM changes.
+     * @see #getCpuMipsUtilization()
+     */
+    @Getter(AccessLevel.NONE)
+    private final TimeVersionedCache cpuMipsUtilizationCache = new TimeVersionedCache();
+
+    /** @see #getVmListVersion() */
+    @Getter
+    private long vmListVersion;
+
     @Getter @Setter
     private boolean stateHistoryEnabled;
 
@@ -433,6 +448,7 @@ public class HostSimple implements Host {
         final HostSuitability suitability = allocateResourcesForVm(vm, false);
         if(suitability.fully()){
             vmList.add(vm);
+            vmListChanged();
         }
 
         return suitability;
@@ -494,6 +510,7 @@ public class HostSimple implements Host {
         for (final Vm vm : getVmsMigratingIn()) {
             if (!vmList.contains(vm)) {
                 vmList.add(vm);
+                vmListChanged();
             }
 
             allocateResourcesForVm(vm);
@@ -672,6 +689,7 @@ public class HostSimple implements Host {
     private void destroyVmInternal(final Vm vm) {
         deallocateResourcesOfVm(requireNonNull(vm));
         vmList.remove(vm);
+        vmListChanged();
         vm.getBroker().getVmExecList().remove(vm);
     }
 
@@ -700,6 +718,7 @@ public class HostSimple implements Host {
         }
 
         vmList.clear();
+        vmListChanged();
     }
 
     @Override
@@ -919,8 +938,18 @@ public class HostSimple implements Host {
         return (List<T>) Collections.unmodifiableList(vmCreatedList);
     }
 
+    /**
+     * Updates the {@link #getVmListVersion() VM list version}
+     * and invalidates data computed from the VM list.
+     */
+    private void vmListChanged() {
+        vmListVersion++;
+        cpuMipsUtilizationCache.invalidate();
+    }
+
     protected void addVmToList(@NonNull final Vm vm){
         vmList.add(vm);
+        vmListChanged();
     }
 
     protected void addVmToCreatedList(@NonNull final Vm vm){
@@ -1041,6 +1070,7 @@ public class HostSimple implements Host {
     public void removeMigratingInVm(@NonNull final Vm vm) {
         vmsMigratingIn.remove(vm);
         vmList.remove(vm);
+        vmListChanged();
         vm.setInMigration(false);
     }
 
@@ -1164,9 +1194,27 @@ public class HostSimple implements Host {
 
     @Override
     public double getCpuMipsUtilization() {
+        return cpuMipsUtilizationCache.get(getSimulation().clock(), getVmsStateVersion(), this::computeCpuMipsUtilization);
+    }
+
+    private double computeCpuMipsUtilization() {
         return vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
     }
 
+    /**
+     * {@return the sum of the state version of the CloudletScheduler from every VM}.
+     * Since such versions only increase, the sum changes whenever any VM state changes.
+     * Changes in the VM list are handled by invalidating the {@link #cpuMipsUtilizationCache}.
+     */
+    private long getVmsStateVersion() {
+        long version = 0;
+        for (final Vm vm : vmList) {
+            version += vm.getCloudletScheduler().getStateVersion();
+        }
+
+        return version;
+    }
+
     private double getCpuMipsRequested() {
         return vmList.stream().mapToDouble(Vm::getTotalCpuMipsRequested).sum();
     }
@@ -78,6 +78,7 @@ public final class Processor extends ResourceManageableAbstract {
      */
     public void setMips(final double newMips) {
         this.mips = MathUtil.nonNegative(newMips, "MIPS");
+        capacityChanged();
     }
 
     /**
@@ -98,7 +99,24 @@ public final class Processor extends ResourceManageableAbstract {
         if(pesNumber <= 0){
             throw new IllegalArgumentException("The Processor's number of PEs must be greater than 0.");
         }
-        return super.setCapacity(pesNumber);
+        if(!super.setCapacity(pesNumber)) {
+            return false;
+        }
+
+        capacityChanged();
+        return true;
+    }
+
+    /**
+     * Notifies the VM's scheduler that the processor capacity was changed,
+     * so that values computed from it and cached for the current time
+     * (such as the VM and Host CPU utilization) are computed again.
+     */
+    private void capacityChanged() {
+        //The VM and its scheduler are null while they are being constructed
+        if(vm != null && vm.getCloudletScheduler() != null) {
+            vm.getCloudletScheduler().incrementStateVersion();
+        }
     }
 
     /**
@@ -16,12 +16,14 @@ import org.cloudsimplus.network.VmPacket;
 import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.schedulers.MipsShare;
 import org.cloudsimplus.schedulers.cloudlet.network.CloudletTaskScheduler;
+import org.cloudsimplus.utilizationmodels.UtilizationModel;
 import org.cloudsimplus.vms.Vm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * An interface to be implemented by each class that provides a policy
@@ -159,11 +161,79 @@ public interface CloudletScheduler extends Serializable {
 
     /**
      * Gets a list of finished cloudlets.
+     * <b>If a {@link #setCloudletFinishedSink(Consumer) finished Cloudlet sink} is set,
+     * finished Cloudlets are handed to it instead of being kept in this list.</b>
      *
      * @return the cloudlet finished list
      */
     List<CloudletExecution> getCloudletFinishedList();
 
+    /**
+     * Sets a {@link Consumer} to receive each Cloudlet that finishes executing,
+     * instead of keeping it in the {@link #getCloudletFinishedList() finished list}
+     * until the end of the simulation.
+     * The scheduler doesn't hold any reference to the Cloudlet after handing it to the sink.
+     * This way, memory is kept proportional to the number of Cloudlets waiting or running,
+     * instead of the total number of Cloudlets executed in the VM.
+     * It is useful for large scale simulations where results can be
+     * written to a file or just summarized while the simulation runs.
+     * A Cloudlet is handed to the sink as soon as it's finalized,
+     * after its finish time is set and its finish listeners are notified.
+     *
+     * @param sink the {@link Consumer} to receive finished Cloudlets,
+     *             or null to keep finished Cloudlets in the {@link #getCloudletFinishedList() finished list}
+     * @return this scheduler
+     */
+    CloudletScheduler setCloudletFinishedSink(Consumer<CloudletExecution> sink);
+
+    /**
+     * Gets the maximum fraction of a Cloudlet length that its processing progress
+     * is allowed to lag behind, when intermediate processing updates are skipped
+     * by the fast-forward mode.
+     *
+     * @return the fast-forward tolerance in scale [0..1], where 0 means the fast-forward mode is disabled
+     * @see #setFastForwardTolerance(double)
+     */
+    double getFastForwardTolerance();
+
+    /**
+     * {@return a number that changes every time the set of Cloudlets waiting or executing
+     * or the MIPS share available to them changes}.
+     * It enables values computed from the scheduler state, such as the VM CPU utilization,
+     * to be cached while the version is the same.
+     */
+    long getStateVersion();
+
+    /**
+     * Changes the {@link #getStateVersion() state version} to indicate that some data
+     * the values computed from the scheduler state depend on was changed outside the scheduler,
+     * such as the number of PEs or the CPU utilization model of a Cloudlet,
+     * or the PEs of the VM. This way, such values are computed again, even in the same simulation time.
+     */
+    void incrementStateVersion();
+
+    /**
+     * Enables or disables the fast-forward mode for processing Cloudlets.
+     * When the set of running Cloudlets and the MIPS share allocated to the VM don't change
+     * between two processing updates, the progress of each Cloudlet is a linear function of time.
+     * In such intervals, the fast-forward mode skips intermediate updates
+     * (such as the ones triggered by the Datacenter scheduling interval or by events of other VMs)
+     * and the progress of the whole interval is computed at once in the next actual update.
+     * That happens only when every running Cloudlet has time-invariant
+     * {@link UtilizationModel}s, no RAM or BW oversubscription and no pending file transfer.
+     *
+     * <p>Since the predicted finish time of Cloudlets is kept the same,
+     * the fast-forward mode just delays the update of the Cloudlets' finished length.
+     * The tolerance defines how much such a progress may lag behind the one of a stepwise run.
+     * An intermediate update is only skipped while the length executed by every Cloudlet since the
+     * last actual update is not greater than the given fraction of the Cloudlet length.</p>
+     *
+     * @param tolerance the maximum fraction of a Cloudlet length (in scale [0..1]) its progress is allowed
+     *                  to lag behind; or 0 to disable the fast-forward mode (the default)
+     * @return this scheduler
+     */
+    CloudletScheduler setFastForwardTolerance(double tolerance);
+
     /**
      * Checks if there <b>aren't</b> cloudlets <b>waiting</b> or <b>executing</b> inside the Vm.
      *
@@ -88,6 +88,58 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     private boolean cloudletSubmittedListEnabled;
 
+    /** @see #setCloudletFinishedSink(Consumer) */
+    @Getter(AccessLevel.NONE)
+    private Consumer<CloudletExecution> cloudletFinishedSink;
+
+    /**
+     * The number of Cloudlets finished so far,
+     * either kept in the {@link #cloudletFinishedList} or handed to the {@link #cloudletFinishedSink}.
+     */
+    @Getter(AccessLevel.NONE)
+    private long finishedCloudletsNumber;
+
+    /**
+     * The amount of VM RAM allocated to the Cloudlets processed so far
+     * during the current {@link #updateProcessing(double, MipsShare)} call.
+     * @see #allocateVmResourcesForUpdate()
+     */
+    @Getter(AccessLevel.NONE)
+    private long ramAllocatedInUpdate;
+
+    /**
+     * The amount of VM BW allocated to the Cloudlets processed so far
+     * during the current {@link #updateProcessing(double, MipsShare)} call.
+     * @see #allocateVmResourcesForUpdate()
+     */
+    @Getter(AccessLevel.NONE)
+    private long bwAllocatedInUpdate;
+
+    /** @see #setFastForwardTolerance(double) */
+    private double fastForwardTolerance;
+
+    /** @see #getStateVersion() */
+    private long stateVersion;
+
+    /** The value of the {@link #getStateVersion() state version} at the last actual processing update. */
+    @Getter(AccessLevel.NONE)
+    private long stateVersionInLastUpdate;
+
+    /**
+     * The simulation time until which intermediate processing updates can be skipped
+     * by the fast-forward mode, or a negative value if updates cannot be skipped.
+     * @see #setFastForwardTolerance(double)
+     */
+    @Getter(AccessLevel.NONE)
+    private double fastForwardDeadline;
+
+    /**
+     * The absolute simulation time the earliest running Cloudlet is predicted to finish,
+     * as computed at the last actual processing update.
+     */
+    @Getter(AccessLevel.NONE)
+    private double nextCloudletFinishTime;
+
     /** @see #addOnCloudletResourceAllocationFail(EventListener) */
     @Getter(AccessLevel.NONE)
     private final List<EventListener<CloudletResourceAllocationFailEventInfo>> resourceAllocationFailListeners;
@@ -108,6 +160,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         currentMipsShare = new MipsShare();
         taskScheduler = CloudletTaskScheduler.NULL;
         resourceAllocationFailListeners = new ArrayList<>();
+        fastForwardDeadline = -1;
     }
 
     /**
@@ -214,6 +267,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             cle.setStatus(Cloudlet.Status.QUEUED);
         }
         cloudletWaitingList.add(cle);
+        stateVersion++;
     }
 
     @Override
@@ -274,12 +328,24 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cle.setStatus(Cloudlet.Status.INEXEC);
         cle.setLastProcessingTime(getVm().getSimulation().clock());
         cloudletExecList.add(cle);
+        stateVersion++;
         addUsedPes(cle.getPesNumber());
     }
 
     @Override
     public boolean hasFinishedCloudlets() {
-        return !cloudletFinishedList.isEmpty();
+        return finishedCloudletsNumber > 0;
+    }
+
+    @Override
+    public CloudletScheduler setCloudletFinishedSink(final Consumer<CloudletExecution> sink) {
+        this.cloudletFinishedSink = sink;
+        return this;
+    }
+
+    @Override
+    public void incrementStateVersion() {
+        stateVersion++;
     }
 
     /**
@@ -318,14 +384,29 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     }
 
     /**
-     * Processes a finished cloudlet.
+     * Processes a finished cloudlet, setting its finish time
+     * before it's retained into the finished list or handed to the
+     * {@link #setCloudletFinishedSink(Consumer) finished Cloudlet sink}.
      *
      * @param cle finished cloudlet
      */
     protected void cloudletFinish(final CloudletExecution cle) {
         cle.setStatus(Cloudlet.Status.SUCCESS);
         cle.finalizeCloudlet();
-        cloudletFinishedList.add(cle);
+        cle.setFinishTime(vm.getSimulation().clock());
+        retainFinishedCloudlet(cle);
+    }
+
+    /**
+     * Adds a finished Cloudlet to the {@link #getCloudletFinishedList() finished list}
+     * or hands it to the {@link #setCloudletFinishedSink(Consumer) finished Cloudlet sink}, if one is set.
+     * @param cle the finished Cloudlet
+     */
+    private void retainFinishedCloudlet(final CloudletExecution cle) {
+        finishedCloudletsNumber++;
+        if(cloudletFinishedSink == null)
+            cloudletFinishedList.add(cle);
+        else cloudletFinishedSink.accept(cle);
     }
 
     @Override
@@ -461,7 +542,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         final Consumer<CloudletExecution> cloudletStatusUpdaterConsumer)
     {
         final Function<CloudletExecution, Cloudlet> removeCloudletAndUpdateStatus = cle -> {
-            cloudletList.remove(cle);
+            if(cloudletList == cloudletWaitingList)
+                removeCloudletFromWaitingList(cle);
+            else cloudletList.remove(cle);
+            stateVersion++;
             cloudletStatusUpdaterConsumer.accept(cle);
             return cle.getCloudlet();
         };
@@ -473,6 +557,9 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     @Override
     public double updateProcessing(final double currentTime, final MipsShare mipsShare) {
+        if(isMipsShareChanged(mipsShare)) {
+            stateVersion++;
+        }
         setCurrentMipsShare(mipsShare);
 
         if (isEmpty()) {
@@ -480,11 +567,18 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             return Double.MAX_VALUE;
         }
 
-        deallocateVmResources();
+        if(isTimeToFastForward(currentTime)) {
+            return Math.max(nextCloudletFinishTime - currentTime, vm.getSimulation().getMinTimeBetweenEvents());
+        }
 
+        ramAllocatedInUpdate = 0;
+        bwAllocatedInUpdate = 0;
         double nextSimulationDelay = updateCloudletsProcessing(currentTime);
+        allocateVmResourcesForUpdate();
+
         nextSimulationDelay = Math.min(nextSimulationDelay, moveNextCloudletsFromWaitingToExecList(currentTime));
         addCloudletsToFinishedList();
+        updateFastForwardDeadline(currentTime);
 
         setPreviousTime(currentTime);
         vm.getSimulation().setLastCloudletProcessingUpdate(currentTime);
@@ -492,13 +586,152 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         return nextSimulationDelay;
     }
 
+    private boolean isMipsShareChanged(final MipsShare mipsShare) {
+        return mipsShare.pes() != currentMipsShare.pes() || mipsShare.mips() != currentMipsShare.mips();
+    }
+
     /**
-     * Deallocates total used capacity from VM RAM and Bandwidth
-     * so that the allocation can be updated when running Cloudlets are processed.
+     * Checks if the current processing update can be skipped by the fast-forward mode,
+     * since nothing changed since the last actual update
+     * and the progress of running Cloudlets won't lag behind more than the
+     * {@link #getFastForwardTolerance() tolerance}.
+     * The progress of the skipped interval is computed at once in the next actual update,
+     * since the executed length is proportional to the time span since the last Cloudlet update.
+     *
+     * @param currentTime current simulation time
+     * @return true if the update can be skipped, false otherwise
      */
-    private void deallocateVmResources() {
-        ((VmSimple)vm).getRam().deallocateAllResources();
-        ((VmSimple)vm).getBw().deallocateAllResources();
+    private boolean isTimeToFastForward(final double currentTime) {
+        return fastForwardDeadline >= 0 &&
+               stateVersion == stateVersionInLastUpdate &&
+               currentTime <= fastForwardDeadline &&
+               currentTime < nextCloudletFinishTime &&
+               !vm.getSimulation().isTimeToTerminateSimulationUnderRequest();
+    }
+
+    /**
+     * Computes the simulation time until which next processing updates can be skipped,
+     * if the fast-forward mode is enabled and the processing of every running Cloudlet
+     * is a linear function of time.
+     * The time is the one when the first Cloudlet would have its progress lagging
+     * behind the {@link #getFastForwardTolerance() tolerance}.
+     *
+     * @param currentTime current simulation time
+     * @see #setFastForwardTolerance(double)
+     */
+    private void updateFastForwardDeadline(final double currentTime) {
+        stateVersionInLastUpdate = stateVersion;
+        fastForwardDeadline = -1;
+        if(fastForwardTolerance <= 0 || taskScheduler != CloudletTaskScheduler.NULL || !isFastForwardSupported()){
+            return;
+        }
+
+        final var vmRam = ((VmSimple)vm).getRam();
+        final var vmBw = ((VmSimple)vm).getBw();
+        double requestedRam = 0;
+        double requestedBw = 0;
+        double deadline = Double.MAX_VALUE;
+        double finishTime = Double.MAX_VALUE;
+        for (final CloudletExecution cle : cloudletExecList) {
+            final var cloudlet = cle.getCloudlet();
+            if(!isFastForwardable(cle, currentTime)) {
+                return;
+            }
+
+            final double mips = getAllocatedMipsForCloudlet(cle, currentTime);
+            if(mips <= 0) {
+                return;
+            }
+
+            requestedRam += getCloudletResourceAbsoluteUtilization(cloudlet, vmRam);
+            requestedBw += getCloudletResourceAbsoluteUtilization(cloudlet, vmBw);
+            deadline = Math.min(deadline, currentTime + fastForwardTolerance * cloudlet.getLength() / mips);
+            finishTime = Math.min(finishTime, currentTime + cloudletEstimatedFinishTime(cle, currentTime));
+        }
+
+        // Oversubscription delays are computed for each update, so they cannot be fast-forwarded
+        if(requestedRam > vmRam.getCapacity() || requestedBw > vmBw.getCapacity()){
+            return;
+        }
+
+        nextCloudletFinishTime = finishTime;
+        fastForwardDeadline = deadline;
+    }
+
+    /**
+     * Checks if the processing of a running Cloudlet is a linear function of time,
+     * enabling it to be fast-forwarded.
+     * @param cle the running Cloudlet to check
+     * @param currentTime current simulation time
+     * @return true if the Cloudlet processing can be fast-forwarded, false otherwise
+     */
+    private boolean isFastForwardable(final CloudletExecution cle, final double currentTime) {
+        final var cloudlet = cle.getCloudlet();
+        return cloudlet.getLength() > 0 &&
+               hasCloudletFileTransferTimePassed(cle, currentTime) &&
+               cloudlet.getUtilizationModelCpu().isTimeInvariant() &&
+               cloudlet.getUtilizationModelRam().isTimeInvariant() &&
+               cloudlet.getUtilizationModelBw().isTimeInvariant();
+    }
+
+    /**
+     * Checks if the scheduler policy enables skipping processing updates
+     * when the set of running Cloudlets and the VM MIPS share don't change.
+     * Schedulers which change running Cloudlets along the time, such as preemptive ones,
+     * must override this method to return false.
+     *
+     * @return true if the fast-forward mode is supported, false otherwise
+     * @see #setFastForwardTolerance(double)
+     */
+    protected boolean isFastForwardSupported() {
+        return true;
+    }
+
+    @Override
+    public CloudletScheduler setFastForwardTolerance(final double tolerance) {
+        if(tolerance < 0 || tolerance > 1) {
+            throw new IllegalArgumentException("Fast-forward tolerance must be in the range [0..1].");
+        }
+
+        this.fastForwardTolerance = tolerance;
+        this.fastForwardDeadline = -1;
+        return this;
+    }
+
+    /**
+     * Updates the VM RAM and Bandwidth allocation to the total amount
+     * allocated to running Cloudlets during the last processing update.
+     * Instead of deallocating all VM resources and allocating them again,
+     * Cloudlet by Cloudlet, only the difference from the previous allocation is applied.
+     * If no Cloudlet changed its resource usage, the VM resources aren't touched.
+     */
+    private void allocateVmResourcesForUpdate() {
+        updateVmResourceAllocation(((VmSimple)vm).getRam(), ramAllocatedInUpdate);
+        updateVmResourceAllocation(((VmSimple)vm).getBw(), bwAllocatedInUpdate);
+    }
+
+    private void updateVmResourceAllocation(final ResourceManageable vmResource, final long newAllocated) {
+        final long delta = newAllocated - vmResource.getAllocatedResource();
+        if(delta > 0)
+            vmResource.allocateResource(delta);
+        else if(delta < 0)
+            vmResource.deallocateResource(-delta);
+    }
+
+    /**
+     * {@return the amount of a VM resource which is still available for the Cloudlets to be processed
+     * during the current {@link #updateProcessing(double, MipsShare)} call}.
+     * That is the resource capacity minus the amount already allocated to the Cloudlets
+     * processed before in the same call.
+     * @param vmResource the VM resource to get the available amount (usually {@link Ram} or {@link Bandwidth}).
+     */
+    private long getAvailableResourceInUpdate(final ResourceManageable vmResource) {
+        final long allocated = isVmRam(vmResource) ? ramAllocatedInUpdate : bwAllocatedInUpdate;
+        return vmResource.getCapacity() - allocated;
+    }
+
+    private boolean isVmRam(final ResourceManageable vmResource) {
+        return vmResource == ((VmSimple)vm).getRam();
     }
 
     /**
@@ -565,6 +798,8 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /**
      * Updates the VM utilization of given resource, based on the current utilization of a
      * running Cloudlet, that depends on the Cloudlet's {@link UtilizationModel} for that resource.
+     * The amount allocated to the Cloudlet is just accounted, then the VM resource allocation
+     * is updated at once after all running Cloudlets are processed.
      *
      * @param vmResource the kind of resource to updates its utilization (usually {@link Ram} or {@link Bandwidth}).
      */
@@ -579,7 +814,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             return;
         }
 
-        final long available = vmResource.getAvailableResource();
+        final long available = getAvailableResourceInUpdate(vmResource);
         if(requested > available){
             final String msg1 = available > 0 ? "just %d was available".formatted(available): "no amount is available.";
             final String msg2 = vmResource.getClass() == Ram.class ? ". Using Virtual Memory," : ",";
@@ -591,7 +826,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             updateOnResourceAllocationFailListeners(vmResource, cloudlet, requested, available);
         }
 
-        vmResource.allocateResource(Math.min(requested, available));
+        final long allocated = Math.min(requested, available);
+        if(isVmRam(vmResource))
+            ramAllocatedInUpdate += allocated;
+        else bwAllocatedInUpdate += allocated;
     }
 
     private void updateOnResourceAllocationFailListeners(
@@ -836,7 +1074,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         /* Amount of resource that was not allocated to the Cloudlet due to lack of VM capacity.
          * This way, that extra amount will cause delay in cloudlet execution,
          * since the cloudlet will wait for that non-allocated resource until the next processing time. */
-        final double notAllocatedResource = Math.max(requestedResource - vmResource.getAvailableResource(), 0);
+        final double notAllocatedResource = Math.max(requestedResource - getAvailableResourceInUpdate(vmResource), 0);
         if (notAllocatedResource > 0) {
             final double delay = delayFunction.apply(notAllocatedResource, requestedResource);
             cle.incOverSubscriptionDelay(delay);
@@ -896,7 +1134,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     }
 
     private void addCloudletToFinishedList(final CloudletExecution cle) {
-        setCloudletFinishTimeAndAddToFinishedList(cle);
+        cloudletFinish(cle);
         removeCloudletFromExecList(cle);
     }
 
@@ -908,21 +1146,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     protected CloudletExecution removeCloudletFromExecList(final CloudletExecution cle) {
         removeUsedPes(cle.getPesNumber());
+        stateVersion++;
         return cloudletExecList.remove(cle) ? cle : CloudletExecution.NULL;
     }
 
-    /**
-     * Sets the finish time of a cloudlet and adds it to the
-     * finished list.
-     *
-     * @param cle the cloudlet to set the finish time
-     */
-    private void setCloudletFinishTimeAndAddToFinishedList(final CloudletExecution cle) {
-        final double clock = vm.getSimulation().clock();
-        cloudletFinish(cle);
-        cle.setFinishTime(clock);
-    }
-
     /**
      * Gets the estimated time when a given cloudlet is supposed to finish
      * executing. It considers the amount of Vm PES and the sum of PEs required
@@ -1023,11 +1250,38 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     protected CloudletExecution addWaitingCloudletToExecList(final CloudletExecution cle) {
         /*If the Cloudlet is not found in the waiting List, there is no problem.
         * Just add it to the exec List.*/
-        cloudletWaitingList.remove(cle);
+        removeCloudletFromWaitingList(cle);
         addCloudletToExecList(cle);
         return cle;
     }
 
+    /**
+     * Removes a Cloudlet from the waiting list.
+     * Subclasses keeping additional indexes of waiting Cloudlets
+     * must override this method to keep such indexes up-to-date.
+     *
+     * @param cle the Cloudlet to remove
+     * @return true if the Cloudlet was in the waiting list, false otherwise
+     */
+    protected boolean removeCloudletFromWaitingList(final CloudletExecution cle) {
+        stateVersion++;
+        return cloudletWaitingList.remove(cle);
+    }
+
+    /**
+     * Removes a set of Cloudlets from the waiting list in a single pass,
+     * instead of searching the list once for each Cloudlet.
+     * It doesn't call {@link #removeCloudletFromWaitingList(CloudletExecution)}
+     * for each Cloudlet, so subclasses must update their own indexes before calling this method.
+     *
+     * @param cloudlets the Cloudlets to remove
+     * @return true if any Cloudlet was removed, false otherwise
+     */
+    protected boolean removeCloudletsFromWaitingList(final Set<CloudletExecution> cloudlets) {
+        stateVersion++;
+        return !cloudlets.isEmpty() && cloudletWaitingList.removeIf(cloudlets::contains);
+    }
+
     @Override
     public void setVm(@NonNull final Vm vm) {
         if (isOtherVmAssigned(vm)) {
@@ -1251,7 +1505,9 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     @Override
     public void addCloudletToReturnedList(final Cloudlet cloudlet) {
-        this.cloudletReturnedList.add(cloudlet);
+        //Returned Cloudlets are not retained when they are handed to a sink after finishing
+        if(cloudletFinishedSink == null)
+            this.cloudletReturnedList.add(cloudlet);
     }
 
     @Override
@@ -1306,5 +1562,6 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     public void clear() {
         this.cloudletWaitingList.clear();
         this.cloudletExecList.clear();
+        this.stateVersion++;
     }
 }
@@ -461,6 +461,15 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
         return super.getCloudletExecList();
     }
 
+    /**
+     * {@inheritDoc}
+     * @return always false, since running Cloudlets are preempted when their time slice expires
+     */
+    @Override
+    protected boolean isFastForwardSupported() {
+        return false;
+    }
+
     /**
      * Checks which Cloudlets in the execution list have the virtual runtime
      * equals to their allocated time slice and preempt them, getting
@@ -11,6 +11,7 @@ import org.cloudsimplus.vms.Vm;
 import java.io.Serial;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A class that implements the Null Object Design Pattern for {@link CloudletScheduler}
@@ -74,6 +75,11 @@ final class CloudletSchedulerNull implements CloudletScheduler {
     @Override public long getFreePes() { return 0; }
     @Override public void addCloudletToReturnedList(Cloudlet cloudlet) {/**/}
     @Override public List<CloudletExecution> getCloudletFinishedList() { return Collections.emptyList(); }
+    @Override public CloudletScheduler setCloudletFinishedSink(Consumer<CloudletExecution> sink) { return this; }
+    @Override public double getFastForwardTolerance() { return 0; }
+    @Override public long getStateVersion() { return 0; }
+    @Override public void incrementStateVersion() {/**/}
+    @Override public CloudletScheduler setFastForwardTolerance(double tolerance) { return this; }
     @Override public boolean isEmpty() { return false; }
     @Override public List<CloudletExecution> getCloudletWaitingList() { return Collections.emptyList(); }
     @Override public void deallocatePesFromVm(long pesToRemove) {/**/}
@@ -0,0 +1,359 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.schedulers.cloudlet;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletExecution;
+import org.cloudsimplus.util.SwfWorkloadFileReader;
+
+import java.io.Serial;
+import java.util.*;
+
+/**
+ * A space-shared {@link CloudletScheduler} implementing the
+ * <a href="https://doi.org/10.1109/71.932708">EASY backfilling</a> policy.
+ * Cloudlets are started in arrival order (FCFS) while there are enough free PEs.
+ * When the Cloudlet at the head of the waiting queue doesn't fit the free PEs,
+ * a reservation is computed for it: the earliest time enough PEs will be released by
+ * running Cloudlets (the <b>shadow time</b>) and the number of PEs that will
+ * still be left free at that time (the <b>extra PEs</b>).
+ * Other waiting Cloudlets are then allowed to start (backfill) only if they fit the
+ * currently free PEs and either are expected to finish before the shadow time
+ * or just use extra PEs. This way, the head Cloudlet is never delayed by backfilled ones.
+ *
+ * <p>Waiting Cloudlets are indexed by the number of requested PEs,
+ * and each bucket is ordered by the remaining Cloudlet length.
+ * Finding the next Cloudlet to run requires checking just the shortest Cloudlet
+ * of each bucket fitting the free PEs, instead of linearly scanning the whole waiting list.
+ * That is relevant for large HPC workloads,
+ * such as the ones read by the {@link SwfWorkloadFileReader},
+ * where the waiting list may hold tens of thousands of Cloudlets.</p>
+ *
+ * <p><b>NOTES:</b>
+ * <ul>
+ *   <li>The expected execution time of a Cloudlet is computed from its remaining length
+ *   and the MIPS capacity of each PE. Cloudlets with undefined (negative) length
+ *   are considered to run indefinitely, so they are only backfilled into extra PEs.</li>
+ *   <li>The backfill candidates are the shortest eligible Cloudlet of each bucket
+ *   (the one which arrived first among the ones with the same length).
+ *   Among such candidates, the one which arrived first is selected.
+ *   Therefore, a longer Cloudlet which arrived earlier may be overtaken by a shorter one
+ *   requiring the same number of PEs, as in shortest-first backfilling.</li>
+ *   <li>Like the {@link CloudletSchedulerSpaceShared}, Cloudlets priorities are ignored.</li>
+ * </ul>
+ * </p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public class CloudletSchedulerSpaceSharedBackfilling extends CloudletSchedulerSpaceShared {
+    @Serial
+    private static final long serialVersionUID = -3157320584036729581L;
+
+    /**
+     * Orders waiting Cloudlets by their arrival in the waiting queue.
+     */
+    private static final Comparator<WaitingCloudlet> ARRIVAL_ORDER = Comparator.comparingLong(WaitingCloudlet::order);
+
+    /**
+     * Orders waiting Cloudlets by their remaining length, then by their arrival in the waiting queue.
+     */
+    private static final Comparator<WaitingCloudlet> LENGTH_ORDER =
+        Comparator.comparingLong(WaitingCloudlet::length).thenComparingLong(WaitingCloudlet::order);
+
+    /**
+     * Waiting Cloudlets in arrival order, where the first one is the head of the queue,
+     * which gets a reservation when it cannot start right away.
+     */
+    private final NavigableSet<WaitingCloudlet> waitingQueue;
+
+    /**
+     * Waiting Cloudlets grouped by the number of requested PEs.
+     * Each bucket is ordered by {@link #LENGTH_ORDER}.
+     */
+    private final NavigableMap<Long, NavigableSet<WaitingCloudlet>> waitingBuckets;
+
+    /**
+     * Maps each {@link CloudletExecution} in the waiting list to its index entry.
+     */
+    private final Map<CloudletExecution, WaitingCloudlet> waitingIndex;
+
+    /**
+     * The order to be assigned to the next Cloudlet added to the waiting queue.
+     */
+    private long nextWaitingOrder;
+
+    /**
+     * An entry in the index of waiting Cloudlets.
+     * @param cle the waiting Cloudlet
+     * @param order the order the Cloudlet entered the waiting queue
+     * @param length the remaining Cloudlet length (in MI) when it entered the queue,
+     *               or {@link Long#MAX_VALUE} if the length is undefined
+     */
+    private record WaitingCloudlet(CloudletExecution cle, long order, long length) {
+        boolean isFrozen() {
+            return cle.getCloudlet().getStatus() == Cloudlet.Status.FROZEN;
+        }
+    }
+
+    /**
+     * A reservation for the Cloudlet at the head of the waiting queue.
+     * @param shadowTime the delay (from the current time) until the head Cloudlet can start
+     * @param extraPes the number of PEs that will be free at the shadow time,
+     *                 besides the ones required by the head Cloudlet
+     */
+    private record Reservation(double shadowTime, long extraPes) {
+        /**
+         * Checks if a Cloudlet can be backfilled without delaying the head Cloudlet.
+         * @param pes the number of PEs required by the Cloudlet
+         * @param executionTime the expected execution time of the Cloudlet
+         * @return true if the Cloudlet can be backfilled, false otherwise
+         */
+        boolean allows(final long pes, final double executionTime) {
+            return executionTime <= shadowTime || pes <= extraPes;
+        }
+    }
+
+    /**
+     * Creates a space-shared cloudlet scheduler with EASY backfilling.
+     */
+    public CloudletSchedulerSpaceSharedBackfilling() {
+        super();
+        waitingQueue = new TreeSet<>(ARRIVAL_ORDER);
+        waitingBuckets = new TreeMap<>();
+        waitingIndex = new HashMap<>();
+    }
+
+    @Override
+    protected void addCloudletToWaitingList(final CloudletExecution cle) {
+        super.addCloudletToWaitingList(cle);
+        if(cle == CloudletExecution.NULL || waitingIndex.containsKey(cle)){
+            return;
+        }
+
+        final long length = cle.getCloudletLength() > 0 ? cle.getRemainingCloudletLength() : Long.MAX_VALUE;
+        final var entry = new WaitingCloudlet(cle, nextWaitingOrder++, length);
+        waitingIndex.put(cle, entry);
+        waitingQueue.add(entry);
+        waitingBuckets.computeIfAbsent(cle.getPesNumber(), pes -> new TreeSet<>(LENGTH_ORDER)).add(entry);
+    }
+
+    @Override
+    protected boolean removeCloudletFromWaitingList(final CloudletExecution cle) {
+        removeFromWaitingIndex(cle);
+        return super.removeCloudletFromWaitingList(cle);
+    }
+
+    /**
+     * Removes a Cloudlet just from the index of waiting Cloudlets.
+     * @param cle the Cloudlet to remove
+     */
+    private void removeFromWaitingIndex(final CloudletExecution cle) {
+        final var entry = waitingIndex.remove(cle);
+        if(entry == null){
+            return;
+        }
+
+        waitingQueue.remove(entry);
+        final var bucket = waitingBuckets.get(cle.getPesNumber());
+        bucket.remove(entry);
+        if(bucket.isEmpty()) {
+            waitingBuckets.remove(cle.getPesNumber());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Cloudlets are selected according to the EASY backfilling policy.
+     * All selected Cloudlets are removed from the waiting list at once.</p>
+     *
+     * @param currentTime {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected double moveNextCloudletsFromWaitingToExecList(final double currentTime) {
+        final var startedCloudlets = new HashSet<CloudletExecution>();
+        double nextCloudletFinishTime = Double.MAX_VALUE;
+        for (var cle = findNextRunnableWaitingCloudlet(); cle != CloudletExecution.NULL; cle = findNextRunnableWaitingCloudlet()) {
+            removeFromWaitingIndex(cle);
+            startedCloudlets.add(cle);
+            addCloudletToExecList(cle);
+            nextCloudletFinishTime = Math.min(nextCloudletFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
+        }
+
+        removeCloudletsFromWaitingList(startedCloudlets);
+        return nextCloudletFinishTime;
+    }
+
+    /**
+     * Finds the next waiting Cloudlet that can start executing:
+     * the head of the waiting queue if it fits the free PEs,
+     * or the first arrived among the shortest Cloudlets of each bucket that can be backfilled otherwise.
+     *
+     * @return the Cloudlet to start executing or {@link CloudletExecution#NULL} if there isn't any
+     */
+    private CloudletExecution findNextRunnableWaitingCloudlet() {
+        final var head = getWaitingQueueHead();
+        if(head == null) {
+            return CloudletExecution.NULL;
+        }
+
+        final long freePes = getFreePesNumber();
+        if(head.cle().getPesNumber() <= freePes) {
+            return head.cle();
+        }
+
+        final var reservation = computeReservation(head.cle());
+        WaitingCloudlet selected = null;
+        for (final var bucket : waitingBuckets.headMap(freePes, true).values()) {
+            final var candidate = findBackfillCandidate(bucket, reservation);
+            if(candidate != null && (selected == null || candidate.order() < selected.order())) {
+                selected = candidate;
+            }
+        }
+
+        return selected == null ? CloudletExecution.NULL : selected.cle();
+    }
+
+    /**
+     * Gets the shortest Cloudlet from a bucket of waiting Cloudlets requiring the same number of PEs,
+     * if it can be backfilled.
+     * Since the bucket is ordered by length, if the shortest Cloudlet cannot
+     * be backfilled, no other one in the bucket can.
+     *
+     * @param bucket the bucket to get a Cloudlet from
+     * @param reservation the reservation for the head Cloudlet
+     * @return the Cloudlet that can be backfilled or null if there isn't any
+     */
+    private WaitingCloudlet findBackfillCandidate(final NavigableSet<WaitingCloudlet> bucket, final Reservation reservation) {
+        for (final var entry : bucket) {
+            if(entry.isFrozen()) {
+                continue;
+            }
+
+            final var cle = entry.cle();
+            return reservation.allows(cle.getPesNumber(), expectedExecutionTime(cle)) ? entry : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * {@return the first non-frozen Cloudlet in the waiting queue} or null if there isn't any.
+     * Frozen Cloudlets are waiting for a message to become ready,
+     * so they don't get a reservation.
+     */
+    private WaitingCloudlet getWaitingQueueHead() {
+        for (final var entry : waitingQueue) {
+            if(!entry.isFrozen()) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Computes the reservation for the Cloudlet at the head of the waiting queue,
+     * based on the expected finish time of the running Cloudlets.
+     * Since the number of running Cloudlets is bounded by the number of VM PEs,
+     * the cost doesn't depend on the size of the waiting queue.
+     *
+     * @param head the Cloudlet at the head of the waiting queue
+     * @return the reservation for the head Cloudlet
+     */
+    private Reservation computeReservation(final CloudletExecution head) {
+        final long requiredPes = head.getPesNumber();
+        long freePes = getFreePesNumber();
+        if(requiredPes > getVm().getPesNumber()) {
+            /* The head Cloudlet will never be able to run in this VM,
+             * so it cannot block other Cloudlets. */
+            return new Reservation(Double.MAX_VALUE, Long.MAX_VALUE);
+        }
+
+        if(freePes >= requiredPes) {
+            return new Reservation(0, freePes - requiredPes);
+        }
+
+        final var runningCloudlets = new ArrayList<>(getCloudletExecList());
+        runningCloudlets.sort(Comparator.comparingDouble(this::expectedExecutionTime));
+        for (final var cle : runningCloudlets) {
+            freePes += cle.getPesNumber();
+            if(freePes >= requiredPes) {
+                return new Reservation(expectedExecutionTime(cle), freePes - requiredPes);
+            }
+        }
+
+        return new Reservation(Double.MAX_VALUE, 0);
+    }
+
+    /**
+     * {@return the expected time (in seconds) a Cloudlet will take to finish executing}
+     * if it runs from now on, or {@link Double#MAX_VALUE} if the Cloudlet length is undefined.
+     * @param cle the Cloudlet to compute the expected execution time
+     */
+    private double expectedExecutionTime(final CloudletExecution cle) {
+        final double peMips = getCurrentMipsShare().mips();
+        if(cle.getCloudletLength() <= 0 || peMips <= 0) {
+            return cle.getRemainingLifeTime();
+        }
+
+        return Math.min(cle.getRemainingCloudletLength() / peMips, cle.getRemainingLifeTime());
+    }
+
+    private long getFreePesNumber() {
+        return getVm().getProcessor().getAvailableResource();
+    }
+
+    /**
+     * Checks if a Cloudlet can start executing right away.
+     * If there are Cloudlets waiting, the given Cloudlet can start only if there are
+     * enough free PEs and it doesn't delay the reservation of the head of the waiting queue.
+     *
+     * @param cle {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected boolean canExecuteCloudletInternal(final CloudletExecution cle) {
+        if(!isThereEnoughFreePesForCloudlet(cle)) {
+            return false;
+        }
+
+        final var head = getWaitingQueueHead();
+        if(head == null || head.cle() == cle) {
+            return true;
+        }
+
+        return computeReservation(head.cle()).allows(cle.getPesNumber(), expectedExecutionTime(cle));
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        waitingQueue.clear();
+        waitingBuckets.clear();
+        waitingIndex.clear();
+    }
+}
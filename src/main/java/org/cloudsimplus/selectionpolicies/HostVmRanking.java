@@ -0,0 +1,147 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.selectionpolicies;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * Keeps the VMs of each Host ordered by a given criterion (such as RAM or CPU utilization),
+ * so that a {@link VmSelectionPolicy} can select VMs to migrate from a Host one after another
+ * without scanning all VMs of the Host at every selection.
+ *
+ * <p>The ranking of a Host is built when the simulation clock advances
+ * (since the criterion may depend on the current VM utilization) or
+ * the Host {@link Host#getVmListVersion() VM list changes}.
+ * The exception is when the just selected VM is removed from the Host,
+ * which is the usual behaviour when VMs are selected from an overloaded Host
+ * until it isn't overloaded anymore. In such a case,
+ * the next VM is just taken from the current ranking.
+ * If the Host doesn't track its VM list version (it's negative),
+ * the ranking is built at every selection.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class HostVmRanking {
+    /**
+     * The ranking of VMs for a Host.
+     */
+    private static final class Ranking {
+        private Vm[] vms = new Vm[0];
+        private int size;
+
+        /** The position of the next VM to select. */
+        private int next;
+
+        private double time = -1;
+        private long vmListVersion = -1;
+
+        /** The last selected VM, or null if the next one wasn't selected yet. */
+        private Vm lastSelected;
+    }
+
+    private final Comparator<Vm> comparator;
+    private final Map<Host, Ranking> rankings;
+
+    /**
+     * Creates a ranking of VMs.
+     * @param comparator the {@link Comparator} defining the order VMs are selected (the minimum first)
+     */
+    HostVmRanking(final Comparator<Vm> comparator) {
+        this.comparator = Objects.requireNonNull(comparator);
+        this.rankings = new HashMap<>();
+    }
+
+    /**
+     * Gets the next VM to migrate from a Host, which isn't in migration.
+     * Among VMs with the same rank, the first one in the Host VM list is selected.
+     *
+     * @param host the Host to select a VM from
+     * @return an {@link Optional} containing the selected VM or an empty one if there is no VM to migrate
+     */
+    Optional<Vm> next(final Host host) {
+        final Ranking ranking = rankings.computeIfAbsent(host, h -> new Ranking());
+        if (!isUpToDate(ranking, host)) {
+            build(ranking, host);
+        }
+
+        while (ranking.next < ranking.size) {
+            final Vm vm = ranking.vms[ranking.next++];
+            if (!vm.isInMigration()) {
+                ranking.lastSelected = vm;
+                ranking.vmListVersion = host.getVmListVersion();
+                return Optional.of(vm);
+            }
+        }
+
+        ranking.lastSelected = null;
+        return Optional.empty();
+    }
+
+    /**
+     * Checks if the ranking can still be used:
+     * the clock didn't advance and the Host VM list didn't change
+     * (or it has changed just to remove the last selected VM).
+     */
+    private boolean isUpToDate(final Ranking ranking, final Host host) {
+        final long version = host.getVmListVersion();
+        if (version < 0 || ranking.time != host.getSimulation().clock()) {
+            return false;
+        }
+
+        if (version == ranking.vmListVersion) {
+            /*The last selected VM is kept in the Host, so the ranking has to restart.
+            * Otherwise, calling the method again would select a different VM. */
+            return ranking.lastSelected == null;
+        }
+
+        return version == ranking.vmListVersion + 1 && ranking.lastSelected != null && !ranking.lastSelected.isCreated();
+    }
+
+    private void build(final Ranking ranking, final Host host) {
+        final List<Vm> vmList = host.getVmList();
+        if (ranking.vms.length < vmList.size()) {
+            ranking.vms = new Vm[vmList.size()];
+        } else {
+            Arrays.fill(ranking.vms, vmList.size(), ranking.size, null);
+        }
+
+        ranking.size = 0;
+        for (final Vm vm : vmList) {
+            if (!vm.isInMigration()) {
+                ranking.vms[ranking.size++] = vm;
+            }
+        }
+
+        //The sort is stable, so VMs with the same rank keep the Host VM list order
+        Arrays.sort(ranking.vms, 0, ranking.size, comparator);
+        ranking.next = 0;
+        ranking.time = host.getSimulation().clock();
+        ranking.vmListVersion = host.getVmListVersion();
+        ranking.lastSelected = null;
+    }
+}
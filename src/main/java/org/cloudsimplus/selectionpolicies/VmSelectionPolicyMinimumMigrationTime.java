@@ -11,10 +11,7 @@ package org.cloudsimplus.selectionpolicies;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.vms.Vm;
 
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 
 import static java.util.Comparator.comparingLong;
 
@@ -35,20 +32,16 @@ import static java.util.Comparator.comparingLong;
  * @since CloudSim Toolkit 3.0
  */
 public class VmSelectionPolicyMinimumMigrationTime implements VmSelectionPolicy {
+    /**
+     * VMs of each Host ordered by migration time, so that selecting VMs one after another
+     * from the same Host doesn't scan all its VMs every time.
+     * TODO It must compute the migration time based on the current RAM usage, not the capacity.
+     * It should also consider the VM size. See DatacenterSimple.timeToMigrateVm
+     */
+    private final HostVmRanking ranking = new HostVmRanking(comparingLong(vm -> vm.getRam().getCapacity()));
+
 	@Override
 	public Optional<Vm> getVmToMigrate(final Host host) {
-		final List<Vm> migratableVms = host.getMigratableVms();
-		if (migratableVms.isEmpty()) {
-			return Optional.empty();
-		}
-
-        /* TODO It must compute the migration time based on the current RAM usage, not the capacity.
-         * It should also consider the VM size. See DatacenterSimple.timeToMigrateVm*/
-        final Comparator<Vm> vmComparator = comparingLong(vm -> vm.getRam().getCapacity());
-        final Predicate<Vm> vmPredicate = Vm::isInMigration;
-        return migratableVms
-                     .stream()
-                     .filter(vmPredicate.negate())
-                     .min(vmComparator);
+		return ranking.next(host);
 	}
 }
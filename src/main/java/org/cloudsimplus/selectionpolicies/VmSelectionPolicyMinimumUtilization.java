@@ -11,10 +11,7 @@ package org.cloudsimplus.selectionpolicies;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.vms.Vm;
 
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 
 import static java.util.Comparator.comparingDouble;
 
@@ -36,18 +33,15 @@ import static java.util.Comparator.comparingDouble;
  * @since CloudSim Toolkit 3.0
  */
 public class VmSelectionPolicyMinimumUtilization implements VmSelectionPolicy {
+    /**
+     * VMs of each Host ordered by CPU utilization, so that selecting VMs one after another
+     * from the same Host doesn't scan all its VMs every time.
+     */
+    private final HostVmRanking ranking = new HostVmRanking(comparingDouble(Vm::getCpuPercentUtilization));
+
     @Override
     public Optional<Vm> getVmToMigrate(final Host host) {
-        final List<Vm> migratableVms = host.getMigratableVms();
-        if (migratableVms.isEmpty()) {
-            return Optional.empty();
-        }
-
-        final Predicate<Vm> inMigration = Vm::isInMigration;
-        final Comparator<Vm> vmCpuUsageComparator = comparingDouble(Vm::getCpuPercentUtilization);
-        return migratableVms.stream()
-                            .filter(inMigration.negate())
-                            .min(vmCpuUsageComparator);
+        return ranking.next(host);
     }
 
 }
@@ -24,6 +24,7 @@
 package org.cloudsimplus.traces;
 
 import lombok.NonNull;
+import org.cloudsimplus.util.TraceRecord;
 import org.cloudsimplus.util.TraceReaderAbstract;
 
 import java.io.InputStream;
@@ -38,107 +39,112 @@ import java.io.InputStream;
  * @since CloudSim Plus 4.0.0
  */
 public abstract class TraceReaderBase extends TraceReaderAbstract {
-    /**
-     * Regular expression to check if a String corresponds to an integer number.
-     */
-    private static final String INT_REGEX = "^-?\\d+$";
-
-    /** @see #getLastParsedLineArray() */
-    private String[] lastParsedLineArray;
+    /** @see #getLastParsedLine() */
+    private TraceRecord lastParsedLine;
 
     protected TraceReaderBase(final String filePath, final InputStream reader) {
         super(filePath, reader);
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as String.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as String.
      *
      * @param field a enum value representing the index of the field to get the value
      * @return
      */
     public <T extends Enum> String getFieldValue(final T field){
-        return lastParsedLineArray[field.ordinal()];
+        return lastParsedLine.get(field.ordinal());
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as double.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as double.
      *
      * @param field a enum value representing the index of the field to get the value
      * @return
      */
     public <T extends Enum> double getFieldDoubleValue(final T field){
-        return Double.parseDouble(getFieldValue(field));
+        return lastParsedLine.parseDouble(field.ordinal());
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as double.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as double.
      *
      * @param field a enum value representing the index of the field to get the value
      * @param defaultValue the default value to be returned if the field value is not a number
      * @return
      */
     public <T extends Enum> double getFieldDoubleValue(final T field, final double defaultValue){
-        final String value = getFieldValue(field);
-        return  value.matches("^-?\\d+(\\.?\\d+)?$") ? Double.parseDouble(value) : defaultValue;
+        final int index = field.ordinal();
+        return lastParsedLine.isDecimal(index) ? lastParsedLine.parseDouble(index) : defaultValue;
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as an int.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as an int.
      *
      * @param field a enum value representing the index of the field to get the value
      * @return
      */
     public <T extends Enum> int getFieldIntValue(final T field){
-        return Integer.parseInt(getFieldValue(field));
+        return lastParsedLine.parseInt(field.ordinal());
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as an int.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as an int.
      *
      * @param field a enum value representing the index of the field to get the value
      * @param defaultValue the default value to be returned if the field value is not an int
      * @return
      */
     public <T extends Enum> int getFieldIntValue(final T field, final int defaultValue){
-        final String value = getFieldValue(field);
-        return  value.matches(INT_REGEX) ? Integer.parseInt(value) : defaultValue;
+        final int index = field.ordinal();
+        return lastParsedLine.isInteger(index) ? lastParsedLine.parseInt(index) : defaultValue;
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as an int.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as a long.
      *
      * @param field a enum value representing the index of the field to get the value
      * @return
      */
     public <T extends Enum> long getFieldLongValue(final T field){
-        return Long.parseLong(getFieldValue(field));
+        return lastParsedLine.parseLong(field.ordinal());
     }
 
     /**
-     * Gets a field's value from the {@link #getLastParsedLineArray() last parsed line} as an int.
+     * Gets a field's value from the {@link #getLastParsedLine() last parsed line} as a long.
      *
      * @param field a enum value representing the index of the field to get the value
-     * @param defaultValue the default value to be returned if the field value is not an int
+     * @param defaultValue the default value to be returned if the field value is not a long
      * @return
      */
     public <T extends Enum> long getFieldLongValue(final T field, final long defaultValue){
-        final String value = getFieldValue(field);
-        return  value.matches(INT_REGEX) ? Long.parseLong(value) : defaultValue;
+        final int index = field.ordinal();
+        return lastParsedLine.isInteger(index) ? lastParsedLine.parseLong(index) : defaultValue;
+    }
+
+    /**
+     * Gets a record with the field values from the last parsed trace line.
+     * Since the record is reused for every line, it must not be stored.
+     * @return
+     */
+    protected TraceRecord getLastParsedLine() {
+        return lastParsedLine;
     }
 
     /**
-     * Gets an array containing the field values from the last parsed trace line.
+     * Gets a new array containing the field values from the last parsed trace line.
      * @return
+     * @see #getLastParsedLine()
      */
     protected String[] getLastParsedLineArray() {
-        return lastParsedLineArray;
+        return lastParsedLine.toArray();
     }
 
     /**
-     * Sets an array containing the field values from the last parsed trace line.
-     * @param lastParsedLineArray the field values from the last parsed trace line
+     * Sets the record with the field values from the last parsed trace line.
+     * @param lastParsedLine the field values from the last parsed trace line
      */
-    protected void setLastParsedLineArray(@NonNull final String[] lastParsedLineArray) {
-        this.lastParsedLineArray = lastParsedLineArray;
+    protected void setLastParsedLine(@NonNull final TraceRecord lastParsedLine) {
+        this.lastParsedLine = lastParsedLine;
     }
 }
@@ -65,6 +65,11 @@ import java.util.function.Function;
  * <p>The documentation for fields and values were obtained from the Google Cluster trace documentation in the link above.
  * It's strongly recommended to read such a documentation before trying to use this class.</p>
  *
+ * <p>If a {@link #setTimeWindow(double, double) time window} starting after 0 is set,
+ * the Hosts added at timestamp 0 are not created.
+ * Therefore, the machine events trace is usually processed without a time window,
+ * even if the task events trace has one.</p>
+ *
  * <p>Check important details at {@link TraceReaderAbstract}.</p>
  *
  * @see #getInstance(String, Function)
@@ -214,6 +219,11 @@ public final class GoogleMachineEventsTraceReader extends GoogleTraceReaderAbstr
         return super.process();
     }
 
+    @Override
+    protected double getLastLineTimestamp() {
+        return MachineEventField.TIMESTAMP.getValue(this);
+    }
+
     @Override
     protected void preProcess() {
         if (this.datacenterForLaterHosts == null) {
@@ -300,7 +310,7 @@ public final class GoogleMachineEventsTraceReader extends GoogleTraceReaderAbstr
     }
 
     /**
-     * Creates a Host instance from the {@link #getLastParsedLineArray() last parsed line},
+     * Creates a Host instance from the {@link #getLastParsedLine() last parsed line},
      * using the given {@link #setHostCreationFunction(Function) host create function}.
      *
      * @return the Host instance
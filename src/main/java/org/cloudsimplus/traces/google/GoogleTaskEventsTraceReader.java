@@ -210,6 +210,35 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
         return super.process();
     }
 
+    /**
+     * Enables the trace file to be streamed: instead of reading the entire file
+     * when {@link #process()} is called, only the task events up to a time window ahead of the current simulation time
+     * are read and the remaining ones are read as the simulation clock advances.
+     * This way, Cloudlets and their status change events are lazily created,
+     * keeping memory usage bounded by the lookahead window, instead of the entire trace.
+     * This is useful for traces spanning several days.
+     *
+     * <p>Trace timestamps are relative to the simulation time the trace starts to be read,
+     * which is when the simulation starts or, if it's already running, when {@link #process()} is called.
+     * Lines inside the trace file must be in ascending order of timestamp.
+     * In such a mode, {@link #process()} just returns the Cloudlets created so far
+     * which didn't finish, fail or were killed yet, according to the trace.
+     * The reader drops its references to Cloudlets after reading such events,
+     * so that they can be just reached from their brokers.</p>
+     *
+     * @param lookahead how many seconds of the trace ahead of the current simulation time are read in advance
+     * @return this trace reader
+     */
+    public GoogleTaskEventsTraceReader setStreamingLookahead(final double lookahead) {
+        enableStreaming(simulation, lookahead);
+        return this;
+    }
+
+    @Override
+    protected double getLastLineTimestamp() {
+        return TaskEventField.TIMESTAMP.getValue(this);
+    }
+
     /**
      * There is no pre-process requirements for this implementation.
      */
@@ -225,6 +254,7 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
 
     private void sendCloudletEvents() {
         cloudletEvents.values().forEach(this::sendCloudletEvents);
+        cloudletEvents.clear();
     }
 
     protected void sendCloudletEvents(final List<CloudSimEvent> events) {
@@ -246,13 +276,43 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
     /* default */ boolean requestCloudletStatusChange(final int tag) {
         final var taskEvent = TaskEvent.of(this);
         final var broker = brokerManager.getBroker(taskEvent.getUserName());
-        final double delay = taskEvent.getTimestamp();
+        final double delay = getDelay(taskEvent.getTimestamp());
 
         return findObject(taskEvent.getUniqueTaskId())
                 .map(cloudlet -> addCloudletStatusChangeEvents(new CloudSimEvent(delay, broker, tag, cloudlet), taskEvent))
                 .isPresent();
     }
 
+    /**
+     * Send a message to the broker to request a Cloudlet to be terminated,
+     * using some tags from {@link CloudSimTag} such as {@link CloudSimTag#CLOUDLET_FINISH}.
+     * If the trace is {@link #isStreaming() streamed}, the Cloudlet is removed from the list of
+     * available Cloudlets when such a request is processed (instead of when the line is read),
+     * since no other event in the trace is expected to change it.
+     * This way, a {@link GoogleTaskUsageTraceReader} can still find the Cloudlet to apply
+     * the usage changes up to its termination.
+     * @param tag a CLOUDLET tag from the {@link CloudSimTag} used to send a message to request the Cloudlet termination
+     * @return true if the request was created, false otherwise
+     * @see #requestCloudletStatusChange(int)
+     */
+    /* default */ boolean requestCloudletTermination(final int tag) {
+        final var taskEvent = TaskEvent.of(this);
+        final var cloudlet = findObject(taskEvent.getUniqueTaskId());
+        if (!requestCloudletStatusChange(tag)) {
+            return false;
+        }
+
+        if (isStreaming()) {
+            /* Sent after the termination request, so that it's processed right after such a request. */
+            final Runnable removal = () -> removeAvailableObject(cloudlet.get());
+            final var broker = brokerManager.getBroker(taskEvent.getUserName());
+            final double delay = getDelay(taskEvent.getTimestamp());
+            addEventToSend(cloudlet.get(), new CloudSimEvent(delay, broker, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, removal));
+        }
+
+        return true;
+    }
+
     /**
      * Adds the events to request to change the status and attributes of a Cloudlet to the
      * list of events to send to the Cloudlet's broker.
@@ -343,7 +403,7 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
          * This way, it will be executed only when the event is processed.*/
         final var attrsChangeSimEvt =
             new CloudSimEvent(
-                taskEvent.getTimestamp(),
+                getDelay(taskEvent.getTimestamp()),
                 statusChangeSimEvt.getDestination(),
                 CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, attributesUpdateRunnable);
 
@@ -409,6 +469,6 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
      * @return true to indicate the Cloudlet is allowed to be created, false otherwise.
      */
     protected boolean allowCloudletCreation() {
-        return availableObjectsCount() < getMaxCloudletsToCreate();
+        return createdObjectsCount() < getMaxCloudletsToCreate();
     }
 }
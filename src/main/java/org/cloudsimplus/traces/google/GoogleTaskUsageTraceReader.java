@@ -39,9 +39,7 @@ import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 /**
  * Process "task usage" trace files from
@@ -64,8 +62,29 @@ import java.util.List;
  * @since CloudSim Plus 4.0.0
  */
 public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<Cloudlet> {
+    /**
+     * The resource usage requested for a Cloudlet.
+     * @param cpu the CPU usage (in scale from 0 to 1)
+     * @param ram the RAM usage (in scale from 0 to 1)
+     */
+    private record ResourceUsage(double cpu, double ram) {
+    }
+
+    /**
+     * Events to request changes in Cloudlets resource usage, which weren't sent yet.
+     */
     private final List<CloudSimEvent> cloudletUsageChangeEvents;
 
+    /**
+     * The last resource usage requested for each Cloudlet,
+     * used to drop samples which don't change the usage of a Cloudlet.
+     * @see #getUsageChangeEpsilon()
+     */
+    private final Map<Cloudlet, ResourceUsage> lastRequestedUsages;
+
+    /** @see #getUsageChangeEpsilon() */
+    private double usageChangeEpsilon;
+
     /**
      * A {@link GoogleTaskEventsTraceReader} used to create Cloudlets from a task events trace file.
      */
@@ -294,7 +313,7 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
      *                                  (such as when it doesn't exist)
      * @see #process()
      */
-    private GoogleTaskUsageTraceReader(
+    /* default */ GoogleTaskUsageTraceReader(
         @NonNull final GoogleTaskEventsTraceReader taskEventsReader,
         final String filePath,
         final InputStream reader)
@@ -307,6 +326,61 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
         }
         this.simulation = brokerList.get(0).getSimulation();
         cloudletUsageChangeEvents = new ArrayList<>();
+        lastRequestedUsages = new HashMap<>();
+    }
+
+    /**
+     * Enables the trace file to be streamed: instead of reading the entire file
+     * when {@link #process()} is called, only the resource usage changes up to a time window
+     * ahead of the current simulation time are read and the remaining ones are read as the simulation clock advances.
+     * This way, the number of pending usage change events is bounded by the lookahead window, instead of the entire trace.
+     * Cloudlets which finished, failed or were canceled are dropped from the {@link #process() processed Cloudlets}
+     * after each window is read.
+     *
+     * <p>Trace timestamps are relative to the simulation time the trace starts to be read,
+     * which is when the simulation starts or, if it's already running, when {@link #process()} is called.
+     * Lines inside the trace file must be in ascending order of start time.
+     * Since usage changes are just applied to Cloudlets already created by the {@link GoogleTaskEventsTraceReader},
+     * if such a reader is also {@link GoogleTaskEventsTraceReader#setStreamingLookahead(double) streamed},
+     * it must be processed first, using at least the same lookahead
+     * (so that Cloudlets are created before their usage changes are read).
+     * Since the events reader keeps each Cloudlet until its termination is processed,
+     * the usage changes up to such a termination are applied, even when the events reader
+     * has a larger lookahead.</p>
+     *
+     * @param lookahead how many seconds of the trace ahead of the current simulation time are read in advance
+     * @return this trace reader
+     */
+    public GoogleTaskUsageTraceReader setStreamingLookahead(final double lookahead) {
+        enableStreaming(simulation, lookahead);
+        return this;
+    }
+
+    /**
+     * Gets the minimum difference between a CPU or RAM usage sample and the last usage requested for a Cloudlet
+     * for a usage change to be requested. Samples which don't change the Cloudlet's usage beyond
+     * such a value are dropped, reducing the number of usage change events.
+     * The default value is 0, which means any change is requested.
+     * @return the minimum usage difference (in scale from 0 to 1)
+     */
+    public double getUsageChangeEpsilon() {
+        return usageChangeEpsilon;
+    }
+
+    /**
+     * Sets the minimum difference between a CPU or RAM usage sample and the last usage requested for a Cloudlet
+     * for a usage change to be requested.
+     * @param usageChangeEpsilon the minimum usage difference (in scale from 0 to 1)
+     * @return this trace reader
+     * @see #getUsageChangeEpsilon()
+     */
+    public GoogleTaskUsageTraceReader setUsageChangeEpsilon(final double usageChangeEpsilon) {
+        if(usageChangeEpsilon < 0 || usageChangeEpsilon > 1){
+            throw new IllegalArgumentException("Usage change epsilon must be between 0 and 1.");
+        }
+
+        this.usageChangeEpsilon = usageChangeEpsilon;
+        return this;
     }
 
     private List<DatacenterBroker> getBrokers() {
@@ -347,13 +421,20 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
         return super.process();
     }
 
+    @Override
+    protected double getLastLineTimestamp() {
+        return FieldIndex.START_TIME.getValue(this);
+    }
+
     /** There is not pre-process for this implementation. */
     @Override
     protected void preProcess(){/**/}
 
     @Override
     protected void postProcess(){
-        simulation.addOnSimulationStartListener(this::onSimulationStart);
+        if(simulation.isRunning())
+            sendCloudletUsageChangeEvents();
+        else simulation.addOnSimulationStartListener(this::onSimulationStart);
     }
 
     /**
@@ -363,7 +444,28 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
      * @param info the simulation start event information
      */
     private void onSimulationStart(final EventInfo info) {
+        sendCloudletUsageChangeEvents();
+    }
+
+    private void sendCloudletUsageChangeEvents() {
         cloudletUsageChangeEvents.forEach(evt -> evt.getSource().schedule(evt));
+        cloudletUsageChangeEvents.clear();
+        if(isStreaming()) {
+            lastRequestedUsages.keySet().removeIf(GoogleTaskUsageTraceReader::isTerminated);
+            removeAvailableObjectsIf(GoogleTaskUsageTraceReader::isTerminated);
+        }
+    }
+
+    /**
+     * {@return true if a Cloudlet has finished, failed or was canceled}, so that
+     * no usage change is expected for it anymore.
+     * @param cloudlet the Cloudlet to check
+     */
+    private static boolean isTerminated(final Cloudlet cloudlet) {
+        return cloudlet.isFinished() || switch (cloudlet.getStatus()) {
+            case SUCCESS, FAILED, CANCELED, FAILED_RESOURCE_UNAVAILABLE -> true;
+            default -> false;
+        };
     }
 
     @Override
@@ -372,7 +474,7 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
         return taskEventsReader
                 .findObject(taskUsage.getUniqueTaskId())
                 .map(cloudlet -> requestCloudletUsageChange(cloudlet, taskUsage))
-                .isPresent();
+                .orElse(false);
     }
 
     /**
@@ -381,23 +483,24 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
      */
     private boolean requestCloudletUsageChange(final Cloudlet cloudlet, final TaskUsage taskUsage)
     {
+        final var usage = new ResourceUsage(taskUsage.getMeanCpuUsageRate(), taskUsage.getCanonicalMemoryUsage());
         final Runnable resourceUsageUpdateRunnable = () -> {
             final StringBuilder builder = new StringBuilder();
-            if (cloudlet.getUtilizationOfCpu() != taskUsage.getMeanCpuUsageRate()) {
+            if (cloudlet.getUtilizationOfCpu() != usage.cpu()) {
                 builder.append("CPU Utilization: ")
                     .append(formatPercentValue(cloudlet.getUtilizationOfCpu())).append(VAL_SEPARATOR)
-                    .append(formatPercentValue(taskUsage.getMeanCpuUsageRate())).append('%').append(COL_SEPARATOR);
+                    .append(formatPercentValue(usage.cpu())).append('%').append(COL_SEPARATOR);
 
-                cloudlet.setUtilizationModelCpu(createUtilizationModel(cloudlet.getUtilizationModelCpu(), taskUsage.getMeanCpuUsageRate()));
+                cloudlet.setUtilizationModelCpu(createUtilizationModel(cloudlet.getUtilizationModelCpu(), usage.cpu()));
             }
 
-            if (cloudlet.getUtilizationOfRam() != taskUsage.getCanonicalMemoryUsage()) {
+            if (cloudlet.getUtilizationOfRam() != usage.ram()) {
                 builder.append("RAM Utilization: ")
                     .append(formatPercentValue(cloudlet.getUtilizationOfRam())).append(VAL_SEPARATOR)
-                    .append(formatPercentValue(taskUsage.getCanonicalMemoryUsage()))
+                    .append(formatPercentValue(usage.ram()))
                     .append('%')
                     .append(COL_SEPARATOR);
-                cloudlet.setUtilizationModelRam(createUtilizationModel(cloudlet.getUtilizationModelRam(), taskUsage.getCanonicalMemoryUsage()));
+                cloudlet.setUtilizationModelRam(createUtilizationModel(cloudlet.getUtilizationModelRam(), usage.ram()));
             }
 
             /* We don't need to check if some resource was changed because
@@ -409,11 +512,12 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
         };
 
 
-        if(hasCloudletResourceUsageChanged(cloudlet, taskUsage)){
+        if(hasCloudletResourceUsageChanged(cloudlet, usage)){
             addAvailableObject(cloudlet);
+            lastRequestedUsages.put(cloudlet, usage);
             final CloudSimEvent evt =
                 new CloudSimEvent(
-                    taskUsage.getStartTime(), cloudlet.getBroker(),
+                    getDelay(taskUsage.getStartTime()), cloudlet.getBroker(),
                     CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, resourceUsageUpdateRunnable);
             return cloudletUsageChangeEvents.add(evt);
         }
@@ -445,8 +549,18 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
         return new UtilizationModelDynamic(initialUtilization);
     }
 
-    private boolean hasCloudletResourceUsageChanged(final Cloudlet cloudlet, final TaskUsage taskUsage){
-        return cloudlet.getUtilizationOfCpu() != taskUsage.getMeanCpuUsageRate() ||
-               cloudlet.getUtilizationOfRam() != taskUsage.getCanonicalMemoryUsage();
+    /**
+     * Checks if a usage sample changes the CPU or RAM usage of a Cloudlet beyond the {@link #getUsageChangeEpsilon()},
+     * compared to the last usage requested for the Cloudlet or, if no usage was requested yet, its current usage.
+     */
+    private boolean hasCloudletResourceUsageChanged(final Cloudlet cloudlet, final ResourceUsage usage){
+        final ResourceUsage last = lastRequestedUsages.get(cloudlet);
+        final double lastCpu = last == null ? cloudlet.getUtilizationOfCpu() : last.cpu();
+        final double lastRam = last == null ? cloudlet.getUtilizationOfRam() : last.ram();
+        return isUsageChanged(lastCpu, usage.cpu()) || isUsageChanged(lastRam, usage.ram());
+    }
+
+    private boolean isUsageChanged(final double previous, final double current) {
+        return usageChangeEpsilon == 0 ? previous != current : Math.abs(current - previous) > usageChangeEpsilon;
     }
 }
@@ -23,15 +23,22 @@
  */
 package org.cloudsimplus.traces.google;
 
+import lombok.NonNull;
 import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.core.Identifiable;
+import org.cloudsimplus.core.Simulation;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.traces.ParsingException;
 import org.cloudsimplus.traces.TraceReaderBase;
+import org.cloudsimplus.util.ColumnarTraceFile;
+import org.cloudsimplus.util.TimeUtil;
+import org.cloudsimplus.util.TraceRecord;
 import org.cloudsimplus.util.TraceReaderAbstract;
+import org.cloudsimplus.util.TraceTimeIndex;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * An abstract class for creating <a href="https://github.com/google/cluster-data/blob/master/ClusterData2011_2.md">Google Cluster Trace</a>
@@ -59,10 +66,44 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
      */
     private final Map<Long, T> availableObjectsMap;
 
+    /**
+     * The number of objects created from the trace file so far,
+     * including the ones {@link #removeAvailableObject(Identifiable) removed} from the {@link #availableObjectsMap}.
+     */
+    private int createdObjectsCount;
+
+    /**
+     * How many seconds of the trace ahead of the current simulation time
+     * are read in advance when the trace is being streamed,
+     * or 0 if the entire trace is read at once.
+     * @see #enableStreaming(Simulation, double)
+     */
+    private double streamingLookahead;
+
+    /** The simulation which the objects created from the trace belong to, when the trace is streamed. */
+    private Simulation streamingSimulation;
+
+    /** The entity that reads the trace incrementally, as the simulation clock advances. */
+    private GoogleTraceStreamer streamer;
+
+    /** @see #setShards(List, int) */
+    private List<String> shardPaths;
+
+    /** @see #setShards(List, int) */
+    private int shardThreads;
+
+    /** @see #setTimeWindow(double, double) */
+    private double timeWindowStart;
+
+    /** @see #setTimeWindow(double, double) */
+    private double timeWindowEnd;
+
     /* default */  GoogleTraceReaderAbstract(final String filePath, final InputStream reader) {
         super(filePath, reader);
         this.setFieldDelimiterRegex(",");
         availableObjectsMap = new HashMap<>();
+        shardPaths = List.of();
+        timeWindowEnd = Double.POSITIVE_INFINITY;
     }
 
     /**
@@ -75,10 +116,17 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
      */
     public Collection<T> process() {
         preProcess();
+        if (isStreaming()) {
+            startStreaming();
+            return availableObjectsMap.values();
+        }
+
         //If the file was not processed yet, process it
         if (availableObjectsMap.isEmpty()) {
             try {
-                readFile(this::processParsedLine);
+                if (shardPaths.isEmpty())
+                    readFile(this::processParsedLine);
+                else readShards(shardPaths, shardThreads, GoogleTraceReaderAbstract::getTimestamp, this::processParsedLine);
             } catch (Exception e) {
                 throw new ParsingException("Error when processing the trace file. Current trace line: " + getLastLineNumber(), e);
             }
@@ -89,6 +137,227 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
         return availableObjectsMap.values();
     }
 
+    /**
+     * Sets the other shards (part files) of the trace, besides the file given to the constructor,
+     * so that all of them are opened concurrently when {@link #process()} is called.
+     * Google Cluster traces are split into hundreds of shards such as <i>part-00000-of-00500.csv.gz</i>.
+     * The lines of all shards are merged in ascending order of timestamp before being processed,
+     * so that the objects created from the trace are the same as if all lines were in a single file.
+     * Just the next line of each shard is kept in memory while lines are merged,
+     * but the trace cannot be {@link #isStreaming() streamed}.
+     *
+     * @param shardPaths the path of each shard in one of the following formats: <i>ASCII text, zip, gz.</i>
+     * @param threads the maximum number of shards to open at the same time
+     * @throws IllegalArgumentException when the number of threads is not positive
+     *                                  or some shard is a {@link ColumnarTraceFile columnar file}
+     */
+    public final void setShards(@NonNull final List<String> shardPaths, final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads to read shards must be greater than 0.");
+        }
+
+        if (isStreaming()) {
+            throw new IllegalStateException("Trace shards cannot be read when the trace is streamed.");
+        }
+
+        final var paths = new ArrayList<String>(shardPaths.size() + 1);
+        paths.add(getFilePath());
+        paths.addAll(shardPaths);
+        if (paths.stream().anyMatch(path -> path.endsWith(ColumnarTraceFile.EXTENSION))) {
+            throw new IllegalArgumentException("Columnar trace files cannot be read as shards. Convert each shard into a separate trace instead.");
+        }
+
+        this.shardPaths = paths;
+        this.shardThreads = threads;
+    }
+
+    /**
+     * Sets a time window so that just the trace lines whose timestamp is in the interval [start, end) are processed.
+     * Lines outside the window are discarded before any object is created from them,
+     * and reading stops at the first line after the window.
+     * If the trace file has a time index (built by {@link #buildTimeIndex()})
+     * or is a {@link ColumnarTraceFile columnar file}, the file is read
+     * from the first line near the start of the window, instead of from the beginning.
+     * Objects created from the window keep the timestamps from the trace,
+     * so that the simulation starts at the time of the first line in the window.
+     *
+     * <p><b>The window doesn't restore the state the trace has at the window start.</b>
+     * Objects are just created from lines inside the window, therefore:
+     * <ul>
+     *     <li>tasks submitted before the window start are not created by a {@link GoogleTaskEventsTraceReader},
+     *     even if they are still running inside the window
+     *     (their events inside the window are ignored, since there is no Cloudlet to change);</li>
+     *     <li>machines added at timestamp 0 (usually all machines in the trace) are not created
+     *     by a {@link GoogleMachineEventsTraceReader} whose window starts after 0.</li>
+     * </ul>
+     * To include such objects, the window must start earlier (such as at 0),
+     * at the cost of reading all lines before the period of interest.</p>
+     *
+     * @param start the start time of the window (in seconds), inclusive
+     * @param end the end time of the window (in seconds), exclusive
+     * @throws IllegalStateException when the trace was already processed
+     */
+    public final void setTimeWindow(final double start, final double end) {
+        if (start < 0 || end <= start) {
+            throw new IllegalArgumentException("The time window start must be at least 0 and lower than the window end.");
+        }
+
+        seek(start, GoogleTraceReaderAbstract::getTimestamp);
+        this.timeWindowStart = start;
+        this.timeWindowEnd = end;
+    }
+
+    /**
+     * {@return true if a {@link #setTimeWindow(double, double) time window} was set}, false otherwise.
+     */
+    public boolean hasTimeWindow() {
+        return timeWindowStart > 0 || timeWindowEnd < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Builds a time index for the {@link #getFilePath() trace file} in a one-time pass,
+     * storing it in a sidecar file along with the trace.
+     * This way, later readers of the trace which set a {@link #setTimeWindow(double, double) time window}
+     * jump straight to the window start.
+     * If the trace is split into {@link #setShards(List, int) shards}, each shard must be indexed
+     * by a separate reader.
+     *
+     * @return the built index
+     * @see TraceTimeIndex
+     * @see #buildTimeIndex(int)
+     */
+    public final TraceTimeIndex buildTimeIndex() {
+        return buildTimeIndex(TraceTimeIndex.DEF_LINES_PER_ENTRY);
+    }
+
+    /**
+     * Builds a time index for the {@link #getFilePath() trace file} in a one-time pass,
+     * storing it in a sidecar file along with the trace.
+     *
+     * @param linesPerEntry the number of lines between two entries in the index.
+     *                      Fewer lines enable seeking closer to a given time, at the cost of a larger index.
+     * @return the built index
+     * @see #buildTimeIndex()
+     */
+    public final TraceTimeIndex buildTimeIndex(final int linesPerEntry) {
+        return buildTimeIndex(GoogleTraceReaderAbstract::getTimestamp, linesPerEntry);
+    }
+
+    /**
+     * {@return the timestamp of a line} (in seconds) from any Google trace file,
+     * which is always its first field, stored in microseconds.
+     * @param parsedLine a record with the fields of the line
+     */
+    private static double getTimestamp(final TraceRecord parsedLine) {
+        return TimeUtil.microToSeconds(parsedLine.parseDouble(0));
+    }
+
+    /**
+     * Enables the trace file to be streamed: instead of reading the entire file
+     * when {@link #process()} is called, only the lines up to a time window ahead of the current simulation time
+     * are read. The remaining lines are read as the simulation clock advances.
+     * This way, the events created from the trace are lazily injected into the simulation,
+     * keeping memory usage bounded by the lookahead window.
+     * Lines in the trace file must be in ascending order of timestamp.
+     * In such a mode, {@link #process()} just returns the objects created so far
+     * which are still available (subclasses may {@link #removeAvailableObject(Identifiable) remove} objects
+     * that are not required anymore, keeping memory usage bounded).
+     *
+     * @param simulation the simulation which the objects created from the trace belong to
+     * @param lookahead how many seconds of the trace ahead of the current simulation time are read in advance
+     */
+    protected final void enableStreaming(final Simulation simulation, final double lookahead) {
+        if (lookahead <= 0) {
+            throw new IllegalArgumentException("Streaming lookahead must be greater than 0.");
+        }
+
+        if (streamer != null) {
+            throw new IllegalStateException("Streaming cannot be changed after the trace started to be processed.");
+        }
+
+        if (!shardPaths.isEmpty()) {
+            throw new IllegalStateException("The trace cannot be streamed when it's read from multiple shards.");
+        }
+
+        this.streamingSimulation = Objects.requireNonNull(simulation);
+        this.streamingLookahead = lookahead;
+    }
+
+    /**
+     * {@return true if the trace file is being read incrementally as the simulation clock advances,
+     * false if it's entirely read at once}
+     * @see #enableStreaming(Simulation, double)
+     */
+    public boolean isStreaming() {
+        return streamingLookahead > 0;
+    }
+
+    /**
+     * Creates the entity that reads the trace as the simulation clock advances.
+     * The first time window is read when such an entity is started.
+     */
+    private void startStreaming() {
+        if (streamer == null) {
+            streamer = new GoogleTraceStreamer(streamingSimulation, this, streamingLookahead);
+        }
+    }
+
+    /**
+     * Reads the lines from the trace file whose timestamp is up to the
+     * {@link #getStreamingLookahead() lookahead} ahead of the current trace time,
+     * then sends the events created from such lines.
+     */
+    /* default */ void readNextWindow() {
+        final double horizon = streamer.getTraceTime() + streamingLookahead;
+        try {
+            TraceRecord line;
+            while ((line = peekNextFileLine()) != null && getLineTimestamp(line) <= horizon) {
+                readNextFileLine(this::processParsedLine);
+            }
+        } catch (Exception e) {
+            throw new ParsingException("Error when processing the trace file. Current trace line: " + getLastLineNumber(), e);
+        }
+
+        postProcess();
+    }
+
+    /**
+     * {@return the timestamp of the next line to be read from the trace file}
+     * or {@link Double#POSITIVE_INFINITY} if there are no more lines to read.
+     */
+    /* default */ double getNextLineTimestamp() {
+        final TraceRecord line = peekNextFileLine();
+        final double timestamp = line == null ? Double.POSITIVE_INFINITY : getLineTimestamp(line);
+        return timestamp < timeWindowEnd ? timestamp : Double.POSITIVE_INFINITY;
+    }
+
+    private double getLineTimestamp(final TraceRecord parsedLine) {
+        this.setLastParsedLine(parsedLine);
+        return getLastLineTimestamp();
+    }
+
+    /**
+     * Gets the delay for an event which happens in a given timestamp inside the trace.
+     * If the trace is being streamed, the timestamp is relative to the simulation time
+     * the streaming started, and the delay is relative to the current simulation time.
+     *
+     * @param timestamp the time the event happens inside the trace (in seconds)
+     * @return the delay (in seconds) to schedule the event
+     */
+    /* default */ double getDelay(final double timestamp) {
+        return streamer == null ? timestamp : streamer.getDelay(timestamp);
+    }
+
+    public double getStreamingLookahead() {
+        return streamingLookahead;
+    }
+
+    /**
+     * Gets the timestamp (in seconds) of the {@link #getLastParsedLine() last parsed line}.
+     * @return the timestamp of the last parsed line
+     */
+    protected abstract double getLastLineTimestamp();
+
     /**
      * Executes any pre-process before starting to read the trace file,
      * such as checking if required attributes were set.
@@ -100,7 +369,8 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
     protected abstract void preProcess();
 
     /**
-     * Executes any post-process after the trace file was totally parsed.
+     * Executes any post-process after the trace file was totally parsed
+     * or, when the trace is being {@link #isStreaming() streamed}, after each time window was read.
      *
      * TODO Such a method should be defined as a Functional attribute.
      *       Since it won't be implemented by every subclass, by it being abstract,
@@ -111,12 +381,22 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
     /**
      * Process the parsed line according to the event type.
      *
-     * @param parsedLineArray an array containing the field values from the last parsed trace line.
+     * @param parsedLine a record with the field values from the last parsed trace line.
      * @return true if the parsed line was processed, false otherwise
      */
-    /* default */ final boolean processParsedLine(final String[] parsedLineArray) {
-        this.setLastParsedLineArray(parsedLineArray);
-        return processParsedLineInternal();
+    /* default */ final boolean processParsedLine(final TraceRecord parsedLine) {
+        this.setLastParsedLine(parsedLine);
+        if (!hasTimeWindow()) {
+            return processParsedLineInternal();
+        }
+
+        final double timestamp = getLastLineTimestamp();
+        if (timestamp >= timeWindowEnd) {
+            stopReading();
+            return false;
+        }
+
+        return timestamp >= timeWindowStart && processParsedLineInternal();
     }
 
     /**
@@ -124,7 +404,7 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
      * @return true if the parsed line was processed, false otherwise
      *
      * @see #processParsedLine(String[])
-     * @see #getLastParsedLineArray()
+     * @see #getLastParsedLine()
      */
     protected abstract boolean processParsedLineInternal();
 
@@ -139,7 +419,42 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
      * @see #availableObjectsMap
      */
     /* default */ final boolean addAvailableObject(final T object){
-        return availableObjectsMap.put(object.getId(), Objects.requireNonNull(object)) == null;
+        final boolean added = availableObjectsMap.put(object.getId(), Objects.requireNonNull(object)) == null;
+        if (added) {
+            createdObjectsCount++;
+        }
+
+        return added;
+    }
+
+    /**
+     * Removes an object T from the list of available objects,
+     * when no more lines from the trace file are expected to refer to it.
+     * If another object with the same id was added after the given one
+     * (such as a task submitted again after failing), it's kept.
+     * @param object the object to remove
+     * @see #availableObjectsMap
+     */
+    /* default */ final void removeAvailableObject(final T object){
+        availableObjectsMap.remove(object.getId(), object);
+    }
+
+    /**
+     * Removes the objects T that match a given predicate from the list of available objects.
+     * @param predicate the predicate to select the objects to remove
+     * @see #removeAvailableObject(Identifiable)
+     */
+    /* default */ final void removeAvailableObjectsIf(final Predicate<T> predicate){
+        availableObjectsMap.values().removeIf(predicate);
+    }
+
+    /**
+     * Gets the number of objects created so far,
+     * including the ones {@link #removeAvailableObject(Identifiable) removed} from the list of available objects.
+     * @return
+     */
+    protected final int createdObjectsCount(){
+        return createdObjectsCount;
     }
 
     /**
@@ -0,0 +1,105 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces.google;
+
+import org.cloudsimplus.core.CloudSimEntity;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.core.Simulation;
+import org.cloudsimplus.core.events.SimEvent;
+
+/**
+ * An entity that reads a Google trace file incrementally, as the simulation clock advances,
+ * so that events created from the trace are lazily injected into the simulation.
+ * Every time the simulation clock gets close to the timestamp of the next line in the trace,
+ * the lines up to a lookahead window are read.
+ *
+ * <p>Trace timestamps are relative to the simulation time the streamer was started.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ * @see GoogleTraceReaderAbstract#enableStreaming(Simulation, double)
+ */
+final class GoogleTraceStreamer extends CloudSimEntity {
+    private final GoogleTraceReaderAbstract<?> reader;
+
+    /** @see GoogleTraceReaderAbstract#getStreamingLookahead() */
+    private final double lookahead;
+
+    /** The simulation time the streaming started, which corresponds to timestamp 0 in the trace. */
+    private double startTime;
+
+    /* default */ GoogleTraceStreamer(final Simulation simulation, final GoogleTraceReaderAbstract<?> reader, final double lookahead) {
+        super(simulation);
+        this.reader = reader;
+        this.lookahead = lookahead;
+    }
+
+    @Override
+    protected void startInternal() {
+        startTime = getSimulation().clock();
+        readNextWindow();
+    }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        switch (evt.getTag()) {
+            case CloudSimTag.TRACE_READ -> readNextWindow();
+            case CloudSimTag.SIMULATION_END -> shutdown();
+            default -> throw new IllegalStateException("Unknown Event: " + evt);
+        }
+    }
+
+    private void readNextWindow() {
+        reader.readNextWindow();
+        scheduleNextRead();
+    }
+
+    /**
+     * Schedules the next read of the trace to the time the next line
+     * enters the lookahead window. If there are no more lines, no read is scheduled.
+     */
+    private void scheduleNextRead() {
+        final double nextLineTimestamp = reader.getNextLineTimestamp();
+        if (nextLineTimestamp != Double.POSITIVE_INFINITY) {
+            schedule(Math.max(getDelay(nextLineTimestamp) - lookahead, 0), CloudSimTag.TRACE_READ);
+        }
+    }
+
+    /**
+     * {@return the current time inside the trace} (in seconds),
+     * which is the time elapsed since the streaming started.
+     */
+    /* default */ double getTraceTime() {
+        return getSimulation().clock() - startTime;
+    }
+
+    /**
+     * Gets the delay for an event which happens in a given timestamp inside the trace.
+     * @param timestamp the time the event happens inside the trace (in seconds)
+     * @return the delay (in seconds) from the current simulation time
+     */
+    /* default */ double getDelay(final double timestamp) {
+        return Math.max(timestamp - getTraceTime(), 0);
+    }
+}
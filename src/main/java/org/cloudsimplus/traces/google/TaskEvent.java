@@ -200,7 +200,7 @@ public final class TaskEvent extends TaskData {
          *     for instance when the task is submitted. It's just know when it starts to execute.
          */
         builder
-            .type(TaskEventField.EVENT_TYPE.getValue(reader))
+            .type(TaskEventType.of(reader))
             .timestamp(TaskEventField.TIMESTAMP.getValue(reader))
             .resourceRequestForCpuCores(TaskEventField.RESOURCE_REQUEST_FOR_CPU_CORES.getValue(reader))
             .resourceRequestForLocalDiskSpace(TaskEventField.RESOURCE_REQUEST_FOR_LOCAL_DISK_SPACE.getValue(reader))
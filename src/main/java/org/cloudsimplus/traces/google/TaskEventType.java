@@ -50,12 +50,12 @@ public enum TaskEventType {
             // Since Cloudlet id must be unique, it will be the concatenation of the job and task id
             cloudlet.setId(event.getUniqueTaskId());
             cloudlet.setJobId(event.getJobId());
-            final double delay = TaskEventField.TIMESTAMP.getValue(reader);
-            cloudlet.setSubmissionDelay(delay);
+            final double timestamp = TaskEventField.TIMESTAMP.getValue(reader);
+            cloudlet.setSubmissionDelay(reader.getDelay(timestamp));
 
             /* Set status to FROZEN to avoid the cloudlet to start running after being submitted.
             The execution must start only after a SCHEDULE event happens. */
-            if(delay > 0) {
+            if(timestamp > 0) {
                 cloudlet.setStatus(Cloudlet.Status.FROZEN);
             }
 
@@ -100,7 +100,7 @@ public enum TaskEventType {
     FAIL{
         @Override
         protected boolean process(final GoogleTaskEventsTraceReader reader) {
-            return reader.requestCloudletStatusChange(CloudSimTag.CLOUDLET_FAIL);
+            return reader.requestCloudletTermination(CloudSimTag.CLOUDLET_FAIL);
         }
     },
 
@@ -110,7 +110,7 @@ public enum TaskEventType {
     FINISH{
         @Override
         protected boolean process(final GoogleTaskEventsTraceReader reader) {
-            return reader.requestCloudletStatusChange(CloudSimTag.CLOUDLET_FINISH);
+            return reader.requestCloudletTermination(CloudSimTag.CLOUDLET_FINISH);
         }
     },
 
@@ -121,7 +121,7 @@ public enum TaskEventType {
     KILL{
         @Override
         protected boolean process(final GoogleTaskEventsTraceReader reader) {
-            return reader.requestCloudletStatusChange(CloudSimTag.CLOUDLET_CANCEL);
+            return reader.requestCloudletTermination(CloudSimTag.CLOUDLET_CANCEL);
         }
     },
 
@@ -0,0 +1,310 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import lombok.NonNull;
+import org.cloudsimplus.util.ColumnarTraceFile.ColumnType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Converts text trace files (in any format supported by {@link TraceReaderAbstract}: <i>ASCII text, zip, gz</i>)
+ * into {@link ColumnarTraceFile columnar trace files}, which can be read by the same trace readers
+ * much faster, since they are memory-mapped instead of decompressed and parsed.
+ * This way, a trace which is used in many simulations can be converted just once.
+ *
+ * <p>The text file is read twice: first to infer the type of each column,
+ * then to write the column values, which are directly written to the memory-mapped columnar file.
+ * This way, traces of any size can be converted without keeping them in memory
+ * (except for the distinct values of text columns).
+ * Comments and blank lines are discarded.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class ColumnarTraceConverter {
+    /**
+     * The type of values found in a column of a text trace.
+     */
+    private static final class ColumnStats {
+        private boolean integer = true;
+        private boolean decimal = true;
+
+        private void update(final TraceRecord record, final int index) {
+            if (record.isDecimal(index)) {
+                integer = integer && isLong(record, index);
+            } else if (!record.get(index).isEmpty()) {
+                integer = false;
+                decimal = false;
+            }
+        }
+
+        private static boolean isLong(final TraceRecord record, final int index) {
+            try {
+                return record.isInteger(index) && record.parseLong(index) != ColumnarTraceFile.NULL_LONG;
+            } catch (final NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private ColumnType getType() {
+            if (integer) {
+                return ColumnType.LONG;
+            }
+
+            return decimal ? ColumnType.DOUBLE : ColumnType.STRING;
+        }
+    }
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private ColumnarTraceConverter(){/**/}
+
+    /**
+     * Converts a file from the Google Cluster Data
+     * (such as task events, task usage or machine events) into a columnar trace file.
+     *
+     * @param textFile the path of the Google trace file to convert
+     * @param columnarFile the path of the columnar file to create, which should end with {@link ColumnarTraceFile#EXTENSION}
+     * @return the number of rows written
+     * @throws IOException when some file cannot be read or written
+     * @see org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader
+     */
+    public static long convertGoogleTrace(final Path textFile, final Path columnarFile) throws IOException {
+        return convert(textFile, columnarFile, ",");
+    }
+
+    /**
+     * Converts a file in the Standard Workload Format (SWF) into a columnar trace file.
+     *
+     * @param textFile the path of the SWF file to convert
+     * @param columnarFile the path of the columnar file to create, which should end with {@link ColumnarTraceFile#EXTENSION}
+     * @return the number of rows written
+     * @throws IOException when some file cannot be read or written
+     * @see SwfWorkloadFileReader
+     */
+    public static long convertSwf(final Path textFile, final Path columnarFile) throws IOException {
+        return convert(textFile, columnarFile, "\\s+", ";", "#");
+    }
+
+    /**
+     * Converts a PlanetLab workload file into a columnar trace file.
+     *
+     * @param textFile the path of the PlanetLab file to convert
+     * @param columnarFile the path of the columnar file to create, which should end with {@link ColumnarTraceFile#EXTENSION}
+     * @return the number of rows written
+     * @throws IOException when some file cannot be read or written
+     * @see org.cloudsimplus.utilizationmodels.UtilizationModelPlanetLab
+     */
+    public static long convertPlanetLab(final Path textFile, final Path columnarFile) throws IOException {
+        return convert(textFile, columnarFile, "\\s+", "#");
+    }
+
+    /**
+     * Converts a text trace file into a columnar trace file.
+     *
+     * @param textFile the path of the text file to convert
+     * @param columnarFile the path of the columnar file to create, which should end with {@link ColumnarTraceFile#EXTENSION}
+     * @param fieldDelimiterRegex the regex matching the delimiter between fields in the text file
+     * @param commentString the Strings that identify the start of a comment line in the text file.
+     *                      If not given, the {@link TraceReaderAbstract#getCommentString() default ones} are used.
+     * @return the number of rows written
+     * @throws IOException when some file cannot be read or written
+     */
+    public static long convert(
+        @NonNull final Path textFile, @NonNull final Path columnarFile,
+        @NonNull final String fieldDelimiterRegex, final String... commentString) throws IOException
+    {
+        final var stats = new ArrayList<ColumnStats>();
+        final var rows = new long[1];
+        final var ragged = new boolean[1];
+        readTextFile(textFile, fieldDelimiterRegex, commentString, record -> {
+            for (int i = 0; i < record.size(); i++) {
+                if (i == stats.size()) {
+                    stats.add(new ColumnStats());
+                    ragged[0] |= rows[0] > 0;
+                }
+
+                stats.get(i).update(record, i);
+            }
+
+            ragged[0] |= record.size() < stats.size();
+            rows[0]++;
+            return true;
+        });
+
+        final var types = stats.stream().map(ColumnStats::getType).toArray(ColumnType[]::new);
+        write(textFile, columnarFile, fieldDelimiterRegex, commentString, types, rows[0], ragged[0]);
+        return rows[0];
+    }
+
+    private static void write(
+        final Path textFile, final Path columnarFile, final String fieldDelimiterRegex, final String[] commentString,
+        final ColumnType[] types, final long rows, final boolean ragged) throws IOException
+    {
+        final var openOptions = new StandardOpenOption[]{
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE
+        };
+
+        try (var channel = FileChannel.open(columnarFile, openOptions)) {
+            long offset = ColumnarTraceFile.headerSize(types.length);
+            final long sizesOffset = ragged ? offset : 0;
+            final MappedByteBuffer[] sizes = ragged ? ColumnarTraceFile.map(channel, MapMode.READ_WRITE, offset, rows, Integer.BYTES) : null;
+            offset += ragged ? rows * Integer.BYTES : 0;
+
+            final var dataOffsets = new long[types.length];
+            final var columns = new MappedByteBuffer[types.length][];
+            final List<Map<String, Integer>> dictionaries = new ArrayList<>();
+            for (int i = 0; i < types.length; i++) {
+                dataOffsets[i] = offset;
+                columns[i] = ColumnarTraceFile.map(channel, MapMode.READ_WRITE, offset, rows, types[i].getWidth());
+                dictionaries.add(types[i] == ColumnType.STRING ? new HashMap<>() : null);
+                offset += rows * types[i].getWidth();
+            }
+
+            final var row = new long[1];
+            readTextFile(textFile, fieldDelimiterRegex, commentString, record -> {
+                if (row[0] == rows) {
+                    throw new IllegalStateException("The trace file %s has changed while it was being converted".formatted(textFile));
+                }
+
+                if (sizes != null) {
+                    ColumnarTraceFile.segment(sizes, row[0]).putInt(ColumnarTraceFile.position(row[0], Integer.BYTES), record.size());
+                }
+
+                for (int i = 0; i < types.length; i++) {
+                    writeValue(record, i, types[i], columns[i], dictionaries.get(i), row[0]);
+                }
+
+                row[0]++;
+                return true;
+            });
+
+            final var dictionaryOffsets = new long[types.length];
+            for (int i = 0; i < types.length; i++) {
+                if (dictionaries.get(i) != null) {
+                    dictionaryOffsets[i] = offset;
+                    offset += writeDictionary(channel, dictionaries.get(i), offset);
+                }
+            }
+
+            writeHeader(channel, types, rows, sizesOffset, dataOffsets, dictionaryOffsets);
+        }
+    }
+
+    private static void writeValue(
+        final TraceRecord record, final int index, final ColumnType type,
+        final MappedByteBuffer[] column, final Map<String, Integer> dictionary, final long row)
+    {
+        final var segment = ColumnarTraceFile.segment(column, row);
+        final int position = ColumnarTraceFile.position(row, type.getWidth());
+        final boolean exists = index < record.size();
+        switch (type) {
+            case LONG -> segment.putLong(position, exists && record.isInteger(index) ? record.parseLong(index) : ColumnarTraceFile.NULL_LONG);
+            case DOUBLE -> segment.putDouble(position, exists && record.isDecimal(index) ? record.parseDouble(index) : Double.NaN);
+            case STRING -> {
+                final String value = exists ? record.get(index) : "";
+                segment.putInt(position, value.isEmpty() ? ColumnarTraceFile.NULL_STRING : dictionary.computeIfAbsent(value, key -> dictionary.size()));
+            }
+        }
+    }
+
+    /**
+     * Writes the distinct values of a text column, in the order of their indexes.
+     * @return the number of bytes written
+     */
+    private static int writeDictionary(final FileChannel channel, final Map<String, Integer> dictionary, final long offset) throws IOException {
+        final var values = new String[dictionary.size()];
+        dictionary.forEach((value, id) -> values[id] = value);
+
+        final var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            output.writeInt(values.length);
+            for (final String value : values) {
+                final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(valueBytes.length);
+                output.write(valueBytes);
+            }
+        }
+
+        final var buffer = ByteBuffer.wrap(bytes.toByteArray());
+        for (long position = offset; buffer.hasRemaining(); ) {
+            position += channel.write(buffer, position);
+        }
+
+        return bytes.size();
+    }
+
+    private static void writeHeader(
+        final FileChannel channel, final ColumnType[] types, final long rows, final long sizesOffset,
+        final long[] dataOffsets, final long[] dictionaryOffsets) throws IOException
+    {
+        final var header = ByteBuffer.allocate((int) ColumnarTraceFile.headerSize(types.length));
+        header.putInt(ColumnarTraceFile.MAGIC)
+              .putShort(ColumnarTraceFile.VERSION)
+              .putInt(types.length)
+              .putLong(rows)
+              .putLong(sizesOffset);
+        for (int i = 0; i < types.length; i++) {
+            header.put((byte) types[i].ordinal()).putLong(dataOffsets[i]).putLong(dictionaryOffsets[i]);
+        }
+
+        header.flip();
+        for (long position = 0; header.hasRemaining(); ) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private static void readTextFile(
+        final Path textFile, final String fieldDelimiterRegex, final String[] commentString,
+        final Function<TraceRecord, Boolean> processParsedLineFunction) throws IOException
+    {
+        try (var inputStream = Files.newInputStream(textFile)) {
+            final var reader = new TraceReaderAbstract(textFile.toString(), inputStream) {};
+            reader.setFieldDelimiterRegex(fieldDelimiterRegex);
+            if (commentString.length > 0) {
+                reader.setCommentString(commentString);
+            }
+
+            reader.readFile(processParsedLineFunction);
+        }
+    }
+}
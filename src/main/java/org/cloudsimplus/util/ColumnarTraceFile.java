@@ -0,0 +1,429 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * A trace file in a compact, binary and columnar format, which is memory-mapped to be read.
+ * This way, records are got directly from the OS page cache,
+ * without decompressing, splitting or parsing text lines every time a trace is read.
+ * Such a file is created from a text trace by the {@link ColumnarTraceConverter}
+ * and is read by any {@link TraceReaderAbstract trace reader} as a regular trace,
+ * when its name ends with {@link #EXTENSION}.
+ *
+ * <p>The values of each field (column) are stored contiguously and have a fixed width,
+ * according to the type of the column, which is inferred when the trace is converted:
+ * <ul>
+ *   <li>{@link ColumnType#LONG}: 8-byte integers;</li>
+ *   <li>{@link ColumnType#DOUBLE}: 8-byte decimals;</li>
+ *   <li>{@link ColumnType#STRING}: 4-byte indexes into a dictionary with the distinct values of the column.</li>
+ * </ul>
+ * Empty fields are stored as a null marker and are read as an empty String.
+ * Since numbers are stored as binary values, the String representation
+ * of a decimal field may differ from the original text (such as "0.50" that is read as "0.5").
+ * </p>
+ *
+ * <p>The file (in big-endian byte order) starts with a header containing
+ * the {@link #MAGIC} number, the format {@link #VERSION}, the number of columns and rows,
+ * the offset of an optional column with the number of fields of each row
+ * (just stored when rows have a different number of fields) and,
+ * for each column, its type and the offsets of its values and dictionary.</p>
+ *
+ * <p>A file must be in the file system (instead of inside a jar), so that it can be memory-mapped.
+ * Since the {@link #read(long) records} are reused, an instance must not be shared among threads.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class ColumnarTraceFile {
+    /** The extension of columnar trace files. */
+    public static final String EXTENSION = ".cspt";
+
+    /** The number which identifies a columnar trace file ("CSPT" in ASCII). */
+    public static final int MAGIC = 0x43535054;
+
+    /** The current version of the file format. */
+    public static final short VERSION = 1;
+
+    /** Marks an empty field in a {@link ColumnType#LONG} column. */
+    /* default */ static final long NULL_LONG = Long.MIN_VALUE;
+
+    /** Marks an empty field in a {@link ColumnType#STRING} column. */
+    /* default */ static final int NULL_STRING = -1;
+
+    /**
+     * The number of bits to shift a row index to get the memory-mapped segment of a column containing such a row.
+     * This way, each segment has up to 2^27 rows, taking up to 1GB,
+     * since a single mapping is limited to 2GB.
+     */
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /** The size of the header fields before the description of each column. */
+    private static final int FIXED_HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    /** The size of the description of a column in the header (type, data offset and dictionary offset). */
+    private static final int COLUMN_HEADER_SIZE = Byte.BYTES + Long.BYTES + Long.BYTES;
+
+    private static final Pattern INTEGER_REGEX = Pattern.compile("-?\\d+");
+    private static final Pattern DECIMAL_REGEX = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    /**
+     * The types of columns.
+     */
+    /* default */ enum ColumnType {
+        LONG(Long.BYTES), DOUBLE(Double.BYTES), STRING(Integer.BYTES);
+
+        /** The number of bytes of a value in the column. */
+        private final int width;
+
+        ColumnType(final int width) {
+            this.width = width;
+        }
+
+        /* default */ int getWidth() {
+            return width;
+        }
+    }
+
+    /**
+     * A column of the file.
+     * @param type the type of the column
+     * @param segments the memory-mapped segments of the column values
+     * @param dictionary the distinct values of a {@link ColumnType#STRING} column or null for other columns
+     */
+    private record Column(ColumnType type, MappedByteBuffer[] segments, String[] dictionary) {
+    }
+
+    @Getter
+    private final Path path;
+
+    @Getter
+    private final long rows;
+
+    private final Column[] columns;
+
+    /**
+     * The memory-mapped segments of the column with the number of fields of each row,
+     * or null if all rows have all the columns.
+     */
+    private final MappedByteBuffer[] sizes;
+
+    private final Record record = new Record();
+
+    /**
+     * Memory-maps a columnar trace file.
+     * @param path the path of the file
+     * @throws IOException when the file cannot be read or is not a valid columnar trace file
+     */
+    public ColumnarTraceFile(@NonNull final Path path) throws IOException {
+        this.path = path;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize < FIXED_HEADER_SIZE) {
+                throw new IOException("Not a columnar trace file: " + path);
+            }
+
+            final var header = channel.map(MapMode.READ_ONLY, 0, FIXED_HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a columnar trace file: " + path);
+            }
+
+            final short version = header.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported columnar trace file version %d (expected %d): %s".formatted(version, VERSION, path));
+            }
+
+            final int columnsNumber = header.getInt();
+            this.rows = header.getLong();
+            final long sizesOffset = header.getLong();
+            if (columnsNumber < 0 || rows < 0 || FIXED_HEADER_SIZE + (long) columnsNumber * COLUMN_HEADER_SIZE > fileSize) {
+                throw new IOException("Corrupted columnar trace file header: " + path);
+            }
+
+            this.sizes = sizesOffset == 0 ? null : map(channel, MapMode.READ_ONLY, sizesOffset, rows, Integer.BYTES);
+            this.columns = new Column[columnsNumber];
+            final var columnsHeader = channel.map(MapMode.READ_ONLY, FIXED_HEADER_SIZE, (long) columnsNumber * COLUMN_HEADER_SIZE);
+            for (int i = 0; i < columnsNumber; i++) {
+                final byte typeIndex = columnsHeader.get();
+                if (typeIndex < 0 || typeIndex >= ColumnType.values().length) {
+                    throw new IOException("Invalid type of column %d in columnar trace file: %s".formatted(i, path));
+                }
+
+                final var type = ColumnType.values()[typeIndex];
+                final long dataOffset = columnsHeader.getLong();
+                final long dictionaryOffset = columnsHeader.getLong();
+                final var dictionary = type == ColumnType.STRING ? readDictionary(channel, dictionaryOffset) : null;
+                columns[i] = new Column(type, map(channel, MapMode.READ_ONLY, dataOffset, rows, type.getWidth()), dictionary);
+            }
+        }
+    }
+
+    /**
+     * {@return the size of the header} of a file with a given number of columns.
+     * @param columnsNumber the number of columns in the file
+     */
+    /* default */ static long headerSize(final int columnsNumber) {
+        return FIXED_HEADER_SIZE + (long) columnsNumber * COLUMN_HEADER_SIZE;
+    }
+
+    /**
+     * Memory-maps the values of a column into segments.
+     * @param channel the channel of the file
+     * @param mode the mapping mode
+     * @param offset the position in the file where the column values start
+     * @param rows the number of rows in the file
+     * @param width the number of bytes of each value
+     * @return the mapped segments
+     * @throws IOException when the column cannot be mapped
+     */
+    /* default */ static MappedByteBuffer[] map(
+        final FileChannel channel, final MapMode mode,
+        final long offset, final long rows, final int width) throws IOException
+    {
+        if (mode == MapMode.READ_ONLY && offset + rows * width > channel.size()) {
+            throw new IOException("Column out of the bounds of the columnar trace file");
+        }
+
+        final var segments = new MappedByteBuffer[(int) ((rows + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            final long firstRow = (long) i << SEGMENT_SHIFT;
+            final long segmentRows = Math.min(SEGMENT_MASK + 1, rows - firstRow);
+            segments[i] = channel.map(mode, offset + firstRow * width, segmentRows * width);
+        }
+
+        return segments;
+    }
+
+    /**
+     * {@return the segment} containing a given row.
+     * @param segments the memory-mapped segments of a column
+     * @param row the index of the row
+     */
+    /* default */ static MappedByteBuffer segment(final MappedByteBuffer[] segments, final long row) {
+        return segments[(int) (row >>> SEGMENT_SHIFT)];
+    }
+
+    /**
+     * {@return the position of a row value} inside its {@link #segment(MappedByteBuffer[], long) segment}.
+     * @param row the index of the row
+     * @param width the number of bytes of each value
+     */
+    /* default */ static int position(final long row, final int width) {
+        return (int) (row & SEGMENT_MASK) * width;
+    }
+
+    private static String[] readDictionary(final FileChannel channel, final long offset) throws IOException {
+        if (offset <= 0 || offset + Integer.BYTES > channel.size()) {
+            throw new IOException("Dictionary out of the bounds of the columnar trace file");
+        }
+
+        final var buffer = channel.map(MapMode.READ_ONLY, offset, Math.min(channel.size() - offset, Integer.MAX_VALUE));
+        final var dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            final var bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return dictionary;
+    }
+
+    /**
+     * {@return the number of columns} in the file.
+     * Rows may have fewer fields than that.
+     */
+    public int getColumns() {
+        return columns.length;
+    }
+
+    /* default */ ColumnType getColumnType(final int index) {
+        return columns[index].type();
+    }
+
+    /**
+     * Reads a row from the file.
+     * The returned record is reused for every row, so that its fields
+     * are just valid until the next row is read.
+     *
+     * @param row the index of the row to read
+     * @return a record with the fields of the row
+     * @throws IndexOutOfBoundsException when the row doesn't exist
+     */
+    public TraceRecord read(final long row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row %d doesn't exist in a file with %d rows".formatted(row, rows));
+        }
+
+        record.row = row;
+        return record;
+    }
+
+    /**
+     * {@return true if a double is an integer number} which fits into a long, false otherwise.
+     * @param value the value to check
+     */
+    private static boolean isIntegral(final double value) {
+        return value == Math.rint(value) && Math.abs(value) < 0x1p63;
+    }
+
+    /**
+     * A row read from the file, whose fields are directly got from the memory-mapped columns.
+     */
+    private final class Record implements TraceRecord {
+        private long row;
+
+        @Override
+        public int size() {
+            return sizes == null ? columns.length : segment(sizes, row).getInt(position(row, Integer.BYTES));
+        }
+
+        @Override
+        public String get(final int index) {
+            final var column = column(index);
+            return switch (column.type()) {
+                case LONG -> {
+                    final long value = getLong(column);
+                    yield value == NULL_LONG ? "" : Long.toString(value);
+                }
+                case DOUBLE -> {
+                    final double value = getDouble(column);
+                    if (Double.isNaN(value)) {
+                        yield "";
+                    }
+
+                    yield isIntegral(value) ? Long.toString((long) value) : Double.toString(value);
+                }
+                case STRING -> {
+                    final int id = getStringId(column);
+                    yield id == NULL_STRING ? "" : column.dictionary()[id];
+                }
+            };
+        }
+
+        @Override
+        public boolean isInteger(final int index) {
+            final var column = column(index);
+            return switch (column.type()) {
+                case LONG -> getLong(column) != NULL_LONG;
+                case DOUBLE -> isIntegral(getDouble(column));
+                case STRING -> INTEGER_REGEX.matcher(get(index)).matches();
+            };
+        }
+
+        @Override
+        public boolean isDecimal(final int index) {
+            final var column = column(index);
+            return switch (column.type()) {
+                case LONG -> getLong(column) != NULL_LONG;
+                case DOUBLE -> !Double.isNaN(getDouble(column));
+                case STRING -> DECIMAL_REGEX.matcher(get(index)).matches();
+            };
+        }
+
+        @Override
+        public long parseLong(final int index) {
+            final var column = column(index);
+            return switch (column.type()) {
+                case LONG -> {
+                    final long value = getLong(column);
+                    if (value == NULL_LONG) {
+                        throw new NumberFormatException("Empty field " + index);
+                    }
+
+                    yield value;
+                }
+                case DOUBLE -> {
+                    final double value = getDouble(column);
+                    if (!isIntegral(value)) {
+                        throw new NumberFormatException("Field %d is not a long: %s".formatted(index, get(index)));
+                    }
+
+                    yield (long) value;
+                }
+                case STRING -> Long.parseLong(get(index));
+            };
+        }
+
+        @Override
+        public double parseDouble(final int index) {
+            final var column = column(index);
+            return switch (column.type()) {
+                case LONG -> {
+                    final long value = getLong(column);
+                    if (value == NULL_LONG) {
+                        throw new NumberFormatException("Empty field " + index);
+                    }
+
+                    yield value;
+                }
+                case DOUBLE -> {
+                    final double value = getDouble(column);
+                    if (Double.isNaN(value)) {
+                        throw new NumberFormatException("Empty field " + index);
+                    }
+
+                    yield value;
+                }
+                case STRING -> Double.parseDouble(get(index));
+            };
+        }
+
+        private Column column(final int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Field %d doesn't exist in a row with %d fields".formatted(index, size()));
+            }
+
+            return columns[index];
+        }
+
+        private long getLong(final Column column) {
+            return segment(column.segments(), row).getLong(position(row, Long.BYTES));
+        }
+
+        private double getDouble(final Column column) {
+            return segment(column.segments(), row).getDouble(position(row, Double.BYTES));
+        }
+
+        private int getStringId(final Column column) {
+            return segment(column.segments(), row).getInt(position(row, Integer.BYTES));
+        }
+
+        @Override
+        public String toString() {
+            return String.join(" ", toArray());
+        }
+    }
+}
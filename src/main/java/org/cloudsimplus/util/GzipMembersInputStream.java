@@ -0,0 +1,253 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a gzip file which may have multiple members (concatenated gzip streams),
+ * tracking where the member being read starts in the compressed file.
+ * A member can be decompressed independently of the previous ones,
+ * so its start is a restart point to read a gzip file from the middle.
+ * That is required by the {@link TraceTimeIndex}, since
+ * {@link java.util.zip.GZIPInputStream} transparently reads multiple members,
+ * but doesn't tell where they start.
+ *
+ * <p>Each call to {@link #read(byte[], int, int)} just returns bytes from a single member.
+ * The CRC of members is not checked, since a file read from a restart point
+ * is regularly decompressed by a {@link java.util.zip.GZIPInputStream}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+final class GzipMembersInputStream extends InputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int DEFLATE_METHOD = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    /** The size of the member header fields after the compression method (flags, time, extra flags and OS). */
+    private static final int FIXED_HEADER_REMAINING = 7;
+
+    /** The size of the member trailer (CRC and uncompressed size). */
+    private static final int TRAILER_SIZE = 8;
+
+    private final InputStream in;
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] input = new byte[64 * 1024];
+    private final byte[] singleByte = new byte[1];
+
+    /** The start (inclusive) and end (exclusive) of the compressed bytes not consumed yet in the {@link #input} buffer. */
+    private int inputStart;
+    private int inputEnd;
+
+    /** The offset of the {@link #input} buffer's first byte in the compressed file. */
+    private long inputOffset;
+
+    private boolean inMember;
+    private boolean eof;
+    private int members;
+
+    /** The offset in the compressed file where the member being read starts. */
+    private long memberCompressedOffset;
+
+    /** The number of decompressed bytes before the member being read. */
+    private long memberUncompressedOffset;
+
+    /** The number of decompressed bytes read so far. */
+    private long uncompressedPosition;
+
+    /* default */ GzipMembersInputStream(final InputStream in) {
+        this.in = Objects.requireNonNull(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+
+        while (!eof) {
+            if (!inMember && !startMember()) {
+                eof = true;
+                break;
+            }
+
+            if (inflater.finished()) {
+                skipRaw(TRAILER_SIZE);
+                inflater.reset();
+                inMember = false;
+                continue;
+            }
+
+            if (inflater.needsInput()) {
+                if (!fill()) {
+                    throw new EOFException("Unexpected end of gzip file");
+                }
+
+                inflater.setInput(input, inputStart, inputEnd - inputStart);
+            }
+
+            final int bytes = inflate(buffer, offset, length);
+            if (bytes > 0) {
+                uncompressedPosition += bytes;
+                return bytes;
+            }
+        }
+
+        return -1;
+    }
+
+    private int inflate(final byte[] buffer, final int offset, final int length) throws IOException {
+        try {
+            final int bytes = inflater.inflate(buffer, offset, length);
+            inputStart = inputEnd - inflater.getRemaining();
+            return bytes;
+        } catch (final DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the header of the next member.
+     * @return true if a member was found, false if the end of the file was reached
+     */
+    private boolean startMember() throws IOException {
+        final long offset = inputOffset + inputStart;
+        final int magic = readRawByte();
+        if (magic < 0) {
+            return false;
+        }
+
+        if ((magic | readRawByte() << 8) != GZIP_MAGIC || readRawByte() != DEFLATE_METHOD) {
+            if (members == 0) {
+                throw new ZipException("Not in GZIP format");
+            }
+
+            //Trailing garbage after the last member is ignored, as done by GZIPInputStream
+            return false;
+        }
+
+        final int flags = readRawByte();
+        skipRaw(FIXED_HEADER_REMAINING - 1);
+        if ((flags & FEXTRA) != 0) {
+            skipRaw(readRawByte() | readRawByte() << 8);
+        }
+
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminatedString();
+        }
+
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminatedString();
+        }
+
+        if ((flags & FHCRC) != 0) {
+            skipRaw(2);
+        }
+
+        members++;
+        inMember = true;
+        memberCompressedOffset = offset;
+        memberUncompressedOffset = uncompressedPosition;
+        return true;
+    }
+
+    private void skipZeroTerminatedString() throws IOException {
+        int value;
+        while ((value = readRawByte()) != 0) {
+            if (value < 0) {
+                throw new EOFException("Unexpected end of gzip header");
+            }
+        }
+    }
+
+    private void skipRaw(final int bytes) throws IOException {
+        for (int i = 0; i < bytes; i++) {
+            if (readRawByte() < 0) {
+                throw new EOFException("Unexpected end of gzip file");
+            }
+        }
+    }
+
+    private int readRawByte() throws IOException {
+        return fill() ? input[inputStart++] & 0xff : -1;
+    }
+
+    /**
+     * Reads compressed bytes into the {@link #input} buffer, if all of them were consumed.
+     * @return true if there are bytes to consume, false if the end of the file was reached
+     */
+    private boolean fill() throws IOException {
+        if (inputStart < inputEnd) {
+            return true;
+        }
+
+        inputOffset += inputEnd;
+        inputStart = 0;
+        inputEnd = Math.max(in.read(input), 0);
+        return inputEnd > 0;
+    }
+
+    /**
+     * {@return the offset in the compressed file where the member being read starts}
+     */
+    /* default */ long getMemberCompressedOffset() {
+        return memberCompressedOffset;
+    }
+
+    /**
+     * {@return the number of decompressed bytes before the member being read}
+     */
+    /* default */ long getMemberUncompressedOffset() {
+        return memberUncompressedOffset;
+    }
+
+    /**
+     * {@return the number of decompressed bytes read so far}
+     */
+    /* default */ long getUncompressedPosition() {
+        return uncompressedPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import java.util.TreeMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Statistics about the last values added to a fixed-size window,
+ * such as the last CPU utilization samples of a Host.
+ * When the window is full, adding a value discards the oldest one.
+ *
+ * <p>The window keeps its values in a ring buffer and tracks the order statistics required
+ * to compute the {@link #getMedian() median} and {@link #getIqr() inter-quartile range (IQR)}
+ * incrementally. Each tracked order statistic splits the window values into a lower and an upper
+ * sorted multiset, so that adding a value costs O(log w), where w is the window size,
+ * instead of sorting the whole window every time a statistic is requested.
+ * The {@link #getMad() MAD} cannot be tracked that way, so it is computed in O(w log w)
+ * on the first request after a value is added, and cached until the next value is added.</p>
+ *
+ * <p>The results are the same as {@link MathUtil#median(double...)},
+ * {@link MathUtil#iqr(double...)} and {@link MathUtil#mad(double...)}
+ * applied to the {@link #getValues() window values}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class SlidingWindowStatistics {
+    /**
+     * A sorted multiset of values, where equal values are stored just once with their count.
+     */
+    private static final class SortedMultiset {
+        private final TreeMap<Double, Integer> counts = new TreeMap<>();
+        private int size;
+
+        void add(final double value) {
+            counts.merge(value, 1, Integer::sum);
+            size++;
+        }
+
+        boolean remove(final double value) {
+            final Integer count = counts.get(value);
+            if (count == null) {
+                return false;
+            }
+
+            if (count == 1) {
+                counts.remove(value);
+            } else {
+                counts.put(value, count - 1);
+            }
+
+            size--;
+            return true;
+        }
+
+        double first() {
+            return counts.firstKey();
+        }
+
+        double last() {
+            return counts.lastKey();
+        }
+
+        double pollFirst() {
+            final double value = first();
+            remove(value);
+            return value;
+        }
+
+        double pollLast() {
+            final double value = last();
+            remove(value);
+            return value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * Tracks the k-th smallest value in the window, where k is computed from the number of window values.
+     * Values up to the k-th smallest are kept in the {@link #lower} multiset, the others in the {@link #upper} one.
+     */
+    private static final class OrderStatistic {
+        private final SortedMultiset lower = new SortedMultiset();
+        private final SortedMultiset upper = new SortedMultiset();
+
+        /** A function that receives the number of window values and returns the rank k (starting from 1) to track. */
+        private final IntUnaryOperator rankFunction;
+
+        OrderStatistic(final IntUnaryOperator rankFunction) {
+            this.rankFunction = rankFunction;
+        }
+
+        void add(final double value) {
+            if (!lower.isEmpty() && value <= lower.last()) {
+                lower.add(value);
+            } else {
+                upper.add(value);
+            }
+        }
+
+        void remove(final double value) {
+            if (!lower.remove(value)) {
+                upper.remove(value);
+            }
+        }
+
+        /**
+         * Moves values between the lower and upper multisets,
+         * so that the lower one has exactly the k smallest values.
+         * @param count the number of window values
+         */
+        void rebalance(final int count) {
+            final int rank = Math.max(1, Math.min(rankFunction.applyAsInt(count), count));
+            while (lower.size() > rank) {
+                upper.add(lower.pollLast());
+            }
+
+            while (lower.size() < rank && !upper.isEmpty()) {
+                lower.add(upper.pollFirst());
+            }
+        }
+
+        /** {@return the k-th smallest value} */
+        double value() {
+            return lower.last();
+        }
+
+        /** {@return the value just after the k-th smallest one, or the k-th smallest if it's the greatest value} */
+        double nextValue() {
+            return upper.isEmpty() ? lower.last() : upper.first();
+        }
+    }
+
+    private final double[] values;
+
+    /** The index in the {@link #values} ring buffer where the next value will be stored. */
+    private int next;
+
+    private int size;
+
+    /**
+     * The lower middle value, which is the median when the number of values is odd.
+     * For an even number of values, the median is the average of this value and the next one.
+     */
+    private final OrderStatistic median;
+
+    /** @see MathUtil#iqr(double...) */
+    private final OrderStatistic firstQuartile;
+
+    /** @see MathUtil#iqr(double...) */
+    private final OrderStatistic thirdQuartile;
+
+    private final OrderStatistic[] statistics;
+
+    /**
+     * The {@link #getMad() MAD} computed since the last value was added,
+     * or {@link Double#NaN} if it wasn't computed yet.
+     * It's volatile because the same window may be read concurrently,
+     * such as when Hosts are evaluated in parallel.
+     */
+    private volatile double mad = Double.NaN;
+
+    /**
+     * Creates an empty window.
+     * @param windowSize the maximum number of values to keep
+     */
+    public SlidingWindowStatistics(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than zero.");
+        }
+
+        this.values = new double[windowSize];
+        this.median = new OrderStatistic(count -> (count + 1) / 2);
+        this.firstQuartile = new OrderStatistic(count -> (int) Math.round(0.25 * (count + 1)));
+        this.thirdQuartile = new OrderStatistic(count -> (int) Math.round(0.75 * (count + 1)));
+        this.statistics = new OrderStatistic[]{median, firstQuartile, thirdQuartile};
+    }
+
+    /**
+     * Adds a value to the window, discarding the oldest one if the window is full.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        if (isFull()) {
+            for (final OrderStatistic statistic : statistics) {
+                statistic.remove(values[next]);
+            }
+        } else {
+            size++;
+        }
+
+        mad = Double.NaN;
+        values[next] = value;
+        next = (next + 1) % values.length;
+        for (final OrderStatistic statistic : statistics) {
+            statistic.add(value);
+            statistic.rebalance(size);
+        }
+    }
+
+    /**
+     * {@return the median of the window values}
+     * @throws IllegalStateException when the window is empty
+     */
+    public double getMedian() {
+        requireNonEmpty();
+        if (size % 2 == 1) {
+            return median.value();
+        }
+
+        /*Interpolates the two middle values the same way the percentile computed by MathUtil.median does,
+        * so that both give exactly the same result.*/
+        final double lower = median.value();
+        return lower + 0.5 * (median.nextValue() - lower);
+    }
+
+    /**
+     * {@return the inter-quartile range (IQR) of the window values}
+     * It takes constant time, since quartiles are tracked as values are added.
+     * @throws IllegalStateException when the window is empty
+     * @see MathUtil#iqr(double...)
+     */
+    public double getIqr() {
+        requireNonEmpty();
+        return thirdQuartile.value() - firstQuartile.value();
+    }
+
+    /**
+     * {@return the Median Absolute Deviation (MAD) of the window values}
+     * The median is tracked incrementally, but the deviations from it change
+     * every time the median changes and have to be sorted to get their median.
+     * Therefore, this statistic takes O(w log w) time on the first call after a value is added,
+     * and constant time on the next calls, which return the cached result.
+     * @throws IllegalStateException when the window is empty
+     * @see MathUtil#mad(double...)
+     */
+    public double getMad() {
+        final double cachedMad = mad;
+        if (!Double.isNaN(cachedMad)) {
+            return cachedMad;
+        }
+
+        final double currentMedian = getMedian();
+        final double[] deviations = new double[size];
+        for (int i = 0; i < size; i++) {
+            deviations[i] = Math.abs(currentMedian - values[i]);
+        }
+
+        final double result = MathUtil.median(deviations);
+        mad = result;
+        return result;
+    }
+
+    /**
+     * {@return a new array with the window values}, from the oldest to the newest one.
+     */
+    public double[] getValues() {
+        final double[] result = new double[size];
+        final int oldest = isFull() ? next : 0;
+        for (int i = 0; i < size; i++) {
+            result[i] = values[(oldest + i) % values.length];
+        }
+
+        return result;
+    }
+
+    /**
+     * {@return the number of values in the window}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the maximum number of values the window keeps}
+     */
+    public int getWindowSize() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    private void requireNonEmpty() {
+        if (isEmpty()) {
+            throw new IllegalStateException("There are no values in the window.");
+        }
+    }
+}
@@ -217,31 +217,28 @@ public final class SwfWorkloadFileReader extends TraceReaderAbstract {
      * a line from the trace reader, and creates a cloudlet using this
      * information.
      *
-     * @param parsedLineArray an array containing the field values from a parsed trace line
+     * @param parsedLine a record with the field values from a parsed trace line
      * @return true if the parsed line is valid and the Cloudlet was created, false otherwise
      */
-    private boolean createCloudletFromTraceLine(final String[] parsedLineArray) {
+    private boolean createCloudletFromTraceLine(final TraceRecord parsedLine) {
         //If all the fields couldn't be read, don't create the Cloudlet.
-        if (parsedLineArray.length < FIELD_COUNT) {
+        if (parsedLine.size() < FIELD_COUNT) {
             return false;
         }
 
-        final int id = JOB_NUM_INDEX <= IRRELEVANT ? cloudlets.size() + 1 : Integer.parseInt(parsedLineArray[JOB_NUM_INDEX].trim());
+        final int id = JOB_NUM_INDEX <= IRRELEVANT ? cloudlets.size() + 1 : parsedLine.parseInt(JOB_NUM_INDEX);
 
         /* according to the SWF manual, runtime of 0 is possible due
          to rounding down. E.g. runtime is 0.4 seconds -> runtime = 0*/
-        final int runTime = Math.max(Integer.parseInt(parsedLineArray[RUN_TIME_INDEX].trim()), 1);
+        final int runTime = Math.max(parsedLine.parseInt(RUN_TIME_INDEX), 1);
 
         /* if the required num of allocated processors field is ignored
         or zero, then use the actual field*/
-        final int maxNumProc = Math.max(
-                                    Integer.parseInt(parsedLineArray[REQ_NUM_PROC_INDEX].trim()),
-                                    Integer.parseInt(parsedLineArray[NUM_PROC_INDEX].trim())
-                               );
+        final int maxNumProc = Math.max(parsedLine.parseInt(REQ_NUM_PROC_INDEX), parsedLine.parseInt(NUM_PROC_INDEX));
         final int numProc = Math.max(maxNumProc, 1);
 
         final Cloudlet cloudlet = createCloudlet(id, runTime, numProc);
-        final long submitTime = Long.parseLong(parsedLineArray[SUBMIT_TIME_INDEX].trim());
+        final long submitTime = parsedLine.parseLong(SUBMIT_TIME_INDEX);
         cloudlet.setSubmissionDelay(submitTime);
 
         if(predicate.test(cloudlet)){
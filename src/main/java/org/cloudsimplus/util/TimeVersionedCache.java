@@ -0,0 +1,90 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Keeps the last value computed for a given simulation time and state version,
+ * such as the CPU utilization of a VM or Host.
+ * The value is computed again only when it's requested for another time
+ * or the state version changes (for instance, when the set of running Cloudlets changes).
+ * This way, repeated queries in the same simulation clock tick are answered in constant time.
+ *
+ * <p>The cache can be safely queried from multiple threads, such as when Hosts are evaluated in parallel.
+ * The time, version and value are published together as an immutable entry,
+ * so that a thread never sees a value computed for another time or version.
+ * Concurrent requests for a missing value may just compute it more than once.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class TimeVersionedCache {
+    /**
+     * A value computed for a given time and state version.
+     */
+    private record Entry(double time, long version, double value) {
+        private static final Entry INVALID = new Entry(-1, Long.MIN_VALUE, 0);
+
+        private boolean isFor(final double time, final long version) {
+            return this.time == time && this.version == version;
+        }
+    }
+
+    private volatile Entry entry;
+
+    /**
+     * Creates an empty cache.
+     */
+    public TimeVersionedCache() {
+        invalidate();
+    }
+
+    /**
+     * Gets the value for a given time and state version,
+     * computing it only if it isn't cached yet.
+     *
+     * @param time the simulation time the value is requested for
+     * @param version the current version of the state the value is computed from
+     * @param supplier a {@link DoubleSupplier} to compute the value when it isn't cached
+     * @return the cached or the just computed value
+     */
+    public double get(final double time, final long version, final DoubleSupplier supplier) {
+        final Entry current = entry;
+        if (current.isFor(time, version)) {
+            return current.value();
+        }
+
+        final double value = supplier.getAsDouble();
+        entry = new Entry(time, version, value);
+        return value;
+    }
+
+    /**
+     * Discards the cached value, forcing it to be computed again in the next request.
+     */
+    public void invalidate() {
+        this.entry = Entry.INVALID;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits lines from trace files into fields, without allocating
+ * a String for each field or matching a regex when the delimiter is
+ * a run of whitespaces or a single char (the most common delimiters in trace files).
+ * Fields are kept as offsets into the last {@link #tokenize(String) tokenized} line,
+ * which are reused for every line, and numeric fields are directly parsed from such offsets.
+ *
+ * <p>Fields are split as {@code line.trim().split(delimiterRegex, -1)} does,
+ * ensuring empty fields between delimiters aren't discarded.
+ * Since the tokenizer keeps the state of the last tokenized line,
+ * an instance must not be shared among threads.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class TraceLineTokenizer implements TraceRecord {
+    /** The regex which matches a run of whitespaces. */
+    private static final String WHITESPACES_REGEX = "\\s+";
+
+    /** Chars with a special meaning in a regex, which have to be escaped to be used as a literal delimiter. */
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+    /** Maximum mantissa which is exactly represented by a double (2^53). */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Powers of 10 exactly represented by a double. */
+    private static final double[] POWERS_OF_10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final boolean whitespaceDelimiter;
+
+    /** The single char delimiter or 0 if the delimiter is not a single char. */
+    private final char delimiter;
+
+    /** A matcher for delimiters which don't have a fast path, or null otherwise. */
+    private final Matcher delimiterMatcher;
+
+    private String line = "";
+
+    /** The offset where each field starts in the {@link #line}. */
+    private int[] starts = new int[16];
+
+    /** The offset where each field ends (exclusive) in the {@link #line}. */
+    private int[] ends = new int[16];
+
+    private int size;
+
+    /**
+     * Creates a tokenizer for lines whose fields are separated by a given delimiter.
+     * @param delimiterRegex the regex matching the delimiter between fields
+     */
+    public TraceLineTokenizer(@NonNull final String delimiterRegex) {
+        this.whitespaceDelimiter = WHITESPACES_REGEX.equals(delimiterRegex);
+        this.delimiter = whitespaceDelimiter ? 0 : literalChar(delimiterRegex);
+        this.delimiterMatcher = whitespaceDelimiter || delimiter != 0 ? null : Pattern.compile(delimiterRegex).matcher("");
+    }
+
+    /**
+     * {@return the char a given regex literally matches} or 0 if the regex doesn't match a single literal char.
+     * @param regex the regex to check
+     */
+    private static char literalChar(final String regex) {
+        if (regex.length() == 1 && REGEX_META_CHARS.indexOf(regex.charAt(0)) < 0) {
+            return regex.charAt(0);
+        }
+
+        if (regex.length() == 2 && regex.charAt(0) == '\\') {
+            final char escaped = regex.charAt(1);
+            if (escaped == 't') {
+                return '\t';
+            }
+
+            return REGEX_META_CHARS.indexOf(escaped) < 0 ? 0 : escaped;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Splits a line into fields, discarding the fields of the previous tokenized line.
+     * A blank line has no fields.
+     * @param line the line to tokenize
+     * @return this tokenizer
+     */
+    public TraceLineTokenizer tokenize(@NonNull final String line) {
+        this.line = line;
+        size = 0;
+        int begin = 0;
+        int end = line.length();
+        while (begin < end && line.charAt(begin) <= ' ') begin++;
+        while (end > begin && line.charAt(end - 1) <= ' ') end--;
+        if (begin == end) {
+            return this;
+        }
+
+        if (whitespaceDelimiter) {
+            tokenizeByWhitespaces(begin, end);
+        } else if (delimiter != 0) {
+            tokenizeByChar(begin, end);
+        } else tokenizeByRegex(begin, end);
+
+        return this;
+    }
+
+    private void tokenizeByWhitespaces(final int begin, final int end) {
+        int fieldStart = begin;
+        int i = begin;
+        while (i < end) {
+            if (isWhitespace(line.charAt(i))) {
+                addField(fieldStart, i);
+                while (isWhitespace(line.charAt(i))) i++;
+                fieldStart = i;
+            } else i++;
+        }
+
+        addField(fieldStart, end);
+    }
+
+    /**
+     * Checks if a char is matched by the \s regex.
+     */
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+    private void tokenizeByChar(final int begin, final int end) {
+        int fieldStart = begin;
+        for (int i = begin; i < end; i++) {
+            if (line.charAt(i) == delimiter) {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+
+        addField(fieldStart, end);
+    }
+
+    private void tokenizeByRegex(final int begin, final int end) {
+        delimiterMatcher.reset(line).region(begin, end);
+        int fieldStart = begin;
+        while (delimiterMatcher.find()) {
+            /* A zero-length match at the beginning doesn't produce a leading empty field, as in String.split. */
+            if (delimiterMatcher.end() == begin && delimiterMatcher.start() == begin) {
+                continue;
+            }
+
+            addField(fieldStart, delimiterMatcher.start());
+            fieldStart = delimiterMatcher.end();
+        }
+
+        addField(fieldStart, end);
+    }
+
+    private void addField(final int start, final int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+
+        starts[size] = start;
+        ends[size++] = end;
+    }
+
+    /**
+     * {@return the number of fields} in the last tokenized line.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value of a field as a String, which is a new String for every call.
+     * Numeric fields should be got using the specific parse methods, which don't allocate a String.
+     * @param index the index of the field
+     * @return the field value
+     */
+    @Override
+    public String get(final int index) {
+        checkIndex(index);
+        return line.substring(starts[index], ends[index]);
+    }
+
+    /**
+     * {@return true if a field is an integer number} (such as -10 or 123), false otherwise.
+     * @param index the index of the field
+     */
+    @Override
+    public boolean isInteger(final int index) {
+        checkIndex(index);
+        final int start = skipSign(starts[index], ends[index]);
+        return start < ends[index] && skipDigits(start, ends[index]) == ends[index];
+    }
+
+    /**
+     * {@return true if a field is a decimal number} (such as -10, 0.5 or 123.25), false otherwise.
+     * A decimal separator must be both preceded and followed by digits.
+     * @param index the index of the field
+     */
+    @Override
+    public boolean isDecimal(final int index) {
+        checkIndex(index);
+        final int end = ends[index];
+        final int start = skipSign(starts[index], end);
+        final int integerEnd = skipDigits(start, end);
+        if (integerEnd == start) {
+            return false;
+        }
+
+        if (integerEnd == end) {
+            return true;
+        }
+
+        return line.charAt(integerEnd) == '.' && integerEnd + 1 < end && skipDigits(integerEnd + 1, end) == end;
+    }
+
+    /**
+     * Parses a field as a long.
+     * @param index the index of the field
+     * @return the field value
+     * @throws NumberFormatException if the field is not a long
+     */
+    @Override
+    public long parseLong(final int index) {
+        checkIndex(index);
+        final int end = ends[index];
+        final int start = skipSign(starts[index], end);
+        /* Up to 18 digits always fit into a long. Longer values are parsed by the JDK to check overflow. */
+        if (start == end || end - start > 18 || skipDigits(start, end) != end) {
+            return Long.parseLong(get(index));
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (line.charAt(i) - '0');
+        }
+
+        return start > starts[index] && line.charAt(starts[index]) == '-' ? -value : value;
+    }
+
+    /**
+     * Parses a field as a double.
+     * Values with up to 15 significant digits and no exponent are directly parsed,
+     * giving the same result of {@link Double#parseDouble(String)}, which is used for other values.
+     * @param index the index of the field
+     * @return the field value
+     * @throws NumberFormatException if the field is not a double
+     */
+    @Override
+    public double parseDouble(final int index) {
+        checkIndex(index);
+        final int end = ends[index];
+        final int start = skipSign(starts[index], end);
+        long mantissa = 0;
+        int decimalDigits = -1;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            final char c = line.charAt(i);
+            if (c == '.' && decimalDigits < 0) {
+                decimalDigits = 0;
+                continue;
+            }
+
+            if (c < '0' || c > '9' || ++digits > 15) {
+                return Double.parseDouble(get(index));
+            }
+
+            mantissa = mantissa * 10 + (c - '0');
+            if (decimalDigits >= 0) {
+                decimalDigits++;
+            }
+        }
+
+        if (digits == 0 || mantissa >= MAX_EXACT_MANTISSA) {
+            return Double.parseDouble(get(index));
+        }
+
+        /* Both the mantissa and the power of 10 are exact doubles, so a single division is correctly rounded. */
+        final double value = decimalDigits > 0 ? mantissa / POWERS_OF_10[decimalDigits] : mantissa;
+        return start > starts[index] && line.charAt(starts[index]) == '-' ? -value : value;
+    }
+
+    /**
+     * Skips a minus sign. Values with a plus sign are parsed by the JDK.
+     */
+    private int skipSign(final int start, final int end) {
+        return start < end && line.charAt(start) == '-' ? start + 1 : start;
+    }
+
+    private int skipDigits(int start, final int end) {
+        while (start < end && line.charAt(start) >= '0' && line.charAt(start) <= '9') start++;
+        return start;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Field %d doesn't exist in a line with %d fields".formatted(index, size));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return line;
+    }
+}
@@ -2,14 +2,16 @@ package org.cloudsimplus.util;
 
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipInputStream;
 
@@ -23,6 +25,8 @@ import static java.util.Objects.requireNonNull;
  * <ul>
  *   <li>This class can only read trace files in the following format:
  *       <b>ASCII text, zip, gz.</b>
+ *       It also reads {@link ColumnarTraceFile columnar trace files} converted from those formats
+ *       by the {@link ColumnarTraceConverter}, which are memory-mapped instead of parsed.
  *   </li>
  *   <li>If you need to load multiple trace files, create multiple instances of this class.</li>
  *   <li>If size of the trace reader is huge or contains lots of traces, please
@@ -42,9 +46,16 @@ public abstract class TraceReaderAbstract implements TraceReader {
     private final String filePath;
     private final InputStream inputStream;
 
-    @Getter @Setter @NonNull
+    @Getter
     private String fieldDelimiterRegex;
 
+    /**
+     * The tokenizer used to split each line into fields,
+     * which is reused for every line.
+     * @see #parseTraceLine(String)
+     */
+    private TraceLineTokenizer tokenizer;
+
     @Getter
     private int maxLinesToRead;
 
@@ -53,10 +64,57 @@ public abstract class TraceReaderAbstract implements TraceReader {
     @Getter
     private int lastLineNumber;
 
+    /**
+     * The reader used to read the trace file line by line,
+     * when it is {@link #readNextFileLine(Function) read incrementally}.
+     */
+    private BufferedReader lineReader;
+
+    /**
+     * The stream to read the entries of a zip trace file,
+     * when it is {@link #readNextFileLine(Function) read incrementally}.
+     */
+    private ZipInputStream zipInputStream;
+
+    /**
+     * Indicates if the end of the trace file was reached
+     * when it is {@link #readNextFileLine(Function) read incrementally},
+     * so that the file was already closed.
+     */
+    private boolean endOfFile;
+
+    /**
+     * The file read incrementally when the trace is a {@link #isColumnarFile() columnar file}.
+     * @see #readNextFileLine(Function)
+     */
+    private ColumnarTraceFile columnarFile;
+
+    /** The index of the next row to read incrementally from the {@link #columnarFile}. */
+    private long nextColumnarRow;
+
+    /** Indicates if there is a line which was {@link #peekNextFileLine() peeked} but not consumed yet. */
+    private boolean hasPeekedLine;
+
+    /** @see #seek(double, ToDoubleFunction) */
+    private double seekTimestamp = Double.NEGATIVE_INFINITY;
+
+    /** @see #seek(double, ToDoubleFunction) */
+    private ToDoubleFunction<TraceRecord> seekTimestampFunction;
+
+    /**
+     * The position the {@link #getFilePath() trace file} starts to be read from,
+     * which is just found when the file is opened.
+     * @see #seek(double, ToDoubleFunction)
+     */
+    private TraceTimeIndex.Position startPosition;
+
+    /** @see #stopReading() */
+    private boolean stopped;
+
     /**
      * Create a SwfWorkloadFileReader object.
      *
-     * @param filePath the workload trace file path in one of the following formats: <i>ASCII text, zip, gz.</i>
+     * @param filePath the workload trace file path in one of the following formats: <i>ASCII text, zip, gz, cspt (columnar).</i>
      * @throws IllegalArgumentException when the workload trace file name is null or empty; or the resource PE mips is less or equal to 0
      * @throws FileNotFoundException    when the trace file is not found
      * @throws IllegalArgumentException when the workload trace file name is null or empty
@@ -77,12 +135,19 @@ public abstract class TraceReaderAbstract implements TraceReader {
             throw new IllegalArgumentException("Invalid trace file name.");
         }
 
-        this.fieldDelimiterRegex = "\\s+";
+        this.setFieldDelimiterRegex("\\s+");
         this.setMaxLinesToRead(Integer.MAX_VALUE);
         this.inputStream = inputStream;
         this.filePath = filePath;
     }
 
+    @Override
+    public TraceReader setFieldDelimiterRegex(@NonNull final String fieldDelimiterRegex) {
+        this.fieldDelimiterRegex = fieldDelimiterRegex;
+        this.tokenizer = new TraceLineTokenizer(fieldDelimiterRegex);
+        return this;
+    }
+
     @Override
     public TraceReader setCommentString(@NonNull final String... commentString) {
         if (commentString.length == 0) {
@@ -117,28 +182,37 @@ public abstract class TraceReaderAbstract implements TraceReader {
         return inputStream;
     }
 
-    protected String[] parseTraceLine(final String line){
-        if (isComment(line)) {
-            return new String[0];
-        }
-
-        //Splits the string, ensuring that empty fields won't be discarded
-        return line.trim().split(fieldDelimiterRegex, -1);
+    /**
+     * Splits a line into fields, ensuring that empty fields won't be discarded.
+     * The returned tokenizer is reused for every line, so that its fields
+     * are just valid until the next line is parsed.
+     *
+     * @param line the line to parse
+     * @return a tokenizer with the fields of the line, which has no fields if the line is a comment or blank
+     */
+    protected TraceLineTokenizer parseTraceLine(final String line){
+        return tokenizer.tokenize(isComment(line) ? "" : line);
     }
 
-    private boolean isComment(final String line) {
-        return Arrays.stream(commentString).anyMatch(line::startsWith);
+    /* default */ boolean isComment(final String line) {
+        for (final String comment : commentString) {
+            if (line.startsWith(comment)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
      * Reads traces from a text file, then creates a Cloudlet for each line read.
      *
      * @param inputStream a {@link InputStream} to read the file
-     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of each parsed line
      *                          and performs an operation over it, returning true if the operation was executed
      * @throws IOException if the there was any error reading the file
      */
-    protected void readTextFile(final InputStream inputStream, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
+    protected void readTextFile(final InputStream inputStream, final Function<TraceRecord, Boolean> processParsedLineFunction) throws IOException {
         readFile(inputStream, processParsedLineFunction);
     }
 
@@ -146,11 +220,11 @@ public abstract class TraceReaderAbstract implements TraceReader {
      * Reads traces from a gzip file, then creates a Cloudlet for each line read.
      *
      * @param inputStream a {@link InputStream} to read the file
-     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of each parsed line
      *                          and performs an operation over it, returning true if the operation was executed
      * @throws IOException if the there was any error reading the file
      */
-    protected void readGZIPFile(final InputStream inputStream, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
+    protected void readGZIPFile(final InputStream inputStream, final Function<TraceRecord, Boolean> processParsedLineFunction) throws IOException {
         readFile(new GZIPInputStream(inputStream), processParsedLineFunction);
     }
 
@@ -158,13 +232,13 @@ public abstract class TraceReaderAbstract implements TraceReader {
      * Reads a set of trace files inside a Zip file, then creates a Cloudlet for each line read.
      *
      * @param inputStream a {@link InputStream} to read the file
-     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of each parsed line
      *                          and performs an operation over it, returning true if the operation was executed
      * @return <code>true</code> if reading a file is successful;
      * <code>false</code> otherwise.
      * @throws IOException if the there was any error reading the file
      */
-    protected boolean readZipFile(final InputStream inputStream, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
+    protected boolean readZipFile(final InputStream inputStream, final Function<TraceRecord, Boolean> processParsedLineFunction) throws IOException {
         try (var zipInputStream = new ZipInputStream(requireNonNull(inputStream))) {
             while (zipInputStream.getNextEntry() != null) {
                 readFile(zipInputStream, processParsedLineFunction);
@@ -177,36 +251,372 @@ public abstract class TraceReaderAbstract implements TraceReader {
      * Reads traces from the file indicated by the {@link #getFilePath()},
      * then creates a Cloudlet for each line read.
      *
-     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of each parsed line
      *                          and performs an operation over it, returning true if the operation was executed
      * @throws UncheckedIOException if the there was any error reading the file
      */
-    protected void readFile(final Function<String[], Boolean> processParsedLineFunction) {
+    protected void readFile(final Function<TraceRecord, Boolean> processParsedLineFunction) {
         /*@TODO It would be implemented using specific classes to avoid this "if" chain.
                 If a new format is included, the code has to be changed to include another if*/
         try {
-            if (getFilePath().endsWith(".gz")) {
-                readGZIPFile(getInputStream(), processParsedLineFunction);
+            if (isColumnarFile()) {
+                readColumnarFile(processParsedLineFunction);
+            } else if (getFilePath().endsWith(".gz")) {
+                readFile(openGZIPFile(), processParsedLineFunction);
             } else if (getFilePath().endsWith(".zip")) {
                 readZipFile(getInputStream(), processParsedLineFunction);
             } else {
-                readTextFile(getInputStream(), processParsedLineFunction);
+                readTextFile(skipToStartPosition(), processParsedLineFunction);
+            }
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads traces from a {@link ColumnarTraceFile columnar trace file}, then creates a Cloudlet for each record read.
+     *
+     * @param processParsedLineFunction a {@link Function} that receives each record
+     *                          and performs an operation over it, returning true if the operation was executed
+     * @throws IOException if the there was any error reading the file
+     */
+    protected void readColumnarFile(final Function<TraceRecord, Boolean> processParsedLineFunction) throws IOException {
+        requireNonNull(processParsedLineFunction);
+        final var file = openColumnarFile();
+        lastLineNumber = 0;
+        for (long row = findStartRow(file); !stopped && row < file.getRows() && lastLineNumber < maxLinesToRead; row++) {
+            if (processParsedLineFunction.apply(file.read(row))) {
+                lastLineNumber++;
+            }
+        }
+    }
+
+    /**
+     * {@return true if the {@link #getFilePath() trace file} is a {@link ColumnarTraceFile columnar trace file}},
+     * according to its extension; false otherwise.
+     */
+    protected boolean isColumnarFile() {
+        return getFilePath().endsWith(ColumnarTraceFile.EXTENSION);
+    }
+
+    /**
+     * Memory-maps the {@link #getFilePath() trace file} as a {@link ColumnarTraceFile}.
+     * Since it is not read from the {@link #getInputStream()}, such a stream is closed.
+     */
+    private ColumnarTraceFile openColumnarFile() throws IOException {
+        inputStream.close();
+        return new ColumnarTraceFile(Paths.get(filePath));
+    }
+
+    /**
+     * Finds the first row of a columnar file whose timestamp is equal to or greater than
+     * the {@link #seek(double, ToDoubleFunction) seek timestamp}, by a binary search
+     * (which requires rows to be in ascending order of timestamp).
+     * @param file the columnar file
+     * @return the index of the row to start reading the file from
+     */
+    private long findStartRow(final ColumnarTraceFile file) {
+        if (seekTimestampFunction == null) {
+            return 0;
+        }
+
+        long low = 0;
+        long high = file.getRows();
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            if (seekTimestampFunction.applyAsDouble(file.read(mid)) < seekTimestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Makes the trace file to be read from a given timestamp, instead of from the start.
+     * The file is just read from the position of such a timestamp if it is a
+     * {@link ColumnarTraceFile columnar file} or has a {@link TraceTimeIndex time index}
+     * (built by {@link #buildTimeIndex(ToDoubleFunction, int)}).
+     * Otherwise, it is read from the start.
+     * Since not every line is indexed, some lines before the timestamp may still be read,
+     * so that they must be discarded by the caller.
+     * Lines in the trace file must be in ascending order of timestamp.
+     *
+     * @param timestamp the timestamp to start reading the trace file from
+     * @param timestampFunction a function that receives a record with the fields of a line and returns its timestamp
+     * @throws IllegalStateException when the trace file was already opened
+     */
+    protected final void seek(final double timestamp, @NonNull final ToDoubleFunction<TraceRecord> timestampFunction) {
+        if (startPosition != null || lineReader != null || endOfFile || columnarFile != null) {
+            throw new IllegalStateException("The trace file cannot be sought after it started to be read.");
+        }
+
+        this.seekTimestamp = timestamp;
+        this.seekTimestampFunction = timestampFunction;
+    }
+
+    /**
+     * Builds a {@link TraceTimeIndex time index} for the {@link #getFilePath() trace file}
+     * and stores it in a sidecar file (whose name is the trace file name followed by {@link TraceTimeIndex#EXTENSION}).
+     * That is a one-time pass over the trace, which enables next readers to
+     * {@link #seek(double, ToDoubleFunction) seek} the file.
+     * Lines in the trace file must be in ascending order of timestamp.
+     *
+     * @param timestampFunction a function that receives a record with the fields of a line and returns its timestamp
+     * @param linesPerEntry the number of lines between two entries in the index
+     * @return the built index
+     * @throws UncheckedIOException if the there was any error reading the trace file or writing the index file
+     * @throws IllegalArgumentException when the trace file is not an <i>ASCII text or gz</i> file
+     *                                  or its lines are not in ascending order of timestamp
+     */
+    protected TraceTimeIndex buildTimeIndex(final ToDoubleFunction<TraceRecord> timestampFunction, final int linesPerEntry) {
+        try {
+            final var tokenizer = new TraceLineTokenizer(fieldDelimiterRegex);
+            final var index = TraceTimeIndex.build(Paths.get(filePath), tokenizer, this::isComment, timestampFunction, linesPerEntry);
+            index.save(TraceTimeIndex.getIndexPath(filePath));
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the position to start reading a trace file from,
+     * according to the {@link #seek(double, ToDoubleFunction) seek timestamp} and the file's time index.
+     * @param path the path of the trace file
+     * @return the position found or {@link TraceTimeIndex.Position#START} if there is no seek timestamp
+     *         or the file has no valid index
+     */
+    /* default */ TraceTimeIndex.Position findStartPosition(final String path) throws IOException {
+        final Path indexPath = TraceTimeIndex.getIndexPath(path);
+        if (seekTimestampFunction == null || path.endsWith(".zip") || !Files.exists(indexPath)) {
+            return TraceTimeIndex.Position.START;
+        }
+
+        final var index = TraceTimeIndex.load(indexPath);
+        if (index.getTraceFileSize() != Files.size(Paths.get(path))) {
+            LOGGER.warn("Time index {} is outdated and was ignored. It must be built again.", indexPath);
+            return TraceTimeIndex.Position.START;
+        }
+
+        return index.find(seekTimestamp);
+    }
+
+    private TraceTimeIndex.Position getStartPosition() throws IOException {
+        if (startPosition == null) {
+            startPosition = findStartPosition(filePath);
+        }
+
+        return startPosition;
+    }
+
+    /**
+     * Skips the {@link #getInputStream()} up to the {@link #getStartPosition() restart offset}.
+     * @return the input stream
+     */
+    private InputStream skipToStartPosition() throws IOException {
+        return skip(getInputStream(), getStartPosition().restartOffset());
+    }
+
+    /**
+     * Opens the {@link #getInputStream()} of a gzip trace file, decompressing it from the
+     * {@link #getStartPosition() start position}.
+     * @return the decompressed input stream
+     */
+    private InputStream openGZIPFile() throws IOException {
+        return skip(new GZIPInputStream(skipToStartPosition()), getStartPosition().skipBytes());
+    }
+
+    /**
+     * Skips a number of bytes from an {@link InputStream}.
+     * @return the given input stream
+     */
+    /* default */ static InputStream skip(final InputStream inputStream, final long bytes) throws IOException {
+        inputStream.skipNBytes(bytes);
+        return inputStream;
+    }
+
+    /**
+     * Stops reading the trace file, so that no more lines are processed,
+     * even if the {@link #getMaxLinesToRead() maximum number of lines} was not reached.
+     * It can be called by the functions processing each line,
+     * when the remaining lines are not required anymore.
+     */
+    protected final void stopReading() {
+        this.stopped = true;
+    }
+
+    /**
+     * Reads the shards (part files) of a trace, processing their lines in ascending order of timestamp.
+     * The shards are opened (and skipped to the {@link #seek(double, ToDoubleFunction) sought} position)
+     * by threads from a bounded pool. Then, the caller thread lazily merges the lines from all shards,
+     * keeping just the next line of each shard in memory.
+     *
+     * @param shardPaths the path of each shard in one of the following formats: <i>ASCII text, zip, gz.</i>
+     *                   The first shard must be the file indicated by the {@link #getFilePath()},
+     *                   which is read from the {@link #getInputStream()}.
+     * @param threads the maximum number of shards to open at the same time
+     * @param timestampFunction a function that receives a tokenizer with the fields of a line and returns its timestamp.
+     *                          It's called concurrently, so it must not change any shared state.
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of each parsed line
+     *                          and performs an operation over it, returning true if the operation was executed
+     * @throws UncheckedIOException if the there was any error reading some shard
+     * @throws IllegalArgumentException when the first shard is not the trace file
+     *                                  or some shard is a {@link ColumnarTraceFile columnar file}
+     */
+    protected void readShards(
+        @NonNull final List<String> shardPaths, final int threads,
+        final ToDoubleFunction<TraceLineTokenizer> timestampFunction,
+        final Function<TraceRecord, Boolean> processParsedLineFunction)
+    {
+        requireNonNull(processParsedLineFunction);
+        if (shardPaths.stream().anyMatch(path -> path.endsWith(ColumnarTraceFile.EXTENSION))) {
+            throw new IllegalArgumentException("Columnar trace files cannot be read as shards. Convert each shard into a separate trace instead.");
+        }
+
+        if (shardPaths.isEmpty() || !shardPaths.get(0).equals(filePath)) {
+            throw new IllegalArgumentException("The first shard must be the trace file " + filePath);
+        }
+
+        lastLineNumber = 0;
+        try (var lines = new TraceShardsReader(this, threads, timestampFunction).read(shardPaths)) {
+            while (!stopped && lastLineNumber < maxLinesToRead && lines.hasNext()) {
+                if (processParsedLineFunction.apply(tokenizer.tokenize(lines.next()))) {
+                    lastLineNumber++;
+                }
             }
+        }
+    }
+
+    /**
+     * Reads and processes the next line from the file indicated by the {@link #getFilePath()},
+     * keeping the file open between calls. This way, the file can be read incrementally,
+     * instead of being entirely read at once as in {@link #readFile(Function)}.
+     *
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of the parsed line
+     *                          and performs an operation over it, returning true if the operation was executed
+     * @return true if a line was read, false if there are no more lines to read
+     *         or the {@link #getMaxLinesToRead() maximum number of lines} was reached
+     * @throws UncheckedIOException if the there was any error reading the file
+     * @see #peekNextFileLine()
+     */
+    protected boolean readNextFileLine(final Function<TraceRecord, Boolean> processParsedLineFunction) {
+        requireNonNull(processParsedLineFunction);
+        final TraceRecord parsedTraceLine = peekNextFileLine();
+        if (parsedTraceLine == null) {
+            return false;
+        }
+
+        hasPeekedLine = false;
+        nextColumnarRow++;
+        if (processParsedLineFunction.apply(parsedTraceLine)) {
+            lastLineNumber++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the next line from the file indicated by the {@link #getFilePath()},
+     * without consuming it. The line is just consumed by the next call to {@link #readNextFileLine(Function)}.
+     *
+     * @return a record with the fields of the next line, or null if there are no more lines to read
+     *         or the {@link #getMaxLinesToRead() maximum number of lines} was reached
+     * @throws UncheckedIOException if the there was any error reading the file
+     */
+    protected TraceRecord peekNextFileLine() {
+        try {
+            if (isColumnarFile()) {
+                return peekNextColumnarRecord();
+            }
+
+            while (!stopped && !hasPeekedLine && lastLineNumber < maxLinesToRead) {
+                final String line = readNextRawLine();
+                if (line == null) {
+                    return null;
+                }
+
+                hasPeekedLine = !parseTraceLine(line).isEmpty();
+            }
+
+            return hasPeekedLine && !stopped ? tokenizer : null;
         } catch(IOException e){
             throw new UncheckedIOException(e);
         }
     }
 
+    private TraceRecord peekNextColumnarRecord() throws IOException {
+        if (columnarFile == null) {
+            columnarFile = openColumnarFile();
+            nextColumnarRow = findStartRow(columnarFile);
+        }
+
+        hasPeekedLine = !stopped && lastLineNumber < maxLinesToRead && nextColumnarRow < columnarFile.getRows();
+        return hasPeekedLine ? columnarFile.read(nextColumnarRow) : null;
+    }
+
+    /**
+     * Reads the next line from the trace file, opening it in the first call
+     * and moving to the next entry when reading a zip file.
+     * The file is closed when its end is reached.
+     * @return the line read or null if there are no more lines
+     */
+    private String readNextRawLine() throws IOException {
+        if (endOfFile) {
+            return null;
+        }
+
+        if (lineReader == null) {
+            final InputStream stream;
+            if (getFilePath().endsWith(".gz")) {
+                stream = openGZIPFile();
+            } else if (getFilePath().endsWith(".zip")) {
+                zipInputStream = new ZipInputStream(getInputStream());
+                stream = zipInputStream.getNextEntry() == null ? InputStream.nullInputStream() : zipInputStream;
+            } else stream = skipToStartPosition();
+
+            lineReader = new BufferedReader(new InputStreamReader(stream));
+        }
+
+        String line = lineReader.readLine();
+        while (line == null && zipInputStream != null && zipInputStream.getNextEntry() != null) {
+            lineReader = new BufferedReader(new InputStreamReader(zipInputStream));
+            line = lineReader.readLine();
+        }
+
+        if (line == null) {
+            closeLineReader();
+        }
+
+        return line;
+    }
+
+    /**
+     * Closes the {@link #lineReader} (and then the streams it reads from)
+     * after the end of the trace file was reached.
+     */
+    private void closeLineReader() throws IOException {
+        endOfFile = true;
+        try {
+            lineReader.close();
+        } finally {
+            lineReader = null;
+            zipInputStream = null;
+        }
+    }
+
     /**
      * Reads traces from an {@link InputStream} linked to a file in any supported format,
      * then creates a Cloudlet for each line read.
      *
      * @param inputStream a {@link InputStream} to read the file
-     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     * @param processParsedLineFunction a {@link Function} that receives a record with the fields of each parsed line
      *                          and performs an operation over it, returning true if the operation was executed
      * @throws IOException if the there was any error reading the file
      */
-    private void readFile(final InputStream inputStream, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
+    private void readFile(final InputStream inputStream, final Function<TraceRecord, Boolean> processParsedLineFunction) throws IOException {
         requireNonNull(inputStream);
         requireNonNull(processParsedLineFunction);
 
@@ -214,9 +624,9 @@ public abstract class TraceReaderAbstract implements TraceReader {
         final var reader = new BufferedReader(new InputStreamReader(inputStream));
         lastLineNumber = 0;
         String line;
-        while ((line = readNextLine(reader, lastLineNumber)) != null) {
-            final String[] parsedTraceLine = parseTraceLine(line);
-            if(parsedTraceLine.length > 0 && processParsedLineFunction.apply(parsedTraceLine)) {
+        while (!stopped && (line = readNextLine(reader, lastLineNumber)) != null) {
+            final TraceLineTokenizer parsedTraceLine = parseTraceLine(line);
+            if(!parsedTraceLine.isEmpty() && processParsedLineFunction.apply(parsedTraceLine)) {
                 lastLineNumber++;
             }
         }
@@ -0,0 +1,111 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+/**
+ * The fields of a record (a line) read from a trace file, which are accessed by their index.
+ * Records are usually reused for every line read, so that their fields
+ * are just valid until the next line is read.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ * @see TraceLineTokenizer
+ * @see ColumnarTraceFile
+ */
+public interface TraceRecord {
+    /**
+     * {@return the number of fields} in the record.
+     */
+    int size();
+
+    /**
+     * {@return true if the record has no fields}, false otherwise.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the value of a field as a String.
+     * Numeric fields should be got using the specific parse methods, which don't allocate a String.
+     * @param index the index of the field
+     * @return the field value
+     */
+    String get(int index);
+
+    /**
+     * {@return true if a field is an integer number} (such as -10 or 123), false otherwise.
+     * @param index the index of the field
+     */
+    boolean isInteger(int index);
+
+    /**
+     * {@return true if a field is a decimal number} (such as -10, 0.5 or 123.25), false otherwise.
+     * @param index the index of the field
+     */
+    boolean isDecimal(int index);
+
+    /**
+     * Parses a field as an int.
+     * @param index the index of the field
+     * @return the field value
+     * @throws NumberFormatException if the field is not an int
+     */
+    default int parseInt(final int index) {
+        final long value = parseLong(index);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: " + get(index));
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a long.
+     * @param index the index of the field
+     * @return the field value
+     * @throws NumberFormatException if the field is not a long
+     */
+    long parseLong(int index);
+
+    /**
+     * Parses a field as a double.
+     * @param index the index of the field
+     * @return the field value
+     * @throws NumberFormatException if the field is not a double
+     */
+    double parseDouble(int index);
+
+    /**
+     * {@return a new array with the values of all fields} in the record.
+     */
+    default String[] toArray() {
+        final var fields = new String[size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = get(i);
+        }
+
+        return fields;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the shards (part files) of a trace, lazily merging their lines in timestamp order.
+ * The shards are opened concurrently by a bounded pool of threads, which also
+ * skips to the position each shard must be read from and parses its first line.
+ * Then, the lines are provided in ascending order of timestamp, keeping the order
+ * of lines with the same timestamp according to the order of shards and the order inside each shard.
+ * Each shard is decompressed and parsed as its lines are requested,
+ * so that just one line from each shard is kept in memory at a time.
+ * If the reader was {@link TraceReaderAbstract#seek(double, ToDoubleFunction) sought} to a timestamp,
+ * each shard which has a {@link TraceTimeIndex time index} is read from the position of such a timestamp.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ * @see TraceReaderAbstract#readShards(List, int, ToDoubleFunction, java.util.function.Function)
+ */
+final class TraceShardsReader {
+    /**
+     * The lines from all shards, provided in ascending order of timestamp.
+     * It must be closed to close the shards not entirely read.
+     */
+    static final class MergedLines implements Iterator<String>, Closeable {
+        private static final Comparator<ShardLines> SHARD_ORDER =
+            Comparator.comparingDouble((ShardLines shard) -> shard.timestamp).thenComparingInt(shard -> shard.shardIndex);
+
+        /** The shards with lines to read, ordered by the timestamp of their next line. */
+        private final PriorityQueue<ShardLines> queue;
+
+        private MergedLines(final ShardLines[] shards) {
+            this.queue = new PriorityQueue<>(Math.max(shards.length, 1), SHARD_ORDER);
+            for (final ShardLines shard : shards) {
+                if (shard.line != null) {
+                    queue.add(shard);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         * @throws UncheckedIOException if the there was any error reading the next line of the shard
+         */
+        @Override
+        public String next() {
+            final ShardLines shard = queue.poll();
+            if (shard == null) {
+                throw new NoSuchElementException();
+            }
+
+            final String line = shard.line;
+            if (shard.advance()) {
+                queue.add(shard);
+            }
+
+            return line;
+        }
+
+        @Override
+        public void close() {
+            closeAll(queue);
+            queue.clear();
+        }
+    }
+
+    /**
+     * Reads the lines of a shard, keeping just the next line to be merged and its timestamp.
+     * The shard is closed when all its lines are read.
+     */
+    private final class ShardLines implements Closeable {
+        private final String shardPath;
+        private final int shardIndex;
+        private final InputStream inputStream;
+
+        /** The stream to get the next entry from, when the shard is a zip file, or null otherwise. */
+        private final ZipInputStream zipInputStream;
+
+        private final TraceLineTokenizer tokenizer;
+
+        /** A reader for the current zip entry or the entire shard. It's null while no zip entry was got. */
+        private BufferedReader lineReader;
+
+        /** The next line to be merged, which is null when all the shard lines were read. */
+        private String line;
+
+        /** The timestamp of the {@link #line}. */
+        private double timestamp;
+
+        private ShardLines(final String shardPath, final int shardIndex) throws IOException {
+            this.shardPath = shardPath;
+            this.shardIndex = shardIndex;
+            this.tokenizer = new TraceLineTokenizer(reader.getFieldDelimiterRegex());
+            this.inputStream = shardIndex == 0 ? reader.getInputStream() : Files.newInputStream(Paths.get(shardPath));
+            try {
+                final var startPosition = reader.findStartPosition(shardPath);
+                if (shardPath.endsWith(".zip")) {
+                    this.zipInputStream = new ZipInputStream(inputStream);
+                } else {
+                    this.zipInputStream = null;
+                    final var stream = TraceReaderAbstract.skip(inputStream, startPosition.restartOffset());
+                    lineReader = newLineReader(
+                        shardPath.endsWith(".gz") ?
+                            TraceReaderAbstract.skip(new GZIPInputStream(stream), startPosition.skipBytes()) :
+                            stream);
+                }
+            } catch (IOException | RuntimeException e) {
+                inputStream.close();
+                throw e;
+            }
+        }
+
+        private static BufferedReader newLineReader(final InputStream inputStream) {
+            return new BufferedReader(new InputStreamReader(inputStream));
+        }
+
+        /**
+         * Reads the next line that is neither a comment nor blank, parsing its timestamp.
+         * @return true if a line was read, false if there are no more lines in the shard
+         * @throws UncheckedIOException if the there was any error reading the shard
+         */
+        private boolean advance() {
+            try {
+                while (true) {
+                    final String next = lineReader == null ? null : lineReader.readLine();
+                    if (next == null) {
+                        //The line reader must not be closed, since the zip stream may have other entries to read
+                        if (zipInputStream != null && zipInputStream.getNextEntry() != null) {
+                            lineReader = newLineReader(zipInputStream);
+                            continue;
+                        }
+
+                        line = null;
+                        close();
+                        return false;
+                    }
+
+                    if (!reader.isComment(next) && !tokenizer.tokenize(next).isEmpty()) {
+                        line = next;
+                        timestamp = timestampFunction.applyAsDouble(tokenizer);
+                        return true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading trace shard " + shardPath, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (zipInputStream == null) {
+                inputStream.close();
+            } else zipInputStream.close();
+        }
+    }
+
+    private final TraceReaderAbstract reader;
+
+    private final int threads;
+
+    /** @see TraceReaderAbstract#readShards(List, int, ToDoubleFunction, java.util.function.Function) */
+    private final ToDoubleFunction<TraceLineTokenizer> timestampFunction;
+
+    /**
+     * Creates a shards reader.
+     * @param reader the trace reader which defines the format of the shards
+     * @param threads the maximum number of shards to open at the same time
+     * @param timestampFunction a function that gets the timestamp of a line
+     */
+    TraceShardsReader(final TraceReaderAbstract reader, final int threads, final ToDoubleFunction<TraceLineTokenizer> timestampFunction) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be greater than 0.");
+        }
+
+        this.reader = Objects.requireNonNull(reader);
+        this.threads = threads;
+        this.timestampFunction = Objects.requireNonNull(timestampFunction);
+    }
+
+    /**
+     * Opens all the shards concurrently, reading the first line of each one.
+     * The remaining lines are read as they are requested from the returned object.
+     * @param shardPaths the path of each shard in one of the following formats: <i>ASCII text, zip, gz.</i>
+     *                   The first shard is read from the {@link TraceReaderAbstract#getInputStream() reader's input stream}.
+     * @return the lines from all shards in ascending order of timestamp, which must be closed after use
+     * @throws UncheckedIOException if the there was any error opening some shard
+     */
+    MergedLines read(final List<String> shardPaths) {
+        final var shards = new ShardLines[shardPaths.size()];
+        final var pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() ->
+                IntStream.range(0, shards.length).parallel().forEach(i -> shards[i] = openShard(shardPaths.get(i), i))
+            ).get();
+            return new MergedLines(shards);
+        } catch (InterruptedException e) {
+            closeAll(Arrays.asList(shards));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            closeAll(Arrays.asList(shards));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ShardLines openShard(final String shardPath, final int shardIndex) {
+        final ShardLines shard;
+        try {
+            shard = new ShardLines(shardPath, shardIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading trace shard " + shardPath, e);
+        }
+
+        shard.advance();
+        return shard;
+    }
+
+    /**
+     * Closes the given shards, ignoring the ones not opened (which are null).
+     * @throws UncheckedIOException if the there was any error closing some shard
+     */
+    private static void closeAll(final Collection<ShardLines> shards) {
+        IOException error = null;
+        for (final ShardLines shard : shards) {
+            try {
+                if (shard != null) {
+                    shard.close();
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        if (error != null) {
+            throw new UncheckedIOException("Error closing trace shards", error);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A time index for a trace file whose lines are in ascending order of timestamp,
+ * which enables the trace to be read from a given time,
+ * instead of reading and discarding all the lines before it.
+ * The index is built by a one-time pass over the trace
+ * and is stored in a sidecar file, along with the trace file,
+ * whose name is the trace file name followed by {@link #EXTENSION}.
+ *
+ * <p>Every some lines, the index stores the timestamp of the line and the {@link Position}
+ * where such a line is. For ASCII text files, that is the offset of the line.
+ * For gzip files, that is the start of the gzip member containing the line (a restart point,
+ * where decompression can start from) and how many decompressed bytes to skip up to the line.
+ * Usual gzip files have a single member, so that the file has to be decompressed
+ * from the start, but lines are just skipped, instead of parsed.
+ * Files with multiple members (such as the ones compressed by {@code bgzip}
+ * or by concatenating gzip files) are decompressed just from the member containing the line.
+ * Zip files are not indexed.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ * @see TraceReaderAbstract#buildTimeIndex(ToDoubleFunction, int)
+ */
+public final class TraceTimeIndex {
+    /** The extension appended to the name of a trace file to get the name of its index file. */
+    public static final String EXTENSION = ".tidx";
+
+    /** The number which identifies a time index file ("CSPI" in ASCII). */
+    public static final int MAGIC = 0x43535049;
+
+    /** The current version of the index file format. */
+    public static final short VERSION = 1;
+
+    /** The default number of lines between two entries in the index. */
+    public static final int DEF_LINES_PER_ENTRY = 10_000;
+
+    /**
+     * A position to start reading a trace file from.
+     *
+     * @param timestamp the timestamp of the line at this position
+     * @param restartOffset the offset in the file where reading restarts:
+     *                      the start of the line in a text file or
+     *                      the start of the gzip member containing the line in a gzip file
+     * @param skipBytes the number of decompressed bytes to skip after the restart offset to get to the line
+     *                  (always 0 for text files)
+     */
+    public record Position(double timestamp, long restartOffset, long skipBytes) {
+        /** The start of a trace file. */
+        public static final Position START = new Position(Double.NEGATIVE_INFINITY, 0, 0);
+    }
+
+    /** The size of the indexed trace file, used to check if the index is outdated. */
+    @Getter
+    private final long traceFileSize;
+
+    /** The index entries, in ascending order of timestamp. */
+    private final Position[] entries;
+
+    private TraceTimeIndex(final long traceFileSize, final Position[] entries) {
+        this.traceFileSize = traceFileSize;
+        this.entries = entries;
+    }
+
+    /**
+     * {@return the path of the index file} for a given trace file.
+     * @param traceFilePath the path of the trace file
+     */
+    public static Path getIndexPath(@NonNull final String traceFilePath) {
+        return Paths.get(traceFilePath + EXTENSION);
+    }
+
+    /**
+     * Builds the index for a trace file.
+     *
+     * @param traceFile the path of the trace file (<i>ASCII text or gz</i>)
+     * @param tokenizer the tokenizer to split lines into fields
+     * @param commentPredicate a predicate which checks if a line is a comment
+     * @param timestampFunction a function that receives a record with the fields of a line and returns its timestamp
+     * @param linesPerEntry the number of lines between two entries in the index
+     * @return the built index
+     * @throws IOException when the trace file cannot be read
+     * @throws IllegalArgumentException when the lines are not in ascending order of timestamp
+     */
+    /* default */ static TraceTimeIndex build(
+        final Path traceFile, final TraceLineTokenizer tokenizer, final Predicate<String> commentPredicate,
+        final ToDoubleFunction<TraceRecord> timestampFunction, final int linesPerEntry) throws IOException
+    {
+        if (linesPerEntry <= 0) {
+            throw new IllegalArgumentException("The number of lines per index entry must be greater than 0.");
+        }
+
+        final String fileName = traceFile.toString();
+        if (fileName.endsWith(".zip") || fileName.endsWith(ColumnarTraceFile.EXTENSION)) {
+            throw new IllegalArgumentException("Only ASCII text and gz files can be indexed: " + traceFile);
+        }
+
+        final long traceFileSize = Files.size(traceFile);
+        final var entries = new ArrayList<Position>();
+        try (var fileStream = new BufferedInputStream(Files.newInputStream(traceFile))) {
+            final var gzipStream = fileName.endsWith(".gz") ? new GzipMembersInputStream(fileStream) : null;
+            final var scanner = new LineScanner(gzipStream == null ? fileStream : gzipStream, gzipStream);
+            double lastTimestamp = Double.NEGATIVE_INFINITY;
+            long lines = 0;
+            String line;
+            while ((line = scanner.nextLine()) != null) {
+                if (commentPredicate.test(line) || tokenizer.tokenize(line).isEmpty()) {
+                    continue;
+                }
+
+                final double timestamp = timestampFunction.applyAsDouble(tokenizer);
+                if (timestamp < lastTimestamp) {
+                    throw new IllegalArgumentException(
+                        "Lines of trace %s must be in ascending order of timestamp to be indexed: %s".formatted(traceFile, line));
+                }
+
+                if (lines++ % linesPerEntry == 0) {
+                    entries.add(new Position(timestamp, scanner.getLineRestartOffset(), scanner.getLineSkipBytes()));
+                }
+
+                lastTimestamp = timestamp;
+            }
+        }
+
+        return new TraceTimeIndex(traceFileSize, entries.toArray(Position[]::new));
+    }
+
+    /**
+     * Loads an index file.
+     * @param indexFile the path of the index file
+     * @return the loaded index
+     * @throws IOException when the file cannot be read or is not a valid index file
+     */
+    public static TraceTimeIndex load(@NonNull final Path indexFile) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a trace time index file: " + indexFile);
+            }
+
+            final short version = input.readShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported trace time index version %d (expected %d): %s".formatted(version, VERSION, indexFile));
+            }
+
+            final long traceFileSize = input.readLong();
+            final var entries = new Position[input.readInt()];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = new Position(input.readDouble(), input.readLong(), input.readLong());
+            }
+
+            return new TraceTimeIndex(traceFileSize, entries);
+        }
+    }
+
+    /**
+     * Saves the index into a file.
+     * @param indexFile the path of the index file
+     * @throws IOException when the file cannot be written
+     */
+    public void save(@NonNull final Path indexFile) throws IOException {
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeLong(traceFileSize);
+            output.writeInt(entries.length);
+            for (final Position entry : entries) {
+                output.writeDouble(entry.timestamp());
+                output.writeLong(entry.restartOffset());
+                output.writeLong(entry.skipBytes());
+            }
+        }
+    }
+
+    /**
+     * Finds the position to start reading the trace from, so that the first line
+     * with a timestamp equal to or greater than a given one is not skipped.
+     * Some lines before such a timestamp may be read from that position,
+     * since just some lines are indexed.
+     *
+     * @param timestamp the timestamp to start reading the trace from
+     * @return the position of the last indexed line whose timestamp is lower than the given one
+     *         or {@link Position#START} if there is no such a line
+     */
+    public Position find(final double timestamp) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (entries[mid].timestamp() < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low == 0 ? Position.START : entries[low - 1];
+    }
+
+    /**
+     * {@return a read-only list of index entries}, in ascending order of timestamp.
+     */
+    public List<Position> getEntries() {
+        return List.of(entries);
+    }
+
+    /**
+     * Reads lines from a (decompressed) stream, tracking the position where each line starts.
+     */
+    private static final class LineScanner {
+        private final InputStream inputStream;
+
+        /** The stream decompressing a gzip file, or null for text files. */
+        private final GzipMembersInputStream gzipStream;
+
+        private final byte[] buffer = new byte[64 * 1024];
+        private int bufferStart;
+        private int bufferEnd;
+
+        /** The position in the (decompressed) stream of the {@link #buffer}'s first byte. */
+        private long bufferOffset;
+
+        /** @see #getLineRestartOffset() */
+        private long bufferRestartOffset;
+
+        /** The number of decompressed bytes before the restart offset of the {@link #buffer} data. */
+        private long bufferRestartUncompressedOffset;
+
+        private byte[] line = new byte[256];
+
+        private long lineRestartOffset;
+        private long lineSkipBytes;
+
+        private LineScanner(final InputStream inputStream, final GzipMembersInputStream gzipStream) {
+            this.inputStream = Objects.requireNonNull(inputStream);
+            this.gzipStream = gzipStream;
+        }
+
+        /**
+         * Reads the next line.
+         * @return the line (without line terminators) or null if there are no more lines
+         */
+        private String nextLine() throws IOException {
+            int size = 0;
+            boolean started = false;
+            while (true) {
+                if (bufferStart == bufferEnd && !fill()) {
+                    return started ? newLine(size) : null;
+                }
+
+                if (!started) {
+                    started = true;
+                    final long lineOffset = bufferOffset + bufferStart;
+                    lineRestartOffset = gzipStream == null ? lineOffset : bufferRestartOffset;
+                    lineSkipBytes = gzipStream == null ? 0 : lineOffset - bufferRestartUncompressedOffset;
+                }
+
+                final byte value = buffer[bufferStart++];
+                if (value == '\n') {
+                    return newLine(size);
+                }
+
+                if (size == line.length) {
+                    line = Arrays.copyOf(line, size * 2);
+                }
+
+                line[size++] = value;
+            }
+        }
+
+        private String newLine(final int size) {
+            final int end = size > 0 && line[size - 1] == '\r' ? size - 1 : size;
+            return new String(line, 0, end, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads bytes into the {@link #buffer}. Since each read of a gzip file returns bytes from a single member,
+         * all bytes in the buffer have the same restart point.
+         * @return true if bytes were read, false if the end of the stream was reached
+         */
+        private boolean fill() throws IOException {
+            bufferOffset += bufferEnd;
+            bufferStart = 0;
+            bufferEnd = Math.max(inputStream.read(buffer), 0);
+            if (gzipStream != null) {
+                bufferRestartOffset = gzipStream.getMemberCompressedOffset();
+                bufferRestartUncompressedOffset = gzipStream.getMemberUncompressedOffset();
+            }
+
+            return bufferEnd > 0;
+        }
+
+        private long getLineRestartOffset() {
+            return lineRestartOffset;
+        }
+
+        private long getLineSkipBytes() {
+            return lineSkipBytes;
+        }
+    }
+}
@@ -131,4 +131,18 @@ public interface UtilizationModel {
      * @param allow true to allow requesting more than 100% of a resource, false to disallow that
      */
     UtilizationModel setOverCapacityRequestAllowed(boolean allow);
+
+    /**
+     * Checks if the resource utilization returned by this model
+     * doesn't change along the simulation time.
+     * Components such as the {@link org.cloudsimplus.schedulers.cloudlet.CloudletScheduler}
+     * may use that to avoid recomputing the resource usage of Cloudlets
+     * when nothing else changed.
+     *
+     * @return true if the utilization is the same for any simulation time, false otherwise
+     *         (or if that cannot be ensured)
+     */
+    default boolean isTimeInvariant() {
+        return false;
+    }
 }
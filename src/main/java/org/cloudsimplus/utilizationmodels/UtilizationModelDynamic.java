@@ -46,6 +46,12 @@ import java.util.function.Function;
  * @since CloudSim Plus 1.0
  */
 public class UtilizationModelDynamic extends UtilizationModelAbstract {
+    /**
+     * The default {@link #utilizationUpdateFunction} that just keeps the current utilization.
+     */
+    private static final Function<UtilizationModelDynamic, Double> CURRENT_UTILIZATION_FUNCTION =
+        modelInstance -> modelInstance.currentUtilization;
+
     /**
      * Indicates whether the utilization model is readonly.
      * It's set to true when using the
@@ -200,7 +206,7 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
         this.currentUtilizationTime = 0;
         this.setCurrentUtilization(initialUtilization);
 
-        utilizationUpdateFunction = modelInstance -> modelInstance.currentUtilization;
+        utilizationUpdateFunction = CURRENT_UTILIZATION_FUNCTION;
     }
 
     /**
@@ -221,7 +227,7 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
          * that will cause an infinite loop, since the {@link #getUtilization(double)} will call
          * the given function to increase the current utilization and return the current value.
          */
-        this.utilizationUpdateFunction = modelInstance -> modelInstance.currentUtilization;
+        this.utilizationUpdateFunction = CURRENT_UTILIZATION_FUNCTION;
         this.readOnly = true;
     }
 
@@ -277,6 +283,16 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
         return currentUtilization;
     }
 
+    /**
+     * {@inheritDoc}
+     * @return true if no {@link #setUtilizationUpdateFunction(Function) update function} was set,
+     *         since the utilization is kept unchanged; false otherwise
+     */
+    @Override
+    public boolean isTimeInvariant() {
+        return utilizationUpdateFunction == CURRENT_UTILIZATION_FUNCTION;
+    }
+
     /**
      * {@return the time difference} from the current simulation time to the
      * last time the resource utilization was updated.
@@ -30,4 +30,13 @@ public class UtilizationModelFull extends UtilizationModelAbstract {
     protected final double getUtilizationInternal(final double time) {
         return HUNDRED_PERCENT;
     }
+
+    /**
+     * {@inheritDoc}
+     * @return always true, since the utilization is always 100%
+     */
+    @Override
+    public boolean isTimeInvariant() {
+        return true;
+    }
 }
@@ -48,4 +48,5 @@ final class UtilizationModelNull implements UtilizationModel {
     }
     @Override public boolean isOverCapacityRequestAllowed() { return false; }
     @Override public UtilizationModel setOverCapacityRequestAllowed(boolean allow) {return this;}
+    @Override public boolean isTimeInvariant() { return true; }
 }
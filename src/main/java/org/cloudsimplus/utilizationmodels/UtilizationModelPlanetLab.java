@@ -10,13 +10,16 @@ package org.cloudsimplus.utilizationmodels;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import org.cloudsimplus.util.ColumnarTraceFile;
 import org.cloudsimplus.util.MathUtil;
 import org.cloudsimplus.util.ResourceLoader;
+import org.cloudsimplus.util.TraceLineTokenizer;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Objects;
 import java.util.function.UnaryOperator;
 
@@ -36,6 +39,11 @@ import java.util.function.UnaryOperator;
  * to get some trace files.
  * The <a href="https://github.com/cloudsimplus/cloudsimplus-examples">CloudSim Plus Examples</a>
  * repository also provides some of these files.
+ *
+ * <p>Trace files converted by {@link org.cloudsimplus.util.ColumnarTraceConverter#convertPlanetLab(java.nio.file.Path, java.nio.file.Path)}
+ * (whose name ends with {@link ColumnarTraceFile#EXTENSION}) are memory-mapped instead of parsed.
+ * Since comment lines are not converted, the number of data samples a text file may define
+ * in its first line is lost. When the number of samples isn't given, {@link #DEF_DATA_SAMPLES} are read.</p>
  */
 public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     /**
@@ -137,7 +145,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getSchedulingInterval()
      */
     public static UtilizationModelPlanetLab getInstance(final String workloadFilePath, final double schedulingInterval) {
-        return new UtilizationModelPlanetLab(newReader(workloadFilePath), schedulingInterval, -1);
+        return new UtilizationModelPlanetLab(workloadFilePath, schedulingInterval, -1);
     }
 
     /**
@@ -166,7 +174,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public static UtilizationModelPlanetLab getInstance(final String workloadFilePath, final UnaryOperator<Double> mapper) throws NumberFormatException {
-        return new UtilizationModelPlanetLab(newReader(workloadFilePath), DEF_SCHEDULING_INTERVAL, -1, mapper);
+        return new UtilizationModelPlanetLab(workloadFilePath, DEF_SCHEDULING_INTERVAL, -1, mapper);
     }
 
     /**
@@ -212,15 +220,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     public UtilizationModelPlanetLab(final String workloadFilePath, final double schedulingInterval, final int dataSamples) throws NumberFormatException {
         /*The default mapper Function doesn't change the value read from the trace file.
          Therefore, the value is used as is.*/
-        this(newReader(workloadFilePath), schedulingInterval, dataSamples);
-    }
-
-    private UtilizationModelPlanetLab(
-        final InputStreamReader reader,
-        final double schedulingInterval,
-        final int dataSamples) throws NumberFormatException
-    {
-        this(reader, schedulingInterval, dataSamples, UnaryOperator.identity());
+        this(workloadFilePath, schedulingInterval, dataSamples, UnaryOperator.identity());
     }
 
     /**
@@ -249,7 +249,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public UtilizationModelPlanetLab(final String workloadFilePath, final UnaryOperator<Double> mapper) throws NumberFormatException {
-        this(newReader(workloadFilePath), DEF_SCHEDULING_INTERVAL, -1, mapper);
+        this(workloadFilePath, DEF_SCHEDULING_INTERVAL, -1, mapper);
     }
 
     /**
@@ -290,7 +290,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     }
 
     private UtilizationModelPlanetLab(
-        final InputStreamReader reader,
+        final String workloadFilePath,
         final double schedulingInterval,
         final int dataSamples,
         final UnaryOperator<Double> mapper) throws NumberFormatException
@@ -298,7 +298,9 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         super();
         setSchedulingInterval(schedulingInterval);
         this.mapper = Objects.requireNonNull(mapper);
-        utilization = readWorkloadFile(reader, dataSamples);
+        utilization = workloadFilePath.endsWith(ColumnarTraceFile.EXTENSION) ?
+                          readColumnarFile(workloadFilePath, dataSamples) :
+                          readWorkloadFile(newReader(workloadFilePath), dataSamples);
     }
 
     private static InputStreamReader newReader(final String workloadFilePath) {
@@ -331,6 +333,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         double[] utilization = {0};
 
         try (var buffer = new BufferedReader(reader)) {
+            final var tokenizer = new TraceLineTokenizer("\\s+");
             int lineNum = 0;
             String line;
             while((line=buffer.readLine())!=null && lineNum < utilization.length){
@@ -339,8 +342,8 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
                     utilization = createEmptyArray(dataSamples);
                 }
 
-                if(!isComment(line)) {
-                    utilization[lineNum++] = mapper.apply(Double.parseDouble(line) / 100.0);
+                if(!isComment(line) && !tokenizer.tokenize(line).isEmpty()) {
+                    utilization[lineNum++] = mapper.apply(tokenizer.parseDouble(0) / 100.0);
                 }
             }
         }
@@ -348,6 +351,34 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         return utilization;
     }
 
+    /**
+     * Reads a PlanetLab workload file converted into a {@link ColumnarTraceFile columnar trace file},
+     * which must be in the file system (instead of inside the application's resource directory),
+     * since it's memory-mapped.
+     *
+     * @param workloadFilePath the path of the columnar file
+     * @param dataSamples number of samples to read from the workload file.
+     *                    If -1 is given, it will be tried to read just {@link #DEF_DATA_SAMPLES} lines,
+     *                    as done for text files without the number of lines in their first line.
+     * @return an array containing the utilization values read from the trace file (in scale from 0 to 1)
+     * @throws UncheckedIOException when the trace file cannot be read
+     */
+    private double[] readColumnarFile(final String workloadFilePath, final int dataSamples) {
+        final ColumnarTraceFile file;
+        try {
+            file = new ColumnarTraceFile(Paths.get(workloadFilePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final double[] utilization = createEmptyArray(dataSamplesOrDefault(dataSamples, DEF_DATA_SAMPLES));
+        for (int i = 0; i < utilization.length && i < file.getRows(); i++) {
+            utilization[i] = mapper.apply(file.read(i).parseDouble(0) / 100.0);
+        }
+
+        return utilization;
+    }
+
     /**
      * Try to get the number of lines from the trace file (data samples).
      * @param line the first line read from the trace
@@ -361,12 +392,18 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      *         and the file doesn't contain the number of lines in the first line;
      *         the number of lines read from the file
      */
-    private int parseDataSamples(final String line, int dataSamples) {
-        if(dataSamples < 0){
-            dataSamples = isComment(line) ? MathUtil.parseInt(line.substring(1), DEF_DATA_SAMPLES) : DEF_DATA_SAMPLES;
-        }
+    private int parseDataSamples(final String line, final int dataSamples) {
+        final int defaultSamples = isComment(line) ? MathUtil.parseInt(line.substring(1), DEF_DATA_SAMPLES) : DEF_DATA_SAMPLES;
+        return dataSamplesOrDefault(dataSamples, defaultSamples);
+    }
 
-        return Math.max(2, dataSamples);
+    /**
+     * {@return the number of data samples to read from a trace file} (at least 2).
+     * @param dataSamples The number of lines to read or a negative value to read the default number of lines
+     * @param defaultSamples the default number of lines to read
+     */
+    private static int dataSamplesOrDefault(final int dataSamples, final int defaultSamples) {
+        return Math.max(2, dataSamples < 0 ? defaultSamples : dataSamples);
     }
 
     /**
@@ -6,6 +6,7 @@
  */
 package org.cloudsimplus.vms;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -28,6 +29,7 @@ import org.cloudsimplus.schedulers.MipsShare;
 import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerTimeShared;
 import org.cloudsimplus.util.MathUtil;
+import org.cloudsimplus.util.TimeVersionedCache;
 
 import java.util.*;
 
@@ -108,6 +110,18 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
     private VmResourceStats cpuUtilizationStats;
 
+    /**
+     * The CPU utilization computed for the last requested time,
+     * which is computed again when the time or the {@link CloudletScheduler#getStateVersion() scheduler state} changes.
+     * @see #getCpuPercentUtilization(double)
+     */
+    @Getter(AccessLevel.NONE)
+    private final TimeVersionedCache cpuUtilizationCache = new TimeVersionedCache();
+
+    /** @see #cpuUtilizationCache */
+    @Getter(AccessLevel.NONE)
+    private final TimeVersionedCache cpuRequestedCache = new TimeVersionedCache();
+
     /** @see #getStateHistory() */
     private final List<VmStateHistoryEntry> stateHistory;
 
@@ -360,7 +374,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
     @Override
     public double getCpuPercentUtilization(final double time) {
-        return cloudletScheduler.getAllocatedCpuPercent(time);
+        return cpuUtilizationCache.get(time, cloudletScheduler.getStateVersion(), () -> cloudletScheduler.getAllocatedCpuPercent(time));
     }
 
     @Override
@@ -370,7 +384,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
     @Override
     public double getCpuPercentRequested(final double time) {
-        return cloudletScheduler.getRequestedCpuPercent(time);
+        return cpuRequestedCache.get(time, cloudletScheduler.getStateVersion(), () -> cloudletScheduler.getRequestedCpuPercent(time));
     }
 
     @Override
@@ -578,9 +592,15 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
         this.cloudletScheduler = cloudletScheduler;
         this.cloudletScheduler.setVm(this);
+        invalidateCpuUtilizationCache();
         return this;
     }
 
+    private void invalidateCpuUtilizationCache() {
+        cpuUtilizationCache.invalidate();
+        cpuRequestedCache.invalidate();
+    }
+
     /**
      * Notifies the listeners when the VM starts migration to a target Host.
      * @param targetHost the Host the VM is migrating to
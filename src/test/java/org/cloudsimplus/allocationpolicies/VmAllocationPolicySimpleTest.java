@@ -11,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,4 +83,16 @@ public class VmAllocationPolicySimpleTest {
         final Vm vm = VmTestUtil.createVm(0, 1000, 10);
         assertFalse(policy.allocateHostForVm(vm).fully());
     }
+
+    @Test
+    public void allocateHostForVmWhenParallelSearchIsEnabledAllocateFirstHostAmongTies() {
+        final int[] freePesByHost = new int[1000];
+        Arrays.fill(freePesByHost, 4);
+        policy = createVmAllocationPolicy(freePesByHost);
+        policy.setHostCountForParallelSearch(1);
+
+        final Vm vm = VmTestUtil.createVm(0, 1000, 2);
+        assertTrue(policy.allocateHostForVm(vm).fully());
+        assertEquals(policy.getDatacenter().getHostList().get(0), vm.getHost());
+    }
 }
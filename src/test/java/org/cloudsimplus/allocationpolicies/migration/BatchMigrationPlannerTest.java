@@ -0,0 +1,134 @@
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class BatchMigrationPlannerTest {
+    /** The maximum MIPS each Host may use, which is 90% of its 4 PEs with 1000 MIPS each. */
+    private static final double MIPS_LIMIT = 3600;
+
+    private Host overloadedHost;
+    private Host targetHost;
+    private Host underloadedHost;
+    private Host otherUnderloadedHost;
+
+    @BeforeEach
+    void setUp() {
+        overloadedHost = createHost(0);
+        targetHost = createHost(1);
+        underloadedHost = createHost(2);
+        otherUnderloadedHost = createHost(3);
+    }
+
+    private static Host createHost(final int id) {
+        return HostSimpleTest.createHostSimple(id, 4, 1000, 100_000, 100_000, 1_000_000);
+    }
+
+    private BatchMigrationPlanner createPlanner(final int maxLocalSearchSteps) {
+        final var planner = new BatchMigrationPlanner(maxLocalSearchSteps);
+        planner.addHost(overloadedHost, MIPS_LIMIT, 3000, false, false);
+        planner.addHost(targetHost, MIPS_LIMIT, 2000, true, true);
+        planner.addHost(underloadedHost, MIPS_LIMIT, 500, true, false);
+        planner.addHost(otherUnderloadedHost, MIPS_LIMIT, 500, true, false);
+        return planner;
+    }
+
+    private static Vm createVm(final int id, final double mips) {
+        return createVm(id, mips, 1);
+    }
+
+    /**
+     * Creates a VM requesting all its MIPS capacity, without having to run Cloudlets on it.
+     */
+    private static Vm createVm(final int id, final double requestedMips, final long pes) {
+        return new VmSimple(id, requestedMips / pes, pes) {
+            @Override
+            public double getTotalCpuMipsRequested() {
+                return requestedMips;
+            }
+        };
+    }
+
+    @Test
+    void testVmsFittingBackIntoOverloadedHostAreNotMigrated() {
+        final Vm smallVm = createVm(0, 500);
+        final Vm bigVm = createVm(1, 1000);
+        final var planner = createPlanner(0);
+        planner.planFromOverloadedHosts(new LinkedHashMap<>(Map.of(smallVm, overloadedHost, bigVm, overloadedHost)));
+
+        assertEquals(Map.of(bigVm, targetHost), planner.getMigrationMap());
+    }
+
+    @Test
+    void testUnderloadedHostIsNotDrainedWhenNotAllVmsFit() {
+        final var planner = createPlanner(0);
+        final Vm fittingVm = createVm(0, 1000);
+        final Vm notFittingVm = createVm(1, 1500);
+
+        assertFalse(planner.planFromUnderloadedHost(underloadedHost, List.of(fittingVm, notFittingVm)));
+        assertTrue(planner.getMigrationMap().isEmpty());
+        assertTrue(planner.planFromUnderloadedHost(underloadedHost, List.of(fittingVm)));
+        assertEquals(Map.of(fittingVm, targetHost), planner.getMigrationMap());
+    }
+
+    /**
+     * A VM from an overloaded Host is placed into the only Host that can receive
+     * VMs from underloaded Hosts. The local search relocates it,
+     * so that an underloaded Host can be drained.
+     */
+    @Test
+    void testLocalSearchMakesRoomToDrainUnderloadedHost() {
+        final Vm vmFromOverloadedHost = createVm(0, 1200);
+        final Vm vmFromUnderloadedHost = createVm(1, 1500);
+
+        final var planner = createPlanner(100);
+        planner.planFromOverloadedHosts(Map.of(vmFromOverloadedHost, overloadedHost));
+        assertTrue(planner.planFromUnderloadedHost(underloadedHost, List.of(vmFromUnderloadedHost)));
+        assertEquals(
+            Map.of(vmFromOverloadedHost, otherUnderloadedHost, vmFromUnderloadedHost, targetHost),
+            planner.getMigrationMap());
+    }
+
+    @Test
+    void testUnderloadedHostIsNotDrainedWithoutLocalSearch() {
+        final Vm vmFromOverloadedHost = createVm(0, 1200);
+        final var planner = createPlanner(0);
+        planner.planFromOverloadedHosts(Map.of(vmFromOverloadedHost, overloadedHost));
+
+        assertFalse(planner.planFromUnderloadedHost(underloadedHost, List.of(createVm(1, 1500))));
+        assertEquals(Map.of(vmFromOverloadedHost, targetHost), planner.getMigrationMap());
+    }
+
+    /**
+     * The VMs fit into the target Host by MIPS and RAM, but not by PEs,
+     * since both together require more PEs than the Host has.
+     */
+    @Test
+    void testVmsExceedingHostFreePesArePlacedIntoDifferentHosts() {
+        final Vm vm0 = createVm(0, 700, 3);
+        final Vm vm1 = createVm(1, 700, 3);
+        final var vmsBySourceHost = new LinkedHashMap<Vm, Host>();
+        vmsBySourceHost.put(vm0, overloadedHost);
+        vmsBySourceHost.put(vm1, overloadedHost);
+        final var planner = createPlanner(0);
+        planner.planFromOverloadedHosts(vmsBySourceHost);
+
+        final Map<Vm, Host> migrationMap = planner.getMigrationMap();
+        assertEquals(2, migrationMap.size());
+        assertEquals(targetHost, migrationMap.get(vm0));
+        assertEquals(underloadedHost, migrationMap.get(vm1));
+    }
+}
@@ -0,0 +1,63 @@
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFitTest {
+    private static final double SAFETY_PARAMETER = 2;
+    private static final int SIMULATION_TIME = 20;
+
+    private CloudSimPlus simulation;
+    private Host host;
+    private VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit policy;
+
+    @BeforeEach
+    void setUp() {
+        simulation = new CloudSimPlus();
+        host = HostSimpleTest.createHostSimple(0, 4, 1000, 100_000, 100_000, 1_000_000);
+        policy = new VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit(
+            new VmSelectionPolicyMinimumUtilization(), SAFETY_PARAMETER, VmAllocationPolicyMigration.NULL) {};
+        new DatacenterSimple(simulation, List.of(host), policy).setSchedulingInterval(1);
+    }
+
+    @Test
+    void testHostsAreSampledOncePerTick() {
+        assertTrue(policy.getUtilizationWindow(host).isEmpty());
+
+        policy.getOptimizedAllocationMap(List.of());
+        policy.getOptimizedAllocationMap(List.of());
+        assertEquals(1, policy.getUtilizationWindow(host).size());
+    }
+
+    @Test
+    void testThresholdIsComputedFromUtilizationWindow() {
+        assertEquals(Double.MAX_VALUE, policy.getOverUtilizationThreshold(host));
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, 2));
+        broker.submitCloudlet(new CloudletSimple(1000 * SIMULATION_TIME * 2, 1).setUtilizationModelCpu(new UtilizationModelFull()));
+        simulation.terminateAt(SIMULATION_TIME);
+        simulation.start();
+
+        final var window = policy.getUtilizationWindow(host);
+        assertTrue(window.size() >= VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit.MIN_UTILIZATION_SAMPLES);
+        assertTrue(window.size() <= simulation.clock() + 1);
+        assertEquals(1 - SAFETY_PARAMETER * window.getMad(), policy.getOverUtilizationThreshold(host));
+    }
+}
@@ -0,0 +1,97 @@
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.power.models.PowerModelHostSimple;
+import org.cloudsimplus.provisioners.ResourceProvisionerSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that migration policies select the same Host for a VM
+ * whether candidate Hosts are evaluated sequentially or in parallel.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+class VmAllocationPolicyMigrationParallelSearchTest {
+    private static final int HOSTS = 256;
+    private static final int HOST_PES = 4;
+    private static final double HOST_MIPS = 1000;
+
+    /**
+     * Creates Hosts with a few distinct CPU utilization values and power models,
+     * so that there are many ties among the best Hosts.
+     */
+    private static Host createHost(final int id) {
+        final double mipsUtilization = (id * 7 % 5) * HOST_MIPS / 2;
+        final var host = new HostSimple(100_000, 100_000, 1_000_000, createPes()) {
+            @Override
+            public double getCpuMipsUtilization() {
+                return mipsUtilization;
+            }
+        };
+
+        host.setRamProvisioner(new ResourceProvisionerSimple())
+            .setBwProvisioner(new ResourceProvisionerSimple())
+            .setVmScheduler(new VmSchedulerTimeShared())
+            .setId(id);
+        host.setPowerModel(new PowerModelHostSimple(100 + (id + 1) % 3 * 50, 50));
+        return host;
+    }
+
+    private static List<Pe> createPes() {
+        return IntStream.range(0, HOST_PES).mapToObj(i -> (Pe) new PeSimple(HOST_MIPS)).toList();
+    }
+
+    private static Optional<Host> findHostForVm(final VmAllocationPolicyMigration policy, final int hostCountForParallelSearch) {
+        final List<Host> hosts = IntStream.range(0, HOSTS).mapToObj(VmAllocationPolicyMigrationParallelSearchTest::createHost).toList();
+        new DatacenterSimple(new CloudSimPlus(), hosts, policy);
+        policy.setHostCountForParallelSearch(hostCountForParallelSearch);
+        assertEquals(hostCountForParallelSearch <= HOSTS, policy.isParallelHostSearchEnabled());
+
+        final Vm vm = VmTestUtil.createVm(0, HOST_MIPS, 1);
+        return policy.findHostForVm(vm);
+    }
+
+    private static void assertParallelSearchSelectsTheSameHost(final Supplier<VmAllocationPolicyMigration> policySupplier) {
+        final Optional<Host> expected = findHostForVm(policySupplier.get(), Integer.MAX_VALUE);
+        assertTrue(expected.isPresent());
+        for (int i = 0; i < 10; i++) {
+            final Optional<Host> actual = findHostForVm(policySupplier.get(), 1);
+            assertEquals(expected.map(Host::getId), actual.map(Host::getId));
+        }
+    }
+
+    @Test
+    void testStaticThresholdPolicySelectsTheSameHostInParallel() {
+        assertParallelSearchSelectsTheSameHost(
+            () -> new VmAllocationPolicyMigrationStaticThreshold(new VmSelectionPolicyMinimumUtilization()));
+    }
+
+    @Test
+    void testBestFitPolicySelectsTheSameHostInParallel() {
+        assertParallelSearchSelectsTheSameHost(
+            () -> new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization()));
+    }
+
+    @Test
+    void testWorstFitPolicySelectsTheSameHostInParallel() {
+        assertParallelSearchSelectsTheSameHost(
+            () -> new VmAllocationPolicyMigrationWorstFitStaticThreshold(
+                new VmSelectionPolicyMinimumUtilization(), VmAllocationPolicyMigrationStaticThreshold.DEF_OVER_UTILIZATION_THRESHOLD));
+    }
+}
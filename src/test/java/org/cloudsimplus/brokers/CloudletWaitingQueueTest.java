@@ -0,0 +1,81 @@
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletWaitingQueueTest {
+    private Vm vm;
+    private Cloudlet unbound;
+    private Cloudlet bound;
+    private CloudletWaitingQueue instance;
+
+    @BeforeEach
+    void setUp() {
+        vm = new VmSimple(0, 1000, 1);
+        unbound = new CloudletSimple(0, 1000, 1);
+        bound = new CloudletSimple(1, 1000, 1).setVm(vm);
+        instance = new CloudletWaitingQueue();
+        instance.addAll(List.of(unbound, bound));
+    }
+
+    private void parkBound() {
+        instance.getReadyList().remove(bound);
+        instance.park(bound);
+    }
+
+    @Test
+    void testParkedCloudletIsKeptAsWaitingButNotReady() {
+        parkBound();
+        assertEquals(List.of(unbound), instance.getReadyList());
+        assertEquals(List.of(unbound, bound), instance.toList());
+        assertEquals(2, instance.size());
+    }
+
+    @Test
+    void testReleaseMovesCloudletsWaitingForVmBackToReadyList() {
+        parkBound();
+        assertTrue(instance.release(vm));
+        assertEquals(List.of(unbound, bound), instance.getReadyList());
+        assertFalse(instance.release(vm));
+        assertEquals(2, instance.size());
+    }
+
+    @Test
+    void testUnparkMovesCloudletBackToReadyList() {
+        parkBound();
+        assertTrue(instance.unpark(bound));
+        assertFalse(instance.unpark(bound));
+        assertFalse(instance.release(vm));
+        assertEquals(List.of(unbound, bound), instance.getReadyList());
+    }
+
+    @Test
+    void testCloudletSetAsideIsKeptAsWaitingButNotReady() {
+        instance.getReadyList().remove(unbound);
+        instance.setAside(unbound);
+        assertEquals(List.of(bound), instance.getReadyList());
+        assertEquals(List.of(bound, unbound), instance.toList());
+        assertEquals(2, instance.size());
+    }
+
+    @Test
+    void testIsEmpty() {
+        parkBound();
+        instance.getReadyList().clear();
+        assertFalse(instance.isEmpty());
+        instance.release(vm);
+        instance.getReadyList().clear();
+        assertTrue(instance.isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class IdleVmQueueTest {
+    private Vm vm0;
+    private Vm vm1;
+    private Vm vm2;
+    private IdleVmQueue instance;
+
+    @BeforeEach
+    void setUp() {
+        vm0 = new VmSimple(0, 1000, 1);
+        vm1 = new VmSimple(1, 1000, 1);
+        vm2 = new VmSimple(2, 1000, 1);
+        instance = new IdleVmQueue();
+        instance.add(vm0, 30);
+        instance.add(vm1, 10);
+        instance.add(vm2, 20);
+    }
+
+    @Test
+    void testPollExpiredReturnsVmsInDeadlineOrder() {
+        assertEquals(List.of(), instance.pollExpired(5));
+        assertEquals(List.of(vm1, vm2), instance.pollExpired(20));
+        assertEquals(List.of(vm0), instance.pollExpired(100));
+        assertTrue(instance.isEmpty());
+    }
+
+    @Test
+    void testRemovedVmIsNotPolled() {
+        instance.remove(vm1);
+        assertEquals(List.of(vm2, vm0), instance.pollExpired(100));
+    }
+
+    @Test
+    void testAddingVmAgainUpdatesItsDeadline() {
+        instance.add(vm1, 40);
+        assertEquals(List.of(vm2, vm0), instance.pollExpired(30));
+        assertEquals(List.of(vm1), instance.pollExpired(40));
+    }
+}
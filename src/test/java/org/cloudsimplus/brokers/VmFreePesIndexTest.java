@@ -0,0 +1,66 @@
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmFreePesIndexTest {
+    private VmSimple vm4Pes;
+    private VmSimple vm2Pes;
+    private VmSimple otherVm2Pes;
+    private VmFreePesIndex instance;
+
+    @BeforeEach
+    void setUp() {
+        vm4Pes = createVm(0, 4);
+        vm2Pes = createVm(1, 2);
+        otherVm2Pes = createVm(2, 2);
+        instance = new VmFreePesIndex(List.of(vm4Pes, vm2Pes, otherVm2Pes));
+    }
+
+    private static VmSimple createVm(final long id, final long pes) {
+        final var vm = new VmSimple(id, 1000, pes);
+        vm.setCreated(true);
+        return vm;
+    }
+
+    @Test
+    void testBestFitSelectsFirstCreatedVmWithLowestSuitableFreePes() {
+        assertSame(vm2Pes, instance.bestFit(1));
+        assertSame(vm4Pes, instance.bestFit(3));
+        assertSame(Vm.NULL, instance.bestFit(5));
+    }
+
+    @Test
+    void testBestFitAfterExpectedFreePesChange() {
+        vm2Pes.removeExpectedFreePesNumber(1);
+        instance.update(vm2Pes);
+        assertSame(vm2Pes, instance.bestFit(1));
+        assertSame(otherVm2Pes, instance.bestFit(2));
+    }
+
+    @Test
+    void testBestFitSkipsDestroyedVm() {
+        vm2Pes.setCreated(false);
+        assertSame(otherVm2Pes, instance.bestFit(2));
+    }
+
+    @Test
+    void testFirstFitSkipsFullVmsAndWrapsAround() {
+        vm4Pes.removeExpectedFreePesNumber(4);
+        instance.update(vm4Pes);
+        assertSame(vm2Pes, instance.firstFit(1, 0));
+        assertSame(vm2Pes, instance.firstFit(1, 1));
+        assertSame(otherVm2Pes, instance.firstFit(2, 2));
+        assertSame(vm2Pes, instance.firstFit(2, 3));
+        assertSame(Vm.NULL, instance.firstFit(3, 0));
+    }
+}
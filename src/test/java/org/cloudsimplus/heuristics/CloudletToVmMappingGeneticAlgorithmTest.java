@@ -0,0 +1,56 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.distributions.UniformDistr;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletToVmMappingGeneticAlgorithmTest
+    extends CloudletToVmMappingHeuristicTestAbstract<CloudletToVmMappingGeneticAlgorithm>
+{
+    @Override
+    protected CloudletToVmMappingGeneticAlgorithm createHeuristic() {
+        final var heuristic = new CloudletToVmMappingGeneticAlgorithm(new UniformDistr(0, 1, 7));
+        heuristic.setPopulationSize(20).setMaxGenerations(100);
+        heuristic.setVmList(vmList).setCloudletList(cloudletList);
+        return heuristic;
+    }
+
+    @Override
+    protected List<Executable> invalidParameterSetters(final CloudletToVmMappingGeneticAlgorithm heuristic) {
+        return List.of(
+            () -> heuristic.setPopulationSize(1),
+            () -> heuristic.setMutationRate(1.1),
+            () -> heuristic.setMaxGenerations(0),
+            () -> heuristic.setMaxTime(0));
+    }
+
+    @Test
+    void testSolveEvolvesAllGenerationsToFindBetterSolution() {
+        final var heuristic = createHeuristic();
+        final var initialSolution = heuristic.getInitialSolution();
+        final var solution = heuristic.solve();
+        assertEquals(100, heuristic.getGeneration());
+        assertTrue(solution.getCost() < initialSolution.getCost());
+    }
+
+    @Test
+    void testSolveStopsWhenMaxTimeIsReached() {
+        final var heuristic = createHeuristic().setMaxGenerations(Integer.MAX_VALUE).setMaxTime(0.2);
+        heuristic.solve();
+        assertTrue(heuristic.getGeneration() < Integer.MAX_VALUE);
+        assertTrue(heuristic.getSolveTime() >= 0.2);
+    }
+
+    @Test
+    void testSolveWithoutCloudlets() {
+        final var heuristic = new CloudletToVmMappingGeneticAlgorithm(new UniformDistr());
+        assertTrue(heuristic.solve().getResult().isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletTestUtil;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Base class for tests of {@link CloudletToVmMappingHeuristic} implementations,
+ * providing the VMs and Cloudlets to map and the checks every heuristic must pass.
+ *
+ * @param <H> the class of the heuristic to test
+ * @author Manoel Campos da Silva Filho
+ */
+abstract class CloudletToVmMappingHeuristicTestAbstract<H extends CloudletToVmMappingHeuristic> {
+    protected List<Vm> vmList;
+    protected List<Cloudlet> cloudletList;
+
+    @BeforeEach
+    void setUp() {
+        vmList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            vmList.add(VmTestUtil.createVm(i, 1000, i % 4 + 1));
+        }
+
+        cloudletList = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            cloudletList.add(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1));
+        }
+    }
+
+    /**
+     * {@return a new heuristic using a fixed seed} to map the {@link #cloudletList} to the {@link #vmList}.
+     */
+    protected abstract H createHeuristic();
+
+    /**
+     * {@return calls to the heuristic constructors or setters with invalid values},
+     * which must throw an {@link IllegalArgumentException}.
+     * By default, it's an empty list, meaning the heuristic has no parameters to validate.
+     * @param heuristic a heuristic returned by {@link #createHeuristic()}
+     */
+    protected List<Executable> invalidParameterSetters(final H heuristic) {
+        return List.of();
+    }
+
+    @Test
+    void testSolveDoesNotChangeInitialSolution() {
+        final var heuristic = createHeuristic();
+        final var initialSolution = heuristic.getInitialSolution();
+        final Map<Cloudlet, Vm> initialMapping = Map.copyOf(initialSolution.getResult());
+        final double initialCost = initialSolution.getCost();
+
+        final var solution = heuristic.solve();
+        assertEquals(initialMapping, initialSolution.getResult());
+        assertEquals(initialCost, initialSolution.getCost(true));
+        assertEquals(solution.getCost(true), solution.getCost());
+        assertEquals(cloudletList.size(), solution.getResult().size());
+    }
+
+    @Test
+    void testSolveIsReproducible() {
+        final var solution1 = createHeuristic().solve();
+        final var solution2 = createHeuristic().solve();
+        assertEquals(solution1.getResult(), solution2.getResult());
+    }
+
+    @Test
+    void testInvalidParameters() {
+        for (final Executable setter : invalidParameterSetters(createHeuristic())) {
+            assertThrows(IllegalArgumentException.class, setter);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.distributions.UniformDistr;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletToVmMappingParallelSimulatedAnnealingTest
+    extends CloudletToVmMappingHeuristicTestAbstract<CloudletToVmMappingParallelSimulatedAnnealing>
+{
+    /**
+     * {@inheritDoc}
+     * Chains have different temperatures, so that solutions are swapped among them (parallel tempering).
+     */
+    @Override
+    protected CloudletToVmMappingParallelSimulatedAnnealing createHeuristic() {
+        return createHeuristic(2);
+    }
+
+    private CloudletToVmMappingParallelSimulatedAnnealing createHeuristic(final double temperatureRatio) {
+        final var heuristic = new CloudletToVmMappingParallelSimulatedAnnealing(1.0, new UniformDistr(0, 1, 5), 4);
+        heuristic.setTemperatureRatio(temperatureRatio).setExchangeInterval(50);
+        heuristic.setColdTemperature(0.0001).setCoolingRate(0.01).setSearchesByIteration(20);
+        heuristic.setVmList(vmList).setCloudletList(cloudletList);
+        return heuristic;
+    }
+
+    @Override
+    protected List<Executable> invalidParameterSetters(final CloudletToVmMappingParallelSimulatedAnnealing heuristic) {
+        return List.of(
+            () -> new CloudletToVmMappingParallelSimulatedAnnealing(1, new UniformDistr(), 0),
+            () -> heuristic.setTemperatureRatio(0),
+            () -> heuristic.setExchangeInterval(0));
+    }
+
+    /**
+     * Checks chains with the same temperature (independent multi-start searches) are reproducible too.
+     */
+    @Test
+    void testSolveWithoutTemperingIsReproducible() {
+        final var solution1 = createHeuristic(1).solve();
+        final var solution2 = createHeuristic(1).solve();
+        assertEquals(solution1.getResult(), solution2.getResult());
+        assertEquals(cloudletList.size(), solution1.getResult().size());
+    }
+
+    @Test
+    void testSolveReturnsBestSolutionFound() {
+        final var heuristic = createHeuristic(2);
+        final var solution = heuristic.solve();
+        assertSame(solution, heuristic.getBestSolutionSoFar());
+        assertEquals(solution.getCost(true), solution.getCost());
+
+        //The first chain is seeded with the heuristic seed + 1, so its initial solution is the same of the one below
+        final var firstChain = new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(6));
+        firstChain.setVmList(vmList).setCloudletList(cloudletList);
+        assertTrue(solution.getCost() <= firstChain.getInitialSolution().getCost());
+    }
+}
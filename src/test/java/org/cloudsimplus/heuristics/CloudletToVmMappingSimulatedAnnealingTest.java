@@ -0,0 +1,52 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.distributions.UniformDistr;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletToVmMappingSimulatedAnnealingTest
+    extends CloudletToVmMappingHeuristicTestAbstract<CloudletToVmMappingSimulatedAnnealing>
+{
+    @Override
+    protected CloudletToVmMappingSimulatedAnnealing createHeuristic() {
+        return setupHeuristic(new CloudletToVmMappingSimulatedAnnealing(1.0, new UniformDistr(0, 1, 3)));
+    }
+
+    private <T extends CloudletToVmMappingSimulatedAnnealing> T setupHeuristic(final T heuristic) {
+        heuristic.setColdTemperature(0.0001).setCoolingRate(0.003).setSearchesByIteration(20);
+        heuristic.setVmList(vmList).setCloudletList(cloudletList);
+        return heuristic;
+    }
+
+    /**
+     * Checks that changing neighbors in place finds the same solution
+     * as creating a new neighbor for every neighborhood search.
+     */
+    @Test
+    void testSolveInPlaceFindsSameSolutionAsCreatingNewNeighbors() {
+        final var inPlace = setupHeuristic(new CloudletToVmMappingSimulatedAnnealing(1.0, new UniformDistr(0, 1, 4)));
+        final var newNeighbors = setupHeuristic(new CloudletToVmMappingSimulatedAnnealing(1.0, new UniformDistr(0, 1, 4)) {
+            @Override
+            protected CloudletToVmMappingSolution nextNeighbor(final CloudletToVmMappingSolution source) {
+                return createNeighbor(source);
+            }
+
+            @Override
+            protected CloudletToVmMappingSolution acceptNeighbor(final CloudletToVmMappingSolution source, final CloudletToVmMappingSolution neighbor) {
+                return neighbor;
+            }
+
+            @Override
+            protected void rejectNeighbor(final CloudletToVmMappingSolution neighbor) {/**/}
+        });
+
+        final var expected = newNeighbors.solve();
+        final var solution = inPlace.solve();
+        assertEquals(expected.getResult(), solution.getResult());
+        assertEquals(expected.getCost(), solution.getCost());
+    }
+}
@@ -25,6 +25,7 @@ package org.cloudsimplus.heuristics;
 
 import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.cloudlets.CloudletTestUtil;
+import org.cloudsimplus.distributions.UniformDistr;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmTestUtil;
 import org.junit.jupiter.api.Test;
@@ -175,4 +176,61 @@ public class CloudletToVmMappingSolutionTest {
                 swappedVmsEntries.get(1).getValue().getId());
         assertEquals(swappedVmsEntries, originalEntries, msg);
     }
+
+    @Test
+    public void testCostIsUpdatedWhenVmsOfRandomEntriesAreSwapped() {
+        final int CLOUDLETS = 50;
+        final int VMS = 10;
+        final var heuristic = new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 1));
+        final var solution = new CloudletToVmMappingSolution(heuristic);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Vm vm = VmTestUtil.createVm(i % VMS, 1000, i % 4 + 1);
+            solution.bindCloudletToVm(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1), vm);
+        }
+
+        var neighbor = solution;
+        for (int i = 0; i < 100; i++) {
+            neighbor = new CloudletToVmMappingSolution(neighbor);
+            neighbor.swapVmsOfTwoRandomSelectedMapEntries();
+            final double incrementalCost = neighbor.getCost();
+            assertEquals(neighbor.getCost(true), incrementalCost, "Cost after swap %d".formatted(i));
+        }
+    }
+
+    @Test
+    public void testUndoAndRepeatLastSwap() {
+        final var heuristic = new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 2));
+        final var solution = new CloudletToVmMappingSolution(heuristic);
+        for (int i = 0; i < 20; i++) {
+            solution.bindCloudletToVm(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1), VmTestUtil.createVm(i % 5, 1000, 2));
+        }
+
+        final var original = Map.copyOf(solution.getResult());
+        final var neighbor = new CloudletToVmMappingSolution(solution);
+        for (int i = 0; i < 10; i++) {
+            neighbor.swapVmsOfTwoRandomSelectedMapEntries();
+            neighbor.undoLastSwap();
+        }
+        assertEquals(original, neighbor.getResult());
+
+        while (!neighbor.swapVmsOfTwoRandomSelectedMapEntries()) {
+            // selects Cloudlets until 2 different ones are swapped
+        }
+        assertNotEquals(original, neighbor.getResult());
+
+        solution.repeatLastSwapOf(neighbor);
+        assertEquals(neighbor.getResult(), solution.getResult());
+        assertEquals(neighbor.getCost(true), solution.getCost());
+    }
+
+    @Test
+    public void testCostIsUpdatedWhenCloudletIsBoundToAnotherVm() {
+        final var solution = createSolutionWithOneVmForEachCloudlet(2, 2);
+        assertEquals(0, solution.getCost());
+
+        final var entries = new ArrayList<>(solution.getResult().entrySet());
+        solution.bindCloudletToVm(entries.get(0).getKey(), entries.get(1).getValue());
+        assertEquals(2, solution.getCost());
+        assertEquals(2, solution.getCost(true));
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * An Integration Test (IT) checking that submitting Cloudlets in batches
+ * sends a single {@link CloudSimTag#CLOUDLET_SUBMIT} event for each submission delay,
+ * producing the same results as submitting Cloudlets one by one.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class BatchCloudletSubmissionTest {
+    private static final int HOST_PES = 8;
+    private static final int VM_PES = 2;
+    private static final int VMS = 4;
+    private static final int MIPS = 1000;
+    private static final int CLOUDLETS = 20;
+
+    /** Submission delays assigned to Cloudlets in a round-robin fashion. */
+    private static final double[] SUBMISSION_DELAYS = {0, 5};
+
+    /**
+     * Maximum relative deviation of Cloudlets finish time, compared to the one-by-one submission.
+     * Since a batch schedules a single processing update, instead of one for each Cloudlet,
+     * Cloudlets processing is updated at fewer times and the accumulated rounding differs.
+     */
+    private static final double MAX_FINISH_TIME_DEVIATION = 0.01;
+
+    /** Number of {@link CloudSimTag#CLOUDLET_SUBMIT} events in the last simulation run. */
+    private int submitEvents;
+
+    @Test
+    public void integrationTest() {
+        final List<Cloudlet> oneByOne = runSimulation(false);
+        assertEquals(CLOUDLETS, submitEvents);
+
+        final List<Cloudlet> batched = runSimulation(true);
+        assertEquals(SUBMISSION_DELAYS.length, submitEvents);
+
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet expected = oneByOne.get(i);
+            final Cloudlet actual = batched.get(i);
+            assertEquals(expected.getStatus(), actual.getStatus(), actual + " status");
+            assertEquals(expected.getVm().getId(), actual.getVm().getId(), actual + " VM");
+            assertEquals(expected.getExecStartTime(), actual.getExecStartTime(), 0.001, actual + " start time");
+            final double delta = expected.getFinishTime() * MAX_FINISH_TIME_DEVIATION;
+            assertEquals(expected.getFinishTime(), actual.getFinishTime(), delta, actual + " finish time");
+        }
+    }
+
+    private List<Cloudlet> runSimulation(final boolean batch) {
+        final var simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, HOST_PES).mapToObj(i -> (Pe) new PeSimple(MIPS)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(100_000, 100_000, 100_000, peList)));
+
+        submitEvents = 0;
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTag.CLOUDLET_SUBMIT) {
+                submitEvents++;
+            }
+        });
+
+        final var broker = new DatacenterBrokerSimple(simulation).setBatchCloudletSubmission(batch);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(new VmSimple(MIPS, VM_PES).setRam(1000).setBw(1000).setSize(1000));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = new CloudletSimple(10_000L * (i % 3 + 1), 1)
+                .setUtilizationModelRam(new UtilizationModelDynamic(0.1))
+                .setUtilizationModelBw(new UtilizationModelDynamic(0.1));
+            cloudlet.setSubmissionDelay(SUBMISSION_DELAYS[i % SUBMISSION_DELAYS.length]);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+        return cloudletList;
+    }
+}
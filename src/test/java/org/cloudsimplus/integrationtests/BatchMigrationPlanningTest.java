@@ -0,0 +1,101 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.allocationpolicies.migration.VmAllocationPolicyMigrationBatchStaticThreshold;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * An Integration Test (IT) checking that the {@link VmAllocationPolicyMigrationBatchStaticThreshold}
+ * drains an underloaded Host when all its VMs fit into another one,
+ * but doesn't migrate VMs from an underloaded Host which cannot be completely drained.
+ *
+ * <p>Host 0 runs a 4-PE VM, while Hosts 1 and 2 run a 2-PE VM each.
+ * Hosts 1 and 2 are underloaded. The VM from Host 1 fits into Host 0, draining Host 1.
+ * After that, the VM from Host 2 would overload Host 0, so it's kept where it is.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class BatchMigrationPlanningTest {
+    private static final int HOSTS = 3;
+    private static final int HOST_PES = 8;
+    private static final int MIPS = 1000;
+    private static final int[] VM_PES = {4, 2, 2};
+    private static final long CLOUDLET_LENGTH = 20_000;
+
+    private final List<Vm> migratedVms = new ArrayList<>();
+
+    @Test
+    public void integrationTest() {
+        final var simulation = new CloudSimPlus();
+        final List<Host> hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        final var policy = new VmAllocationPolicyMigrationBatchStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.9);
+
+        //Initially places each VM into the Host with the same index
+        policy.setFindHostForVmFunction((allocationPolicy, vm) -> Optional.of(hostList.get((int) vm.getId())));
+        new DatacenterSimple(simulation, hostList, policy).setSchedulingInterval(1);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = new ArrayList<Vm>();
+        for (final int pes : VM_PES) {
+            final Vm vm = new VmSimple(MIPS, pes).setRam(1000).setBw(1000).setSize(1000);
+            vm.addOnMigrationStartListener(info -> migratedVms.add(info.getVm()));
+            vmList.add(vm);
+            broker.submitVm(vm);
+            broker.submitCloudlet(
+                new CloudletSimple(CLOUDLET_LENGTH, pes, new UtilizationModelFull()).setVm(vm));
+        }
+
+        simulation.start();
+
+        assertEquals(List.of(vmList.get(1)), migratedVms);
+        assertEquals(hostList.get(0), vmList.get(1).getHost());
+    }
+
+    private static Host createHost() {
+        final List<Pe> peList = IntStream.range(0, HOST_PES).mapToObj(i -> (Pe) new PeSimple(MIPS)).toList();
+        return new HostSimple(100_000, 100_000, 100_000, peList).setVmScheduler(new VmSchedulerTimeShared());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An Integration Test (IT) checking that enabling the fast-forward mode
+ * of a CloudletScheduler skips intermediate processing updates triggered by the
+ * Datacenter scheduling interval, while keeping the Cloudlets finish time
+ * close to the one of a stepwise run.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class CloudletFastForwardTest {
+    private static final int HOST_PES = 4;
+    private static final int VM_PES = 2;
+    private static final int MIPS = 1000;
+    private static final int SCHEDULING_INTERVAL = 1;
+    private static final long[] CLOUDLET_LENGTHS = {20_000, 40_000, 60_000};
+
+    /**
+     * Maximum relative deviation of Cloudlets finish time, compared to the stepwise run.
+     * The stepwise run truncates the executed length at every update,
+     * so Cloudlets may finish slightly later than in the fast-forwarded run.
+     */
+    private static final double MAX_FINISH_TIME_DEVIATION = 0.01;
+
+    /** Number of processing updates received by all Cloudlets in the last simulation run. */
+    private int cloudletUpdates;
+
+    @Test
+    public void integrationTest() {
+        final List<Cloudlet> stepwise = runSimulation(0);
+        final int stepwiseUpdates = cloudletUpdates;
+
+        final List<Cloudlet> fastForwarded = runSimulation(0.5);
+        final int fastForwardUpdates = cloudletUpdates;
+
+        for (int i = 0; i < stepwise.size(); i++) {
+            final Cloudlet expected = stepwise.get(i);
+            final Cloudlet actual = fastForwarded.get(i);
+            final double delta = expected.getFinishTime() * MAX_FINISH_TIME_DEVIATION;
+            assertEquals(expected.getFinishTime(), actual.getFinishTime(), delta, actual + " finish time");
+            assertEquals(expected.getFinishedLengthSoFar(), actual.getFinishedLengthSoFar(), actual + " finished length");
+        }
+
+        assertTrue(
+            fastForwardUpdates < stepwiseUpdates,
+            "Expected less than %d processing updates but got %d".formatted(stepwiseUpdates, fastForwardUpdates));
+    }
+
+    private List<Cloudlet> runSimulation(final double fastForwardTolerance) {
+        final var simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, HOST_PES).mapToObj(i -> (Pe) new PeSimple(MIPS)).toList();
+        final var host = new HostSimple(10_000, 100_000, 100_000, peList);
+        new DatacenterSimple(simulation, List.of(host)).setSchedulingInterval(SCHEDULING_INTERVAL);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final var scheduler = new CloudletSchedulerTimeShared().setFastForwardTolerance(fastForwardTolerance);
+        final var vm = new VmSimple(MIPS, VM_PES).setRam(1000).setBw(1000).setSize(1000);
+        vm.setCloudletScheduler(scheduler);
+
+        cloudletUpdates = 0;
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (final long length : CLOUDLET_LENGTHS) {
+            final var cloudlet = new CloudletSimple(length, 1)
+                .setUtilizationModelCpu(new UtilizationModelFull())
+                .setUtilizationModelRam(new UtilizationModelDynamic(0.1))
+                .setUtilizationModelBw(new UtilizationModelDynamic(0.1));
+            cloudlet.addOnUpdateProcessingListener(info -> cloudletUpdates++);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(List.of(vm));
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+        return cloudletList;
+    }
+}
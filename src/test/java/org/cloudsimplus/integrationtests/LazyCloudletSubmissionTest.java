@@ -0,0 +1,189 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An Integration Test (IT) checking that Cloudlets submitted through
+ * a lazy source are just pulled by the broker when their submission time approaches,
+ * never exceeding the maximum number of in-flight Cloudlets,
+ * and that all of them are executed, even if some of them fail.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 8.0.0
+ */
+public final class LazyCloudletSubmissionTest {
+    private static final int HOST_PES = 8;
+    private static final int VMS = 2;
+    private static final int VM_PES = 2;
+    private static final int MIPS = 1000;
+    private static final int CLOUDLETS = 200;
+    private static final long CLOUDLET_LENGTH = 2000;
+    private static final double CLOUDLET_INTERVAL = 0.5;
+    private static final int MAX_IN_FLIGHT_CLOUDLETS = 4;
+    private static final double LOOKAHEAD = 1;
+
+    /** Time after its start that some Cloudlets are requested to fail. */
+    private static final double FAILURE_DELAY = 0.1;
+
+    private final List<Cloudlet> generatedCloudlets = new ArrayList<>();
+    private CloudSimPlus simulation;
+    private DatacenterBrokerSimple broker;
+
+    /** Indicates if Cloudlets with an odd index must be requested to fail just after they start. */
+    private boolean failOddCloudlets;
+
+    /** Maximum number of generated Cloudlets that weren't finished yet, at any time. */
+    private int maxUnfinishedCloudlets;
+
+    private int finishedCloudlets;
+
+    @Test
+    public void integrationTest() {
+        runSimulation();
+        assertEquals(CLOUDLETS, generatedCloudlets.size(), "Generated Cloudlets");
+        assertEquals(CLOUDLETS, broker.getCloudletFinishedList().size(), "Finished Cloudlets");
+
+        /* The source reads one Cloudlet ahead of the ones in-flight,
+         * to know when the next one has to be pulled. */
+        assertTrue(
+            maxUnfinishedCloudlets <= MAX_IN_FLIGHT_CLOUDLETS + 1,
+            "Expected at most %d unfinished Cloudlets but there were %d"
+                .formatted(MAX_IN_FLIGHT_CLOUDLETS + 1, maxUnfinishedCloudlets));
+
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = generatedCloudlets.get(i);
+            assertTrue(cloudlet.isFinished(), cloudlet + " finished");
+            final double submissionTime = i * CLOUDLET_INTERVAL;
+            assertTrue(
+                cloudlet.getExecStartTime() >= submissionTime,
+                "%s started at %.2f before its submission time %.2f"
+                    .formatted(cloudlet, cloudlet.getExecStartTime(), submissionTime));
+        }
+    }
+
+    /**
+     * Failed Cloudlets must release their in-flight slots,
+     * otherwise the broker would stop pulling Cloudlets from the source.
+     */
+    @Test
+    public void failedCloudletsDontBlockTheSource() {
+        failOddCloudlets = true;
+        runSimulation();
+
+        assertEquals(CLOUDLETS, generatedCloudlets.size(), "Generated Cloudlets");
+        assertEquals(CLOUDLETS / 2, broker.getCloudletFinishedList().size(), "Finished Cloudlets");
+        for (int i = 1; i < CLOUDLETS; i += 2) {
+            assertEquals(Cloudlet.Status.FAILED, generatedCloudlets.get(i).getStatus());
+        }
+    }
+
+    /**
+     * A finished Cloudlet sink must keep the broker lists bounded by the number
+     * of in-flight Cloudlets, while finish listeners are still notified.
+     */
+    @Test
+    public void finishedCloudletSinkKeepsBrokerListsBounded() {
+        final var sunkCloudlets = new ArrayList<Cloudlet>();
+        final var maxSubmittedCloudlets = new int[1];
+        runSimulation(broker -> broker.setCloudletFinishedSink(cloudlet -> {
+            sunkCloudlets.add(cloudlet);
+            maxSubmittedCloudlets[0] = Math.max(maxSubmittedCloudlets[0], broker.getCloudletSubmittedList().size());
+        }));
+
+        assertEquals(CLOUDLETS, sunkCloudlets.size(), "Sunk Cloudlets");
+        assertEquals(CLOUDLETS, finishedCloudlets, "Cloudlets whose finish listeners were notified");
+        assertTrue(broker.getCloudletFinishedList().isEmpty(), "The finished list must be empty");
+
+        /* Finished Cloudlets are removed from the submitted list when they are at least half of it. */
+        final int maxExpected = 2 * (MAX_IN_FLIGHT_CLOUDLETS + 1);
+        assertTrue(
+            maxSubmittedCloudlets[0] <= maxExpected,
+            "Expected at most %d submitted Cloudlets but there were %d".formatted(maxExpected, maxSubmittedCloudlets[0]));
+    }
+
+    private void runSimulation() {
+        runSimulation(broker -> {});
+    }
+
+    private void runSimulation(final Consumer<DatacenterBroker> brokerConfigurer) {
+        simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, HOST_PES).mapToObj(i -> (Pe) new PeSimple(MIPS)).toList();
+        final var host = new HostSimple(10_000, 100_000, 100_000, peList);
+        new DatacenterSimple(simulation, List.of(host));
+
+        broker = new DatacenterBrokerSimple(simulation);
+        brokerConfigurer.accept(broker);
+        final Iterator<Vm> vms = IntStream.range(0, VMS).mapToObj(i -> (Vm) new VmSimple(MIPS, VM_PES)).iterator();
+        broker.submitVmSource(vms, LOOKAHEAD);
+        broker.submitCloudletSource(new CloudletGenerator(), LOOKAHEAD, MAX_IN_FLIGHT_CLOUDLETS);
+        simulation.start();
+    }
+
+    /**
+     * Creates Cloudlets on demand, with increasing submission delays.
+     */
+    private final class CloudletGenerator implements Iterator<Cloudlet> {
+        @Override
+        public boolean hasNext() {
+            return generatedCloudlets.size() < CLOUDLETS;
+        }
+
+        @Override
+        public Cloudlet next() {
+            final var cloudlet = new CloudletSimple(CLOUDLET_LENGTH, 1);
+            cloudlet.setSubmissionDelay(generatedCloudlets.size() * CLOUDLET_INTERVAL);
+            if (failOddCloudlets && generatedCloudlets.size() % 2 == 1) {
+                cloudlet.addOnStartListener(info -> simulation.send(broker, broker, FAILURE_DELAY, CloudSimTag.CLOUDLET_FAIL, cloudlet));
+            }
+
+            cloudlet.addOnFinishListener(info -> finishedCloudlets++);
+            generatedCloudlets.add(cloudlet);
+            maxUnfinishedCloudlets = Math.max(maxUnfinishedCloudlets, generatedCloudlets.size() - finishedCloudlets);
+            return cloudlet;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.cloudsimplus.schedulers.cloudlet;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletExecution;
+import org.cloudsimplus.cloudlets.CloudletTestUtil;
+import org.cloudsimplus.schedulers.MipsShare;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletSchedulerSpaceSharedBackfillingTest {
+    private static final long MIPS = 1000;
+    private static final int VM_PES = 4;
+
+    private CloudletSchedulerSpaceSharedBackfilling instance;
+
+    /** Runs for 10 seconds using 2 PEs. */
+    private Cloudlet running;
+
+    /** Head of the waiting queue, requiring all VM PEs. */
+    private Cloudlet head;
+
+    /** Would delay the head, since it runs longer than the shadow time. */
+    private Cloudlet longRunning;
+
+    /** Can be backfilled, since it finishes before the shadow time. */
+    private Cloudlet shortRunning;
+
+    @BeforeEach
+    void setUp() {
+        final var vm = new VmSimple(MIPS, VM_PES);
+        instance = new CloudletSchedulerSpaceSharedBackfilling();
+        instance.setVm(vm);
+        instance.setCurrentMipsShare(new MipsShare(vm.getProcessor()));
+
+        running = submit(0, 10_000, 2);
+        head = submit(1, 1000, VM_PES);
+        longRunning = submit(2, 50_000, 2);
+        shortRunning = submit(3, 5000, 1);
+    }
+
+    private Cloudlet submit(final int id, final long length, final int pes) {
+        final var cloudlet = CloudletTestUtil.createCloudlet(id, length, pes);
+        instance.cloudletSubmit(cloudlet);
+        return cloudlet;
+    }
+
+    @Test
+    void testBackfillOnlyCloudletsNotDelayingHead() {
+        assertEquals(List.of(running, shortRunning), cloudletsFrom(instance.getCloudletExecList()));
+        assertEquals(List.of(head, longRunning), cloudletsFrom(instance.getCloudletWaitingList()));
+    }
+
+    @Test
+    void testHeadStartsBeforeBackfillingWhenPesAreReleased() {
+        finish(running);
+        instance.moveNextCloudletsFromWaitingToExecList(0);
+        assertEquals(List.of(head, longRunning), cloudletsFrom(instance.getCloudletWaitingList()));
+
+        finish(shortRunning);
+        instance.moveNextCloudletsFromWaitingToExecList(0);
+        assertEquals(List.of(head), cloudletsFrom(instance.getCloudletExecList()));
+        assertEquals(List.of(longRunning), cloudletsFrom(instance.getCloudletWaitingList()));
+    }
+
+    @Test
+    void testCancelWaitingCloudletRemovesItFromQueue() {
+        instance.cloudletCancel(head);
+        finish(running);
+        instance.moveNextCloudletsFromWaitingToExecList(0);
+        assertEquals(List.of(shortRunning, longRunning), cloudletsFrom(instance.getCloudletExecList()));
+        assertTrue(instance.getCloudletWaitingList().isEmpty());
+    }
+
+    private void finish(final Cloudlet cloudlet) {
+        instance.getCloudletExecList()
+                .stream()
+                .filter(cle -> cle.getCloudlet() == cloudlet)
+                .findFirst()
+                .ifPresent(instance::removeCloudletFromExecList);
+    }
+
+    private static List<Cloudlet> cloudletsFrom(final List<CloudletExecution> list) {
+        return list.stream().map(CloudletExecution::getCloudlet).toList();
+    }
+}
@@ -12,6 +12,9 @@ import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmSimple;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -64,6 +67,28 @@ public class CloudletSchedulerSpaceSharedTest {
         assertTrue(instance.getCloudletFinishedList().contains(cle));
     }
 
+    @Test
+    public void testCloudletFinishWithSinkDoesNotKeepCloudletInFinishList() {
+        final var cloudsim = CloudSimMocker.createMock(mocker -> mocker.clock(0));
+        final var cloudlet = CloudletTestUtil.createCloudlet(0, 1000, 1);
+        cloudlet.setBroker(MocksHelper.createMockBroker(cloudsim));
+        final var cle = new CloudletExecution(cloudlet);
+        final var sunkCloudlets = new ArrayList<CloudletExecution>();
+        final var sunkFinishTimes = new ArrayList<Double>();
+        final var instance = CloudletSchedulerSpaceSharedTestUtil.createScheduler();
+        instance.setCloudletFinishedSink(sunk -> {
+            sunkCloudlets.add(sunk);
+            sunkFinishTimes.add(sunk.getFinishTime());
+        });
+        instance.cloudletFinish(cle);
+        assertAll(
+            () -> assertEquals(List.of(cle), sunkCloudlets),
+            () -> assertEquals(List.of(0.0), sunkFinishTimes, "The finish time must be set before the Cloudlet is sunk"),
+            () -> assertTrue(instance.getCloudletFinishedList().isEmpty()),
+            () -> assertTrue(instance.hasFinishedCloudlets())
+        );
+    }
+
     @Test
     public void testRemoveCloudletFromExecListWhenNotInExecList() {
         final var cloudlet = new CloudletExecution(CloudletTestUtil.createCloudletWithOnePe(0));
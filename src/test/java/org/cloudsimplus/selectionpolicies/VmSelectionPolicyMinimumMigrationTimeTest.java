@@ -0,0 +1,91 @@
+package org.cloudsimplus.selectionpolicies;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmSelectionPolicyMinimumMigrationTimeTest {
+    private Host host;
+    private Vm mediumVm;
+    private Vm smallVm;
+    private Vm otherSmallVm;
+    private VmSelectionPolicy instance;
+
+    @BeforeEach
+    void setUp() {
+        setUp(HostSimpleTest.createHostSimple(0, 4, 1000, 10_000, 10_000, 100_000));
+    }
+
+    private void setUp(final Host host) {
+        this.host = host;
+        mediumVm = createVm(0, 512);
+        smallVm = createVm(1, 256);
+        otherSmallVm = createVm(2, 256);
+        instance = new VmSelectionPolicyMinimumMigrationTime();
+    }
+
+    private Vm createVm(final int id, final long ram) {
+        final Vm vm = new VmSimple(id, 1000, 1).setRam(ram).setBw(1000).setSize(1000);
+        host.createTemporaryVm(vm);
+        return vm;
+    }
+
+    @Test
+    void testSelectsTheSameVmWhileItIsNotRemovedFromHost() {
+        assertEquals(Optional.of(smallVm), instance.getVmToMigrate(host));
+        assertEquals(Optional.of(smallVm), instance.getVmToMigrate(host));
+    }
+
+    @Test
+    void testSelectsNextVmsAsSelectedOnesAreRemovedFromHost() {
+        host.destroyTemporaryVm(instance.getVmToMigrate(host).orElseThrow());
+        assertEquals(Optional.of(otherSmallVm), instance.getVmToMigrate(host));
+        host.destroyTemporaryVm(otherSmallVm);
+        assertEquals(Optional.of(mediumVm), instance.getVmToMigrate(host));
+        host.destroyTemporaryVm(mediumVm);
+        assertEquals(Optional.empty(), instance.getVmToMigrate(host));
+    }
+
+    @Test
+    void testRankingIsRebuiltWhenVmsAreAddedBack() {
+        host.destroyTemporaryVm(instance.getVmToMigrate(host).orElseThrow());
+        host.destroyTemporaryVm(instance.getVmToMigrate(host).orElseThrow());
+        host.createTemporaryVm(smallVm);
+        assertEquals(Optional.of(smallVm), instance.getVmToMigrate(host));
+    }
+
+    /**
+     * Checks VMs are correctly selected from a Host which doesn't track its VM list version
+     * (using the default {@link Host#getVmListVersion()}), since the ranking of VMs is built at every selection.
+     */
+    @Test
+    void testSelectsVmsFromHostWithoutVmListVersion() {
+        final Host hostSimple = HostSimpleTest.createHostSimple(0, 4, 1000, 10_000, 10_000, 100_000);
+        final InvocationHandler handler = (proxy, method, args) ->
+            method.getName().equals("getVmListVersion") ?
+                InvocationHandler.invokeDefault(proxy, method, args) :
+                method.invoke(hostSimple, args);
+        setUp((Host) Proxy.newProxyInstance(Host.class.getClassLoader(), new Class<?>[]{Host.class}, handler));
+
+        assertEquals(-1, host.getVmListVersion());
+        assertEquals(Optional.of(smallVm), instance.getVmToMigrate(host));
+        assertEquals(Optional.of(smallVm), instance.getVmToMigrate(host));
+        host.destroyTemporaryVm(smallVm);
+        assertEquals(Optional.of(otherSmallVm), instance.getVmToMigrate(host));
+        host.destroyTemporaryVm(otherSmallVm);
+        host.createTemporaryVm(smallVm);
+        assertEquals(Optional.of(smallVm), instance.getVmToMigrate(host));
+    }
+}
@@ -0,0 +1,101 @@
+package org.cloudsimplus.traces.google;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.util.ColumnarTraceConverter;
+import org.cloudsimplus.util.ColumnarTraceFile;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class GoogleTaskEventsTraceColumnarTest {
+    private static final int TASKS = 3;
+
+    @TempDir
+    Path dir;
+
+    private Path textFile;
+    private Path columnarFile;
+    private CloudSimPlus simulation;
+    private DatacenterBroker broker;
+
+    private static String traceLine(final int seconds, final int jobId, final TaskEventType type) {
+        return "%d,,%d,0,1,%d,user,0,0,0.1,0.1,0.001,0%n".formatted(seconds * 1_000_000L, jobId, type.ordinal());
+    }
+
+    /** Submits tasks every 100 seconds, schedules them 1 second later and finishes them after 150 seconds. */
+    @BeforeEach
+    void setUp() throws IOException {
+        final var builder = new StringBuilder();
+        IntStream.range(0, TASKS).forEach(i -> {
+            builder.append(traceLine((i + 1) * 100, i, TaskEventType.SUBMIT));
+            builder.append(traceLine((i + 1) * 100 + 1, i, TaskEventType.SCHEDULE));
+        });
+        IntStream.range(0, TASKS).forEach(i -> builder.append(traceLine((i + 1) * 100 + 151, i, TaskEventType.FINISH)));
+
+        textFile = Files.writeString(dir.resolve("task-events.csv"), builder.toString());
+        columnarFile = dir.resolve("task-events" + ColumnarTraceFile.EXTENSION);
+        assertEquals(TASKS * 3, ColumnarTraceConverter.convertGoogleTrace(textFile, columnarFile));
+    }
+
+    private GoogleTaskEventsTraceReader createReader(final Path traceFile) throws IOException {
+        simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, TASKS).mapToObj(i -> (Pe) new PeSimple(1000)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(10_000, 100_000, 100_000, peList)));
+        broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, TASKS));
+
+        final var reader = new GoogleTaskEventsTraceReader(simulation, traceFile.toString(), this::createCloudlet);
+        reader.getBrokerManager().setDefaultBroker(broker);
+        return reader;
+    }
+
+    private Cloudlet createCloudlet(final TaskEvent event) {
+        return new CloudletSimple(-1, 1).setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam()));
+    }
+
+    private List<Double> runAndGetFinishTimes(final GoogleTaskEventsTraceReader reader) {
+        reader.process();
+        simulation.start();
+        return broker.<Cloudlet>getCloudletFinishedList().stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(Cloudlet::getFinishTime)
+                     .toList();
+    }
+
+    @Test
+    void testColumnarFileCreatesTheSameCloudletsOfTextFile() throws IOException {
+        final List<Double> expected = runAndGetFinishTimes(createReader(textFile));
+        assertEquals(TASKS, expected.size());
+        assertEquals(expected, runAndGetFinishTimes(createReader(columnarFile)));
+    }
+
+    @Test
+    void testColumnarFileCanBeStreamed() throws IOException {
+        final List<Double> expected = runAndGetFinishTimes(createReader(textFile));
+        final var reader = createReader(columnarFile);
+        reader.setStreamingLookahead(60);
+        assertEquals(expected, runAndGetFinishTimes(reader));
+    }
+}
@@ -0,0 +1,124 @@
+package org.cloudsimplus.traces.google;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.util.ColumnarTraceFile;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class GoogleTaskEventsTraceShardsTest {
+    private static final int TASKS = 3;
+
+    @TempDir
+    Path dir;
+
+    private CloudSimPlus simulation;
+    private DatacenterBroker broker;
+
+    private static String traceLine(final int seconds, final int jobId, final TaskEventType type) {
+        return "%d,,%d,0,1,%d,user,0,0,0.1,0.1,0.001,0%n".formatted(seconds * 1_000_000L, jobId, type.ordinal());
+    }
+
+    /** Submits tasks every 100 seconds. */
+    private static String submitEvents() {
+        final var builder = new StringBuilder();
+        IntStream.range(0, TASKS).forEach(i -> builder.append(traceLine((i + 1) * 100, i, TaskEventType.SUBMIT)));
+        return builder.toString();
+    }
+
+    /** Schedules tasks 1 second after they are submitted, finishing them 150 seconds later. */
+    private static String scheduleAndFinishEvents() {
+        final var builder = new StringBuilder();
+        IntStream.range(0, TASKS).forEach(i -> builder.append(traceLine((i + 1) * 100 + 1, i, TaskEventType.SCHEDULE)));
+        IntStream.range(0, TASKS).forEach(i -> builder.append(traceLine((i + 1) * 100 + 151, i, TaskEventType.FINISH)));
+        return builder.toString();
+    }
+
+    private GoogleTaskEventsTraceReader createReader(final String trace) {
+        simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, TASKS).mapToObj(i -> (Pe) new PeSimple(1000)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(10_000, 100_000, 100_000, peList)));
+        broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, TASKS));
+
+        final var inputStream = new ByteArrayInputStream(trace.getBytes(StandardCharsets.UTF_8));
+        final var reader = new GoogleTaskEventsTraceReader(simulation, "part-0.csv", inputStream, this::createCloudlet);
+        reader.getBrokerManager().setDefaultBroker(broker);
+        return reader;
+    }
+
+    private Cloudlet createCloudlet(final TaskEvent event) {
+        return new CloudletSimple(-1, 1).setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam()));
+    }
+
+    private List<Double> runAndGetFinishTimes(final GoogleTaskEventsTraceReader reader) {
+        reader.process();
+        simulation.start();
+        return broker.<Cloudlet>getCloudletFinishedList().stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(Cloudlet::getFinishTime)
+                     .toList();
+    }
+
+    @Test
+    void testShardsAreMergedInTimestampOrder() throws IOException {
+        final var singleFileTrace = (submitEvents() + scheduleAndFinishEvents()).lines()
+            .sorted(Comparator.comparingLong(line -> Long.parseLong(line.split(",")[0])))
+            .reduce("", (acc, line) -> acc + line + System.lineSeparator());
+        final List<Double> expected = runAndGetFinishTimes(createReader(singleFileTrace));
+
+        /* Cloudlets are submitted in the second shard, so that the events of the first one
+         * would be ignored if shards weren't merged. */
+        final Path submitShard = dir.resolve("part-1.csv.gz");
+        try (var out = new GZIPOutputStream(Files.newOutputStream(submitShard))) {
+            out.write(submitEvents().getBytes(StandardCharsets.UTF_8));
+        }
+
+        final var reader = createReader(scheduleAndFinishEvents());
+        reader.setShards(List.of(submitShard.toString()), 2);
+
+        assertEquals(TASKS, expected.size());
+        assertEquals(expected, runAndGetFinishTimes(reader));
+    }
+
+    @Test
+    void testShardsCannotBeStreamed() {
+        final var reader = createReader(submitEvents());
+        final List<String> shards = List.of("part-1.csv");
+        reader.setShards(shards, 1);
+        assertThrows(IllegalStateException.class, () -> reader.setStreamingLookahead(60));
+        assertThrows(IllegalArgumentException.class, () -> reader.setShards(shards, 0));
+    }
+
+    @Test
+    void testColumnarFilesCannotBeShards() {
+        final var reader = createReader(submitEvents());
+        final List<String> shards = List.of("part-1" + ColumnarTraceFile.EXTENSION);
+        assertThrows(IllegalArgumentException.class, () -> reader.setShards(shards, 1));
+    }
+}
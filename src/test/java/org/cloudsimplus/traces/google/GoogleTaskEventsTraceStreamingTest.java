@@ -0,0 +1,160 @@
+package org.cloudsimplus.traces.google;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class GoogleTaskEventsTraceStreamingTest {
+    private static final int TASKS = 5;
+
+    /** Interval between the submission of tasks in the trace (in seconds). */
+    private static final int TASK_INTERVAL = 100;
+
+    /** How long each task runs (in seconds). */
+    private static final int TASK_DURATION = 150;
+
+    private static final double LOOKAHEAD = 60;
+
+    private CloudSimPlus simulation;
+    private DatacenterBroker broker;
+
+    /**
+     * Creates a task events trace where each task is submitted and scheduled
+     * every {@link #TASK_INTERVAL} seconds and finishes after {@link #TASK_DURATION} seconds.
+     */
+    private static String createTrace() {
+        final var builder = new StringBuilder();
+        for (int i = 0; i < TASKS; i++) {
+            /* The trace starts at a timestamp greater than 0, since events read
+             * before the simulation starts are just sent after the clock advances. */
+            final long start = (i + 1) * TASK_INTERVAL * 1_000_000L;
+            final long finish = start + TASK_DURATION * 1_000_000L;
+            builder.append(traceLine(start, i, TaskEventType.SUBMIT))
+                   .append(traceLine(start, i, TaskEventType.SCHEDULE));
+            builder.append(traceLine(finish, i, TaskEventType.FINISH));
+        }
+
+        /* Sorts lines by timestamp, as in Google traces. */
+        return builder.toString().lines()
+                      .sorted(Comparator.comparingLong(line -> Long.parseLong(line.split(",")[0])))
+                      .reduce("", (acc, line) -> acc + line + System.lineSeparator());
+    }
+
+    private static String traceLine(final long timestamp, final int jobId, final TaskEventType type) {
+        return "%d,,%d,0,1,%d,user,0,0,0.1,0.1,0.001,0%n".formatted(timestamp, jobId, type.ordinal());
+    }
+
+    private GoogleTaskEventsTraceReader createReader() {
+        return createReader(new ByteArrayInputStream(createTrace().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private GoogleTaskEventsTraceReader createReader(final InputStream inputStream) {
+        simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, TASKS).mapToObj(i -> (Pe) new PeSimple(1000)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(10_000, 100_000, 100_000, peList)));
+        broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, TASKS));
+
+        final var reader = new GoogleTaskEventsTraceReader(simulation, "task-events.csv", inputStream, this::createCloudlet);
+        reader.getBrokerManager().setDefaultBroker(broker);
+        return reader;
+    }
+
+    private Cloudlet createCloudlet(final TaskEvent event) {
+        return new CloudletSimple(-1, 1).setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam()));
+    }
+
+    private List<Double> runAndGetFinishTimes(final GoogleTaskEventsTraceReader reader) {
+        simulation.start();
+        return broker.<Cloudlet>getCloudletFinishedList().stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(Cloudlet::getFinishTime)
+                     .toList();
+    }
+
+    @Test
+    void testStreamingReadsTheTraceAsTheClockAdvances() {
+        final var reader = createReader().setStreamingLookahead(LOOKAHEAD);
+        assertTrue(reader.isStreaming());
+        assertTrue(reader.process().isEmpty());
+
+        simulation.addOnClockTickListener(info -> {
+            /* Tasks are submitted at multiples of TASK_INTERVAL (starting from TASK_INTERVAL), up to the lookahead window from the current time. */
+            final int maxReadTasks = Math.min((int) ((info.getTime() + LOOKAHEAD) / TASK_INTERVAL), TASKS);
+            assertTrue(
+                reader.createdObjectsCount() <= maxReadTasks,
+                "At time %.2f, %d tasks were read but up to %d were expected"
+                    .formatted(info.getTime(), reader.createdObjectsCount(), maxReadTasks));
+        });
+        simulation.start();
+        assertEquals(TASKS, reader.createdObjectsCount());
+    }
+
+    @Test
+    void testStreamingReleasesFinishedCloudletsAndClosesTheTraceFile() {
+        final var closed = new AtomicBoolean();
+        final var inputStream = new ByteArrayInputStream(createTrace().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        final var reader = createReader(inputStream).setStreamingLookahead(LOOKAHEAD);
+        reader.process();
+        simulation.addOnClockTickListener(info -> {
+            /* At most 2 tasks run at the same time, but the FINISH of the next one may be read ahead. */
+            assertTrue(reader.getAvailableObjects().size() <= 3, "Finished Cloudlets were not released at time " + info.getTime());
+        });
+        simulation.start();
+
+        assertEquals(TASKS, reader.createdObjectsCount());
+        assertTrue(reader.getAvailableObjects().isEmpty());
+        assertEquals(TASKS, broker.getCloudletFinishedList().size());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testStreamingExecutesTheSameEventsAsReadingTheEntireTrace() {
+        final var batchReader = createReader();
+        batchReader.process();
+        final List<Double> expected = runAndGetFinishTimes(batchReader);
+
+        final var streamingReader = createReader().setStreamingLookahead(LOOKAHEAD);
+        streamingReader.process();
+        final List<Double> finishTimes = runAndGetFinishTimes(streamingReader);
+
+        assertEquals(TASKS, expected.size());
+        assertEquals(expected, finishTimes);
+    }
+
+    @Test
+    void testInvalidStreamingLookahead() {
+        final var reader = createReader();
+        assertThrows(IllegalArgumentException.class, () -> reader.setStreamingLookahead(0));
+    }
+}
@@ -0,0 +1,145 @@
+package org.cloudsimplus.traces.google;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.util.ColumnarTraceConverter;
+import org.cloudsimplus.util.ColumnarTraceFile;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class GoogleTaskEventsTraceTimeWindowTest {
+    private static final int TASKS = 5;
+
+    /** The window includes the 2nd and 3rd tasks. */
+    private static final double WINDOW_START = 200;
+    private static final double WINDOW_END = 400;
+
+    @TempDir
+    Path dir;
+
+    private Path traceFile;
+    private CloudSimPlus simulation;
+    private DatacenterBroker broker;
+
+    private static String traceLine(final int seconds, final int jobId, final TaskEventType type) {
+        return "%d,,%d,0,1,%d,user,0,0,0.1,0.1,0.001,0%n".formatted(seconds * 1_000_000L, jobId, type.ordinal());
+    }
+
+    /** Submits a task every 100 seconds, schedules it 1 second later and finishes it after 50 seconds. */
+    @BeforeEach
+    void setUp() throws IOException {
+        final var builder = new StringBuilder();
+        IntStream.rangeClosed(1, TASKS).forEach(i -> {
+            builder.append(traceLine(i * 100, i, TaskEventType.SUBMIT));
+            builder.append(traceLine(i * 100 + 1, i, TaskEventType.SCHEDULE));
+            builder.append(traceLine(i * 100 + 51, i, TaskEventType.FINISH));
+        });
+
+        traceFile = dir.resolve("task-events.csv.gz");
+        try (var out = new GZIPOutputStream(Files.newOutputStream(traceFile))) {
+            out.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private GoogleTaskEventsTraceReader createReader(final Path file) throws IOException {
+        simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, TASKS).mapToObj(i -> (Pe) new PeSimple(1000)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(10_000, 100_000, 100_000, peList)));
+        broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, TASKS));
+
+        final var reader = new GoogleTaskEventsTraceReader(simulation, file.toString(), this::createCloudlet);
+        reader.getBrokerManager().setDefaultBroker(broker);
+        return reader;
+    }
+
+    private GoogleTaskEventsTraceReader createWindowReader(final Path file) throws IOException {
+        final var reader = createReader(file);
+        reader.setTimeWindow(WINDOW_START, WINDOW_END);
+        return reader;
+    }
+
+    private Cloudlet createCloudlet(final TaskEvent event) {
+        return new CloudletSimple(-1, 1).setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam()));
+    }
+
+    private List<Double> runAndGetFinishTimes(final GoogleTaskEventsTraceReader reader) {
+        reader.process();
+        simulation.start();
+        return broker.<Cloudlet>getCloudletFinishedList().stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(Cloudlet::getFinishTime)
+                     .toList();
+    }
+
+    /** {@return the finish times of the tasks in the window} when the entire trace is read */
+    private List<Double> expectedFinishTimes() throws IOException {
+        final List<Double> finishTimes = runAndGetFinishTimes(createReader(traceFile));
+        assertEquals(TASKS, finishTimes.size());
+        return finishTimes.subList(1, 3);
+    }
+
+    @Test
+    void testJustTasksInsideWindowAreCreated() throws IOException {
+        final List<Double> expected = expectedFinishTimes();
+        final var reader = createWindowReader(traceFile);
+        assertEquals(expected, runAndGetFinishTimes(reader));
+        assertEquals(6, reader.getLastLineNumber());
+    }
+
+    @Test
+    void testIndexedTraceIsReadFromWindowStart() throws IOException {
+        final List<Double> expected = expectedFinishTimes();
+        createReader(traceFile).buildTimeIndex(1);
+        assertEquals(expected, runAndGetFinishTimes(createWindowReader(traceFile)));
+    }
+
+    @Test
+    void testColumnarTraceIsReadFromWindowStart() throws IOException {
+        final List<Double> expected = expectedFinishTimes();
+        final Path columnarFile = dir.resolve("task-events" + ColumnarTraceFile.EXTENSION);
+        ColumnarTraceConverter.convertGoogleTrace(traceFile, columnarFile);
+        assertEquals(expected, runAndGetFinishTimes(createWindowReader(columnarFile)));
+    }
+
+    @Test
+    void testStreamedTraceStopsAtWindowEnd() throws IOException {
+        final List<Double> expected = expectedFinishTimes();
+        createReader(traceFile).buildTimeIndex(1);
+        final var reader = createWindowReader(traceFile);
+        reader.setStreamingLookahead(60);
+        assertEquals(expected, runAndGetFinishTimes(reader));
+    }
+
+    @Test
+    void testInvalidWindow() throws IOException {
+        final var reader = createReader(traceFile);
+        assertThrows(IllegalArgumentException.class, () -> reader.setTimeWindow(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> reader.setTimeWindow(10, 10));
+    }
+}
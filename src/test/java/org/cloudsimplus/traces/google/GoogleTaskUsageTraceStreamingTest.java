@@ -0,0 +1,161 @@
+package org.cloudsimplus.traces.google;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class GoogleTaskUsageTraceStreamingTest {
+    private static final double LOOKAHEAD = 60;
+
+    /** CPU usage samples, taken every 10 seconds after the task starts. */
+    private static final double[] CPU_USAGES = {0.5, 0.505, 0.502, 0.7, 0.705, 0.3};
+
+    private static final double SAMPLE_INTERVAL = 10;
+
+    private static final int TASK_START = 100;
+
+    private CloudSimPlus simulation;
+    private Cloudlet cloudlet;
+
+    private static String createTaskEventsTrace() {
+        final long finish = (long) (TASK_START + (CPU_USAGES.length + 1) * SAMPLE_INTERVAL) * 1_000_000L;
+        return taskEventLine(TASK_START * 1_000_000L, TaskEventType.SUBMIT) +
+               taskEventLine(TASK_START * 1_000_000L, TaskEventType.SCHEDULE) +
+               taskEventLine(finish, TaskEventType.FINISH);
+    }
+
+    private static String taskEventLine(final long timestamp, final TaskEventType type) {
+        return "%d,,0,0,1,%d,user,0,0,0.1,0.1,0.001,0%n".formatted(timestamp, type.ordinal());
+    }
+
+    private static String createTaskUsageTrace() {
+        final var builder = new StringBuilder();
+        for (int i = 0; i < CPU_USAGES.length; i++) {
+            final long start = (long) ((TASK_START + (i + 1) * SAMPLE_INTERVAL) * 1_000_000L);
+            final long end = start + (long) (SAMPLE_INTERVAL * 1_000_000L);
+            builder.append("%d,%d,0,0,1,%s,0.1,0.1,0,0,0.1,0,0,%s,0%n".formatted(start, end, CPU_USAGES[i], CPU_USAGES[i]));
+        }
+
+        return builder.toString();
+    }
+
+    private static ByteArrayInputStream newInputStream(final String trace) {
+        return new ByteArrayInputStream(trace.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the task events and task usage readers, processing the task events one.
+     * @param lookahead the streaming lookahead for both readers or 0 to read the entire traces at once
+     * @return the task usage reader
+     */
+    private GoogleTaskUsageTraceReader createReaders(final double lookahead) {
+        return createReaders(lookahead, lookahead);
+    }
+
+    /**
+     * Creates the task events and task usage readers, processing the task events one.
+     * @param eventsLookahead the streaming lookahead for the task events reader or 0 to read the entire trace at once
+     * @param usageLookahead the streaming lookahead for the task usage reader or 0 to read the entire trace at once
+     * @return the task usage reader
+     */
+    private GoogleTaskUsageTraceReader createReaders(final double eventsLookahead, final double usageLookahead) {
+        simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, List.of(new HostSimple(10_000, 100_000, 100_000, List.of(new PeSimple(1000)))));
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, 1));
+
+        final var taskEventsReader = new GoogleTaskEventsTraceReader(
+            simulation, "task-events.csv", newInputStream(createTaskEventsTrace()), this::createCloudlet);
+        taskEventsReader.getBrokerManager().setDefaultBroker(broker);
+        final var usageReader = new GoogleTaskUsageTraceReader(taskEventsReader, "task-usage.csv", newInputStream(createTaskUsageTrace()));
+        if (eventsLookahead > 0) {
+            taskEventsReader.setStreamingLookahead(eventsLookahead);
+        }
+
+        if (usageLookahead > 0) {
+            usageReader.setStreamingLookahead(usageLookahead);
+        }
+
+        taskEventsReader.process();
+        return usageReader;
+    }
+
+    private Cloudlet createCloudlet(final TaskEvent event) {
+        final var newCloudlet = new CloudletSimple(-1, 1).setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam()));
+        /* The reader also creates temporary Cloudlets for each event of an existing task. */
+        if (cloudlet == null) {
+            cloudlet = newCloudlet;
+        }
+
+        return newCloudlet;
+    }
+
+    @Test
+    void testAllUsageChangesAreRequestedByDefault() {
+        final var reader = createReaders(0);
+        reader.process();
+        assertEquals(CPU_USAGES.length, reader.getLastLineNumber());
+    }
+
+    @Test
+    void testUsageChangesBelowEpsilonAreDropped() {
+        final var reader = createReaders(0).setUsageChangeEpsilon(0.01);
+        reader.process();
+        assertEquals(3, reader.getLastLineNumber());
+
+        simulation.start();
+        assertEquals(CPU_USAGES[CPU_USAGES.length - 1], cloudlet.getUtilizationOfCpu());
+    }
+
+    @Test
+    void testStreamingReadsUsageChangesAsTheClockAdvances() {
+        final var reader = createReaders(LOOKAHEAD).setUsageChangeEpsilon(0.01);
+        reader.process();
+        assertEquals(0, reader.getLastLineNumber());
+
+        simulation.start();
+        assertEquals(3, reader.getLastLineNumber());
+        assertTrue(cloudlet.isFinished());
+        assertEquals(CPU_USAGES[CPU_USAGES.length - 1], cloudlet.getUtilizationOfCpu());
+    }
+
+    /**
+     * The task FINISH event is read by the task events reader before the last usage samples
+     * are read by the task usage reader, which must still find the Cloudlet to change its usage.
+     */
+    @Test
+    void testStreamingAppliesUsageChangesUntilTaskFinishesWhenEventsReaderHasLargerLookahead() {
+        final double eventsLookahead = TASK_START + (CPU_USAGES.length + 1) * SAMPLE_INTERVAL;
+        final var reader = createReaders(eventsLookahead, SAMPLE_INTERVAL);
+        reader.process();
+
+        simulation.start();
+        assertEquals(CPU_USAGES.length, reader.getLastLineNumber());
+        assertTrue(cloudlet.isFinished());
+        assertEquals(CPU_USAGES[CPU_USAGES.length - 1], cloudlet.getUtilizationOfCpu());
+    }
+
+    @Test
+    void testInvalidUsageChangeEpsilon() {
+        final var reader = createReaders(0);
+        assertThrows(IllegalArgumentException.class, () -> reader.setUsageChangeEpsilon(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> reader.setUsageChangeEpsilon(1.1));
+    }
+}
@@ -0,0 +1,161 @@
+package org.cloudsimplus.util;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.util.ColumnarTraceFile.ColumnType;
+import org.cloudsimplus.utilizationmodels.UtilizationModelPlanetLab;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class ColumnarTraceFileTest {
+    private static final String[] LINES = {
+        "10,0.5,user-a,7,",
+        "20,1.25,,-8,x",
+        "30,2,user-b,9,12",
+        "40,,user-a"
+    };
+
+    @TempDir
+    Path dir;
+
+    private ColumnarTraceFile convert(final String... lines) throws IOException {
+        final Path textFile = Files.writeString(dir.resolve("trace.csv"), "#comment\n" + String.join("\n", lines) + "\n\n");
+        final Path columnarFile = dir.resolve("trace" + ColumnarTraceFile.EXTENSION);
+        assertEquals(lines.length, ColumnarTraceConverter.convert(textFile, columnarFile, ","));
+        return new ColumnarTraceFile(columnarFile);
+    }
+
+    @Test
+    void testColumnTypesAreInferredFromAllRows() throws IOException {
+        final var file = convert(LINES);
+        assertEquals(4, file.getRows());
+        assertEquals(5, file.getColumns());
+        assertEquals(ColumnType.LONG, file.getColumnType(0));
+        assertEquals(ColumnType.DOUBLE, file.getColumnType(1));
+        assertEquals(ColumnType.STRING, file.getColumnType(2));
+        assertEquals(ColumnType.LONG, file.getColumnType(3));
+        assertEquals(ColumnType.STRING, file.getColumnType(4));
+    }
+
+    @Test
+    void testRecordsHaveTheSameFieldsOfTextLines() throws IOException {
+        final var file = convert(LINES);
+        final var tokenizer = new TraceLineTokenizer(",");
+        for (int row = 0; row < LINES.length; row++) {
+            tokenizer.tokenize(LINES[row]);
+            final TraceRecord record = file.read(row);
+            assertEquals(tokenizer.size(), record.size());
+            for (int i = 0; i < tokenizer.size(); i++) {
+                final String msg = "row %d, field %d".formatted(row, i);
+                assertEquals(tokenizer.isInteger(i), record.isInteger(i), msg);
+                assertEquals(tokenizer.isDecimal(i), record.isDecimal(i), msg);
+                if (tokenizer.isDecimal(i)) {
+                    assertEquals(tokenizer.parseDouble(i), record.parseDouble(i), msg);
+                } else {
+                    assertEquals(tokenizer.get(i), record.get(i), msg);
+                }
+
+                if (tokenizer.isInteger(i)) {
+                    assertEquals(tokenizer.parseLong(i), record.parseLong(i), msg);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEmptyFieldsCannotBeParsed() throws IOException {
+        final var record = convert(LINES).read(3);
+        assertEquals("", record.get(1));
+        assertThrows(NumberFormatException.class, () -> record.parseDouble(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> record.get(3));
+    }
+
+    @Test
+    void testReadInvalidRow() throws IOException {
+        final var file = convert(LINES);
+        assertThrows(IndexOutOfBoundsException.class, () -> file.read(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> file.read(LINES.length));
+    }
+
+    @Test
+    void testFileWithUnsupportedVersionIsRejected() throws IOException {
+        final var file = convert(LINES);
+        final byte[] bytes = Files.readAllBytes(file.getPath());
+        ByteBuffer.wrap(bytes).putShort(Integer.BYTES, (short) (ColumnarTraceFile.VERSION + 1));
+        final Path invalid = Files.write(dir.resolve("invalid" + ColumnarTraceFile.EXTENSION), bytes);
+        assertThrows(IOException.class, () -> new ColumnarTraceFile(invalid));
+
+        final Path text = Files.writeString(dir.resolve("text" + ColumnarTraceFile.EXTENSION), "1 2 3 4 5 6 7 8 9 10 11 12\n");
+        assertThrows(IOException.class, () -> new ColumnarTraceFile(text));
+    }
+
+    @Test
+    void testSwfReaderCreatesTheSameCloudletsFromColumnarFile() throws IOException {
+        final String swfFile = ResourceLoader.getResourcePath(getClass(), "LCG.swf.gz");
+        final Path columnarFile = dir.resolve("LCG" + ColumnarTraceFile.EXTENSION);
+        ColumnarTraceConverter.convertSwf(Paths.get(swfFile), columnarFile);
+
+        final List<Cloudlet> expected = readCloudlets(swfFile);
+        final List<Cloudlet> actual = readCloudlets(columnarFile.toString());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getLength(), actual.get(i).getLength());
+            assertEquals(expected.get(i).getPesNumber(), actual.get(i).getPesNumber());
+            assertEquals(expected.get(i).getSubmissionDelay(), actual.get(i).getSubmissionDelay());
+        }
+    }
+
+    private static List<Cloudlet> readCloudlets(final String swfFile) throws IOException {
+        final var reader = new SwfWorkloadFileReader(swfFile, 1);
+        reader.setMaxLinesToRead(1000);
+        return reader.generateWorkload();
+    }
+
+    @Test
+    void testPlanetLabModelReadsColumnarFile() throws IOException {
+        final int samples = 10;
+        final String traceFile = getPlanetLabTraceFile();
+        final var expected = new UtilizationModelPlanetLab(traceFile, UtilizationModelPlanetLab.DEF_SCHEDULING_INTERVAL, samples);
+        final var actual = new UtilizationModelPlanetLab(convertPlanetLab(traceFile), UtilizationModelPlanetLab.DEF_SCHEDULING_INTERVAL, samples);
+        assertEquals(samples, actual.getDataSamples());
+        assertSameUtilization(expected, actual);
+    }
+
+    @Test
+    void testPlanetLabModelReadsTheSameSamplesFromColumnarFileWhenNumberOfSamplesIsNotGiven() throws IOException {
+        final String traceFile = getPlanetLabTraceFile();
+        final var expected = new UtilizationModelPlanetLab(traceFile, UtilizationModelPlanetLab.DEF_SCHEDULING_INTERVAL);
+        final var actual = new UtilizationModelPlanetLab(convertPlanetLab(traceFile), UtilizationModelPlanetLab.DEF_SCHEDULING_INTERVAL);
+        assertEquals(expected.getDataSamples(), actual.getDataSamples());
+        assertSameUtilization(expected, actual);
+    }
+
+    private String getPlanetLabTraceFile() {
+        return ResourceLoader.getResourcePath(getClass(), "sample-planetlab-trace.dat");
+    }
+
+    private String convertPlanetLab(final String traceFile) throws IOException {
+        final Path columnarFile = dir.resolve("planetlab" + ColumnarTraceFile.EXTENSION);
+        ColumnarTraceConverter.convertPlanetLab(Paths.get(traceFile), columnarFile);
+        return columnarFile.toString();
+    }
+
+    private static void assertSameUtilization(final UtilizationModelPlanetLab expected, final UtilizationModelPlanetLab actual) {
+        for (int i = 0; i < actual.getDataSamples(); i++) {
+            final double time = i * UtilizationModelPlanetLab.DEF_SCHEDULING_INTERVAL;
+            assertEquals(expected.getUtilization(time), actual.getUtilization(time), "time " + time);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.cloudsimplus.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class SlidingWindowStatisticsTest {
+    @Test
+    void testWindowKeepsLastValuesInArrivalOrder() {
+        final var instance = new SlidingWindowStatistics(3);
+        for (final double value : new double[]{1, 2, 3, 4, 5}) {
+            instance.add(value);
+        }
+
+        assertTrue(instance.isFull());
+        assertArrayEquals(new double[]{3, 4, 5}, instance.getValues());
+    }
+
+    @Test
+    void testStatisticsOnKnownData() {
+        final var instance = new SlidingWindowStatistics(MathUtilTest.DATA1.length);
+        for (final double value : MathUtilTest.DATA1) {
+            instance.add(value);
+        }
+
+        assertEquals(MathUtilTest.IQR1, instance.getIqr());
+        assertEquals(MathUtil.median(MathUtilTest.DATA1), instance.getMedian());
+    }
+
+    @Test
+    void testEmptyWindow() {
+        final var instance = new SlidingWindowStatistics(3);
+        assertThrows(IllegalStateException.class, instance::getMedian);
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowStatistics(0));
+    }
+
+    /**
+     * Checks the incrementally computed statistics are equal to the ones computed
+     * from the window values every time a new value is added,
+     * including repeated values and windows not full yet.
+     * It also checks the cached MAD is discarded when a new value is added.
+     */
+    @Test
+    void testStatisticsAreEqualToTheOnesComputedFromWindowValues() {
+        for (final int windowSize : new int[]{1, 2, 7, 10}) {
+            checkStatisticsAreEqualToTheOnesComputedFromWindowValues(windowSize);
+        }
+    }
+
+    private void checkStatisticsAreEqualToTheOnesComputedFromWindowValues(final int windowSize) {
+        final var random = new Random(windowSize);
+        final var instance = new SlidingWindowStatistics(windowSize);
+        for (int i = 0; i < 200; i++) {
+            instance.add(random.nextInt(10) / 10.0);
+            final double[] values = instance.getValues();
+            assertEquals(MathUtil.median(values), instance.getMedian(), "median at sample " + i);
+            assertEquals(MathUtil.mad(values), instance.getMad(), "MAD at sample " + i);
+            assertEquals(MathUtil.mad(values), instance.getMad(), "cached MAD at sample " + i);
+            if (values.length > 1) {
+                assertEquals(MathUtil.iqr(values), instance.getIqr(), "IQR at sample " + i);
+            }
+        }
+    }
+}
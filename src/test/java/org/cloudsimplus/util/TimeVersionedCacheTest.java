@@ -0,0 +1,38 @@
+package org.cloudsimplus.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class TimeVersionedCacheTest {
+    private final TimeVersionedCache instance = new TimeVersionedCache();
+    private int computations;
+
+    private double compute() {
+        return ++computations;
+    }
+
+    @Test
+    void testGetSameTimeAndVersionComputesOnce() {
+        assertEquals(1, instance.get(10, 0, this::compute));
+        assertEquals(1, instance.get(10, 0, this::compute));
+        assertEquals(1, computations);
+    }
+
+    @Test
+    void testGetComputesAgainWhenTimeOrVersionChanges() {
+        instance.get(10, 0, this::compute);
+        assertEquals(2, instance.get(11, 0, this::compute));
+        assertEquals(3, instance.get(11, 1, this::compute));
+    }
+
+    @Test
+    void testInvalidate() {
+        instance.get(10, 0, this::compute);
+        instance.invalidate();
+        assertEquals(2, instance.get(10, 0, this::compute));
+    }
+}
@@ -0,0 +1,66 @@
+package org.cloudsimplus.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class TraceLineTokenizerTest {
+    private static final List<String> LINES = List.of(
+        "1 2  3\t4", "  10   -20 30.5  ", "a,,b,", ",a,b", "600000000,,3418309,0,4155527081,0,user", "single",
+        "x; y;z", "1|2||3", " ");
+
+    private static final List<String> DELIMITERS = List.of("\\s+", ",", ";", "\\|", "\\t", ";\\s*", "[,;]");
+
+    @Test
+    void testTokenizeSplitsAsStringSplit() {
+        for (final String delimiter : DELIMITERS) {
+            final var tokenizer = new TraceLineTokenizer(delimiter);
+            for (final String line : LINES) {
+                final String[] expected = line.isBlank() ? new String[0] : line.trim().split(delimiter, -1);
+                assertArrayEquals(expected, tokenizer.tokenize(line).toArray(), "Line '%s' split by '%s'".formatted(line, delimiter));
+            }
+        }
+    }
+
+    @Test
+    void testParseNumbers() {
+        final var tokenizer = new TraceLineTokenizer(",").tokenize("123,-45,0.0625,-3.5,1e3,+7,12345678901234567890.5,9223372036854775807");
+        assertEquals(123, tokenizer.parseInt(0));
+        assertEquals(-45, tokenizer.parseLong(1));
+        assertEquals(0.0625, tokenizer.parseDouble(2));
+        assertEquals(-3.5, tokenizer.parseDouble(3));
+        assertEquals(1000, tokenizer.parseDouble(4));
+        assertEquals(7, tokenizer.parseLong(5));
+        assertEquals(12345678901234567890.5, tokenizer.parseDouble(6));
+        assertEquals(Long.MAX_VALUE, tokenizer.parseLong(7));
+        assertThrows(NumberFormatException.class, () -> tokenizer.parseInt(7));
+        assertThrows(NumberFormatException.class, () -> tokenizer.parseLong(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokenizer.parseLong(8));
+    }
+
+    @Test
+    void testParseDoubleGivesTheSameResultAsTheJdk() {
+        final var random = new Random(1);
+        final var tokenizer = new TraceLineTokenizer("\\s+");
+        for (int i = 0; i < 10_000; i++) {
+            final String value = "%.{0}f".replace("{0}", String.valueOf(random.nextInt(10))).formatted(random.nextDouble() * Math.pow(10, random.nextInt(12)));
+            assertEquals(Double.parseDouble(value), tokenizer.tokenize(value).parseDouble(0), value);
+        }
+    }
+
+    @Test
+    void testIsIntegerAndIsDecimalMatchNumericRegexes() {
+        final var tokenizer = new TraceLineTokenizer(",").tokenize("10,-10,1.5,-0.25,.5,5.,abc,,+1,1e5,1.2.3");
+        for (int i = 0; i < tokenizer.size(); i++) {
+            final String value = tokenizer.get(i);
+            assertEquals(value.matches("^-?\\d+$"), tokenizer.isInteger(i), value);
+            assertEquals(value.matches("^-?\\d+(\\.?\\d+)?$"), tokenizer.isDecimal(i), value);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.cloudsimplus.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class TraceShardsReaderTest {
+    private static final String SHARD0 = "0,a\n# comment\n20,b\n20,c\n50,d\n";
+    private static final String SHARD1 = "10,e\n20,f\n\n40,g\n";
+    private static final String SHARD2 = "5,h\n60,i\n";
+
+    @TempDir
+    Path dir;
+
+    private static TraceReaderAbstract newReader(final String filePath, final String content) {
+        final var reader = new TraceReaderAbstract(filePath, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {};
+        reader.setFieldDelimiterRegex(",");
+        return reader;
+    }
+
+    private Path writeGzip(final String fileName, final String content) throws IOException {
+        final Path path = dir.resolve(fileName);
+        try (var out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return path;
+    }
+
+    private List<String> readShards(final TraceReaderAbstract reader, final List<String> shardPaths, final int threads) {
+        final var values = new ArrayList<String>();
+        reader.readShards(shardPaths, threads, line -> line.parseDouble(0), line -> values.add(line.get(1)));
+        return values;
+    }
+
+    @Test
+    void testLinesAreMergedInTimestampOrder() throws IOException {
+        final String shard1 = Files.writeString(dir.resolve("part-1.csv"), SHARD1).toString();
+        final String shard2 = writeGzip("part-2.csv.gz", SHARD2).toString();
+        for (int threads = 1; threads <= 3; threads++) {
+            final var reader = newReader("part-0.csv", SHARD0);
+            final var values = readShards(reader, List.of("part-0.csv", shard1, shard2), threads);
+            assertEquals(List.of("a", "h", "e", "b", "c", "f", "g", "d", "i"), values);
+            assertEquals(values.size(), reader.getLastLineNumber());
+        }
+    }
+
+    @Test
+    void testMaxLinesToRead() throws IOException {
+        final String shard1 = Files.writeString(dir.resolve("part-1.csv"), SHARD1).toString();
+        final var reader = newReader("part-0.csv", SHARD0);
+        reader.setMaxLinesToRead(3);
+        assertEquals(List.of("a", "e", "b"), readShards(reader, List.of("part-0.csv", shard1), 2));
+    }
+
+    /**
+     * Checks shards are read lazily, so that just the next line of each shard is parsed
+     * after the last line processed, and the remaining lines are never parsed.
+     */
+    @Test
+    void testLinesAfterMaxLinesToReadAreNotParsed() throws IOException {
+        final String shard1 = writeGzip("part-1.csv.gz", SHARD1 + "80,x\ninvalid-timestamp,x\n").toString();
+        final var reader = newReader("part-0.csv", SHARD0 + "70,y\ninvalid-timestamp,y\n");
+        reader.setMaxLinesToRead(7);
+        assertEquals(List.of("a", "e", "b", "c", "f", "g", "d"), readShards(reader, List.of("part-0.csv", shard1), 2));
+    }
+
+    @Test
+    void testInvalidShards() {
+        final var reader = newReader("part-0.csv", SHARD0);
+        assertThrows(IllegalArgumentException.class, () -> readShards(reader, List.of("other.csv"), 1));
+        assertThrows(IllegalArgumentException.class, () -> readShards(reader, List.of("part-0.csv"), 0));
+        final var missingShard = List.of("part-0.csv", dir.resolve("missing.csv").toString());
+        assertThrows(UncheckedIOException.class, () -> readShards(reader, missingShard, 1));
+    }
+}
@@ -0,0 +1,154 @@
+package org.cloudsimplus.util;
+
+import org.cloudsimplus.util.TraceTimeIndex.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class TraceTimeIndexTest {
+    private static final int LINES = 100;
+    private static final int LINES_PER_ENTRY = 10;
+
+    @TempDir
+    Path dir;
+
+    /** Lines with a timestamp (every 2 lines have the same one) and a payload. */
+    private static final List<String> TRACE_LINES =
+        IntStream.range(0, LINES).mapToObj(i -> "%d,line-%d".formatted(i / 2, i)).toList();
+
+    private static double getTimestamp(final TraceRecord record) {
+        return record.parseDouble(0);
+    }
+
+    private static TraceReaderAbstract newReader(final Path traceFile) throws IOException {
+        final var reader = new TraceReaderAbstract(traceFile.toString()) {};
+        reader.setFieldDelimiterRegex(",");
+        return reader;
+    }
+
+    private static TraceTimeIndex buildIndex(final Path traceFile) throws IOException {
+        return newReader(traceFile).buildTimeIndex(TraceTimeIndexTest::getTimestamp, LINES_PER_ENTRY);
+    }
+
+    private static byte[] gzip(final List<String> lines) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static String readLineAt(final Path traceFile, final Position position) throws IOException {
+        try (var fileStream = Files.newInputStream(traceFile)) {
+            fileStream.skipNBytes(position.restartOffset());
+            final InputStream stream = traceFile.toString().endsWith(".gz") ? new GZIPInputStream(fileStream) : fileStream;
+            stream.skipNBytes(position.skipBytes());
+            return new BufferedReader(new InputStreamReader(stream)).readLine();
+        }
+    }
+
+    private static void assertEntriesPointToIndexedLines(final Path traceFile, final TraceTimeIndex index) throws IOException {
+        assertEquals(LINES / LINES_PER_ENTRY, index.getEntries().size());
+        for (int i = 0; i < index.getEntries().size(); i++) {
+            final String expectedLine = TRACE_LINES.get(i * LINES_PER_ENTRY);
+            assertEquals(expectedLine, readLineAt(traceFile, index.getEntries().get(i)));
+        }
+    }
+
+    @Test
+    void testIndexTextFile() throws IOException {
+        final Path traceFile = Files.write(dir.resolve("trace.csv"), TRACE_LINES);
+        final var index = buildIndex(traceFile);
+        assertEntriesPointToIndexedLines(traceFile, index);
+        assertTrue(index.getEntries().stream().allMatch(entry -> entry.skipBytes() == 0));
+    }
+
+    @Test
+    void testIndexSingleMemberGzipFileRestartsFromTheStart() throws IOException {
+        final Path traceFile = Files.write(dir.resolve("trace.csv.gz"), gzip(TRACE_LINES));
+        final var index = buildIndex(traceFile);
+        assertEntriesPointToIndexedLines(traceFile, index);
+        assertTrue(index.getEntries().stream().allMatch(entry -> entry.restartOffset() == 0));
+    }
+
+    @Test
+    void testIndexMultiMemberGzipFileRestartsFromMembers() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        final int linesPerMember = LINES / 4;
+        for (int i = 0; i < LINES; i += linesPerMember) {
+            bytes.write(gzip(TRACE_LINES.subList(i, i + linesPerMember)));
+        }
+
+        final Path traceFile = Files.write(dir.resolve("trace.csv.gz"), bytes.toByteArray());
+        final var index = buildIndex(traceFile);
+        assertEntriesPointToIndexedLines(traceFile, index);
+        assertEquals(4, index.getEntries().stream().mapToLong(Position::restartOffset).distinct().count());
+    }
+
+    @Test
+    void testFindReturnsLastEntryBeforeTimestamp() throws IOException {
+        final var index = buildIndex(Files.write(dir.resolve("trace.csv"), TRACE_LINES));
+        assertSame(Position.START, index.find(0));
+        assertEquals(0, index.find(5).timestamp());
+        assertEquals(5, index.find(6).timestamp());
+        assertEquals(45, index.find(1000).timestamp());
+    }
+
+    @Test
+    void testIndexIsSavedAlongWithTraceFile() throws IOException {
+        final Path traceFile = Files.write(dir.resolve("trace.csv"), TRACE_LINES);
+        final var index = buildIndex(traceFile);
+        final var loaded = TraceTimeIndex.load(TraceTimeIndex.getIndexPath(traceFile.toString()));
+        assertEquals(index.getEntries(), loaded.getEntries());
+        assertEquals(Files.size(traceFile), loaded.getTraceFileSize());
+    }
+
+    @Test
+    void testUnsortedTraceCannotBeIndexed() throws IOException {
+        final Path traceFile = Files.write(dir.resolve("trace.csv"), List.of("1,a", "0,b"));
+        assertThrows(IllegalArgumentException.class, () -> buildIndex(traceFile));
+    }
+
+    @Test
+    void testSoughtReaderSkipsLinesBeforeTheIndexedPosition() throws IOException {
+        final Path traceFile = Files.write(dir.resolve("trace.csv.gz"), gzip(TRACE_LINES));
+        buildIndex(traceFile);
+
+        final var reader = newReader(traceFile);
+        final int timestamp = 33;
+        reader.seek(timestamp, TraceTimeIndexTest::getTimestamp);
+        final var lines = new ArrayList<String>();
+        reader.readFile(record -> lines.add(record.toString()));
+
+        final int firstLine = timestamp * 2;
+        assertEquals(TRACE_LINES.subList(firstLine - firstLine % LINES_PER_ENTRY, LINES), lines);
+        assertThrows(IllegalStateException.class, () -> reader.seek(0, TraceTimeIndexTest::getTimestamp));
+    }
+
+    @Test
+    void testSoughtReaderReadsGzipStreamGivenByCallerFromItsStart() throws IOException {
+        final Path traceFile = Files.write(dir.resolve("trace.csv.gz"), gzip(TRACE_LINES));
+        buildIndex(traceFile);
+
+        final var reader = newReader(traceFile);
+        reader.seek(33, TraceTimeIndexTest::getTimestamp);
+        final var lines = new ArrayList<String>();
+        reader.readGZIPFile(new ByteArrayInputStream(Files.readAllBytes(traceFile)), record -> lines.add(record.toString()));
+        assertEquals(TRACE_LINES, lines);
+    }
+}
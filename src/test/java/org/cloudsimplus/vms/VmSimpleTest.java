@@ -7,6 +7,7 @@
 package org.cloudsimplus.vms;
 
 import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.cloudlets.CloudletSimple;
 import org.cloudsimplus.core.Simulation;
 import org.cloudsimplus.hosts.HostSimple;
 import org.cloudsimplus.hosts.HostSimpleTest;
@@ -18,6 +19,7 @@ import org.cloudsimplus.mocks.MocksHelper;
 import org.cloudsimplus.schedulers.MipsShare;
 import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -354,4 +356,29 @@ public class VmSimpleTest {
 
         assertTrue(vm.getCurrentRequestedMips().isEmpty());
     }
+
+    @Test
+    public void testCpuCapacityChangesIncrementSchedulerStateVersion() {
+        long version = cloudletScheduler.getStateVersion();
+        vm.setMips(vm.getMips() * 2);
+        assertTrue(cloudletScheduler.getStateVersion() > version, "Changing the VM MIPS must change the state version");
+
+        version = cloudletScheduler.getStateVersion();
+        vm.getProcessor().sumCapacity(1);
+        assertTrue(cloudletScheduler.getStateVersion() > version, "Changing the VM PEs must change the state version");
+    }
+
+    @Test
+    public void testCloudletCpuChangesIncrementSchedulerStateVersion() {
+        final var cloudlet = new CloudletSimple(1000, 1);
+        cloudlet.setVm(vm);
+
+        long version = cloudletScheduler.getStateVersion();
+        cloudlet.setUtilizationModelCpu(new UtilizationModelDynamic(0.5));
+        assertTrue(cloudletScheduler.getStateVersion() > version, "Changing the Cloudlet CPU model must change the state version");
+
+        version = cloudletScheduler.getStateVersion();
+        cloudlet.setPesNumber(2);
+        assertTrue(cloudletScheduler.getStateVersion() > version, "Changing the Cloudlet PEs must change the state version");
+    }
 }